@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.benchmarks.model.Product;
+import org.hibernate.benchmarks.model.PurchaseOrder;
+import org.hibernate.benchmarks.model.WideRecord;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * Shared bootstrap and data-population code for the benchmarks.  Every benchmark runs against its own in-memory
+ * H2 database so that results are dominated by Hibernate overhead rather than I/O.
+ */
+public final class BenchmarkSupport {
+	private static int databaseCounter;
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Builds a SessionFactory for the benchmark domain model.
+	 *
+	 * @param overrides Settings to apply on top of the defaults (may be {@code null})
+	 *
+	 * @return The SessionFactory
+	 */
+	public static SessionFactory buildSessionFactory(Map<String, String> overrides) {
+		final Configuration cfg = new Configuration();
+		cfg.setProperty( AvailableSettings.DIALECT, H2Dialect.class.getName() );
+		cfg.setProperty( AvailableSettings.DRIVER, "org.h2.Driver" );
+		cfg.setProperty( AvailableSettings.URL, "jdbc:h2:mem:bench" + nextDatabaseNumber() + ";DB_CLOSE_DELAY=-1" );
+		cfg.setProperty( AvailableSettings.USER, "sa" );
+		cfg.setProperty( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		cfg.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+		if ( overrides != null ) {
+			for ( Map.Entry<String, String> entry : overrides.entrySet() ) {
+				cfg.setProperty( entry.getKey(), entry.getValue() );
+			}
+		}
+		cfg.addAnnotatedClass( Customer.class );
+		cfg.addAnnotatedClass( PurchaseOrder.class );
+		cfg.addAnnotatedClass( Product.class );
+		cfg.addAnnotatedClass( WideRecord.class );
+
+		final StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySettings( cfg.getProperties() )
+				.build();
+		return cfg.buildSessionFactory( serviceRegistry );
+	}
+
+	private static synchronized int nextDatabaseNumber() {
+		return databaseCounter++;
+	}
+
+	/**
+	 * Creates a graph of {@code customerCount} customers each owning {@code ordersPerCustomer} orders.  The entities
+	 * are transient.
+	 */
+	public static List<Customer> createCustomers(int customerCount, int ordersPerCustomer) {
+		final List<Customer> customers = new ArrayList<Customer>( customerCount );
+		final Date now = new Date();
+		for ( int i = 0; i < customerCount; i++ ) {
+			final Customer customer = new Customer( "customer-" + i, "customer" + i + "@example.com", "City " + ( i % 100 ), "US" );
+			for ( int j = 0; j < ordersPerCustomer; j++ ) {
+				customer.addOrder(
+						new PurchaseOrder( "PO-" + i + "-" + j, now, BigDecimal.valueOf( 100 + j, 2 ), j + 1 )
+				);
+			}
+			customers.add( customer );
+		}
+		return customers;
+	}
+
+	/**
+	 * Creates and persists {@code count} products in a single transaction.
+	 */
+	public static void persistProducts(SessionFactory sessionFactory, int count) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			for ( int i = 0; i < count; i++ ) {
+				session.persist(
+						new Product( "SKU-" + i, "product-" + i, "category-" + ( i % 20 ), BigDecimal.valueOf( i, 2 ), i % 500 )
+				);
+				if ( i % 50 == 49 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * Creates and persists {@code count} wide records in a single transaction.
+	 */
+	public static void persistWideRecords(SessionFactory sessionFactory, int count) {
+		final Date now = new Date();
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			for ( int i = 0; i < count; i++ ) {
+				session.persist( new WideRecord( i, now ) );
+				if ( i % 50 == 49 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * Persists the given customers (and their orders) in a single transaction.
+	 *
+	 * @return The generated customer identifiers, in the order of the given list
+	 */
+	public static List<Long> persist(SessionFactory sessionFactory, List<Customer> customers) {
+		final List<Long> ids = new ArrayList<Long>( customers.size() );
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			int count = 0;
+			for ( Customer customer : customers ) {
+				session.persist( customer );
+				for ( PurchaseOrder order : customer.getOrders() ) {
+					session.persist( order );
+				}
+				if ( ++count % 50 == 0 ) {
+					session.flush();
+					session.clear();
+				}
+				ids.add( customer.getId() );
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+		return ids;
+	}
+}
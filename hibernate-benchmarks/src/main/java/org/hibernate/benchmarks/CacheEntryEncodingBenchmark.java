@@ -0,0 +1,156 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the standard second-level cache entries (the disassembled state, Java-serialized by the cache provider)
+ * with the {@value AvailableSettings#USE_BINARY_CACHE_ENTRIES binary} ones.  Both formats go through Java
+ * serialization, as done by a replicating or overflowing cache, so that the numbers include the marshalling cost
+ * paid by the providers.
+ * <p/>
+ * {@link #encode} reports the size of the marshalled entry, in bytes per invocation, as an auxiliary counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CacheEntryEncodingBenchmark {
+	@Param({ "false", "true" })
+	public boolean binaryEntries;
+
+	@Param({ "Customer", "PurchaseOrder" })
+	public String entity;
+
+	private SessionFactory sessionFactory;
+	private EntityPersister persister;
+	private CacheEntry entry;
+	private byte[] marshalled;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Map<String, String> settings = new HashMap<String, String>();
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		settings.put( AvailableSettings.DEFAULT_CACHE_CONCURRENCY_STRATEGY, "read-write" );
+		settings.put( AvailableSettings.USE_BINARY_CACHE_ENTRIES, Boolean.toString( binaryEntries ) );
+		settings.put( "javax.persistence.sharedCache.mode", "ALL" );
+		sessionFactory = BenchmarkSupport.buildSessionFactory( settings );
+		final List<Customer> customers = BenchmarkSupport.createCustomers( 1, 1 );
+		BenchmarkSupport.persist( sessionFactory, customers );
+
+		final Object instance = "Customer".equals( entity )
+				? customers.get( 0 )
+				: customers.get( 0 ).getOrders().iterator().next();
+		persister = ( (SessionFactoryImplementor) sessionFactory ).getEntityPersister( instance.getClass().getName() );
+		final Session session = sessionFactory.openSession();
+		try {
+			final Object loaded = session.get(
+					instance.getClass(),
+					persister.getIdentifier( instance, (SessionImplementor) session )
+			);
+			entry = persister.buildCacheEntry(
+					loaded,
+					persister.getPropertyValues( loaded ),
+					persister.getVersion( loaded ),
+					(SessionImplementor) session
+			);
+		}
+		finally {
+			session.close();
+		}
+		marshalled = marshall( entry );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	/**
+	 * Size of the marshalled entries of an iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters
+	public static class SizeCounters {
+		public long entryBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			entryBytes = 0;
+		}
+	}
+
+	@Benchmark
+	public byte[] encode(SizeCounters counters) {
+		final byte[] bytes = marshall( entry );
+		counters.entryBytes += bytes.length;
+		return bytes;
+	}
+
+	@Benchmark
+	public Object decode() {
+		return persister.getCacheEntryStructure().destructure(
+				SerializationHelper.deserialize( marshalled ),
+				(SessionFactoryImplementor) sessionFactory
+		);
+	}
+
+	private byte[] marshall(CacheEntry cacheEntry) {
+		return SerializationHelper.serialize( (Serializable) persister.getCacheEntryStructure().structure( cacheEntry ) );
+	}
+}
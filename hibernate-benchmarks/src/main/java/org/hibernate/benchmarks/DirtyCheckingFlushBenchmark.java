@@ -0,0 +1,110 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Product;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures flushing (and therefore the dirty checking done by
+ * {@link org.hibernate.event.internal.DefaultFlushEntityEventListener}) of a persistence context holding
+ * {@code entityCount} managed entities of which {@code dirtyCount} are modified before each flush, optionally
+ * using parallel dirty checking ({@value AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD}).
+ * <p/>
+ * The whole trial runs in a single transaction which is rolled back at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DirtyCheckingFlushBenchmark {
+	@Param({ "1000", "10000" })
+	public int entityCount;
+
+	@Param({ "0", "10", "100" })
+	public int dirtyCount;
+
+	@Param({ "0", "1000" })
+	public int parallelDirtyCheckThreshold;
+
+	private SessionFactory sessionFactory;
+	private Session session;
+	private Product[] products;
+	private int counter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSupport.buildSessionFactory(
+				Collections.singletonMap(
+						AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD,
+						Integer.toString( parallelDirtyCheckThreshold )
+				)
+		);
+		BenchmarkSupport.persistProducts( sessionFactory, entityCount );
+
+		session = sessionFactory.openSession();
+		session.beginTransaction();
+		final List list = session.createQuery( "from Product" ).list();
+		products = (Product[]) list.toArray( new Product[list.size()] );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		session.getTransaction().rollback();
+		session.close();
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public void flush() {
+		for ( int i = 0; i < dirtyCount; i++ ) {
+			final Product product = products[( counter + i ) % products.length];
+			product.setDescription( "revision " + counter );
+		}
+		counter++;
+		session.flush();
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.benchmarks.model.PurchaseOrder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.stat.Statistics;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures flushing a freshly persisted object graph of 10k and 100k entities with and without
+ * {@value AvailableSettings#ORDER_INSERTS}, covering the {@link org.hibernate.engine.spi.ActionQueue} insert sorting
+ * and the resulting JDBC batching.
+ * <p/>
+ * {@link #persistAndFlush} reports the number of JDBC batches and batched statements per flush as auxiliary
+ * counters; {@link #sortActions} measures the sorting of the queued actions on its own.  Each invocation works in
+ * its own transaction which is then rolled back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InsertOrderingBenchmark {
+	@Param({ "false", "true" })
+	public boolean orderInserts;
+
+	@Param({ "10000", "100000" })
+	public int entityCount;
+
+	@Param({ "9" })
+	public int ordersPerCustomer;
+
+	private SessionFactory sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Map<String, String> settings = new HashMap<String, String>();
+		settings.put( AvailableSettings.ORDER_INSERTS, Boolean.toString( orderInserts ) );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		sessionFactory = BenchmarkSupport.buildSessionFactory( settings );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	/**
+	 * JDBC batching done by the flushes of a single iteration, averaged per invocation.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters
+	public static class BatchCounters {
+		public long jdbcBatches;
+		public long jdbcBatchedStatements;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			jdbcBatches = 0;
+			jdbcBatchedStatements = 0;
+		}
+	}
+
+	/**
+	 * A session with the whole graph persisted but not yet flushed.
+	 */
+	@State(Scope.Thread)
+	public static class PersistedGraph {
+		Session session;
+
+		@Setup(Level.Invocation)
+		public void persist(InsertOrderingBenchmark benchmark) {
+			session = benchmark.openSessionAndPersist();
+		}
+
+		@TearDown(Level.Invocation)
+		public void rollback() {
+			try {
+				session.getTransaction().rollback();
+			}
+			finally {
+				session.close();
+			}
+		}
+	}
+
+	@Benchmark
+	public void persistAndFlush(BatchCounters counters) {
+		final Statistics statistics = sessionFactory.getStatistics();
+		final long batchesBefore = statistics.getJdbcBatchCount();
+		final long statementsBefore = statistics.getJdbcBatchStatementCount();
+
+		final Session session = openSessionAndPersist();
+		try {
+			session.flush();
+			session.getTransaction().rollback();
+		}
+		finally {
+			session.close();
+		}
+
+		counters.jdbcBatches += statistics.getJdbcBatchCount() - batchesBefore;
+		counters.jdbcBatchedStatements += statistics.getJdbcBatchStatementCount() - statementsBefore;
+	}
+
+	@Benchmark
+	public void sortActions(PersistedGraph graph) {
+		( (EventSource) graph.session ).getActionQueue().sortActions();
+	}
+
+	Session openSessionAndPersist() {
+		final List<Customer> customers = BenchmarkSupport.createCustomers(
+				entityCount / ( ordersPerCustomer + 1 ),
+				ordersPerCustomer
+		);
+		final Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		// persist in "interleaved" order, which is the worst case for batching without insert ordering
+		for ( Customer customer : customers ) {
+			session.persist( customer );
+			for ( PurchaseOrder order : customer.getOrders() ) {
+				session.persist( order );
+			}
+		}
+		return session;
+	}
+}
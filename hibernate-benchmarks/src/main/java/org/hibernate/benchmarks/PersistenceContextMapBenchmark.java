@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares lookup latency of {@link HashMap} and {@link OpenAddressingHashMap} at persistence-context sizes.
+ * <p/>
+ * Running the class as a main program instead reports the retained heap per mapping of both implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PersistenceContextMapBenchmark {
+	@Param({ "hash", "open" })
+	public String implementation;
+
+	@Param({ "1000", "500000" })
+	public int size;
+
+	private Map<Object, Object> map;
+	private Object[] keys;
+	private int position;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		map = newMap( implementation );
+		keys = new Object[size];
+		for ( int i = 0; i < size; i++ ) {
+			keys[i] = Long.valueOf( i );
+			map.put( keys[i], "entity-" + i );
+		}
+	}
+
+	private static Map<Object, Object> newMap(String implementation) {
+		return "open".equals( implementation )
+				? new OpenAddressingHashMap<Object, Object>( 8 )
+				: new HashMap<Object, Object>( 8 );
+	}
+
+	@Benchmark
+	public Object lookup() {
+		position = ( position + 7919 ) % keys.length;
+		return map.get( keys[position] );
+	}
+
+	@Benchmark
+	public Object missingLookup() {
+		position = ( position + 7919 ) % keys.length;
+		return map.get( Long.valueOf( -position - 1 ) );
+	}
+
+	public static void main(String[] args) {
+		final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 500000;
+		final Long[] keys = new Long[count];
+		for ( int i = 0; i < count; i++ ) {
+			keys[i] = Long.valueOf( i );
+		}
+		for ( String implementation : new String[] { "hash", "open" } ) {
+			final long before = usedHeap();
+			final Map<Object, Object> map = newMap( implementation );
+			for ( Long key : keys ) {
+				map.put( key, key );
+			}
+			final long after = usedHeap();
+			System.out.printf(
+					"%s: %d mappings, %.1f bytes per mapping%n",
+					implementation,
+					map.size(),
+					( after - before ) / (double) count
+			);
+		}
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		for ( int i = 0; i < 5; i++ ) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmarks.model.Customer;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.OptimizedPropertyAccessor;
+import org.hibernate.property.PropertyAccessor;
+import org.hibernate.property.Setter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective getters and setters of the "property" accessor with the ones generated for
+ * {@link OptimizedPropertyAccessor} (see {@link org.hibernate.cfg.AvailableSettings#USE_GENERATED_PROPERTY_ACCESSORS}),
+ * for an object and a primitive property.  {@link #buildAccessors} measures asking for the accessors again, as
+ * mappings do, which reuses the generated classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PropertyAccessBenchmark {
+	@Param({ "reflection", "generated" })
+	public String accessors;
+
+	private PropertyAccessor accessor;
+	private Getter nameGetter;
+	private Setter nameSetter;
+	private Getter loyaltyPointsGetter;
+	private Setter loyaltyPointsSetter;
+	private Customer customer;
+	private int loyaltyPoints;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		accessor = "generated".equals( accessors )
+				? new OptimizedPropertyAccessor( new BasicPropertyAccessor() )
+				: new BasicPropertyAccessor();
+		nameGetter = accessor.getGetter( Customer.class, "name" );
+		nameSetter = accessor.getSetter( Customer.class, "name" );
+		loyaltyPointsGetter = accessor.getGetter( Customer.class, "loyaltyPoints" );
+		loyaltyPointsSetter = accessor.getSetter( Customer.class, "loyaltyPoints" );
+		customer = new Customer( "name", "email", "city", "country" );
+	}
+
+	@Benchmark
+	public Object getObject() {
+		return nameGetter.get( customer );
+	}
+
+	@Benchmark
+	public void setObject() {
+		nameSetter.set( customer, "other name", null );
+	}
+
+	@Benchmark
+	public Object getPrimitive() {
+		return loyaltyPointsGetter.get( customer );
+	}
+
+	@Benchmark
+	public void setPrimitive() {
+		loyaltyPointsSetter.set( customer, loyaltyPoints++, null );
+	}
+
+	@Benchmark
+	public Getter buildAccessors() {
+		accessor.getSetter( Customer.class, "name" );
+		return accessor.getGetter( Customer.class, "name" );
+	}
+}
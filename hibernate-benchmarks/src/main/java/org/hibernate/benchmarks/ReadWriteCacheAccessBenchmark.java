@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+
+import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
+import org.hibernate.cache.ehcache.internal.strategy.EhcacheAccessStrategyFactoryImpl;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the read/write access strategy of an Ehcache entity region under contention: a group of threads reading,
+ * loading and soft-lock updating random entries of the same region, 7 readers for 2 loaders and 1 updater.  Scale the
+ * contention with the number of groups, e.g. {@code -tg 1}, {@code -tg 2}, {@code -tg 4}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReadWriteCacheAccessBenchmark {
+	private static final int NUM_KEYS = 1000;
+
+	private CacheManager cacheManager;
+	private EhcacheEntityRegion region;
+	private EntityRegionAccessStrategy accessStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		cacheManager = new CacheManager( new Configuration().name( "read-write-benchmark-" + System.identityHashCode( this ) ) );
+		final Cache cache = new Cache( new CacheConfiguration( "entities", 0 ) );
+		cacheManager.addCache( cache );
+		region = new EhcacheEntityRegion(
+				new EhcacheAccessStrategyFactoryImpl( false, false ),
+				cache,
+				null,
+				new CacheDataDescriptionImpl( true, false, null ),
+				new Properties()
+		);
+		accessStrategy = region.buildAccessStrategy( AccessType.READ_WRITE );
+		for ( int i = 0; i < NUM_KEYS; i++ ) {
+			accessStrategy.putFromLoad( i, "loaded", region.nextTimestamp(), null );
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cacheManager.shutdown();
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(7)
+	public Object get(ThreadRandom random) {
+		return accessStrategy.get( random.nextKey(), region.nextTimestamp() );
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(2)
+	public boolean putFromLoad(ThreadRandom random) {
+		return accessStrategy.putFromLoad( random.nextKey(), "loaded", region.nextTimestamp(), null, false );
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public boolean update(ThreadRandom random) {
+		final Integer key = random.nextKey();
+		final SoftLock lock = accessStrategy.lockItem( key, null );
+		return accessStrategy.afterUpdate( key, "updated", null, null, lock );
+	}
+
+	/**
+	 * A per thread source of keys, so that threads do not contend on the random generator.
+	 */
+	@State(Scope.Thread)
+	public static class ThreadRandom {
+		private final Random random = new Random();
+
+		Integer nextKey() {
+			return random.nextInt( NUM_KEYS );
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares extracting basic values from a {@code rowCount} row result set by column name against extracting them
+ * by column position through {@link org.hibernate.type.AbstractStandardBasicType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResultSetExtractionBenchmark {
+	private static final String SQL = "select id as id1_, orderNumber as orderNum2_, orderDate as orderDat3_, "
+			+ "status as status4_, amount as amount5_, itemCount as itemCou6_, shippingCity as shippin7_ "
+			+ "from PurchaseOrder";
+
+	@Param({ "1000", "10000" })
+	public int rowCount;
+
+	private SessionFactory sessionFactory;
+	private Session session;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSupport.buildSessionFactory( null );
+		BenchmarkSupport.persist( sessionFactory, BenchmarkSupport.createCustomers( rowCount / 10, 10 ) );
+		session = sessionFactory.openSession();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		session.close();
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public int extractByName(final Blackhole blackhole) {
+		final SessionImplementor sessionImplementor = (SessionImplementor) session;
+		return session.doReturningWork(
+				new ReturningWork<Integer>() {
+					@Override
+					public Integer execute(Connection connection) throws SQLException {
+						final PreparedStatement ps = connection.prepareStatement( SQL );
+						try {
+							final ResultSet rs = ps.executeQuery();
+							int rows = 0;
+							while ( rs.next() ) {
+								blackhole.consume( LongType.INSTANCE.nullSafeGet( rs, "id1_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, "orderNum2_", sessionImplementor ) );
+								blackhole.consume( TimestampType.INSTANCE.nullSafeGet( rs, "orderDat3_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, "status4_", sessionImplementor ) );
+								blackhole.consume( BigDecimalType.INSTANCE.nullSafeGet( rs, "amount5_", sessionImplementor ) );
+								blackhole.consume( IntegerType.INSTANCE.nullSafeGet( rs, "itemCou6_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, "shippin7_", sessionImplementor ) );
+								rows++;
+							}
+							return rows;
+						}
+						finally {
+							ps.close();
+						}
+					}
+				}
+		);
+	}
+
+	@Benchmark
+	public int extractByPosition(final Blackhole blackhole) {
+		final SessionImplementor sessionImplementor = (SessionImplementor) session;
+		return session.doReturningWork(
+				new ReturningWork<Integer>() {
+					@Override
+					public Integer execute(Connection connection) throws SQLException {
+						final PreparedStatement ps = connection.prepareStatement( SQL );
+						try {
+							final ResultSet rs = ps.executeQuery();
+							int rows = 0;
+							while ( rs.next() ) {
+								blackhole.consume( LongType.INSTANCE.nullSafeGet( rs, 1, "id1_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, 2, "orderNum2_", sessionImplementor ) );
+								blackhole.consume( TimestampType.INSTANCE.nullSafeGet( rs, 3, "orderDat3_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, 4, "status4_", sessionImplementor ) );
+								blackhole.consume( BigDecimalType.INSTANCE.nullSafeGet( rs, 5, "amount5_", sessionImplementor ) );
+								blackhole.consume( IntegerType.INSTANCE.nullSafeGet( rs, 6, "itemCou6_", sessionImplementor ) );
+								blackhole.consume( StringType.INSTANCE.nullSafeGet( rs, 7, "shippin7_", sessionImplementor ) );
+								rows++;
+							}
+							return rows;
+						}
+						finally {
+							ps.close();
+						}
+					}
+				}
+		);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmarks.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Session#get} and {@link Session#load} both against the database (new Session per operation) and
+ * against an already populated persistence context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionLoadBenchmark {
+	private static final int CUSTOMER_COUNT = 1000;
+
+	private SessionFactory sessionFactory;
+	private Long[] ids;
+	private int position;
+
+	private Session openSession;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSupport.buildSessionFactory( null );
+		final List<Long> idList = BenchmarkSupport.persist(
+				sessionFactory,
+				BenchmarkSupport.createCustomers( CUSTOMER_COUNT, 0 )
+		);
+		ids = idList.toArray( new Long[idList.size()] );
+
+		openSession = sessionFactory.openSession();
+		for ( Long id : ids ) {
+			openSession.get( Customer.class, id );
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		openSession.close();
+		sessionFactory.close();
+	}
+
+	private Long nextId() {
+		position = ( position + 1 ) % ids.length;
+		return ids[position];
+	}
+
+	@Benchmark
+	public Object getInNewSession() {
+		final Session session = sessionFactory.openSession();
+		try {
+			return session.get( Customer.class, nextId() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object loadAndInitializeInNewSession() {
+		final Session session = sessionFactory.openSession();
+		try {
+			final Object customer = session.load( Customer.class, nextId() );
+			Hibernate.initialize( customer );
+			return customer;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object getFromPersistenceContext() {
+		return openSession.get( Customer.class, nextId() );
+	}
+
+	@Benchmark
+	public Object loadFromPersistenceContext() {
+		return openSession.load( Customer.class, nextId() );
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * The "child" side of the benchmark domain model; deliberately somewhat wide so that hydration and dirty checking
+ * costs are visible.
+ */
+@Entity
+public class PurchaseOrder {
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Customer customer;
+
+	private String orderNumber;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date orderDate;
+	private String status;
+	private BigDecimal amount;
+	private BigDecimal tax;
+	private int itemCount;
+	private String shippingStreet;
+	private String shippingCity;
+	private String shippingCountry;
+	private String comments;
+
+	public PurchaseOrder() {
+	}
+
+	public PurchaseOrder(String orderNumber, Date orderDate, BigDecimal amount, int itemCount) {
+		this.orderNumber = orderNumber;
+		this.orderDate = orderDate;
+		this.amount = amount;
+		this.tax = amount.movePointLeft( 1 );
+		this.itemCount = itemCount;
+		this.status = "NEW";
+		this.shippingStreet = "Main Street " + itemCount;
+		this.shippingCity = "Springfield";
+		this.shippingCountry = "US";
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public void setCustomer(Customer customer) {
+		this.customer = customer;
+	}
+
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+
+	public Date getOrderDate() {
+		return orderDate;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public BigDecimal getAmount() {
+		return amount;
+	}
+
+	public void setAmount(BigDecimal amount) {
+		this.amount = amount;
+	}
+
+	public BigDecimal getTax() {
+		return tax;
+	}
+
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	public String getShippingStreet() {
+		return shippingStreet;
+	}
+
+	public String getShippingCity() {
+		return shippingCity;
+	}
+
+	public String getShippingCountry() {
+		return shippingCountry;
+	}
+
+	public String getComments() {
+		return comments;
+	}
+
+	public void setComments(String comments) {
+		this.comments = comments;
+	}
+}
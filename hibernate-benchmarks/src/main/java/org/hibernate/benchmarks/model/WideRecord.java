@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * A standalone entity with 40 basic properties of assorted types, representative of wide reporting or legacy tables.
+ */
+@Entity
+public class WideRecord {
+	@Id
+	@GeneratedValue
+	private Long id;
+	private String text1;
+	private String text2;
+	private String text3;
+	private String text4;
+	private String text5;
+	private String text6;
+	private String text7;
+	private String text8;
+	private String text9;
+	private String text10;
+	private String text11;
+	private String text12;
+	private int count1;
+	private int count2;
+	private int count3;
+	private int count4;
+	private Integer quantity1;
+	private Integer quantity2;
+	private Integer quantity3;
+	private Integer quantity4;
+	private long amount1;
+	private long amount2;
+	private long amount3;
+	private long amount4;
+	private long amount5;
+	private long amount6;
+	private BigDecimal price1;
+	private BigDecimal price2;
+	private BigDecimal price3;
+	private BigDecimal price4;
+	private double ratio1;
+	private double ratio2;
+	private double ratio3;
+	private double ratio4;
+	private boolean flag1;
+	private boolean flag2;
+	private boolean flag3;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date timestamp1;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date timestamp2;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date timestamp3;
+
+	public WideRecord() {
+	}
+
+	public WideRecord(int i, Date date) {
+		this.text1 = "text-1-" + i;
+		this.text2 = "text-2-" + i;
+		this.text3 = "text-3-" + i;
+		this.text4 = "text-4-" + i;
+		this.text5 = "text-5-" + i;
+		this.text6 = "text-6-" + i;
+		this.text7 = "text-7-" + i;
+		this.text8 = "text-8-" + i;
+		this.text9 = "text-9-" + i;
+		this.text10 = "text-10-" + i;
+		this.text11 = "text-11-" + i;
+		this.text12 = "text-12-" + i;
+		this.count1 = i;
+		this.count2 = i * 2;
+		this.count3 = i * 3;
+		this.count4 = i * 4;
+		this.quantity1 = i % 2 == 0 ? Integer.valueOf( i + 1 ) : null;
+		this.quantity2 = i % 2 == 0 ? Integer.valueOf( i + 2 ) : null;
+		this.quantity3 = i % 2 == 0 ? Integer.valueOf( i + 3 ) : null;
+		this.quantity4 = i % 2 == 0 ? Integer.valueOf( i + 4 ) : null;
+		this.amount1 = i * 10L;
+		this.amount2 = i * 20L;
+		this.amount3 = i * 30L;
+		this.amount4 = i * 40L;
+		this.amount5 = i * 50L;
+		this.amount6 = i * 60L;
+		this.price1 = BigDecimal.valueOf( i, 2 );
+		this.price2 = BigDecimal.valueOf( i * 2, 2 );
+		this.price3 = BigDecimal.valueOf( i * 3, 2 );
+		this.price4 = BigDecimal.valueOf( i * 4, 2 );
+		this.ratio1 = i / 2.0;
+		this.ratio2 = i / 3.0;
+		this.ratio3 = i / 4.0;
+		this.ratio4 = i / 5.0;
+		this.flag1 = i % 2 == 0;
+		this.flag2 = i % 3 == 0;
+		this.flag3 = i % 4 == 0;
+		this.timestamp1 = date;
+		this.timestamp2 = date;
+		this.timestamp3 = date;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getText1() {
+		return text1;
+	}
+}
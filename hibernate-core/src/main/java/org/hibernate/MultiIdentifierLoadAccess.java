@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Loads multiple entities of the same type by their primary identifiers.
+ * <p/>
+ * Identifiers are first resolved against the persistence context, then against the second level cache (with a single
+ * bulk lookup when the cache region supports it); only the remaining ones are loaded from the database, in batches
+ * of identifiers per SQL statement.  The returned instances follow the same rules as {@link IdentifierLoadAccess#load}.
+ */
+public interface MultiIdentifierLoadAccess {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entities.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess with(LockOptions lockOptions);
+
+	/**
+	 * Specify the maximum number of identifiers loaded from the database by a single SQL statement.  By default the
+	 * batch size of the entity is used (as mapped, or else as defined by
+	 * {@link org.hibernate.cfg.AvailableSettings#DEFAULT_BATCH_FETCH_SIZE}), or 100 when the entity is not batch
+	 * loadable; in any case no more than the
+	 * {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit() in expression limit} of the dialect.
+	 *
+	 * @param batchSize The batch size
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess withBatchSize(int batchSize);
+
+	/**
+	 * Return the persistent instances with the given identifiers.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the given identifiers; {@code null} for each identifier with no
+	 * persistent instance
+	 */
+	public List multiLoad(Serializable... ids);
+
+	/**
+	 * Return the persistent instances with the given identifiers.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the given identifiers; {@code null} for each identifier with no
+	 * persistent instance
+	 */
+	public List multiLoad(List<? extends Serializable> ids);
+}
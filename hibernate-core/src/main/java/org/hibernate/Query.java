@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import org.hibernate.engine.HibernateIterator;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.Type;
 
@@ -273,6 +274,26 @@ public interface Query extends BasicQueryContract {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode);
 
+	/**
+	 * Return the query results as a forward-only stream, for processing large results in bounded memory.  If the
+	 * query contains multiple results per row, the results are returned in an instance of <tt>Object[]</tt>.
+	 * <p/>
+	 * Unless {@link #setReadOnly read-only mode} was explicitly disabled, entities are loaded read-only (so no
+	 * snapshot is kept for them) and the read-only entities of a row are evicted from the session as soon as the
+	 * iterator moves past that row.  Entities only reachable from a row (associations, or entities wrapped by a
+	 * {@link #setResultTransformer result transformer}) are only evicted according to their evict cascades.  Unless
+	 * a fetch size was specified, a default fetch size is applied so that the JDBC driver does not buffer the whole
+	 * result.
+	 * <p/>
+	 * The returned iterator should be {@link HibernateIterator#close() closed} if it is not
+	 * iterated to the end.
+	 *
+	 * @return the result iterator
+	 *
+	 * @see org.hibernate.Hibernate#close(Iterator)
+	 */
+	public HibernateIterator stream();
+
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results per row, the results are returned in an instance
@@ -109,6 +109,21 @@ public interface SessionBuilder {
 	 */
 	public SessionBuilder flushBeforeCompletion(boolean flushBeforeCompletion);
 
+	/**
+	 * Should the session be read-only?  A read-only session loads every entity read-only and keeps no snapshots of
+	 * loaded entity or collection state, which makes loading large query results cheaper.  Since nothing can be dirty,
+	 * the session never flushes: flushing explicitly, saving, updating, merging, replicating or deleting entities and
+	 * making entities modifiable all result in a {@link SessionException}.  Objects loaded by a read-only session
+	 * should be merged, rather than reattached, into another session.
+	 *
+	 * @param readOnly Should the session be read-only
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see Session#setDefaultReadOnly(boolean)
+	 */
+	public SessionBuilder readOnly(boolean readOnly);
+
 	/**
 	 * Define the tenant identifier to be associated with the opened session.
 	 *
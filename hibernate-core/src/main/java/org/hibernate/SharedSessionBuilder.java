@@ -104,4 +104,7 @@ public interface SharedSessionBuilder extends SessionBuilder {
 
 	@Override
 	SharedSessionBuilder flushBeforeCompletion(boolean flushBeforeCompletion);
+
+	@Override
+	SharedSessionBuilder readOnly(boolean readOnly);
 }
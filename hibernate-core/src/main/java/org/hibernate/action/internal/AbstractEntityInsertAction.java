@@ -26,6 +26,8 @@ package org.hibernate.action.internal;
 import java.io.Serializable;
 
 import org.hibernate.LockMode;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.engine.internal.ForeignKeys;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.engine.internal.Nullability;
@@ -33,6 +35,7 @@ import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.persister.entity.EntityPersister;
@@ -47,6 +50,8 @@ public abstract class AbstractEntityInsertAction extends EntityAction {
 	private final boolean isVersionIncrementDisabled;
 	private boolean isExecuted;
 	private boolean areTransientReferencesNullified;
+	private boolean isNotFoundCacheEntryLocked;
+	private SoftLock notFoundCacheEntryLock;
 
 	/**
 	 * Constructs an AbstractEntityInsertAction object.
@@ -152,6 +157,10 @@ public abstract class AbstractEntityInsertAction extends EntityAction {
 				isVersionIncrementDisabled,
 				false
 		);
+		if ( getInstance() instanceof SelfDirtinessTracker ) {
+			// the state just captured is what will be inserted, so nothing is dirty with respect to it
+			( (SelfDirtinessTracker) getInstance() ).$$_hibernate_clearDirtyAttributes();
+		}
 	}
 
 	/**
@@ -217,4 +226,59 @@ public abstract class AbstractEntityInsertAction extends EntityAction {
 				CachedNaturalIdValueSource.INSERT
 		);
 	}
+
+	/**
+	 * Lock, and remove, the marker a look up which did not find the entity may have cached for its identifier, see
+	 * {@link org.hibernate.cfg.AvailableSettings#CACHE_NOT_FOUND_ENTITIES}.  Until the lock is released after the
+	 * transaction completes, and afterwards for look ups which read the database before, the access strategy
+	 * rejects the marker, as it does for the entries of deleted entities.
+	 *
+	 * @param id The identifier of the inserted entity
+	 */
+	protected void lockNotFoundCacheEntry(Serializable id) {
+		final EntityPersister persister = getPersister();
+		final SessionImplementor session = getSession();
+		if ( id == null
+				|| !persister.hasCache()
+				|| !session.getFactory().getSettings().getCacheNotFoundEntities().contains( persister.getRootEntityName() ) ) {
+			return;
+		}
+		final CacheKey ck = session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() );
+		notFoundCacheEntryLock = persister.getCacheAccessStrategy().lockItem( ck, null );
+		isNotFoundCacheEntryLocked = true;
+		persister.getCacheAccessStrategy().remove( ck );
+	}
+
+	/**
+	 * Has {@link #lockNotFoundCacheEntry} locked the entry of the inserted entity?
+	 *
+	 * @return {@code true} if the lock still has to be released
+	 */
+	protected boolean isNotFoundCacheEntryLocked() {
+		return isNotFoundCacheEntryLocked;
+	}
+
+	/**
+	 * The lock taken by {@link #lockNotFoundCacheEntry}, to be released after the transaction completes.
+	 *
+	 * @return The lock, which may be {@code null} depending on the access strategy
+	 */
+	protected SoftLock getNotFoundCacheEntryLock() {
+		return notFoundCacheEntryLock;
+	}
+
+	/**
+	 * Release the lock taken by {@link #lockNotFoundCacheEntry}, if any.
+	 *
+	 * @param id The identifier of the inserted entity
+	 */
+	protected void unlockNotFoundCacheEntry(Serializable id) {
+		if ( !isNotFoundCacheEntryLocked ) {
+			return;
+		}
+		final EntityPersister persister = getPersister();
+		final CacheKey ck = getSession().generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() );
+		persister.getCacheAccessStrategy().unlockItem( ck, notFoundCacheEntryLock );
+		isNotFoundCacheEntryLocked = false;
+	}
 }
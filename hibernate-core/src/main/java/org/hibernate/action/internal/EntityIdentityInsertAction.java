@@ -103,6 +103,7 @@ public final class EntityIdentityInsertAction extends AbstractEntityInsertAction
 			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
 			persister.setIdentifier( instance, generatedId, session );
 			session.getPersistenceContext().registerInsertedKey( getPersister(), generatedId );
+			lockNotFoundCacheEntry( generatedId );
 			entityKey = session.generateEntityKey( generatedId, persister );
 			session.getPersistenceContext().checkUniqueness( entityKey, getInstance() );
 		}
@@ -128,7 +129,7 @@ public final class EntityIdentityInsertAction extends AbstractEntityInsertAction
 	@Override
 	public boolean needsAfterTransactionCompletion() {
 		//TODO: simply remove this override if we fix the above todos
-		return hasPostCommitEventListeners();
+		return hasPostCommitEventListeners() || isNotFoundCacheEntryLocked();
 	}
 
 	@Override
@@ -150,6 +151,7 @@ public final class EntityIdentityInsertAction extends AbstractEntityInsertAction
 		if ( success && persister.hasCache() && !persister.isCacheInvalidationRequired() ) {
 			persister.getCache().afterInsert( getGeneratedId(), cacheEntry );
 		}*/
+		unlockNotFoundCacheEntry( generatedId );
 		postCommitInsert( success );
 	}
 
@@ -100,7 +100,8 @@ public final class EntityInsertAction extends AbstractEntityInsertAction {
 		// else inserted the same pk first, the insert would fail
 
 		if ( !veto ) {
-			
+			lockNotFoundCacheEntry( id );
+
 			persister.insert( id, getState(), instance, session );
 
 			final EntityEntry entry = session.getPersistenceContext().getEntry( instance );
@@ -232,13 +233,32 @@ public final class EntityInsertAction extends AbstractEntityInsertAction {
 						.secondLevelCachePut( getPersister().getCacheAccessStrategy().getRegion().getName() );
 			}
 		}
+		else {
+			unlockNotFoundCacheEntry( getId() );
+		}
 		postCommitInsert( success );
 	}
 
 	private boolean cacheAfterInsert(EntityPersister persister, CacheKey ck) {
 		try {
 			getSession().getEventListenerManager().cachePutStart();
-			return persister.getCacheAccessStrategy().afterInsert( ck, cacheEntry, version );
+			if ( getNotFoundCacheEntryLock() != null ) {
+				// the entry is locked, the strategy replaces the lock as for an update
+				return persister.getCacheAccessStrategy().afterUpdate(
+						ck,
+						cacheEntry,
+						version,
+						null,
+						getNotFoundCacheEntryLock()
+				);
+			}
+			// strategies handing out no lock (read-only, nonstrict) do not support afterUpdate()
+			final boolean put = persister.getCacheAccessStrategy().afterInsert( ck, cacheEntry, version );
+			if ( !put ) {
+				// nothing overwrote a not-found entry cached meanwhile, releasing the "lock" evicts it
+				unlockNotFoundCacheEntry( getId() );
+			}
+			return put;
 		}
 		finally {
 			getSession().getEventListenerManager().cachePutEnd();
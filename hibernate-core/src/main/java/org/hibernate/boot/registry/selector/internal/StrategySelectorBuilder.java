@@ -33,6 +33,8 @@ import org.hibernate.boot.registry.selector.StrategyRegistrationProvider;
 import org.hibernate.boot.registry.selector.spi.StrategySelectionException;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.dialect.CUBRIDDialect;
+import org.hibernate.cache.offheap.internal.OffHeapRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.dialect.Cache71Dialect;
 import org.hibernate.dialect.DB2390Dialect;
 import org.hibernate.dialect.DB2400Dialect;
@@ -167,6 +169,7 @@ public class StrategySelectorBuilder {
 		addTransactionFactories( strategySelector );
 		addMultiTableBulkIdStrategies( strategySelector );
 		addEntityCopyObserverStrategies( strategySelector );
+		addRegionFactories( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -395,4 +398,12 @@ public class StrategySelectorBuilder {
 				EntityCopyAllowedLoggedObserver.class
 		);
 	}
+
+	private void addRegionFactories(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				RegionFactory.class,
+				OffHeapRegionFactory.SHORT_NAME,
+				OffHeapRegionFactory.class
+		);
+	}
 }
@@ -660,7 +660,7 @@ public class Enhancer {
 	private void createCollectionDirtyCheckMethod(CtClass managedCtClass) throws CannotCompileException {
 		StringBuilder builder = new StringBuilder( "private boolean " )
 				.append( EnhancerConstants.TRACKER_COLLECTION_CHANGED_NAME )
-				.append( "() { if ($$_hibernate_getInterceptor() == null || " )
+				.append( "() { if (" )
 				.append( EnhancerConstants.TRACKER_COLLECTION_NAME )
 				.append( " == null) return false; " );
 
@@ -670,9 +670,11 @@ public class Enhancer {
 						.append( EnhancerConstants.TRACKER_COLLECTION_NAME )
 						.append( ".getSize(\"" )
 						.append( ctField.getName() )
-						.append( "\") != " )
+						.append( "\") != (" )
 						.append( ctField.getName() )
-						.append( ".size()) return true;" );
+						.append( " == null ? -1 : " )
+						.append( ctField.getName() )
+						.append( ".size())) return true;" );
 			}
 		}
 
@@ -699,9 +701,11 @@ public class Enhancer {
 						.append( EnhancerConstants.TRACKER_COLLECTION_NAME )
 						.append( ".getSize(\"" )
 						.append( ctField.getName() )
-						.append( "\") != " )
+						.append( "\") != (" )
+						.append( ctField.getName() )
+						.append( " == null ? -1 : " )
 						.append( ctField.getName() )
-						.append( ".size()) trackerSet.add(\"" )
+						.append( ".size())) trackerSet.add(\"" )
 						.append( ctField.getName() )
 						.append( "\");" );
 			}
@@ -1157,10 +1161,12 @@ public class Enhancer {
 		private String entityMethodBody(CtField currentValue) {
 			StringBuilder inlineBuilder = new StringBuilder();
 			try {
-				inlineBuilder.append( "if ( $$_hibernate_getInterceptor() != null " );
+				// changes are tracked whether or not the entity is managed yet; the persistence context
+				// clears the tracker once the entity state is known to match the database
+				inlineBuilder.append( "if ( " );
 				//primitives || enums
 				if ( currentValue.getType().isPrimitive() || currentValue.getType().isEnum() ) {
-					inlineBuilder.append( "&& " ).append( currentValue.getName() ).append( " != $1)" );
+					inlineBuilder.append( currentValue.getName() ).append( " != $1)" );
 				}
 				//simple data types
 				else if ( currentValue.getType().getName().startsWith( "java.lang" )
@@ -1169,7 +1175,7 @@ public class Enhancer {
 						|| currentValue.getType().getName().startsWith( "java.sql.Date" )
 						|| currentValue.getType().getName().startsWith( "java.util.Date" )
 						|| currentValue.getType().getName().startsWith( "java.util.Calendar" ) ) {
-					inlineBuilder.append( "&& ((" )
+					inlineBuilder.append( "((" )
 							.append( currentValue.getName() )
 							.append( " == null) || (!" )
 							.append( currentValue.getName() )
@@ -1192,7 +1198,7 @@ public class Enhancer {
 					}
 
 					//todo: for now just call equals, should probably do something else here
-					inlineBuilder.append( "&& ((" )
+					inlineBuilder.append( "((" )
 							.append( currentValue.getName() )
 							.append( " == null) || (!" )
 							.append( currentValue.getName() )
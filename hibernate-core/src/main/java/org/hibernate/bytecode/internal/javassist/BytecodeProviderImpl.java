@@ -23,6 +23,7 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.Set;
 
@@ -34,11 +35,17 @@ import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.bytecode.spi.NotInstrumentedException;
+import org.hibernate.bytecode.spi.OptimizedAccessorProvider;
+import org.hibernate.bytecode.spi.PropertyHydrator;
+import org.hibernate.bytecode.spi.PropertyHydratorProvider;
 import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -47,7 +54,7 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  */
-public class BytecodeProviderImpl implements BytecodeProvider {
+public class BytecodeProviderImpl implements BytecodeProvider, OptimizedAccessorProvider, PropertyHydratorProvider {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
 			BytecodeProviderImpl.class.getName()
@@ -128,6 +135,62 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		return new EntityInstrumentationMetadataImpl( entityClass );
 	}
 
+	@Override
+	public Getter getOptimizedGetter(Class theClass, String propertyName, Getter getter) {
+		try {
+			return new OptimizedAccessorFactory( theClass, propertyName ).createGetter( getter );
+		}
+		catch ( Throwable t ) {
+			logOptimizedAccessorDisabled( theClass, propertyName, t );
+			return null;
+		}
+	}
+
+	@Override
+	public Setter getOptimizedSetter(Class theClass, String propertyName, Member member, Setter setter) {
+		try {
+			return new OptimizedAccessorFactory( theClass, propertyName ).createSetter( member, setter );
+		}
+		catch ( Throwable t ) {
+			logOptimizedAccessorDisabled( theClass, propertyName, t );
+			return null;
+		}
+	}
+
+	@Override
+	public PropertyHydrator getPropertyHydrator(
+			String entityName,
+			Type[] types,
+			boolean[] selectable,
+			boolean[] laziness) {
+		try {
+			return new PropertyHydratorFactory( types, selectable, laziness ).create();
+		}
+		catch ( Throwable t ) {
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Generated hydrator disabled for %s [%s: %s]",
+						entityName,
+						StringHelper.unqualify( t.getClass().getName() ),
+						t.getMessage()
+				);
+			}
+			return null;
+		}
+	}
+
+	private static void logOptimizedAccessorDisabled(Class theClass, String propertyName, Throwable t) {
+		if ( LOG.isDebugEnabled() ) {
+			LOG.debugf(
+					"Generated property accessor disabled for %s.%s [%s: %s]",
+					theClass.getName(),
+					propertyName,
+					StringHelper.unqualify( t.getClass().getName() ),
+					t.getMessage()
+			);
+		}
+	}
+
 	private class EntityInstrumentationMetadataImpl implements EntityInstrumentationMetadata {
 		private final Class entityClass;
 		private final boolean isInstrumented;
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.spi.PropertyHydrator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.ColumnPositions;
+import org.hibernate.property.BackrefPropertyAccessor;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * The base class of the property hydrators generated by {@link PropertyHydratorFactory}.  The generated subclass
+ * hydrates the eager, selectable properties; this class resolves the positions of their columns beforehand and
+ * handles the remaining (lazy or not selectable) properties.
+ */
+public abstract class GeneratedPropertyHydrator implements PropertyHydrator {
+	protected Type[] types;
+	int[] basicProperties;
+	int[] lazyProperties;
+	int[] unselectableProperties;
+
+	/**
+	 * Protected access constructor so the generated class has access to it.
+	 */
+	protected GeneratedPropertyHydrator() {
+	}
+
+	@Override
+	public Object[] hydrate(
+			ResultSet rs,
+			String[][] suffixedPropertyColumns,
+			int[] propertyColumnPositions,
+			boolean allProperties,
+			SessionImplementor session,
+			Object owner) throws SQLException {
+		final int[] positions = propertyColumnPositions == null ? new int[types.length] : propertyColumnPositions;
+		if ( basicProperties.length > 0 && positions[ basicProperties[0] ] == 0 ) {
+			// the generated code reads the basic properties by position unconditionally
+			for ( int i : basicProperties ) {
+				positions[i] = rs.findColumn( suffixedPropertyColumns[i][0] );
+			}
+		}
+
+		final Object[] values = new Object[types.length];
+		hydrateEagerProperties( rs, suffixedPropertyColumns, positions, session, owner, values );
+		for ( int i : lazyProperties ) {
+			if ( allProperties ) {
+				final String[] cols = suffixedPropertyColumns[i];
+				final int position = ColumnPositions.resolve( positions, i, types[i], cols, rs );
+				values[i] = position > 0
+						? ( (AbstractStandardBasicType) types[i] ).nullSafeGet( rs, position, cols[0], session )
+						: types[i].hydrate( rs, cols, session, owner );
+			}
+			else {
+				values[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			}
+		}
+		for ( int i : unselectableProperties ) {
+			values[i] = BackrefPropertyAccessor.UNKNOWN;
+		}
+		return values;
+	}
+
+	/**
+	 * Hydrate the values of the eager, selectable properties into the given array.
+	 *
+	 * @param rs The result set
+	 * @param suffixedPropertyColumns The column aliases of each property
+	 * @param positions The positions of the property columns, resolved for the basic properties
+	 * @param session The session
+	 * @param owner The entity being hydrated
+	 * @param values The array of hydrated values
+	 *
+	 * @throws SQLException Indicates a problem reading from the result set
+	 */
+	protected abstract void hydrateEagerProperties(
+			ResultSet rs,
+			String[][] suffixedPropertyColumns,
+			int[] positions,
+			SessionImplementor session,
+			Object owner,
+			Object[] values) throws SQLException;
+}
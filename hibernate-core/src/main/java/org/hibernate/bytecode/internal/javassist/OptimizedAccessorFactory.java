@@ -0,0 +1,363 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.CannotCompileException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+import javassist.util.proxy.RuntimeSupport;
+
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+
+/**
+ * A factory of {@link OptimizedGetter}s and {@link OptimizedSetter}s.  Each generated class accesses a single
+ * property member with straight line code, e.g. for a setter
+ * <pre>((Entity) target).setName( (String) value );</pre>
+ * The class is defined in the package and class loader of the class declaring the member, so that protected and
+ * package private members can be accessed as well as public ones.  Private and static members are not handled.
+ * <p/>
+ * Accessors are asked for every time a mapping builds a getter or setter, so the class generated for a member is
+ * shared by all the accessors of that member rather than defined again, which would fill the permanent generation.
+ * The classes are cached by declaring class in a weak map, and only weakly referenced from it, so that the cache does
+ * not keep the class loaders of the entities alive.
+ */
+class OptimizedAccessorFactory {
+	private static final String GETTER_CLASS_NAME = OptimizedGetter.class.getName();
+	private static final String SETTER_CLASS_NAME = OptimizedSetter.class.getName();
+	private static final String GENERATED_GETTER_NAME = "doGet";
+	private static final String GENERATED_GETTER_DESC = "(Ljava/lang/Object;)Ljava/lang/Object;";
+	private static final String GENERATED_SETTER_NAME = "doSet";
+	private static final String GENERATED_SETTER_DESC = "(Ljava/lang/Object;Ljava/lang/Object;)V";
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private static final Map<Class, Map<String, WeakReference<Class>>> GENERATED_CLASSES =
+			new WeakHashMap<Class, Map<String, WeakReference<Class>>>();
+
+	private final Class clazz;
+	private final String propertyName;
+
+	OptimizedAccessorFactory(Class clazz, String propertyName) {
+		this.clazz = clazz;
+		this.propertyName = propertyName;
+	}
+
+	/**
+	 * Generate a getter reading the member of the given reflective getter.
+	 *
+	 * @param getter The reflective getter
+	 *
+	 * @return The generated getter, or {@code null} if its member cannot be accessed from generated code.
+	 *
+	 * @throws Exception Indicates a problem generating or loading the class
+	 */
+	OptimizedGetter createGetter(Getter getter) throws Exception {
+		final Member member = getter.getMember();
+		if ( !isAccessible( member, false ) ) {
+			return null;
+		}
+
+		final OptimizedGetter optimizedGetter = (OptimizedGetter) generatedClass( member, GETTER_CLASS_NAME ).newInstance();
+		optimizedGetter.delegate = getter;
+		optimizedGetter.clazz = clazz;
+		optimizedGetter.propertyName = propertyName;
+		optimizedGetter.declaringClass = member.getDeclaringClass();
+		return optimizedGetter;
+	}
+
+	/**
+	 * Generate a setter writing the given member, which is the one written by the given reflective setter.
+	 *
+	 * @param member The setter method or field
+	 * @param setter The reflective setter
+	 *
+	 * @return The generated setter, or {@code null} if the member cannot be accessed from generated code.
+	 *
+	 * @throws Exception Indicates a problem generating or loading the class
+	 */
+	OptimizedSetter createSetter(Member member, Setter setter) throws Exception {
+		if ( !isAccessible( member, true ) ) {
+			return null;
+		}
+
+		final Class valueType = valueType( member );
+		final OptimizedSetter optimizedSetter = (OptimizedSetter) generatedClass( member, SETTER_CLASS_NAME ).newInstance();
+		optimizedSetter.delegate = setter;
+		optimizedSetter.clazz = clazz;
+		optimizedSetter.propertyName = propertyName;
+		optimizedSetter.declaringClass = member.getDeclaringClass();
+		optimizedSetter.primitive = valueType.isPrimitive();
+		optimizedSetter.valueClass = valueType.isPrimitive()
+				? Class.forName( FactoryHelper.wrapperTypes[FactoryHelper.typeIndex( valueType )] )
+				: valueType;
+		return optimizedSetter;
+	}
+
+	/**
+	 * Get the class generated for the given member, generating it the first time.
+	 */
+	private Class generatedClass(Member member, String superclassName) throws CannotCompileException {
+		final Class declaringClass = member.getDeclaringClass();
+		final String key = superclassName + ':' + memberKey( member );
+		synchronized ( GENERATED_CLASSES ) {
+			Map<String, WeakReference<Class>> classes = GENERATED_CLASSES.get( declaringClass );
+			if ( classes == null ) {
+				classes = new HashMap<String, WeakReference<Class>>();
+				GENERATED_CLASSES.put( declaringClass, classes );
+			}
+			final WeakReference<Class> reference = classes.get( key );
+			Class generated = reference == null ? null : reference.get();
+			if ( generated == null ) {
+				final ClassFile classfile = make( declaringClass, superclassName );
+				if ( GETTER_CLASS_NAME.equals( superclassName ) ) {
+					addGetter( classfile, member );
+				}
+				else {
+					addSetter( classfile, member, valueType( member ) );
+				}
+				generated = toClass( classfile, member );
+				classes.put( key, new WeakReference<Class>( generated ) );
+			}
+			return generated;
+		}
+	}
+
+	private static String memberKey(Member member) {
+		return member instanceof Method
+				? member.getName() + RuntimeSupport.makeDescriptor( (Method) member )
+				: member.getName() + ':' + descriptor( ( (Field) member ).getType() );
+	}
+
+	private static boolean isAccessible(Member member, boolean forWrite) {
+		if ( member == null ) {
+			return false;
+		}
+		final int modifiers = member.getModifiers();
+		if ( Modifier.isPrivate( modifiers ) || Modifier.isStatic( modifiers ) ) {
+			return false;
+		}
+		if ( member instanceof Method ) {
+			final int parameterCount = ( (Method) member ).getParameterTypes().length;
+			if ( parameterCount != ( forWrite ? 1 : 0 ) ) {
+				return false;
+			}
+		}
+		else if ( member instanceof Field ) {
+			if ( forWrite && Modifier.isFinal( modifiers ) ) {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+		final Class declaringClass = member.getDeclaringClass();
+		return declaringClass.getClassLoader() != null && !declaringClass.getName().startsWith( "java." );
+	}
+
+	private static Class valueType(Member member) {
+		return member instanceof Method
+				? ( (Method) member ).getParameterTypes()[0]
+				: ( (Field) member ).getType();
+	}
+
+	private static Class toClass(ClassFile classfile, Member member) throws CannotCompileException {
+		final Class declaringClass = member.getDeclaringClass();
+		return FactoryHelper.toClass(
+				classfile,
+				declaringClass.getClassLoader(),
+				declaringClass.getProtectionDomain()
+		);
+	}
+
+	private ClassFile make(Class declaringClass, String superclassName) throws CannotCompileException {
+		final String className = declaringClass.getName() + "_$$_accessor_" + COUNTER.getAndIncrement();
+		final ClassFile classfile = new ClassFile( false, className, superclassName );
+		classfile.setAccessFlags( AccessFlag.PUBLIC );
+		addDefaultConstructor( classfile, superclassName );
+		return classfile;
+	}
+
+	private void addDefaultConstructor(ClassFile classfile, String superclassName) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final String constructorSignature = "()V";
+		final MethodInfo constructorMethodInfo = new MethodInfo( constPool, MethodInfo.nameInit, constructorSignature );
+
+		final Bytecode code = new Bytecode( constPool, 0, 1 );
+		// aload_0
+		code.addAload( 0 );
+		// invokespecial
+		code.addInvokespecial( superclassName, MethodInfo.nameInit, constructorSignature );
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		constructorMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		constructorMethodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( constructorMethodInfo );
+	}
+
+	private void addGetter(ClassFile classfile, Member member) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final Class declaringClass = member.getDeclaringClass();
+		final int declaringClassConstPoolIndex = constPool.addClassInfo( declaringClass.getName() );
+		final MethodInfo getterMethodInfo = new MethodInfo( constPool, GENERATED_GETTER_NAME, GENERATED_GETTER_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 4, 2 );
+		/* | this | owner | */
+		final Class returnType = member instanceof Method
+				? ( (Method) member ).getReturnType()
+				: ( (Field) member ).getType();
+		int typeIndex = -1;
+		if ( returnType.isPrimitive() ) {
+			typeIndex = FactoryHelper.typeIndex( returnType );
+			// new
+			code.addNew( FactoryHelper.wrapperTypes[typeIndex] );
+			// dup
+			code.addOpcode( Opcode.DUP );
+		}
+		// aload_1 // owner
+		code.addAload( 1 );
+		// checkcast // cast owner
+		code.addCheckcast( declaringClass.getName() );
+		if ( member instanceof Method ) {
+			final Method getter = (Method) member;
+			final String getterSignature = RuntimeSupport.makeDescriptor( getter );
+			if ( declaringClass.isInterface() ) {
+				// invokeinterface
+				code.addInvokeinterface( declaringClassConstPoolIndex, getter.getName(), getterSignature, 1 );
+			}
+			else {
+				// invokevirtual
+				code.addInvokevirtual( declaringClassConstPoolIndex, getter.getName(), getterSignature );
+			}
+		}
+		else {
+			// getfield
+			code.addGetfield( declaringClass.getName(), member.getName(), descriptor( returnType ) );
+		}
+		if ( typeIndex >= 0 ) {
+			// invokespecial // box the primitive value
+			code.addInvokespecial(
+					FactoryHelper.wrapperTypes[typeIndex],
+					MethodInfo.nameInit,
+					FactoryHelper.wrapperDesc[typeIndex]
+			);
+		}
+		// areturn
+		code.addOpcode( Opcode.ARETURN );
+
+		getterMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		getterMethodInfo.setAccessFlags( AccessFlag.PROTECTED );
+		classfile.addMethod( getterMethodInfo );
+	}
+
+	private void addSetter(ClassFile classfile, Member member, Class valueType) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final Class declaringClass = member.getDeclaringClass();
+		final int declaringClassConstPoolIndex = constPool.addClassInfo( declaringClass.getName() );
+		final MethodInfo setterMethodInfo = new MethodInfo( constPool, GENERATED_SETTER_NAME, GENERATED_SETTER_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 3, 3 );
+		/* | this | target | value | */
+		// aload_1 // target
+		code.addAload( 1 );
+		// checkcast // cast target
+		code.addCheckcast( declaringClass.getName() );
+		// aload_2 // value
+		code.addAload( 2 );
+		final boolean wide = valueType == Long.TYPE || valueType == Double.TYPE;
+		if ( valueType.isPrimitive() ) {
+			final int typeIndex = FactoryHelper.typeIndex( valueType );
+			final String wrapperType = FactoryHelper.wrapperTypes[typeIndex];
+			// checkcast
+			code.addCheckcast( wrapperType );
+			// invokevirtual // unbox the value
+			code.addInvokevirtual(
+					wrapperType,
+					FactoryHelper.unwarpMethods[typeIndex],
+					FactoryHelper.unwrapDesc[typeIndex]
+			);
+		}
+		else {
+			// checkcast // cast value
+			code.addCheckcast( valueType.getName() );
+		}
+		if ( member instanceof Method ) {
+			final Method setter = (Method) member;
+			final String setterSignature = RuntimeSupport.makeDescriptor( setter );
+			if ( declaringClass.isInterface() ) {
+				// invokeinterface
+				code.addInvokeinterface(
+						declaringClassConstPoolIndex,
+						setter.getName(),
+						setterSignature,
+						wide ? 3 : 2
+				);
+			}
+			else {
+				// invokevirtual
+				code.addInvokevirtual( declaringClassConstPoolIndex, setter.getName(), setterSignature );
+			}
+			final Class returnType = setter.getReturnType();
+			if ( returnType == Long.TYPE || returnType == Double.TYPE ) {
+				// pop2 // discard a fluent setter's return value
+				code.addOpcode( Opcode.POP2 );
+			}
+			else if ( returnType != Void.TYPE ) {
+				// pop // discard a fluent setter's return value
+				code.addOpcode( Opcode.POP );
+			}
+		}
+		else {
+			// putfield
+			code.addPutfield( declaringClass.getName(), member.getName(), descriptor( valueType ) );
+		}
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		setterMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		setterMethodInfo.setAccessFlags( AccessFlag.PROTECTED );
+		classfile.addMethod( setterMethodInfo );
+	}
+
+	private static String descriptor(Class type) {
+		// the descriptor of a method taking no parameter and returning the type is "()" followed by the type descriptor
+		return RuntimeSupport.makeDescriptor( new Class[0], type ).substring( 2 );
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.PropertyAccessException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.property.Getter;
+
+/**
+ * The base class of the getters generated by {@link OptimizedAccessorFactory}.  The generated subclass reads the
+ * property with a direct method call or field access; anything it is not able to handle (an owner of the wrong
+ * type, for instance) is passed on to the reflective getter, so that errors are reported exactly as before.
+ */
+public abstract class OptimizedGetter implements Getter {
+	Getter delegate;
+	Class clazz;
+	String propertyName;
+	Class declaringClass;
+
+	/**
+	 * Protected access constructor so the generated class has access to it.
+	 */
+	protected OptimizedGetter() {
+	}
+
+	@Override
+	public Object get(Object owner) throws HibernateException {
+		if ( !declaringClass.isInstance( owner ) ) {
+			return delegate.get( owner );
+		}
+		try {
+			return doGet( owner );
+		}
+		catch (Exception e) {
+			throw new PropertyAccessException( e, "Exception occurred inside", false, clazz, propertyName );
+		}
+	}
+
+	/**
+	 * Read the property value.
+	 *
+	 * @param owner The owner of the property, already known to be an instance of the declaring class.
+	 *
+	 * @return The property value, boxed if primitive.
+	 */
+	protected abstract Object doGet(Object owner);
+
+	@Override
+	public Object getForInsert(Object owner, Map mergeMap, SessionImplementor session) {
+		return get( owner );
+	}
+
+	@Override
+	public Member getMember() {
+		return delegate.getMember();
+	}
+
+	@Override
+	public Class getReturnType() {
+		return delegate.getReturnType();
+	}
+
+	@Override
+	public String getMethodName() {
+		return delegate.getMethodName();
+	}
+
+	@Override
+	public Method getMethod() {
+		return delegate.getMethod();
+	}
+
+	@Override
+	public String toString() {
+		return "OptimizedGetter(" + delegate + ')';
+	}
+
+	/**
+	 * The generated class is not loadable on deserialization, so serialize the reflective getter instead.
+	 *
+	 * @return The reflective getter
+	 */
+	protected Object writeReplace() {
+		return delegate;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.lang.reflect.Method;
+
+import org.hibernate.HibernateException;
+import org.hibernate.PropertyAccessException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.property.Setter;
+
+/**
+ * The base class of the setters generated by {@link OptimizedAccessorFactory}.  The generated subclass writes the
+ * property with a direct method call or field access; anything it is not able to handle (a null value for a
+ * primitive property, or a value or target of the wrong type) is passed on to the reflective setter, so that errors
+ * are reported exactly as before.
+ */
+public abstract class OptimizedSetter implements Setter {
+	Setter delegate;
+	Class clazz;
+	String propertyName;
+	Class declaringClass;
+	Class valueClass;
+	boolean primitive;
+
+	/**
+	 * Protected access constructor so the generated class has access to it.
+	 */
+	protected OptimizedSetter() {
+	}
+
+	@Override
+	public void set(Object target, Object value, SessionFactoryImplementor factory) throws HibernateException {
+		if ( value == null ? primitive : !valueClass.isInstance( value ) ) {
+			delegate.set( target, value, factory );
+			return;
+		}
+		if ( !declaringClass.isInstance( target ) ) {
+			delegate.set( target, value, factory );
+			return;
+		}
+		try {
+			doSet( target, value );
+		}
+		catch (Exception e) {
+			throw new PropertyAccessException( e, "Exception occurred inside", true, clazz, propertyName );
+		}
+	}
+
+	/**
+	 * Write the property value.
+	 *
+	 * @param target The owner of the property, already known to be an instance of the declaring class.
+	 * @param value The value, already known to be assignable to the property (and not null if primitive).
+	 */
+	protected abstract void doSet(Object target, Object value);
+
+	@Override
+	public String getMethodName() {
+		return delegate.getMethodName();
+	}
+
+	@Override
+	public Method getMethod() {
+		return delegate.getMethod();
+	}
+
+	@Override
+	public String toString() {
+		return "OptimizedSetter(" + delegate + ')';
+	}
+
+	/**
+	 * The generated class is not loadable on deserialization, so serialize the reflective setter instead.
+	 *
+	 * @return The reflective setter
+	 */
+	protected Object writeReplace() {
+		return delegate;
+	}
+}
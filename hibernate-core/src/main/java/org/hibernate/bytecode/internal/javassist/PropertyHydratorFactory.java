@@ -0,0 +1,265 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.CannotCompileException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * A factory of {@link GeneratedPropertyHydrator}s.  The generated <tt>hydrateEagerProperties</tt> method is straight
+ * line code with a call site per eager, selectable property <tt>i</tt>: basic properties are read by position,
+ * <pre>values[i] = ((AbstractStandardBasicType) types[i]).nullSafeGet( rs, positions[i], suffixedPropertyColumns[i][0], session );</pre>
+ * while the other properties are hydrated by their type,
+ * <pre>values[i] = types[i].hydrate( rs, suffixedPropertyColumns[i], session, owner );</pre>
+ * The properties are spread over methods of at most 100 properties, so that the methods of
+ * wide entities stay small enough to be compiled by the JIT compiler.
+ */
+class PropertyHydratorFactory {
+	private static final int PROPERTIES_PER_METHOD = 100;
+
+	private static final String HYDRATOR_CLASS_NAME = GeneratedPropertyHydrator.class.getName();
+	private static final String TYPE_CLASS_NAME = Type.class.getName();
+	private static final String BASIC_TYPE_CLASS_NAME = AbstractStandardBasicType.class.getName();
+	private static final String GENERATED_METHOD_NAME = "hydrateEagerProperties";
+	private static final String GENERATED_METHOD_DESC =
+			"(Ljava/sql/ResultSet;[[Ljava/lang/String;[ILorg/hibernate/engine/spi/SessionImplementor;Ljava/lang/Object;[Ljava/lang/Object;)V";
+	private static final String TYPES_FIELD_NAME = "types";
+	private static final String TYPES_FIELD_DESC = "[Lorg/hibernate/type/Type;";
+	private static final String TYPE_HYDRATE_NAME = "hydrate";
+	private static final String TYPE_HYDRATE_DESC =
+			"(Ljava/sql/ResultSet;[Ljava/lang/String;Lorg/hibernate/engine/spi/SessionImplementor;Ljava/lang/Object;)Ljava/lang/Object;";
+	private static final String BASIC_TYPE_GET_NAME = "nullSafeGet";
+	private static final String BASIC_TYPE_GET_DESC =
+			"(Ljava/sql/ResultSet;ILjava/lang/String;Lorg/hibernate/engine/spi/SessionImplementor;)Ljava/lang/Object;";
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private final Type[] types;
+	private final boolean[] selectable;
+	private final boolean[] laziness;
+
+	PropertyHydratorFactory(Type[] types, boolean[] selectable, boolean[] laziness) {
+		this.types = types;
+		this.selectable = selectable;
+		this.laziness = laziness;
+	}
+
+	GeneratedPropertyHydrator create() throws Exception {
+		final List<Integer> eager = new ArrayList<Integer>();
+		final List<Integer> basic = new ArrayList<Integer>();
+		final List<Integer> lazy = new ArrayList<Integer>();
+		final List<Integer> unselectable = new ArrayList<Integer>();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !selectable[i] ) {
+				unselectable.add( i );
+			}
+			else if ( laziness[i] ) {
+				lazy.add( i );
+			}
+			else {
+				eager.add( i );
+				if ( isBasic( types[i] ) ) {
+					basic.add( i );
+				}
+			}
+		}
+
+		final ClassFile classfile = make( ArrayHelper.toIntArray( eager ) );
+		final Class hydratorClass = FactoryHelper.toClass(
+				classfile,
+				GeneratedPropertyHydrator.class.getClassLoader(),
+				GeneratedPropertyHydrator.class.getProtectionDomain()
+		);
+		final GeneratedPropertyHydrator hydrator = (GeneratedPropertyHydrator) hydratorClass.newInstance();
+		hydrator.types = types.clone();
+		hydrator.basicProperties = ArrayHelper.toIntArray( basic );
+		hydrator.lazyProperties = ArrayHelper.toIntArray( lazy );
+		hydrator.unselectableProperties = ArrayHelper.toIntArray( unselectable );
+		return hydrator;
+	}
+
+	private static boolean isBasic(Type type) {
+		// always a single column, which can be read by position
+		return type instanceof AbstractStandardBasicType;
+	}
+
+	private ClassFile make(int[] eager) throws CannotCompileException {
+		final String className = HYDRATOR_CLASS_NAME + "_$$_" + COUNTER.getAndIncrement();
+		final ClassFile classfile = new ClassFile( false, className, HYDRATOR_CLASS_NAME );
+		classfile.setAccessFlags( AccessFlag.PUBLIC );
+		addDefaultConstructor( classfile );
+
+		final List<String> methodNames = new ArrayList<String>();
+		for ( int start = 0; start < eager.length; start += PROPERTIES_PER_METHOD ) {
+			final String methodName = GENERATED_METHOD_NAME + '_' + methodNames.size();
+			addHydrateProperties(
+					classfile,
+					methodName,
+					eager,
+					start,
+					Math.min( start + PROPERTIES_PER_METHOD, eager.length )
+			);
+			methodNames.add( methodName );
+		}
+		addHydrateEagerProperties( classfile, className, methodNames );
+		return classfile;
+	}
+
+	private void addDefaultConstructor(ClassFile classfile) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final String constructorSignature = "()V";
+		final MethodInfo constructorMethodInfo = new MethodInfo( constPool, MethodInfo.nameInit, constructorSignature );
+
+		final Bytecode code = new Bytecode( constPool, 0, 1 );
+		// aload_0
+		code.addAload( 0 );
+		// invokespecial
+		code.addInvokespecial( HYDRATOR_CLASS_NAME, MethodInfo.nameInit, constructorSignature );
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		constructorMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		constructorMethodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( constructorMethodInfo );
+	}
+
+	private void addHydrateEagerProperties(ClassFile classfile, String className, List<String> methodNames)
+			throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, GENERATED_METHOD_NAME, GENERATED_METHOD_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 7, 7 );
+		/* | this | rs | suffixedPropertyColumns | positions | session | owner | values | */
+		for ( String methodName : methodNames ) {
+			// aload_0 ... aload 6 // this and the arguments
+			for ( int i = 0; i < 7; i++ ) {
+				code.addAload( i );
+			}
+			// invokespecial // this.hydrateEagerProperties_n( ... )
+			code.addInvokespecial( className, methodName, GENERATED_METHOD_DESC );
+		}
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		methodInfo.setAccessFlags( AccessFlag.PROTECTED );
+		classfile.addMethod( methodInfo );
+	}
+
+	private void addHydrateProperties(ClassFile classfile, String methodName, int[] eager, int start, int end)
+			throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final int typeConstPoolIndex = constPool.addClassInfo( TYPE_CLASS_NAME );
+		final MethodInfo methodInfo = new MethodInfo( constPool, methodName, GENERATED_METHOD_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 8, 8 );
+		/* | this | rs | suffixedPropertyColumns | positions | session | owner | values | types | */
+		// aload_0
+		code.addAload( 0 );
+		// getfield // this.types
+		code.addGetfield( HYDRATOR_CLASS_NAME, TYPES_FIELD_NAME, TYPES_FIELD_DESC );
+		// astore 7
+		code.addAstore( 7 );
+		for ( int n = start; n < end; n++ ) {
+			final int i = eager[n];
+			// aload 6 // values
+			code.addAload( 6 );
+			// iconst_i
+			code.addIconst( i );
+			// aload 7 // types
+			code.addAload( 7 );
+			// iconst_i
+			code.addIconst( i );
+			// aaload // types[i]
+			code.addOpcode( Opcode.AALOAD );
+			if ( isBasic( types[i] ) ) {
+				// checkcast // cast types[i]
+				code.addCheckcast( BASIC_TYPE_CLASS_NAME );
+				// aload_1 // rs
+				code.addAload( 1 );
+				// aload_3 // positions
+				code.addAload( 3 );
+				// iconst_i
+				code.addIconst( i );
+				// iaload // positions[i]
+				code.addOpcode( Opcode.IALOAD );
+				// aload_2 // suffixedPropertyColumns
+				code.addAload( 2 );
+				// iconst_i
+				code.addIconst( i );
+				// aaload // suffixedPropertyColumns[i]
+				code.addOpcode( Opcode.AALOAD );
+				// iconst_0
+				code.addIconst( 0 );
+				// aaload // suffixedPropertyColumns[i][0]
+				code.addOpcode( Opcode.AALOAD );
+				// aload 4 // session
+				code.addAload( 4 );
+				/* current stack len = 7 */
+				// invokevirtual // AbstractStandardBasicType.nullSafeGet
+				code.addInvokevirtual( BASIC_TYPE_CLASS_NAME, BASIC_TYPE_GET_NAME, BASIC_TYPE_GET_DESC );
+			}
+			else {
+				// aload_1 // rs
+				code.addAload( 1 );
+				// aload_2 // suffixedPropertyColumns
+				code.addAload( 2 );
+				// iconst_i
+				code.addIconst( i );
+				// aaload // suffixedPropertyColumns[i]
+				code.addOpcode( Opcode.AALOAD );
+				// aload 4 // session
+				code.addAload( 4 );
+				// aload 5 // owner
+				code.addAload( 5 );
+				/* current stack len = 7 */
+				// invokeinterface // Type.hydrate
+				code.addInvokeinterface( typeConstPoolIndex, TYPE_HYDRATE_NAME, TYPE_HYDRATE_DESC, 5 );
+			}
+			// aastore // values[i]
+			code.addOpcode( Opcode.AASTORE );
+			/* current stack len = 0 */
+		}
+		// return
+		code.addOpcode( Opcode.RETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		methodInfo.setAccessFlags( AccessFlag.PRIVATE );
+		classfile.addMethod( methodInfo );
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.property.Getter;
+import org.hibernate.property.Setter;
+
+/**
+ * Optionally implemented by {@link BytecodeProvider}s able to generate property accessors which access the members
+ * directly rather than through reflection.  Used when
+ * {@link org.hibernate.cfg.AvailableSettings#USE_GENERATED_PROPERTY_ACCESSORS generated property accessors} are
+ * enabled; with providers not implementing it, the properties keep being accessed through reflection.
+ */
+public interface OptimizedAccessorProvider {
+	/**
+	 * Generate a Getter which reads the property directly, rather than through reflection.
+	 *
+	 * @param theClass The class on which the property is defined.
+	 * @param propertyName The name of the property.
+	 * @param getter The reflective getter, used for anything the generated code cannot handle.
+	 *
+	 * @return The optimized getter, or {@code null} if the getter member cannot be accessed from generated code.
+	 */
+	public Getter getOptimizedGetter(Class theClass, String propertyName, Getter getter);
+
+	/**
+	 * Generate a Setter which writes the property directly, rather than through reflection.
+	 *
+	 * @param theClass The class on which the property is defined.
+	 * @param propertyName The name of the property.
+	 * @param member The setter method, or the field, written by the given setter.
+	 * @param setter The reflective setter, used for anything the generated code cannot handle.
+	 *
+	 * @return The optimized setter, or {@code null} if the member cannot be accessed from generated code.
+	 */
+	public Setter getOptimizedSetter(Class theClass, String propertyName, Member member, Setter setter);
+}
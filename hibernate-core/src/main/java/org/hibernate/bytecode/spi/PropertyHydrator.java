@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Hydrates the property values of an entity from a JDBC result set, as
+ * {@link org.hibernate.persister.entity.AbstractEntityPersister#hydrate} does, using code generated for the
+ * property types of a particular persister.
+ *
+ * @see PropertyHydratorProvider
+ */
+public interface PropertyHydrator {
+	/**
+	 * Hydrate the property values from the current row of the result set.
+	 *
+	 * @param rs The result set
+	 * @param suffixedPropertyColumns The column aliases of each property
+	 * @param propertyColumnPositions The positions of the property columns in the result set, resolved on first use
+	 * and kept by the caller for the remaining rows (see {@link org.hibernate.loader.ColumnPositions}), or
+	 * {@code null} to resolve them for this row only
+	 * @param allProperties Whether lazy properties should be hydrated as well
+	 * @param session The session
+	 * @param owner The entity being hydrated
+	 *
+	 * @return The hydrated values, {@link org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer#UNFETCHED_PROPERTY}
+	 * for lazy properties which were not hydrated and {@link org.hibernate.property.BackrefPropertyAccessor#UNKNOWN}
+	 * for properties which are not selectable
+	 *
+	 * @throws SQLException Indicates a problem reading from the result set
+	 */
+	public Object[] hydrate(
+			ResultSet rs,
+			String[][] suffixedPropertyColumns,
+			int[] propertyColumnPositions,
+			boolean allProperties,
+			SessionImplementor session,
+			Object owner) throws SQLException;
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import org.hibernate.type.Type;
+
+/**
+ * Optionally implemented by {@link BytecodeProvider}s able to generate the code hydrating the property values of an
+ * entity.  Used when {@link org.hibernate.cfg.AvailableSettings#USE_GENERATED_HYDRATORS generated hydrators} are
+ * enabled; with providers not implementing it, entities keep being hydrated by the generic persister code.
+ */
+public interface PropertyHydratorProvider {
+	/**
+	 * Generate a PropertyHydrator for properties of the given types.
+	 *
+	 * @param entityName The name of the entity whose properties are hydrated (for logging).
+	 * @param types The property types.
+	 * @param selectable Whether each property is selectable.
+	 * @param laziness Whether each property is lazy.
+	 *
+	 * @return The hydrator, or {@code null} if the hydrator cannot be generated.
+	 */
+	public PropertyHydrator getPropertyHydrator(String entityName, Type[] types, boolean[] selectable, boolean[] laziness);
+}
@@ -0,0 +1,201 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Base for the access strategies of the regions built by {@link NearCacheRegionFactory}.  Reads are answered from
+ * the near cache when possible; every call which may change the cached data invalidates the near cache entry once
+ * the actual access strategy is done with it.
+ *
+ * @param <S> The type of the actual access strategy
+ */
+abstract class AbstractNearCacheAccessStrategy<S extends RegionAccessStrategy> implements BulkRegionAccessStrategy {
+	private final NearCacheRegion nearCache;
+	private final S delegate;
+
+	AbstractNearCacheAccessStrategy(NearCacheRegion nearCache, S delegate) {
+		this.nearCache = nearCache;
+		this.delegate = delegate;
+	}
+
+	protected S delegate() {
+		return delegate;
+	}
+
+	protected NearCacheRegion nearCache() {
+		return nearCache;
+	}
+
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		Object value = nearCache.get( key, txTimestamp );
+		if ( value == null ) {
+			final long readStamp = nearCache.startRead();
+			value = delegate.get( key, txTimestamp );
+			if ( value != null ) {
+				nearCache.put( key, value, txTimestamp, readStamp );
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		final List<Object> lookups = new ArrayList<Object>( keys.size() );
+		for ( Object key : keys ) {
+			final Object value = nearCache.get( key, txTimestamp );
+			if ( value == null ) {
+				lookups.add( key );
+			}
+			else {
+				result.put( key, value );
+			}
+		}
+		if ( lookups.isEmpty() ) {
+			return result;
+		}
+
+		final long readStamp = nearCache.startRead();
+		if ( delegate instanceof BulkRegionAccessStrategy ) {
+			final Map<Object, Object> values = ( (BulkRegionAccessStrategy) delegate ).getAll( lookups, txTimestamp );
+			for ( Map.Entry<Object, Object> entry : values.entrySet() ) {
+				nearCache.put( entry.getKey(), entry.getValue(), txTimestamp, readStamp );
+			}
+			result.putAll( values );
+		}
+		else {
+			for ( Object key : lookups ) {
+				final Object value = delegate.get( key, txTimestamp );
+				if ( value != null ) {
+					nearCache.put( key, value, txTimestamp, readStamp );
+					result.put( key, value );
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version );
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
+	}
+
+	@Override
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		try {
+			return delegate.lockItem( key, version );
+		}
+		finally {
+			nearCache.invalidate( key );
+		}
+	}
+
+	@Override
+	public SoftLock lockRegion() throws CacheException {
+		try {
+			return delegate.lockRegion();
+		}
+		finally {
+			nearCache.invalidateAll();
+		}
+	}
+
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		try {
+			delegate.unlockItem( key, lock );
+		}
+		finally {
+			nearCache.invalidate( key );
+		}
+	}
+
+	@Override
+	public void unlockRegion(SoftLock lock) throws CacheException {
+		try {
+			delegate.unlockRegion( lock );
+		}
+		finally {
+			nearCache.invalidateAll();
+		}
+	}
+
+	@Override
+	public void remove(Object key) throws CacheException {
+		try {
+			delegate.remove( key );
+		}
+		finally {
+			nearCache.invalidate( key );
+		}
+	}
+
+	@Override
+	public void removeAll() throws CacheException {
+		try {
+			delegate.removeAll();
+		}
+		finally {
+			nearCache.invalidateAll();
+		}
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		try {
+			delegate.evict( key );
+		}
+		finally {
+			nearCache.invalidate( key );
+		}
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		try {
+			delegate.evictAll();
+		}
+		finally {
+			nearCache.invalidateAll();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * The {@link EntityRegionAccessStrategy} of a {@link NearCacheEntityRegion}.
+ */
+class NearCacheEntityRegionAccessStrategy
+		extends AbstractNearCacheAccessStrategy<EntityRegionAccessStrategy>
+		implements EntityRegionAccessStrategy {
+	private final NearCacheEntityRegion region;
+
+	NearCacheEntityRegionAccessStrategy(NearCacheEntityRegion region, EntityRegionAccessStrategy delegate) {
+		super( region, delegate );
+		this.region = region;
+	}
+
+	@Override
+	public EntityRegion getRegion() {
+		return region;
+	}
+
+	@Override
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		try {
+			return delegate().insert( key, value, version );
+		}
+		finally {
+			nearCache().invalidate( key );
+		}
+	}
+
+	@Override
+	public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+		try {
+			return delegate().afterInsert( key, value, version );
+		}
+		finally {
+			nearCache().invalidate( key );
+		}
+	}
+
+	@Override
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		try {
+			return delegate().update( key, value, currentVersion, previousVersion );
+		}
+		finally {
+			nearCache().invalidate( key );
+		}
+	}
+
+	@Override
+	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException {
+		try {
+			return delegate().afterUpdate( key, value, currentVersion, previousVersion, lock );
+		}
+		finally {
+			nearCache().invalidate( key );
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Base for the regions built by {@link NearCacheRegionFactory}: a {@link TransactionalDataRegion} delegating to the
+ * actual region, holding the near cache entries and their statistics.
+ * <p/>
+ * To avoid keeping a value read just before a concurrent invalidation, readers take a {@link #startRead() stamp}
+ * before reading from the actual region and {@link #put} removes the value again if an invalidation happened in
+ * the meantime.
+ * <p/>
+ * Only the access strategies of the {@link AccessType#READ_ONLY read-only} and
+ * {@link AccessType#NONSTRICT_READ_WRITE nonstrict-read-write} access types are near cached, see
+ * {@link #isNearCached}.
+ *
+ * @param <T> The type of the actual region
+ */
+public abstract class NearCacheRegion<T extends TransactionalDataRegion> implements TransactionalDataRegion {
+	private final T delegate;
+	private final BoundedConcurrentHashMap<Object, Entry> entries;
+	private final long timeToLive;
+
+	private final AtomicLong invalidations = new AtomicLong();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	protected NearCacheRegion(T delegate, int maxEntries, long timeToLive) {
+		this.delegate = delegate;
+		this.entries = new BoundedConcurrentHashMap<Object, Entry>(
+				maxEntries,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
+		// immutable data cannot become stale
+		this.timeToLive = delegate.getCacheDataDescription().isMutable() ? timeToLive : -1;
+	}
+
+	/**
+	 * Should the access strategies of the given access type use the near cache?
+	 * <p/>
+	 * The near cache is only invalidated by the changes made through its own access strategies, so changes made on
+	 * other nodes of a cluster are only noticed once the entries expire.  That is acceptable for read-only data and
+	 * within the guarantees of nonstrict-read-write, but read-write must never serve data older than the latest
+	 * committed change, and a transactional cache provides isolation which the near cache would bypass.
+	 *
+	 * @param accessType The access type
+	 *
+	 * @return {@code true} for the read-only and nonstrict-read-write access types
+	 */
+	static boolean isNearCached(AccessType accessType) {
+		return accessType == AccessType.READ_ONLY || accessType == AccessType.NONSTRICT_READ_WRITE;
+	}
+
+	/**
+	 * The actual region.
+	 *
+	 * @return The wrapped region
+	 */
+	public T getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * The number of lookups answered by the near cache.
+	 *
+	 * @return The near cache hit count
+	 */
+	public long getNearCacheHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * The number of lookups which had to go to the actual region.
+	 *
+	 * @return The near cache miss count
+	 */
+	public long getNearCacheMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * The number of entries currently in the near cache.
+	 *
+	 * @return The near cache element count
+	 */
+	public long getNearCacheElementCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Look up the near cache.
+	 *
+	 * @param key The cache key
+	 * @param txTimestamp The timestamp of the transaction asking
+	 *
+	 * @return The near cached value, or {@code null}
+	 */
+	Object get(Object key, long txTimestamp) {
+		final Entry entry = entries.get( key );
+		if ( entry != null && entry.isUsableBy( txTimestamp ) ) {
+			hitCount.getAndIncrement();
+			return entry.value;
+		}
+		missCount.getAndIncrement();
+		return null;
+	}
+
+	/**
+	 * Must be called before reading the actual region for a value which is to be {@link #put} in the near cache.
+	 *
+	 * @return The stamp to pass to {@link #put}
+	 */
+	long startRead() {
+		return invalidations.get();
+	}
+
+	/**
+	 * Keep a value read from the actual region.
+	 *
+	 * @param key The cache key
+	 * @param value The value read
+	 * @param txTimestamp The timestamp of the transaction which read the value
+	 * @param readStamp The stamp obtained from {@link #startRead} before reading the value
+	 */
+	void put(Object key, Object value, long txTimestamp, long readStamp) {
+		final Entry entry = new Entry(
+				value,
+				txTimestamp,
+				timeToLive < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeToLive
+		);
+		entries.put( key, entry );
+		if ( invalidations.get() != readStamp ) {
+			// the value may have been read before a concurrent change
+			entries.remove( key, entry );
+		}
+	}
+
+	/**
+	 * Drop the near cache entry for the given key; called after any change made through the access strategy.
+	 *
+	 * @param key The cache key
+	 */
+	void invalidate(Object key) {
+		invalidations.getAndIncrement();
+		entries.remove( key );
+	}
+
+	/**
+	 * Drop all near cache entries.
+	 */
+	void invalidateAll() {
+		invalidations.getAndIncrement();
+		entries.clear();
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		invalidateAll();
+		delegate.destroy();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return delegate.contains( key );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return delegate.getSizeInMemory();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return delegate.getElementCountInMemory();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return delegate.getElementCountOnDisk();
+	}
+
+	@Override
+	public Map toMap() {
+		return delegate.toMap();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return delegate.nextTimestamp();
+	}
+
+	@Override
+	public int getTimeout() {
+		return delegate.getTimeout();
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return delegate.isTransactionAware();
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return delegate.getCacheDataDescription();
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long txTimestamp;
+		private final long expiresAt;
+
+		private Entry(Object value, long txTimestamp, long expiresAt) {
+			this.value = value;
+			this.txTimestamp = txTimestamp;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isUsableBy(long txTimestamp) {
+			// transactions started before the one which read the value may not be allowed to see it
+			return txTimestamp >= this.txTimestamp && System.currentTimeMillis() < expiresAt;
+		}
+	}
+}
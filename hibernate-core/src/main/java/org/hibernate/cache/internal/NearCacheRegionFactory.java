@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Properties;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+
+/**
+ * A {@link RegionFactory} keeping a local, size-bounded near cache in front of the entity and collection regions
+ * built by another RegionFactory.  Enabled through {@link org.hibernate.cfg.AvailableSettings#USE_NEAR_CACHE}.
+ * <p/>
+ * The near cache holds the values returned by the wrapped access strategies (the deserialized cache entries), so
+ * a near cache hit costs neither a (possibly remote) lookup nor unmarshalling.  Entries are invalidated by the access
+ * strategy calls made for local changes (updates, removals, evictions, ...).  Changes made on other nodes of a
+ * cluster are not seen: mutable entries are only used for the configured time to live.  Therefore only the
+ * {@link AccessType#READ_ONLY read-only} and {@link AccessType#NONSTRICT_READ_WRITE nonstrict-read-write} access
+ * types are near cached; {@link AccessType#READ_WRITE read-write} and {@link AccessType#TRANSACTIONAL transactional}
+ * access goes straight to the actual region, as do natural id regions, query result regions and the timestamps
+ * region.
+ */
+public class NearCacheRegionFactory implements RegionFactory {
+	/**
+	 * Default for {@link org.hibernate.cfg.AvailableSettings#NEAR_CACHE_MAX_ENTRIES}
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * Default for {@link org.hibernate.cfg.AvailableSettings#NEAR_CACHE_TIME_TO_LIVE}
+	 */
+	public static final int DEFAULT_TIME_TO_LIVE = 1000;
+
+	private final RegionFactory delegate;
+	private final int maxEntries;
+	private final long timeToLive;
+
+	/**
+	 * Constructs a NearCacheRegionFactory.
+	 *
+	 * @param delegate The RegionFactory building the actual regions
+	 * @param maxEntries The maximum number of entries in the near cache of each region
+	 * @param timeToLive The time, in milliseconds, mutable entries are kept in the near cache
+	 */
+	public NearCacheRegionFactory(RegionFactory delegate, int maxEntries, long timeToLive) {
+		this.delegate = delegate;
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * The RegionFactory building the actual regions.
+	 *
+	 * @return The wrapped RegionFactory
+	 */
+	public RegionFactory getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+		delegate.start( settings, properties );
+	}
+
+	@Override
+	public void stop() {
+		delegate.stop();
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return delegate.isMinimalPutsEnabledByDefault();
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return delegate.getDefaultAccessType();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return delegate.nextTimestamp();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new NearCacheEntityRegion(
+				delegate.buildEntityRegion( regionName, properties, metadata ),
+				maxEntries,
+				timeToLive
+		);
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return delegate.buildNaturalIdRegion( regionName, properties, metadata );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new NearCacheCollectionRegion(
+				delegate.buildCollectionRegion( regionName, properties, metadata ),
+				maxEntries,
+				timeToLive
+		);
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return delegate.buildQueryResultsRegion( regionName, properties );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return delegate.buildTimestampsRegion( regionName, properties );
+	}
+}
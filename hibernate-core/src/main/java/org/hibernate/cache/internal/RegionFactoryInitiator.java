@@ -102,6 +102,23 @@ public class RegionFactoryInitiator implements StandardServiceInitiator<RegionFa
 			}
 		}
 
+		if ( regionFactory != NoCachingRegionFactory.INSTANCE
+				&& ConfigurationHelper.getBoolean( AvailableSettings.USE_NEAR_CACHE, configurationValues ) ) {
+			regionFactory = new NearCacheRegionFactory(
+					regionFactory,
+					ConfigurationHelper.getInt(
+							AvailableSettings.NEAR_CACHE_MAX_ENTRIES,
+							configurationValues,
+							NearCacheRegionFactory.DEFAULT_MAX_ENTRIES
+					),
+					ConfigurationHelper.getLong(
+							AvailableSettings.NEAR_CACHE_TIME_TO_LIVE,
+							configurationValues,
+							NearCacheRegionFactory.DEFAULT_TIME_TO_LIVE
+					)
+			);
+		}
+
 		LOG.debugf( "Cache region factory : %s", regionFactory.getClass().getName() );
 
 		return regionFactory;
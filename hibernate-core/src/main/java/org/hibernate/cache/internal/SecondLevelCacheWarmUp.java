@@ -0,0 +1,441 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.MultiTenancyStrategy;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.loader.entity.EntityLoader;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Populates the second level cache regions listed by {@link org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP_REGIONS}
+ * when the session factory is built, so that the database does not get a burst of single row selects from the
+ * cache misses following a restart.
+ * <p/>
+ * The identifiers of the entities of each hierarchy cached in (or owning a collection cached in) one of those regions
+ * are streamed from the database, up to {@link org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP_MAX_ENTRIES} per
+ * hierarchy; the entities are loaded in batches of those identifiers, in parallel, with one batch loader and one
+ * session per batch.  Only a couple of batches per thread are queued at any time, so that reading the identifiers
+ * does not outpace the loading of the entities; the warm-up thus uses one more connection than it has threads.
+ * The loaded entities and collections are put in the cache with minimal puts, so that an entry put meanwhile by the
+ * application is never overwritten by the (possibly older) warm-up data.
+ */
+public class SecondLevelCacheWarmUp {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			SecondLevelCacheWarmUp.class.getName()
+	);
+
+	private final SessionFactoryImplementor factory;
+	private final Set<String> regionNames;
+	private final String regionPrefix;
+	private final int batchSize;
+	private final int threadCount;
+	private final int maxEntries;
+
+	/**
+	 * Creates the warm-up of the regions of the given session factory, as configured by its settings.
+	 *
+	 * @param factory The (fully built) session factory
+	 */
+	public SecondLevelCacheWarmUp(SessionFactoryImplementor factory) {
+		this.factory = factory;
+		this.regionNames = factory.getSettings().getCacheWarmUpRegions();
+		this.regionPrefix = factory.getSettings().getCacheRegionPrefix() == null
+				? ""
+				: factory.getSettings().getCacheRegionPrefix() + ".";
+		this.batchSize = Math.max( 1, factory.getSettings().getCacheWarmUpBatchSize() );
+		this.threadCount = Math.max( 1, factory.getSettings().getCacheWarmUpThreads() );
+		this.maxEntries = factory.getSettings().getCacheWarmUpMaxEntries();
+	}
+
+	/**
+	 * Populates the configured regions; returns once they all are.  Failures are logged, they do not prevent the
+	 * session factory from being used.
+	 */
+	public void run() {
+		if ( regionNames.isEmpty() || !factory.getSettings().isSecondLevelCacheEnabled() ) {
+			return;
+		}
+		if ( factory.getSettings().getMultiTenancyStrategy() != MultiTenancyStrategy.NONE ) {
+			LOG.warn( "Second level cache warm-up is not supported with multi-tenancy; skipping" );
+			return;
+		}
+
+		final long start = System.nanoTime();
+		final ExecutorService executor = Executors.newFixedThreadPool( threadCount, new DaemonThreadFactory() );
+		final Semaphore queuedBatches = new Semaphore( 2 * threadCount );
+		final AtomicInteger putCount = new AtomicInteger();
+		try {
+			for ( WarmUpTarget target : resolveTargets() ) {
+				submitBatches( target, executor, queuedBatches, putCount );
+			}
+			executor.shutdown();
+			executor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn( "Second level cache warm-up interrupted" );
+		}
+		catch (RuntimeException e) {
+			LOG.warn( "Unable to warm up second level cache", e );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		final long time = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+		LOG.debugf( "Second level cache warm-up put %s entries in %s ms", putCount.get(), time );
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().secondLevelCacheWarmUpCompleted( time );
+		}
+	}
+
+	private boolean isWarmedUp(String regionName) {
+		return regionNames.contains( regionName )
+				|| ( regionName.startsWith( regionPrefix )
+						&& regionNames.contains( regionName.substring( regionPrefix.length() ) ) );
+	}
+
+	/**
+	 * Groups the cached entities and collections to warm up by entity hierarchy, since the entities of a hierarchy are
+	 * all loaded at once.
+	 */
+	private List<WarmUpTarget> resolveTargets() {
+		final Map<String, WarmUpTarget> targets = new LinkedHashMap<String, WarmUpTarget>();
+		for ( EntityPersister persister : factory.getEntityPersisters().values() ) {
+			if ( persister.hasCache()
+					&& persister.getEntityName().equals( persister.getRootEntityName() )
+					&& isWarmedUp( persister.getCacheAccessStrategy().getRegion().getName() ) ) {
+				resolveTarget( targets, persister ).cacheEntities = true;
+			}
+		}
+		for ( CollectionPersister persister : factory.getCollectionPersisters().values() ) {
+			if ( persister.hasCache() && isWarmedUp( persister.getCacheAccessStrategy().getRegion().getName() ) ) {
+				final EntityPersister owner = factory.getEntityPersister(
+						persister.getOwnerEntityPersister().getRootEntityName()
+				);
+				resolveTarget( targets, owner ).collections.add( persister );
+			}
+		}
+		return new ArrayList<WarmUpTarget>( targets.values() );
+	}
+
+	private WarmUpTarget resolveTarget(Map<String, WarmUpTarget> targets, EntityPersister persister) {
+		WarmUpTarget target = targets.get( persister.getEntityName() );
+		if ( target == null ) {
+			target = new WarmUpTarget( persister );
+			targets.put( persister.getEntityName(), target );
+		}
+		return target;
+	}
+
+	/**
+	 * Streams the identifiers of the entities of the given hierarchy, submitting a batch to the executor for every
+	 * {@link #batchSize} of them; blocks while the executor has too many batches queued already.
+	 */
+	private void submitBatches(
+			WarmUpTarget target,
+			ExecutorService executor,
+			Semaphore queuedBatches,
+			AtomicInteger putCount) throws InterruptedException {
+		final EntityPersister persister = target.persister;
+		final String idName = persister.getIdentifierPropertyName() == null
+				? "id"
+				: persister.getIdentifierPropertyName();
+		int count = 0;
+		final Session session = factory.openSession();
+		try {
+			final Query query = session.createQuery( "select e." + idName + " from " + persister.getEntityName() + " e" )
+					.setReadOnly( true )
+					.setFetchSize( batchSize );
+			if ( maxEntries > 0 ) {
+				query.setMaxResults( maxEntries );
+			}
+			final ScrollableResults ids = query.scroll( ScrollMode.FORWARD_ONLY );
+			try {
+				List<Serializable> batch = new ArrayList<Serializable>( batchSize );
+				while ( ids.next() ) {
+					batch.add( (Serializable) ids.get( 0 ) );
+					count++;
+					if ( batch.size() == batchSize ) {
+						submitBatch( new WarmUpBatch( target, batch, queuedBatches, putCount ), executor, queuedBatches );
+						batch = new ArrayList<Serializable>( batchSize );
+					}
+				}
+				if ( !batch.isEmpty() ) {
+					submitBatch( new WarmUpBatch( target, batch, queuedBatches, putCount ), executor, queuedBatches );
+				}
+			}
+			finally {
+				ids.close();
+			}
+		}
+		finally {
+			session.close();
+		}
+		LOG.debugf( "Warming up second level cache for %s entities of %s", count, persister.getEntityName() );
+	}
+
+	private static void submitBatch(WarmUpBatch batch, ExecutorService executor, Semaphore queuedBatches)
+			throws InterruptedException {
+		queuedBatches.acquire();
+		try {
+			executor.execute( batch );
+		}
+		catch (RejectedExecutionException e) {
+			queuedBatches.release();
+			throw e;
+		}
+	}
+
+	private class WarmUpTarget {
+		private final EntityPersister persister;
+		private final List<CollectionPersister> collections = new ArrayList<CollectionPersister>();
+		private boolean cacheEntities;
+		private volatile EntityLoader loader;
+
+		private WarmUpTarget(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		/**
+		 * The loader of a full batch; shorter batches are padded with their last identifier.
+		 */
+		private EntityLoader getLoader() {
+			EntityLoader result = loader;
+			if ( result == null ) {
+				result = new EntityLoader(
+						(OuterJoinLoadable) persister,
+						batchSize,
+						LockMode.NONE,
+						factory,
+						LoadQueryInfluencers.NONE
+				);
+				loader = result;
+			}
+			return result;
+		}
+	}
+
+	private class WarmUpBatch implements Runnable {
+		private final WarmUpTarget target;
+		private final Serializable[] ids;
+		private final Semaphore queuedBatches;
+		private final AtomicInteger putCount;
+
+		private WarmUpBatch(
+				WarmUpTarget target,
+				List<Serializable> ids,
+				Semaphore queuedBatches,
+				AtomicInteger putCount) {
+			this.target = target;
+			this.ids = ids.toArray( new Serializable[ids.size()] );
+			this.queuedBatches = queuedBatches;
+			this.putCount = putCount;
+		}
+
+		@Override
+		public void run() {
+			try {
+				putCount.addAndGet( loadAndPut() );
+			}
+			catch (RuntimeException e) {
+				LOG.warn( "Unable to warm up second level cache batch", e );
+			}
+			finally {
+				queuedBatches.release();
+			}
+		}
+
+		private int loadAndPut() {
+			final Session session = factory.openSession();
+			try {
+				// the cache is only written explicitly, with minimal puts
+				session.setCacheMode( CacheMode.IGNORE );
+				session.setFlushMode( FlushMode.MANUAL );
+				final Transaction transaction = session.beginTransaction();
+				try {
+					final int putCount = warmUp( (SessionImplementor) session );
+					transaction.commit();
+					return putCount;
+				}
+				catch (RuntimeException e) {
+					transaction.rollback();
+					throw e;
+				}
+			}
+			finally {
+				session.close();
+			}
+		}
+
+		private int warmUp(SessionImplementor session) {
+			final Serializable[] paddedIds = Arrays.copyOf( ids, batchSize );
+			Arrays.fill( paddedIds, ids.length, batchSize, ids[ids.length - 1] );
+			final List entities = target.getLoader().loadEntityBatch(
+					session,
+					paddedIds,
+					target.persister.getIdentifierType(),
+					null,
+					null,
+					null,
+					target.persister,
+					LockOptions.NONE
+			);
+
+			int putCount = 0;
+			for ( Object entity : entities ) {
+				if ( entity == null ) {
+					continue;
+				}
+				final EntityEntry entry = session.getPersistenceContext().getEntry( entity );
+				if ( target.cacheEntities && putEntity( session, entity, entry ) ) {
+					putCount++;
+				}
+				for ( CollectionPersister collectionPersister : target.collections ) {
+					if ( putCollection( session, entity, entry, collectionPersister ) ) {
+						putCount++;
+					}
+				}
+			}
+			return putCount;
+		}
+
+		private boolean putEntity(SessionImplementor session, Object entity, EntityEntry entry) {
+			final EntityPersister persister = entry.getPersister();
+			// the loaded state is not kept for read-only entities, their current state is the same anyway
+			final Object[] state = entry.getLoadedState() == null
+					? persister.getPropertyValues( entity )
+					: entry.getLoadedState();
+			final CacheEntry cacheEntry = persister.buildCacheEntry( entity, state, entry.getVersion(), session );
+			final CacheKey cacheKey = session.generateCacheKey(
+					entry.getId(),
+					persister.getIdentifierType(),
+					persister.getRootEntityName()
+			);
+			final boolean put = persister.getCacheAccessStrategy().putFromLoad(
+					cacheKey,
+					persister.getCacheEntryStructure().structure( cacheEntry ),
+					session.getTimestamp(),
+					entry.getVersion(),
+					true
+			);
+			if ( put && factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().secondLevelCacheWarmUpPut(
+						persister.getCacheAccessStrategy().getRegion().getName()
+				);
+			}
+			return put;
+		}
+
+		private boolean putCollection(
+				SessionImplementor session,
+				Object entity,
+				EntityEntry entry,
+				CollectionPersister persister) {
+			final EntityPersister owner = persister.getOwnerEntityPersister();
+			if ( !owner.isInstance( entity ) ) {
+				return false;
+			}
+			final Object value = owner.getPropertyValue(
+					entity,
+					persister.getRole().substring( owner.getEntityName().length() + 1 )
+			);
+			if ( !( value instanceof PersistentCollection ) ) {
+				return false;
+			}
+			final PersistentCollection collection = (PersistentCollection) value;
+			Hibernate.initialize( collection );
+
+			final CollectionCacheEntry cacheEntry = new CollectionCacheEntry( collection, persister );
+			final CacheKey cacheKey = session.generateCacheKey(
+					collection.getKey(),
+					persister.getKeyType(),
+					persister.getRole()
+			);
+			final boolean put = persister.getCacheAccessStrategy().putFromLoad(
+					cacheKey,
+					persister.getCacheEntryStructure().structure( cacheEntry ),
+					session.getTimestamp(),
+					persister.isVersioned() ? entry.getVersion() : null,
+					true
+			);
+			if ( put && factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().secondLevelCacheWarmUpPut(
+						persister.getCacheAccessStrategy().getRegion().getName()
+				);
+			}
+			return put;
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-cache-warm-up-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
@@ -25,7 +25,11 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import javax.persistence.EntityNotFoundException;
@@ -33,13 +37,18 @@ import javax.persistence.EntityNotFoundException;
 import org.hibernate.HibernateException;
 import org.hibernate.UnresolvableObjectException;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cfg.Settings;
+import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -65,6 +74,7 @@ public class StandardQueryCache implements QueryCache {
 
 	private QueryResultsRegion cacheRegion;
 	private UpdateTimestampsCache updateTimestampsCache;
+	private boolean invalidationByKey;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -91,6 +101,7 @@ public class StandardQueryCache implements QueryCache {
 
 		this.cacheRegion = settings.getRegionFactory().buildQueryResultsRegion( regionNameToUse, props );
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.invalidationByKey = settings.isQueryCacheInvalidationByKeyEnabled();
 	}
 
 	@Override
@@ -177,7 +188,7 @@ public class StandardQueryCache implements QueryCache {
 		}
 
 		final Long timestamp = (Long) cacheable.get( 0 );
-		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp, session ) ) {
+		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp, cacheable, returnTypes, session ) ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
 			}
@@ -197,6 +208,25 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 
+		final Set<CacheKey> prefetched = prefetchCachedEntities( cacheable, returnTypes, session );
+		try {
+			return assemble( key, cacheable, returnTypes, isNaturalKeyLookup, session );
+		}
+		finally {
+			if ( prefetched != null ) {
+				session.getPersistenceContext().getBatchFetchQueue().removePrefetchedCacheEntries( prefetched );
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private List assemble(
+			QueryKey key,
+			List cacheable,
+			Type[] returnTypes,
+			boolean isNaturalKeyLookup,
+			SessionImplementor session) {
+		final boolean singleResult = returnTypes.length == 1;
 		final List result = new ArrayList( cacheable.size() - 1 );
 		for ( int i = 1; i < cacheable.size(); i++ ) {
 			try {
@@ -230,6 +260,67 @@ public class StandardQueryCache implements QueryCache {
 		return result;
 	}
 
+	/**
+	 * Looks up the second level cache entries of the entities referenced by the cached results ahead of assembling
+	 * them, with one (bulk) cache request per entity rather than one per result.
+	 *
+	 * @return The keys prefetched by this call, or {@code null} if nothing was prefetched
+	 */
+	private static Set<CacheKey> prefetchCachedEntities(List cacheable, Type[] returnTypes, SessionImplementor session) {
+		if ( cacheable.size() < 3 || !session.getCacheMode().isGetEnabled() ) {
+			// nothing to gain from less than two results
+			return null;
+		}
+
+		final SessionFactoryImplementor factory = session.getFactory();
+		final boolean singleResult = returnTypes.length == 1;
+		Map<EntityPersister, Set<CacheKey>> cacheKeysByPersister = null;
+		for ( int column = 0; column < returnTypes.length; column++ ) {
+			if ( !returnTypes[column].isEntityType() || !( (EntityType) returnTypes[column] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = factory.getEntityPersister(
+					( (EntityType) returnTypes[column] ).getAssociatedEntityName( factory )
+			);
+			if ( !persister.hasCache() ) {
+				continue;
+			}
+
+			for ( int i = 1; i < cacheable.size(); i++ ) {
+				final Serializable disassembledId = singleResult
+						? (Serializable) cacheable.get( i )
+						: ( (Serializable[]) cacheable.get( i ) )[column];
+				if ( disassembledId == null ) {
+					continue;
+				}
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble( disassembledId, session, null );
+				if ( session.getPersistenceContext().containsEntity( id, persister ) ) {
+					continue;
+				}
+				if ( cacheKeysByPersister == null ) {
+					cacheKeysByPersister = new HashMap<EntityPersister, Set<CacheKey>>();
+				}
+				Set<CacheKey> cacheKeys = cacheKeysByPersister.get( persister );
+				if ( cacheKeys == null ) {
+					cacheKeys = new LinkedHashSet<CacheKey>();
+					cacheKeysByPersister.put( persister, cacheKeys );
+				}
+				cacheKeys.add( session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() ) );
+			}
+		}
+
+		if ( cacheKeysByPersister == null ) {
+			return null;
+		}
+		final Set<CacheKey> prefetched = new HashSet<CacheKey>();
+		for ( Map.Entry<EntityPersister, Set<CacheKey>> entry : cacheKeysByPersister.entrySet() ) {
+			prefetched.addAll(
+					CacheHelper.prefetchFromSharedCache( session, entry.getValue(), entry.getKey().getCacheAccessStrategy() )
+			);
+		}
+		return prefetched;
+	}
+
 	private List getCachedResults(QueryKey key, SessionImplementor session) {
 		List cacheable = null;
 		try {
@@ -243,6 +334,75 @@ public class StandardQueryCache implements QueryCache {
 	}
 
 
+	/**
+	 * When invalidating by entity key, results made of entities only are checked against the changes to the entities
+	 * they hold for the spaces of those entities; all other results are checked by query space.
+	 */
+	private boolean isUpToDate(
+			Set<Serializable> spaces,
+			Long timestamp,
+			List cacheable,
+			Type[] returnTypes,
+			SessionImplementor session) {
+		if ( invalidationByKey ) {
+			final Set<Serializable> keyedSpaces = new HashSet<Serializable>();
+			final Set<CacheKey> entityKeys = collectEntityKeys( cacheable, returnTypes, spaces, keyedSpaces, session );
+			if ( entityKeys != null ) {
+				if ( DEBUGGING ) {
+					LOG.debugf( "Checking query spaces are up-to-date: %s, by entity key for: %s", spaces, keyedSpaces );
+				}
+				return updateTimestampsCache.isUpToDate( spaces, keyedSpaces, entityKeys, timestamp, session );
+			}
+		}
+		return isUpToDate( spaces, timestamp, session );
+	}
+
+	/**
+	 * Collects the cache keys of the entities held by the cached results, along with the query spaces of those
+	 * entities.
+	 *
+	 * @return The cache keys, or {@code null} if the results are not made of entities only
+	 */
+	private static Set<CacheKey> collectEntityKeys(
+			List cacheable,
+			Type[] returnTypes,
+			Set<Serializable> spaces,
+			Set<Serializable> keyedSpaces,
+			SessionImplementor session) {
+		final SessionFactoryImplementor factory = session.getFactory();
+		final EntityPersister[] persisters = new EntityPersister[returnTypes.length];
+		for ( int column = 0; column < returnTypes.length; column++ ) {
+			if ( !returnTypes[column].isEntityType() || !( (EntityType) returnTypes[column] ).isReferenceToPrimaryKey() ) {
+				return null;
+			}
+			persisters[column] = factory.getEntityPersister(
+					( (EntityType) returnTypes[column] ).getAssociatedEntityName( factory )
+			);
+			for ( Serializable space : persisters[column].getQuerySpaces() ) {
+				if ( spaces.contains( space ) ) {
+					keyedSpaces.add( space );
+				}
+			}
+		}
+
+		final boolean singleResult = returnTypes.length == 1;
+		final Set<CacheKey> entityKeys = new HashSet<CacheKey>();
+		for ( int i = 1; i < cacheable.size(); i++ ) {
+			for ( int column = 0; column < returnTypes.length; column++ ) {
+				final Serializable disassembledId = singleResult
+						? (Serializable) cacheable.get( i )
+						: ( (Serializable[]) cacheable.get( i ) )[column];
+				if ( disassembledId == null ) {
+					continue;
+				}
+				final EntityPersister persister = persisters[column];
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble( disassembledId, session, null );
+				entityKeys.add( session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() ) );
+			}
+		}
+		return entityKeys;
+	}
+
 	protected boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) {
 		if ( DEBUGGING ) {
 			LOG.debugf( "Checking query spaces are up-to-date: %s", spaces );
@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Superclass of the access strategies of the off-heap regions.
+ *
+ * @param <T> type of the enclosed region
+ */
+abstract class AbstractOffHeapAccessStrategy<T extends OffHeapTransactionalDataRegion> {
+	private final T region;
+	private final Settings settings;
+
+	AbstractOffHeapAccessStrategy(T region, Settings settings) {
+		this.region = region;
+		this.settings = settings;
+	}
+
+	/**
+	 * The wrapped region.
+	 */
+	protected T region() {
+		return region;
+	}
+
+	/**
+	 * The settings for this persistence unit.
+	 */
+	protected Settings settings() {
+		return settings;
+	}
+
+	/**
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return region.getAll( keys );
+	}
+
+	/**
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object)
+	 */
+	public final boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return putFromLoad( key, value, txTimestamp, version, settings.isMinimalPutsEnabled() );
+	}
+
+	/**
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 */
+	public abstract boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException;
+
+	/**
+	 * Region locks are not supported.
+	 *
+	 * @return <code>null</code>
+	 */
+	public final SoftLock lockRegion() {
+		return null;
+	}
+
+	/**
+	 * Region locks are not supported - perform a cache clear as a precaution.
+	 */
+	public final void unlockRegion(SoftLock lock) throws CacheException {
+		region.clear();
+	}
+
+	/**
+	 * A no-op since this is an asynchronous cache access strategy.
+	 */
+	public void remove(Object key) throws CacheException {
+	}
+
+	public final void removeAll() throws CacheException {
+		region.clear();
+	}
+
+	public final void evict(Object key) throws CacheException {
+		region.remove( key );
+	}
+
+	public final void evictAll() throws CacheException {
+		region.clear();
+	}
+}
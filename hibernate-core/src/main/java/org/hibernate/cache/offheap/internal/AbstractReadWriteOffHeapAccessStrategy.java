@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Superclass of the read/write access strategies of the off-heap regions.
+ * <p/>
+ * The soft-lock protocol is implemented by {@link AbstractReadWriteAccessStrategy}; this class maps its storage
+ * operations onto the region.
+ *
+ * @param <T> type of the enclosed region
+ */
+abstract class AbstractReadWriteOffHeapAccessStrategy<T extends OffHeapTransactionalDataRegion>
+		extends AbstractReadWriteAccessStrategy {
+	private final T region;
+
+	AbstractReadWriteOffHeapAccessStrategy(T region, Settings settings) {
+		super( settings, region.getCacheDataDescription().getVersionComparator() );
+		this.region = region;
+	}
+
+	/**
+	 * The wrapped region.
+	 */
+	protected T region() {
+		return region;
+	}
+
+	@Override
+	protected Object getItem(Object key) {
+		return region.get( key );
+	}
+
+	@Override
+	protected Map<Object, Object> getItems(Collection<?> keys) {
+		return region.getAll( keys );
+	}
+
+	@Override
+	protected void putItem(Object key, Object item) {
+		region.put( key, item );
+	}
+
+	@Override
+	protected boolean putItemIfAbsent(Object key, Object item) {
+		return region.putIfAbsent( key, item );
+	}
+
+	@Override
+	protected boolean replaceItem(Object key, Object expected, Object item) {
+		return region.replace( key, expected, item );
+	}
+
+	@Override
+	protected void removeItem(Object key) {
+		region.remove( key );
+	}
+
+	@Override
+	protected void removeAllItems() {
+		region.clear();
+	}
+
+	@Override
+	protected long nextTimestamp() {
+		return region.nextTimestamp();
+	}
+
+	@Override
+	protected long getLockTimeout() {
+		return region.getTimeout();
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Non-strict read/write collection region access strategy of the off-heap regions.
+ */
+class NonStrictReadWriteOffHeapCollectionRegionAccessStrategy
+		extends AbstractOffHeapAccessStrategy<OffHeapCollectionRegion>
+		implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
+
+	NonStrictReadWriteOffHeapCollectionRegionAccessStrategy(OffHeapCollectionRegion region, Settings settings) {
+		super( region, settings );
+	}
+
+	@Override
+	public CollectionRegion getRegion() {
+		return region();
+	}
+
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		return region().get( key );
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		if ( minimalPutOverride && region().contains( key ) ) {
+			return false;
+		}
+		region().put( key, value );
+		return true;
+	}
+
+	/**
+	 * Since this is a non-strict read/write strategy item locking is not used.
+	 */
+	@Override
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		return null;
+	}
+
+	/**
+	 * Since this is a non-strict read/write strategy item locking is not used.
+	 */
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		region().remove( key );
+	}
+
+	@Override
+	public void remove(Object key) throws CacheException {
+		region().remove( key );
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.support.Timestamper;
+import org.hibernate.internal.util.SerializationHelper;
+
+/**
+ * Base class for the regions storing their values in an {@link OffHeapStore}.
+ * <p/>
+ * Values are copied in and out of the store on every access: byte arrays (such as the
+ * {@link org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES binary cache entries}) as they are, anything
+ * else through Java serialization.  Keys stay on the heap.
+ */
+abstract class OffHeapRegion implements Region {
+	private static final byte RAW = 0;
+	private static final byte SERIALIZED = 1;
+
+	private static final int TIMEOUT = Timestamper.ONE_MS * 60000;
+
+	private final String name;
+	private final OffHeapStore store;
+
+	OffHeapRegion(String name, OffHeapStore store) {
+		this.name = name;
+		this.store = store;
+	}
+
+	OffHeapStore store() {
+		return store;
+	}
+
+	Object read(Object key) throws CacheException {
+		return key == null ? null : decode( store.get( key ) );
+	}
+
+	void write(Object key, Object value) throws CacheException {
+		if ( key == null || value == null ) {
+			return;
+		}
+		if ( !store.put( key, encode( value ) ) ) {
+			// a value larger than the whole region is simply not cached
+			store.remove( key );
+		}
+	}
+
+	void delete(Object key) {
+		if ( key != null ) {
+			store.remove( key );
+		}
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		store.destroy();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && store.contains( key );
+	}
+
+	/**
+	 * The off-heap memory used by the values of the region.
+	 */
+	@Override
+	public long getSizeInMemory() {
+		return store.getUsedSize();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return store.getElementCount();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	/**
+	 * A snapshot of the region content; each value is copied back onto the heap.
+	 */
+	@Override
+	public Map toMap() {
+		final Map<Object, Object> map = new HashMap<Object, Object>();
+		for ( Object key : store.keys() ) {
+			final Object value = read( key );
+			if ( value != null ) {
+				map.put( key, value );
+			}
+		}
+		return Collections.unmodifiableMap( map );
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return TIMEOUT;
+	}
+
+	@Override
+	public String toString() {
+		return "OffHeapRegion[" + name + "]";
+	}
+
+	private static byte[] encode(Object value) throws CacheException {
+		final byte[] bytes;
+		final byte kind;
+		if ( value instanceof byte[] ) {
+			bytes = (byte[]) value;
+			kind = RAW;
+		}
+		else if ( value instanceof Serializable ) {
+			bytes = SerializationHelper.serialize( (Serializable) value );
+			kind = SERIALIZED;
+		}
+		else {
+			throw new CacheException( "Unable to store non-serializable value of type " + value.getClass().getName() );
+		}
+		final byte[] encoded = new byte[bytes.length + 1];
+		encoded[0] = kind;
+		System.arraycopy( bytes, 0, encoded, 1, bytes.length );
+		return encoded;
+	}
+
+	private static Object decode(byte[] encoded) throws CacheException {
+		if ( encoded == null ) {
+			return null;
+		}
+		if ( encoded[0] == RAW ) {
+			final byte[] bytes = new byte[encoded.length - 1];
+			System.arraycopy( encoded, 1, bytes, 0, bytes.length );
+			return bytes;
+		}
+		return SerializationHelper.deserialize( new ByteArrayInputStream( encoded, 1, encoded.length - 1 ) );
+	}
+}
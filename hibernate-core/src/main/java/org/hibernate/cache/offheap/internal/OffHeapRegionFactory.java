@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.Timestamper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link RegionFactory} keeping the cached values outside of the Java heap, in direct memory, so that large caches
+ * do not add to the garbage collection work.  Selected with {@code hibernate.cache.region.factory_class=offheap}.
+ * <p/>
+ * Each region gets its own, fixed amount of memory (see {@link AvailableSettings#OFF_HEAP_REGION_SIZE}), from which
+ * values are evicted in LRU or LFU order ({@link AvailableSettings#OFF_HEAP_EVICTION}) once it is full.  The
+ * read-only, nonstrict-read-write and read-write access types are supported; transactional is not.
+ * <p/>
+ * Values are copied to and from the heap on every access, through Java serialization unless they already are byte
+ * arrays, which makes this factory a good fit for {@link AvailableSettings#USE_BINARY_CACHE_ENTRIES binary cache
+ * entries}.
+ */
+public class OffHeapRegionFactory implements RegionFactory {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			OffHeapRegionFactory.class.getName()
+	);
+
+	/**
+	 * The name of the factory, for the {@link AvailableSettings#CACHE_REGION_FACTORY} setting.
+	 */
+	public static final String SHORT_NAME = "offheap";
+
+	/**
+	 * Default memory of each region, in bytes.
+	 */
+	public static final long DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * Default size of the memory blocks, in bytes.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 128;
+
+	private final List<OffHeapStore> stores = new CopyOnWriteArrayList<OffHeapStore>();
+
+	private Settings settings;
+	private Properties properties;
+	private long regionSize;
+	private int blockSize;
+	private OffHeapStore.Eviction eviction;
+
+	/**
+	 * Constructs an OffHeapRegionFactory.
+	 */
+	public OffHeapRegionFactory() {
+	}
+
+	/**
+	 * Constructs an OffHeapRegionFactory.
+	 *
+	 * @param properties The configuration properties; the ones passed to {@link #start} are used instead
+	 */
+	@SuppressWarnings("UnusedParameters")
+	public OffHeapRegionFactory(Properties properties) {
+	}
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		this.properties = properties;
+		this.regionSize = ConfigurationHelper.getLong( AvailableSettings.OFF_HEAP_REGION_SIZE, properties, 0 );
+		if ( regionSize <= 0 ) {
+			regionSize = DEFAULT_REGION_SIZE;
+		}
+		this.blockSize = ConfigurationHelper.getInt( AvailableSettings.OFF_HEAP_BLOCK_SIZE, properties, DEFAULT_BLOCK_SIZE );
+		if ( blockSize <= 0 ) {
+			throw new CacheException( "Invalid " + AvailableSettings.OFF_HEAP_BLOCK_SIZE + " [" + blockSize + "]" );
+		}
+		final String evictionName = ConfigurationHelper.getString(
+				AvailableSettings.OFF_HEAP_EVICTION,
+				properties,
+				"lru"
+		);
+		try {
+			this.eviction = OffHeapStore.Eviction.valueOf( evictionName.trim().toUpperCase() );
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( "Invalid " + AvailableSettings.OFF_HEAP_EVICTION + " [" + evictionName + "]" );
+		}
+	}
+
+	@Override
+	public void stop() {
+		for ( OffHeapStore store : stores ) {
+			store.destroy();
+		}
+		stores.clear();
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapEntityRegion( regionName, buildStore( regionName ), metadata, settings );
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapNaturalIdRegion( regionName, buildStore( regionName ), metadata, settings );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(
+			String regionName,
+			Properties properties,
+			CacheDataDescription metadata) throws CacheException {
+		return new OffHeapCollectionRegion( regionName, buildStore( regionName ), metadata, settings );
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapQueryResultsRegion( regionName, buildStore( regionName ) );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapTimestampsRegion( regionName );
+	}
+
+	private OffHeapStore buildStore(String regionName) {
+		final String setting = AvailableSettings.OFF_HEAP_REGION_SIZE + '.' + regionName;
+		long size = ConfigurationHelper.getLong( setting, properties, 0 );
+		if ( size <= 0 ) {
+			size = regionSize;
+		}
+		LOG.debugf( "Building off-heap region [%s] of %s bytes", regionName, size );
+		final OffHeapStore store = new OffHeapStore( size, blockSize, eviction );
+		stores.add( store );
+		return store;
+	}
+}
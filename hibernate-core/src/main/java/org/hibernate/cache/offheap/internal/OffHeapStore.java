@@ -0,0 +1,449 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores byte array values outside of the Java heap, in direct {@link ByteBuffer} slabs.
+ * <p/>
+ * The store is split into segments, each with its own lock, share of the memory and eviction order.  The memory of
+ * a segment is made of fixed size blocks; a value occupies as many blocks as its length requires, wherever they are,
+ * so that any evicted value makes room for any other one.  Slabs are only allocated once the blocks of the
+ * previous ones are all in use.  Only the keys and the block numbers of the values are kept on the heap.
+ */
+final class OffHeapStore {
+	/**
+	 * The eviction policies supported by the store.
+	 */
+	enum Eviction {
+		/**
+		 * Evicts the least recently used value.
+		 */
+		LRU,
+		/**
+		 * Evicts the least frequently used among the oldest values.
+		 */
+		LFU
+	}
+
+	private static final int SEGMENT_COUNT = 16;
+	private static final int MAX_SLAB_SIZE = 16 * 1024 * 1024;
+	// the number of (oldest) values among which the LFU policy picks the one to evict
+	private static final int LFU_SAMPLE_SIZE = 8;
+
+	private final Segment[] segments;
+	private final int blockSize;
+
+	/**
+	 * Creates a store.
+	 *
+	 * @param maxSize The maximum amount of memory, in bytes, used by the store
+	 * @param blockSize The size, in bytes, of the memory blocks
+	 * @param eviction The eviction policy
+	 */
+	OffHeapStore(long maxSize, int blockSize, Eviction eviction) {
+		this.blockSize = blockSize;
+		final long segmentBlocks = Math.max( 1, maxSize / blockSize / SEGMENT_COUNT );
+		final int blocksPerSlab = (int) Math.min( segmentBlocks, Math.max( 1, MAX_SLAB_SIZE / blockSize ) );
+		final int slabCount = (int) Math.min( Integer.MAX_VALUE / blocksPerSlab, segmentBlocks / blocksPerSlab );
+		this.segments = new Segment[SEGMENT_COUNT];
+		for ( int i = 0; i < SEGMENT_COUNT; i++ ) {
+			segments[i] = new Segment( slabCount, blocksPerSlab, eviction );
+		}
+	}
+
+	/**
+	 * Read a value.
+	 *
+	 * @param key The key
+	 *
+	 * @return A copy of the stored value, or {@code null}
+	 */
+	byte[] get(Object key) {
+		return segmentFor( key ).get( key );
+	}
+
+	/**
+	 * Store a value, evicting other values if needed.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 *
+	 * @return {@code false} if the value is too large to be stored (any previous value is removed)
+	 */
+	boolean put(Object key, byte[] value) {
+		return segmentFor( key ).put( key, value );
+	}
+
+	boolean contains(Object key) {
+		return segmentFor( key ).contains( key );
+	}
+
+	void remove(Object key) {
+		segmentFor( key ).remove( key );
+	}
+
+	void clear() {
+		for ( Segment segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Drop all the values and the references to the slabs, so that the memory can be reclaimed.
+	 */
+	void destroy() {
+		for ( Segment segment : segments ) {
+			segment.destroy();
+		}
+	}
+
+	/**
+	 * The lock guarding the given key; held while reading or writing the key, so that holding it makes a sequence of
+	 * reads and writes of the key atomic.
+	 *
+	 * @param key The key
+	 *
+	 * @return The (reentrant) lock
+	 */
+	ReentrantLock lockFor(Object key) {
+		return segmentFor( key ).lock;
+	}
+
+	long getElementCount() {
+		long count = 0;
+		for ( Segment segment : segments ) {
+			count += segment.size();
+		}
+		return count;
+	}
+
+	/**
+	 * The memory used by the stored values, including the unused part of their last block.
+	 *
+	 * @return The size in bytes
+	 */
+	long getUsedSize() {
+		long blocks = 0;
+		for ( Segment segment : segments ) {
+			blocks += segment.usedBlocks();
+		}
+		return blocks * blockSize;
+	}
+
+	/**
+	 * The memory allocated so far.
+	 *
+	 * @return The size in bytes
+	 */
+	long getAllocatedSize() {
+		long size = 0;
+		for ( Segment segment : segments ) {
+			size += segment.allocatedSize();
+		}
+		return size;
+	}
+
+	long getEvictionCount() {
+		long count = 0;
+		for ( Segment segment : segments ) {
+			count += segment.evictionCount();
+		}
+		return count;
+	}
+
+	List<Object> keys() {
+		final List<Object> keys = new ArrayList<Object>();
+		for ( Segment segment : segments ) {
+			segment.addKeys( keys );
+		}
+		return keys;
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		// spread the bits, the low ones may be poorly distributed
+		hash ^= ( hash >>> 20 ) ^ ( hash >>> 12 );
+		hash ^= ( hash >>> 7 ) ^ ( hash >>> 4 );
+		return segments[hash & ( SEGMENT_COUNT - 1 )];
+	}
+
+	private static final class Entry {
+		private final int[] blocks;
+		private final int length;
+		private int hits;
+
+		private Entry(int[] blocks, int length) {
+			this.blocks = blocks;
+			this.length = length;
+		}
+	}
+
+	private final class Segment {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final LinkedHashMap<Object, Entry> entries;
+		private final Eviction eviction;
+		private final int blocksPerSlab;
+		private final int totalBlocks;
+
+		private ByteBuffer[] slabs;
+		// blocks below this one have been handed out at least once, the others are in slabs not allocated yet
+		private int nextFreshBlock;
+		private int[] freeBlocks;
+		private int freeBlockCount;
+		private long evictionCount;
+
+		private Segment(int slabCount, int blocksPerSlab, Eviction eviction) {
+			this.eviction = eviction;
+			this.blocksPerSlab = blocksPerSlab;
+			this.totalBlocks = slabCount * blocksPerSlab;
+			this.slabs = new ByteBuffer[slabCount];
+			this.freeBlocks = new int[16];
+			// access order for LRU, insertion order for LFU
+			this.entries = new LinkedHashMap<Object, Entry>( 16, 0.75f, eviction == Eviction.LRU );
+		}
+
+		private byte[] get(Object key) {
+			lock.lock();
+			try {
+				final Entry entry = entries.get( key );
+				if ( entry == null ) {
+					return null;
+				}
+				if ( entry.hits < Integer.MAX_VALUE ) {
+					entry.hits++;
+				}
+				return read( entry );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean put(Object key, byte[] value) {
+			final int blockCount = Math.max( 1, ( value.length + blockSize - 1 ) / blockSize );
+			lock.lock();
+			try {
+				release( entries.remove( key ) );
+				if ( blockCount > totalBlocks ) {
+					return false;
+				}
+				while ( availableBlocks() < blockCount ) {
+					evict();
+				}
+				final int[] blocks = new int[blockCount];
+				for ( int i = 0; i < blockCount; i++ ) {
+					blocks[i] = allocate();
+				}
+				final Entry entry = new Entry( blocks, value.length );
+				write( entry, value );
+				entries.put( key, entry );
+				return true;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean contains(Object key) {
+			lock.lock();
+			try {
+				return entries.containsKey( key );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void remove(Object key) {
+			lock.lock();
+			try {
+				release( entries.remove( key ) );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void clear() {
+			lock.lock();
+			try {
+				for ( Entry entry : entries.values() ) {
+					release( entry );
+				}
+				entries.clear();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void destroy() {
+			lock.lock();
+			try {
+				entries.clear();
+				slabs = new ByteBuffer[slabs.length];
+				nextFreshBlock = 0;
+				freeBlocks = new int[16];
+				freeBlockCount = 0;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private int size() {
+			lock.lock();
+			try {
+				return entries.size();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private int usedBlocks() {
+			lock.lock();
+			try {
+				return nextFreshBlock - freeBlockCount;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private long allocatedSize() {
+			lock.lock();
+			try {
+				long size = 0;
+				for ( ByteBuffer slab : slabs ) {
+					if ( slab != null ) {
+						size += slab.capacity();
+					}
+				}
+				return size;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private long evictionCount() {
+			lock.lock();
+			try {
+				return evictionCount;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void addKeys(List<Object> keys) {
+			lock.lock();
+			try {
+				keys.addAll( entries.keySet() );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private int availableBlocks() {
+			return freeBlockCount + totalBlocks - nextFreshBlock;
+		}
+
+		private void evict() {
+			final Iterator<Map.Entry<Object, Entry>> itr = entries.entrySet().iterator();
+			Map.Entry<Object, Entry> victim = itr.next();
+			if ( eviction == Eviction.LFU ) {
+				for ( int i = 1; i < LFU_SAMPLE_SIZE && itr.hasNext(); i++ ) {
+					final Map.Entry<Object, Entry> candidate = itr.next();
+					if ( candidate.getValue().hits < victim.getValue().hits ) {
+						victim = candidate;
+					}
+				}
+			}
+			entries.remove( victim.getKey() );
+			release( victim.getValue() );
+			evictionCount++;
+		}
+
+		private int allocate() {
+			if ( freeBlockCount > 0 ) {
+				return freeBlocks[--freeBlockCount];
+			}
+			final int block = nextFreshBlock++;
+			final int slab = block / blocksPerSlab;
+			if ( slabs[slab] == null ) {
+				slabs[slab] = ByteBuffer.allocateDirect( blocksPerSlab * blockSize );
+			}
+			return block;
+		}
+
+		private void release(Entry entry) {
+			if ( entry == null ) {
+				return;
+			}
+			if ( freeBlockCount + entry.blocks.length > freeBlocks.length ) {
+				final int[] grown = new int[Math.max( freeBlocks.length * 2, freeBlockCount + entry.blocks.length )];
+				System.arraycopy( freeBlocks, 0, grown, 0, freeBlockCount );
+				freeBlocks = grown;
+			}
+			for ( int block : entry.blocks ) {
+				freeBlocks[freeBlockCount++] = block;
+			}
+		}
+
+		private void write(Entry entry, byte[] value) {
+			int offset = 0;
+			for ( int block : entry.blocks ) {
+				final int length = Math.min( blockSize, value.length - offset );
+				final ByteBuffer slab = slabs[block / blocksPerSlab];
+				slab.position( ( block % blocksPerSlab ) * blockSize );
+				slab.put( value, offset, length );
+				offset += length;
+			}
+		}
+
+		private byte[] read(Entry entry) {
+			final byte[] value = new byte[entry.length];
+			int offset = 0;
+			for ( int block : entry.blocks ) {
+				final int length = Math.min( blockSize, value.length - offset );
+				final ByteBuffer slab = slabs[block / blocksPerSlab];
+				slab.position( ( block % blocksPerSlab ) * blockSize );
+				slab.get( value, offset, length );
+				offset += length;
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.BulkGeneralDataRegion;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.support.Timestamper;
+
+/**
+ * The timestamps region of the off-heap {@link OffHeapRegionFactory}.
+ * <p/>
+ * Unlike the other regions it is kept on the heap: it only holds one small entry per table, read each time a cached
+ * query result is checked, so moving it off-heap would cost a copy per read for no memory gain.
+ */
+class OffHeapTimestampsRegion implements TimestampsRegion, BulkGeneralDataRegion {
+	private final String name;
+	private final ConcurrentHashMap<Object, Object> timestamps = new ConcurrentHashMap<Object, Object>();
+
+	OffHeapTimestampsRegion(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public Object get(Object key) throws CacheException {
+		return key == null ? null : timestamps.get( key );
+	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		for ( Object key : keys ) {
+			final Object value = get( key );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void put(Object key, Object value) throws CacheException {
+		if ( key != null && value != null ) {
+			timestamps.put( key, value );
+		}
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		if ( key != null ) {
+			timestamps.remove( key );
+		}
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		timestamps.clear();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		timestamps.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && timestamps.containsKey( key );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return -1;
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return timestamps.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return Collections.unmodifiableMap( timestamps );
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return Timestamper.ONE_MS * 60000;
+	}
+}
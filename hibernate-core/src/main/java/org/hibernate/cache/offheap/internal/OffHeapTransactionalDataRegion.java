@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Base class for the off-heap entity, collection and natural-id regions.
+ * <p/>
+ * The compare-and-set operations needed by the read/write access strategies hold the lock of the store segment the
+ * key belongs to while comparing and writing.  Values are copied in and out of the store, so the comparison relies
+ * on the values' {@link Object#equals equality}.
+ */
+abstract class OffHeapTransactionalDataRegion extends OffHeapRegion implements TransactionalDataRegion {
+	private final CacheDataDescription metadata;
+	private final Settings settings;
+
+	OffHeapTransactionalDataRegion(String name, OffHeapStore store, CacheDataDescription metadata, Settings settings) {
+		super( name, store );
+		this.metadata = metadata;
+		this.settings = settings;
+	}
+
+	Settings getSettings() {
+		return settings;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	Object get(Object key) throws CacheException {
+		return read( key );
+	}
+
+	Map<Object, Object> getAll(Collection<?> keys) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		for ( Object key : keys ) {
+			final Object value = read( key );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
+	void put(Object key, Object value) throws CacheException {
+		write( key, value );
+	}
+
+	void remove(Object key) throws CacheException {
+		delete( key );
+	}
+
+	void clear() throws CacheException {
+		store().clear();
+	}
+
+	boolean putIfAbsent(Object key, Object value) throws CacheException {
+		final ReentrantLock lock = store().lockFor( key );
+		lock.lock();
+		try {
+			if ( get( key ) != null ) {
+				return false;
+			}
+			put( key, value );
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	boolean replace(Object key, Object expectedValue, Object value) throws CacheException {
+		final ReentrantLock lock = store().lockFor( key );
+		lock.lock();
+		try {
+			if ( !expectedValue.equals( get( key ) ) ) {
+				return false;
+			}
+			put( key, value );
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -24,8 +24,16 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cfg.Settings;
@@ -41,6 +49,18 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * The timestamps of all the spaces of an up-to-date check are read with a single request when the region is a
+ * {@link BulkGeneralDataRegion}, and may be remembered until the end of the transaction, see
+ * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_MEMOIZE_TIMESTAMPS}.
+ * <p/>
+ * When {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY invalidating by entity key}, two
+ * more kinds of timestamps are tracked: per space, the last change other than the update or deletion of an entity
+ * (e.g. an insertion), and per updated or deleted entity, the last time it was changed.  The entity timestamps are
+ * pruned, oldest first, once this node added more than
+ * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES} of them; per space, the
+ * timestamp of the most recent pruned entity is kept instead, so that the results cached before it are checked by
+ * space again.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -56,6 +76,10 @@ public class UpdateTimestampsCache {
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final boolean invalidationByKey;
+	private final int maxEntityTimestamps;
+	private final ConcurrentLinkedQueue<EntityTimestamp> entityTimestamps = new ConcurrentLinkedQueue<EntityTimestamp>();
+	private final AtomicInteger entityTimestampCount = new AtomicInteger();
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -71,6 +95,8 @@ public class UpdateTimestampsCache {
 
 		LOG.startingUpdateTimestampsCache( regionName );
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		this.invalidationByKey = settings.isQueryCacheInvalidationByKeyEnabled();
+		this.maxEntityTimestamps = settings.getQueryCacheInvalidationByKeyMaxEntries();
 	}
 
 	/**
@@ -98,6 +124,8 @@ public class UpdateTimestampsCache {
 
 		final Long ts = region.nextTimestamp() + region.getTimeout();
 
+		forgetMemoizedTimestamps( spaces, session );
+
 		for ( Serializable space : spaces ) {
 			if ( DEBUG_ENABLED ) {
 				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
@@ -117,6 +145,10 @@ public class UpdateTimestampsCache {
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
 			}
+
+			if ( invalidationByKey ) {
+				putTimestamp( new MembershipKey( space ), ts, stats, session );
+			}
 		}
 	}
 
@@ -134,6 +166,8 @@ public class UpdateTimestampsCache {
 
 		final Long ts = region.nextTimestamp();
 
+		forgetMemoizedTimestamps( spaces, session );
+
 		for (Serializable space : spaces) {
 			if ( DEBUG_ENABLED ) {
 				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
@@ -153,6 +187,121 @@ public class UpdateTimestampsCache {
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
 			}
+
+			if ( invalidationByKey ) {
+				putTimestamp( new MembershipKey( space ), ts, stats, session );
+			}
+		}
+	}
+
+	/**
+	 * Perform pre-invalidation for the update or deletion of the given entities, when
+	 * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY invalidating by entity key}.
+	 *
+	 * @param spaces The spaces affected by the updates or deletions
+	 * @param entityKeys The cache keys of the updated or deleted entities
+	 * @param session The originating session
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void preInvalidate(Serializable[] spaces, Collection<CacheKey> entityKeys, SessionImplementor session)
+			throws CacheException {
+		invalidateEntityKeys( spaces, entityKeys, region.nextTimestamp() + region.getTimeout(), session );
+	}
+
+	/**
+	 * Perform invalidation for the update or deletion of the given entities, when
+	 * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY invalidating by entity key}.
+	 *
+	 * @param spaces The spaces affected by the updates or deletions
+	 * @param entityKeys The cache keys of the updated or deleted entities
+	 * @param session The originating session
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void invalidate(Serializable[] spaces, Collection<CacheKey> entityKeys, SessionImplementor session)
+			throws CacheException {
+		final Long ts = region.nextTimestamp();
+		invalidateEntityKeys( spaces, entityKeys, ts, session );
+
+		// only tracked on invalidation, which always follows the pre-invalidation of the same keys
+		for ( CacheKey entityKey : entityKeys ) {
+			entityTimestamps.offer( new EntityTimestamp( entityKey, spaces, ts ) );
+		}
+		if ( entityTimestampCount.addAndGet( entityKeys.size() ) > maxEntityTimestamps ) {
+			pruneEntityTimestamps( session );
+		}
+	}
+
+	/**
+	 * Removes the oldest entity timestamps added by this node beyond the maximum.  The pruning timestamp of their
+	 * spaces is raised first, so that no result cached before a removed entity timestamp is ever taken for
+	 * up-to-date because of the removal.
+	 */
+	private synchronized void pruneEntityTimestamps(SessionImplementor session) {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		while ( entityTimestampCount.get() > maxEntityTimestamps ) {
+			final EntityTimestamp oldest = entityTimestamps.poll();
+			if ( oldest == null ) {
+				break;
+			}
+			entityTimestampCount.decrementAndGet();
+
+			final Long current = getLastUpdateTimestamp( oldest.entityKey, session );
+			if ( current != null && current > oldest.timestamp ) {
+				// changed again since: the newer timestamp is pruned on its own
+				continue;
+			}
+			for ( Serializable space : oldest.spaces ) {
+				final PruningKey pruningKey = new PruningKey( space );
+				final Long lastPruning = getLastUpdateTimestamp( pruningKey, session );
+				if ( lastPruning == null || lastPruning < oldest.timestamp ) {
+					putTimestamp( pruningKey, oldest.timestamp, stats, session );
+				}
+			}
+			if ( DEBUG_ENABLED ) {
+				LOG.debugf( "Pruning entity [%s] timestamp: %s", oldest.entityKey, oldest.timestamp );
+			}
+			region.evict( oldest.entityKey );
+		}
+	}
+
+	private void invalidateEntityKeys(
+			Serializable[] spaces,
+			Collection<CacheKey> entityKeys,
+			Long ts,
+			SessionImplementor session) {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		forgetMemoizedTimestamps( spaces, session );
+
+		// the spaces themselves still need to be invalidated for the results not checked by entity key
+		for ( Serializable space : spaces ) {
+			if ( DEBUG_ENABLED ) {
+				LOG.debugf( "Invalidating space [%s] for entity updates, timestamp: %s", space, ts );
+			}
+			putTimestamp( space, ts, stats, session );
+		}
+		for ( CacheKey entityKey : entityKeys ) {
+			if ( DEBUG_ENABLED ) {
+				LOG.debugf( "Invalidating entity [%s], timestamp: %s", entityKey, ts );
+			}
+			putTimestamp( entityKey, ts, stats, session );
+		}
+	}
+
+	private void putTimestamp(Object key, Long ts, boolean stats, SessionImplementor session) {
+		try {
+			session.getEventListenerManager().cachePutStart();
+			region.put( key, ts );
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+		}
+
+		if ( stats ) {
+			factory.getStatisticsImplementor().updateTimestampsCachePut();
 		}
 	}
 
@@ -171,8 +320,9 @@ public class UpdateTimestampsCache {
 	public boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) throws CacheException {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
+		final Map<Object, Long> lastUpdates = getLastUpdateTimestamps( spaces, null, session );
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+			final Long lastUpdate = lastUpdates.get( space );
 			if ( lastUpdate == null ) {
 				if ( stats ) {
 					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
@@ -201,11 +351,156 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
+	/**
+	 * Perform an up-to-date check of results which are checked by entity key for some of their spaces, when
+	 * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY invalidating by entity key}.  For
+	 * those spaces, only the changes other than entity updates and deletions, and the updates and deletions of the
+	 * given entities, are considered; for the other spaces, any change is.
+	 *
+	 * @param spaces The spaces to check
+	 * @param keyedSpaces The subset of the spaces checked by entity key
+	 * @param entityKeys The cache keys of the entities the results hold
+	 * @param timestamp The timestamp against which to check.
+	 * @param session The originating session
+	 *
+	 * @return Whether the results are up-to-date
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public boolean isUpToDate(
+			Set<Serializable> spaces,
+			Set<Serializable> keyedSpaces,
+			Collection<CacheKey> entityKeys,
+			Long timestamp,
+			SessionImplementor session) throws CacheException {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		final List<Object> otherKeys = new ArrayList<Object>( 2 * keyedSpaces.size() + entityKeys.size() );
+		for ( Serializable space : keyedSpaces ) {
+			otherKeys.add( new MembershipKey( space ) );
+			otherKeys.add( new PruningKey( space ) );
+		}
+		otherKeys.addAll( entityKeys );
+		final Map<Object, Long> lastUpdates = getLastUpdateTimestamps( spaces, otherKeys, session );
+
+		boolean upToDate = true;
+		boolean upToDateBySpace = true;
+		for ( Serializable space : spaces ) {
+			final Long lastUpdate = lastUpdates.get( space );
+			if ( lastUpdate == null ) {
+				if ( stats ) {
+					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
+				}
+				continue;
+			}
+			if ( stats ) {
+				factory.getStatisticsImplementor().updateTimestampsCacheHit();
+			}
+			if ( lastUpdate >= timestamp ) {
+				upToDateBySpace = false;
+				if ( !keyedSpaces.contains( space ) ) {
+					upToDate = false;
+				}
+				else {
+					// without a membership timestamp (e.g. the space was changed before invalidating by entity key
+					// was enabled) there is no telling which change the space timestamp is about
+					final Long lastMembershipUpdate = lastUpdates.get( new MembershipKey( space ) );
+					if ( lastMembershipUpdate == null || lastMembershipUpdate >= timestamp ) {
+						upToDate = false;
+					}
+					// neither when the timestamp of an entity changed since was pruned
+					final Long lastPruning = lastUpdates.get( new PruningKey( space ) );
+					if ( lastPruning != null && lastPruning >= timestamp ) {
+						upToDate = false;
+					}
+				}
+			}
+		}
+		if ( upToDate && !upToDateBySpace ) {
+			for ( CacheKey entityKey : entityKeys ) {
+				final Long lastUpdate = lastUpdates.get( entityKey );
+				if ( lastUpdate != null && lastUpdate >= timestamp ) {
+					if ( DEBUG_ENABLED ) {
+						LOG.debugf( "[%s] last update timestamp: %s, result set timestamp: %s", entityKey, lastUpdate, timestamp );
+					}
+					upToDate = false;
+					break;
+				}
+			}
+			if ( upToDate && stats ) {
+				factory.getStatisticsImplementor().queryCacheKeyInvalidationHit();
+			}
+		}
+		return upToDate;
+	}
+
+	/**
+	 * Reads the timestamps of the given spaces, preferring the memoized ones, and of the other given keys, with a
+	 * single request when the region supports it.
+	 */
+	private Map<Object, Long> getLastUpdateTimestamps(
+			Set<Serializable> spaces,
+			Collection<?> otherKeys,
+			SessionImplementor session) {
+		final Map<Serializable, Long> memoized = getMemoizedTimestamps( session );
+		final Map<Object, Long> lastUpdates = new HashMap<Object, Long>();
+		final List<Object> keysToRead = new ArrayList<Object>( spaces.size() );
+		for ( Serializable space : spaces ) {
+			final Long ts = memoized == null ? null : memoized.get( space );
+			if ( ts == null ) {
+				keysToRead.add( space );
+			}
+			else {
+				lastUpdates.put( space, ts );
+			}
+		}
+		if ( otherKeys != null ) {
+			keysToRead.addAll( otherKeys );
+		}
+		if ( keysToRead.isEmpty() ) {
+			return lastUpdates;
+		}
+
+		if ( keysToRead.size() > 1 && region instanceof BulkGeneralDataRegion ) {
+			Map<Object, Object> found = null;
+			try {
+				session.getEventListenerManager().cacheGetStart();
+				found = ( (BulkGeneralDataRegion) region ).getAll( keysToRead );
+			}
+			finally {
+				session.getEventListenerManager().cacheGetEnd( found != null && !found.isEmpty() );
+			}
+			for ( Map.Entry<Object, Object> entry : found.entrySet() ) {
+				if ( entry.getValue() != null ) {
+					lastUpdates.put( entry.getKey(), (Long) entry.getValue() );
+				}
+			}
+		}
+		else {
+			for ( Object key : keysToRead ) {
+				final Long ts = getLastUpdateTimestamp( key, session );
+				if ( ts != null ) {
+					lastUpdates.put( key, ts );
+				}
+			}
+		}
+
+		if ( memoized != null ) {
+			for ( Serializable space : spaces ) {
+				final Long ts = lastUpdates.get( space );
+				if ( ts != null ) {
+					memoized.put( space, ts );
+				}
+			}
+		}
+		return lastUpdates;
+	}
+
+	private Long getLastUpdateTimestamp(Object key, SessionImplementor session) {
 		Long ts = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			ts = (Long) region.get( space );
+			ts = (Long) region.get( key );
 		}
 		finally {
 			session.getEventListenerManager().cacheGetEnd( ts != null );
@@ -213,6 +508,21 @@ public class UpdateTimestampsCache {
 		return ts;
 	}
 
+	private Map<Serializable, Long> getMemoizedTimestamps(SessionImplementor session) {
+		if ( !session.getFactory().getSettings().isQueryCacheTimestampsMemoized()
+				|| !session.isTransactionInProgress() ) {
+			return null;
+		}
+		return session.getPersistenceContext().getQuerySpaceTimestamps();
+	}
+
+	private void forgetMemoizedTimestamps(Serializable[] spaces, SessionImplementor session) {
+		final Map<Serializable, Long> memoized = getMemoizedTimestamps( session );
+		if ( memoized != null && !memoized.isEmpty() ) {
+			memoized.keySet().removeAll( Arrays.asList( spaces ) );
+		}
+	}
+
 	/**
 	 * Clear the update-timestamps data.
 	 *
@@ -220,6 +530,8 @@ public class UpdateTimestampsCache {
 	 */
 	public void clear() throws CacheException {
 		region.evictAll();
+		entityTimestamps.clear();
+		entityTimestampCount.set( 0 );
 	}
 
 	/**
@@ -250,4 +562,71 @@ public class UpdateTimestampsCache {
 		return "UpdateTimestampsCache";
 	}
 
+	/**
+	 * The key of the timestamp of the last change to a space other than the update or deletion of an entity.
+	 */
+	private static final class MembershipKey implements Serializable {
+		private final Serializable space;
+
+		private MembershipKey(Serializable space) {
+			this.space = space;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o || ( o instanceof MembershipKey && space.equals( ( (MembershipKey) o ).space ) );
+		}
+
+		@Override
+		public int hashCode() {
+			return space.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "MembershipKey[" + space + ']';
+		}
+	}
+
+	/**
+	 * The key of the timestamp of the most recent entity timestamp pruned for a space.
+	 */
+	private static final class PruningKey implements Serializable {
+		private final Serializable space;
+
+		private PruningKey(Serializable space) {
+			this.space = space;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o || ( o instanceof PruningKey && space.equals( ( (PruningKey) o ).space ) );
+		}
+
+		@Override
+		public int hashCode() {
+			return space.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "PruningKey[" + space + ']';
+		}
+	}
+
+	/**
+	 * An entity timestamp added by this node, tracked until pruned.
+	 */
+	private static final class EntityTimestamp {
+		private final CacheKey entityKey;
+		private final Serializable[] spaces;
+		private final Long timestamp;
+
+		private EntityTimestamp(CacheKey entityKey, Serializable[] spaces, Long timestamp) {
+			this.entityKey = entityKey;
+			this.spaces = spaces;
+			this.timestamp = timestamp;
+		}
+	}
+
 }
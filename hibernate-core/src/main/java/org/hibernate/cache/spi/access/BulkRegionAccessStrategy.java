@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for access strategies able to look up several keys with a single request to the underlying
+ * cache, which for a clustered or remote cache means one round trip instead of one per key.
+ * <p/>
+ * Hibernate calls {@link #getAll} when resolving batches of entities or collections (e.g. the results of a cached
+ * query, or the keys considered for a batch fetch).  Access strategies not implementing this contract are asked
+ * key by key through {@link RegionAccessStrategy#get}; see
+ * {@link org.hibernate.engine.internal.CacheHelper#fromSharedCache(org.hibernate.engine.spi.SessionImplementor, Collection, RegionAccessStrategy)}.
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+	/**
+	 * Attempt to retrieve several objects from the cache.  Each key is subject to the same rules as a call to
+	 * {@link #get} with the same timestamp.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 *
+	 * @return The cached objects by key; keys for which no (readable) object is cached are not part of the map
+	 *
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+}
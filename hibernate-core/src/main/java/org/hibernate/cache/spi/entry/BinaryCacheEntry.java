@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache as a compact
+ * {@code byte[]} written according to the property types of the entity, see
+ * {@link org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES}.  Whatever the cache provider, storing (and
+ * replicating) a byte array avoids the class descriptors and boxed values of the Java serialization of the
+ * disassembled state.
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	private final EntityPersister persister;
+	private final ConcurrentMap<String, Layout> layouts = new ConcurrentHashMap<String, Layout>();
+
+	/**
+	 * Constructs a BinaryCacheEntry strategy
+	 *
+	 * @param persister The (root) persister whose data needs to be structured.
+	 */
+	public BinaryCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Layout layout = getLayout( entry.getSubclass(), persister.getFactory() );
+		final Serializable[] state = entry.getDisassembledState();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 32 + 16 * state.length );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			out.writeUTF( entry.getSubclass() );
+			out.writeBoolean( entry.areLazyPropertiesUnfetched() );
+			BinaryValueCodec.write( layout.versionCodec, entry.getVersion(), out );
+			out.writeInt( state.length );
+			for ( int i = 0; i < state.length; i++ ) {
+				BinaryValueCodec.write( layout.codec( i ), state[i], out );
+			}
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new CacheException( "Unable to write binary cache entry for " + entry.getSubclass(), e );
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final DataInputStream in = new DataInputStream( new ByteArrayInputStream( (byte[]) structured ) );
+		try {
+			final String subclass = in.readUTF();
+			final boolean lazyPropertiesUnfetched = in.readBoolean();
+			final Layout layout = getLayout( subclass, factory );
+			final Object version = BinaryValueCodec.read( layout.versionCodec, in );
+			final Serializable[] state = new Serializable[in.readInt()];
+			for ( int i = 0; i < state.length; i++ ) {
+				state[i] = BinaryValueCodec.read( layout.codec( i ), in );
+			}
+			return new StandardCacheEntryImpl( state, subclass, lazyPropertiesUnfetched, version );
+		}
+		catch (IOException e) {
+			throw new CacheException( "Unable to read binary cache entry", e );
+		}
+	}
+
+	private Layout getLayout(String subclass, SessionFactoryImplementor factory) {
+		Layout layout = layouts.get( subclass );
+		if ( layout == null ) {
+			// the codecs are resolved lazily since they need the persisters of the associated entities
+			layout = new Layout( factory.getEntityPersister( subclass ), factory );
+			layouts.put( subclass, layout );
+		}
+		return layout;
+	}
+
+	private static class Layout {
+		// a null codec Java-serializes the value
+		private final BinaryValueCodec versionCodec;
+		private final BinaryValueCodec[] codecs;
+
+		private Layout(EntityPersister subclassPersister, SessionFactoryImplementor factory) {
+			this.versionCodec = subclassPersister.isVersioned()
+					? BinaryValueCodec.forType( subclassPersister.getVersionType(), factory )
+					: null;
+			final Type[] types = subclassPersister.getPropertyTypes();
+			this.codecs = new BinaryValueCodec[types.length];
+			for ( int i = 0; i < types.length; i++ ) {
+				codecs[i] = BinaryValueCodec.forType( types[i], factory );
+			}
+		}
+
+		private BinaryValueCodec codec(int position) {
+			return position < codecs.length ? codecs[position] : null;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+
+/**
+ * Binary CacheEntry format for persistent collections, see {@link BinaryCacheEntry}.  The disassembled state of a
+ * collection is an array of its elements, preceded by their index (maps) or identifier (id bags).
+ */
+public class BinaryCollectionCacheEntry implements CacheEntryStructure {
+	private final CollectionPersister persister;
+	private final boolean map;
+	private volatile BinaryValueCodec[] codecs;
+
+	/**
+	 * Constructs a BinaryCollectionCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 * @param map Is the collection a map?
+	 */
+	public BinaryCollectionCacheEntry(CollectionPersister persister, boolean map) {
+		this.persister = persister;
+		this.map = map;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CollectionCacheEntry entry = (CollectionCacheEntry) item;
+		final BinaryValueCodec[] codecs = getCodecs( persister.getFactory() );
+		final Serializable[] state = entry.getState();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 8 + 16 * state.length );
+		final DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			out.writeInt( state.length );
+			for ( int i = 0; i < state.length; i++ ) {
+				BinaryValueCodec.write( codecs[i % codecs.length], state[i], out );
+			}
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new CacheException( "Unable to write binary cache entry for " + persister.getRole(), e );
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final BinaryValueCodec[] codecs = getCodecs( factory );
+		final DataInputStream in = new DataInputStream( new ByteArrayInputStream( (byte[]) structured ) );
+		try {
+			final Serializable[] state = new Serializable[in.readInt()];
+			for ( int i = 0; i < state.length; i++ ) {
+				state[i] = BinaryValueCodec.read( codecs[i % codecs.length], in );
+			}
+			return new CollectionCacheEntry( state );
+		}
+		catch (IOException e) {
+			throw new CacheException( "Unable to read binary cache entry for " + persister.getRole(), e );
+		}
+	}
+
+	private BinaryValueCodec[] getCodecs(SessionFactoryImplementor factory) {
+		BinaryValueCodec[] result = codecs;
+		if ( result == null ) {
+			// the codecs are resolved lazily since they need the persisters of the associated entities
+			final BinaryValueCodec elementCodec = BinaryValueCodec.forType( persister.getElementType(), factory );
+			if ( map ) {
+				result = new BinaryValueCodec[] {
+						BinaryValueCodec.forType( persister.getIndexType(), factory ),
+						elementCodec
+				};
+			}
+			else if ( persister.getIdentifierType() != null ) {
+				// id bag
+				result = new BinaryValueCodec[] {
+						BinaryValueCodec.forType( persister.getIdentifierType(), factory ),
+						elementCodec
+				};
+			}
+			else {
+				result = new BinaryValueCodec[] { elementCodec };
+			}
+			codecs = result;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,506 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BackrefPropertyAccessor;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+/**
+ * Writes and reads one disassembled value of the binary cache entry formats ({@link BinaryCacheEntry},
+ * {@link BinaryCollectionCacheEntry}).  The codec of a value is chosen from the mapped {@link Type}; each value is
+ * preceded by a tag byte so that values the codec cannot reproduce exactly (a custom type disassembling to an
+ * unexpected class, say) fall back to Java serialization of that single value.
+ */
+abstract class BinaryValueCodec {
+	private static final byte NULL = 0;
+	private static final byte VALUE = 1;
+	private static final byte SERIALIZED = 2;
+	private static final byte UNFETCHED = 3;
+	private static final byte UNKNOWN = 4;
+
+	// associations resolve to the codec of the associated identifier, which may itself contain associations
+	private static final int MAX_DEPTH = 5;
+
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+	/**
+	 * Determine the codec for the disassembled values of the given type.
+	 *
+	 * @param type The mapped type
+	 * @param factory The session factory
+	 *
+	 * @return The codec, or {@code null} if nothing is known about the values and every value is Java-serialized
+	 */
+	static BinaryValueCodec forType(Type type, SessionFactoryImplementor factory) {
+		return forType( type, factory, 0 );
+	}
+
+	private static BinaryValueCodec forType(Type type, SessionFactoryImplementor factory, int depth) {
+		if ( type == null || depth > MAX_DEPTH || type.isAnyType() ) {
+			return null;
+		}
+		if ( type.isEntityType() ) {
+			// the id of the associated entity (one-to-ones always disassemble to null)
+			final String associatedEntityName = ( (EntityType) type ).getAssociatedEntityName();
+			return forType( factory.getIdentifierType( associatedEntityName ), factory, depth + 1 );
+		}
+		if ( type.isCollectionType() ) {
+			// the key of the owner
+			final String role = ( (CollectionType) type ).getRole();
+			return forType( factory.getCollectionPersister( role ).getKeyType(), factory, depth + 1 );
+		}
+		if ( type.isComponentType() ) {
+			final Type[] subtypes = ( (CompositeType) type ).getSubtypes();
+			final BinaryValueCodec[] codecs = new BinaryValueCodec[subtypes.length];
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				codecs[i] = forType( subtypes[i], factory, depth + 1 );
+			}
+			return new ComponentCodec( codecs );
+		}
+		return forClass( type.getReturnedClass() );
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BinaryValueCodec forClass(Class returnedClass) {
+		if ( returnedClass == String.class ) {
+			return STRING;
+		}
+		if ( returnedClass == Long.class ) {
+			return LONG;
+		}
+		if ( returnedClass == Integer.class ) {
+			return INTEGER;
+		}
+		if ( returnedClass == Short.class ) {
+			return SHORT;
+		}
+		if ( returnedClass == Byte.class ) {
+			return BYTE;
+		}
+		if ( returnedClass == Boolean.class ) {
+			return BOOLEAN;
+		}
+		if ( returnedClass == Character.class ) {
+			return CHARACTER;
+		}
+		if ( returnedClass == Double.class ) {
+			return DOUBLE;
+		}
+		if ( returnedClass == Float.class ) {
+			return FLOAT;
+		}
+		if ( returnedClass == BigDecimal.class ) {
+			return BIG_DECIMAL;
+		}
+		if ( returnedClass == BigInteger.class ) {
+			return BIG_INTEGER;
+		}
+		if ( returnedClass == byte[].class ) {
+			return BYTES;
+		}
+		if ( returnedClass != null && Date.class.isAssignableFrom( returnedClass ) ) {
+			return DATE;
+		}
+		if ( returnedClass != null && returnedClass.isEnum() ) {
+			return new EnumCodec( returnedClass );
+		}
+		return null;
+	}
+
+	/**
+	 * Write a value, preceded by its tag.
+	 *
+	 * @param codec The codec of the value, or {@code null} to Java-serialize it
+	 * @param value The disassembled value
+	 * @param out The output
+	 *
+	 * @throws IOException Indicates a problem writing to the output
+	 */
+	static void write(BinaryValueCodec codec, Object value, DataOutput out) throws IOException {
+		if ( value == null ) {
+			out.writeByte( NULL );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			out.writeByte( UNFETCHED );
+		}
+		else if ( value == BackrefPropertyAccessor.UNKNOWN ) {
+			out.writeByte( UNKNOWN );
+		}
+		else if ( codec != null && codec.accepts( value ) ) {
+			out.writeByte( VALUE );
+			codec.writeValue( value, out );
+		}
+		else {
+			out.writeByte( SERIALIZED );
+			writeBytes( SerializationHelper.serialize( (Serializable) value ), out );
+		}
+	}
+
+	/**
+	 * Read a value written by {@link #write}.
+	 *
+	 * @param codec The codec the value was written with, or {@code null} if it was Java-serialized
+	 * @param in The input
+	 *
+	 * @return The disassembled value
+	 *
+	 * @throws IOException Indicates a problem reading from the input
+	 */
+	static Serializable read(BinaryValueCodec codec, DataInput in) throws IOException {
+		final byte tag = in.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case VALUE:
+				if ( codec == null ) {
+					throw new IOException( "Unexpected value tag in binary cache entry of a serialized value : " + tag );
+				}
+				return codec.readValue( in );
+			case SERIALIZED:
+				return (Serializable) SerializationHelper.deserialize( readBytes( in ) );
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return BackrefPropertyAccessor.UNKNOWN;
+			default:
+				throw new IOException( "Unexpected value tag in binary cache entry : " + tag );
+		}
+	}
+
+	/**
+	 * Can the given (non-null) value be written by {@link #writeValue} and read back by {@link #readValue} as an
+	 * equal instance of the very same class?
+	 */
+	protected abstract boolean accepts(Object value);
+
+	protected abstract void writeValue(Object value, DataOutput out) throws IOException;
+
+	protected abstract Serializable readValue(DataInput in) throws IOException;
+
+	private static void writeBytes(byte[] bytes, DataOutput out) throws IOException {
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static byte[] readBytes(DataInput in) throws IOException {
+		final byte[] bytes = new byte[in.readInt()];
+		in.readFully( bytes );
+		return bytes;
+	}
+
+	private abstract static class ExactClassCodec extends BinaryValueCodec {
+		private final Class valueClass;
+
+		private ExactClassCodec(Class valueClass) {
+			this.valueClass = valueClass;
+		}
+
+		@Override
+		protected boolean accepts(Object value) {
+			return value.getClass() == valueClass;
+		}
+	}
+
+	private static final BinaryValueCodec STRING = new ExactClassCodec( String.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			writeBytes( ( (String) value ).getBytes( UTF_8 ), out );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return new String( readBytes( in ), UTF_8 );
+		}
+	};
+
+	private static final BinaryValueCodec LONG = new ExactClassCodec( Long.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeLong( (Long) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readLong();
+		}
+	};
+
+	private static final BinaryValueCodec INTEGER = new ExactClassCodec( Integer.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeInt( (Integer) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	};
+
+	private static final BinaryValueCodec SHORT = new ExactClassCodec( Short.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeShort( (Short) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readShort();
+		}
+	};
+
+	private static final BinaryValueCodec BYTE = new ExactClassCodec( Byte.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeByte( (Byte) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readByte();
+		}
+	};
+
+	private static final BinaryValueCodec BOOLEAN = new ExactClassCodec( Boolean.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeBoolean( (Boolean) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readBoolean();
+		}
+	};
+
+	private static final BinaryValueCodec CHARACTER = new ExactClassCodec( Character.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeChar( (Character) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readChar();
+		}
+	};
+
+	private static final BinaryValueCodec DOUBLE = new ExactClassCodec( Double.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeDouble( (Double) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readDouble();
+		}
+	};
+
+	private static final BinaryValueCodec FLOAT = new ExactClassCodec( Float.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			out.writeFloat( (Float) value );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return in.readFloat();
+		}
+	};
+
+	private static final BinaryValueCodec BIG_INTEGER = new ExactClassCodec( BigInteger.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			writeBytes( ( (BigInteger) value ).toByteArray(), out );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return new BigInteger( readBytes( in ) );
+		}
+	};
+
+	private static final BinaryValueCodec BIG_DECIMAL = new ExactClassCodec( BigDecimal.class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			final BigDecimal decimal = (BigDecimal) value;
+			out.writeInt( decimal.scale() );
+			writeBytes( decimal.unscaledValue().toByteArray(), out );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			final int scale = in.readInt();
+			return new BigDecimal( new BigInteger( readBytes( in ) ), scale );
+		}
+	};
+
+	private static final BinaryValueCodec BYTES = new ExactClassCodec( byte[].class ) {
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			writeBytes( (byte[]) value, out );
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			return readBytes( in );
+		}
+	};
+
+	/**
+	 * The temporal types disassemble to one of the JDBC subclasses of {@link Date}, so the actual class is written too.
+	 */
+	private static final BinaryValueCodec DATE = new BinaryValueCodec() {
+		private static final byte UTIL_DATE = 0;
+		private static final byte SQL_DATE = 1;
+		private static final byte SQL_TIME = 2;
+		private static final byte SQL_TIMESTAMP = 3;
+
+		@Override
+		protected boolean accepts(Object value) {
+			final Class valueClass = value.getClass();
+			return valueClass == Date.class
+					|| valueClass == java.sql.Date.class
+					|| valueClass == Time.class
+					|| valueClass == Timestamp.class;
+		}
+
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			final Class valueClass = value.getClass();
+			if ( valueClass == Timestamp.class ) {
+				out.writeByte( SQL_TIMESTAMP );
+				out.writeLong( ( (Timestamp) value ).getTime() );
+				out.writeInt( ( (Timestamp) value ).getNanos() );
+			}
+			else {
+				out.writeByte( valueClass == Date.class ? UTIL_DATE : valueClass == Time.class ? SQL_TIME : SQL_DATE );
+				out.writeLong( ( (Date) value ).getTime() );
+			}
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			final byte kind = in.readByte();
+			final long time = in.readLong();
+			switch ( kind ) {
+				case UTIL_DATE:
+					return new Date( time );
+				case SQL_DATE:
+					return new java.sql.Date( time );
+				case SQL_TIME:
+					return new Time( time );
+				case SQL_TIMESTAMP:
+					final Timestamp timestamp = new Timestamp( time );
+					timestamp.setNanos( in.readInt() );
+					return timestamp;
+				default:
+					throw new IOException( "Unexpected date kind in binary cache entry : " + kind );
+			}
+		}
+	};
+
+	private static final class EnumCodec extends BinaryValueCodec {
+		private final Class enumClass;
+
+		private EnumCodec(Class enumClass) {
+			this.enumClass = enumClass;
+		}
+
+		@Override
+		protected boolean accepts(Object value) {
+			return enumClass.isInstance( value );
+		}
+
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			writeBytes( ( (Enum) value ).name().getBytes( UTF_8 ), out );
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Serializable readValue(DataInput in) throws IOException {
+			return Enum.valueOf( enumClass, new String( readBytes( in ), UTF_8 ) );
+		}
+	}
+
+	/**
+	 * Components disassemble to an {@code Object[]} of the disassembled property values.
+	 */
+	private static final class ComponentCodec extends BinaryValueCodec {
+		private final BinaryValueCodec[] codecs;
+
+		private ComponentCodec(BinaryValueCodec[] codecs) {
+			this.codecs = codecs;
+		}
+
+		@Override
+		protected boolean accepts(Object value) {
+			if ( value.getClass() != Object[].class || ( (Object[]) value ).length != codecs.length ) {
+				return false;
+			}
+			for ( Object element : (Object[]) value ) {
+				if ( element != null && !( element instanceof Serializable ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected void writeValue(Object value, DataOutput out) throws IOException {
+			final Object[] values = (Object[]) value;
+			for ( int i = 0; i < codecs.length; i++ ) {
+				write( codecs[i], values[i], out );
+			}
+		}
+
+		@Override
+		protected Serializable readValue(DataInput in) throws IOException {
+			final Object[] values = new Object[codecs.length];
+			for ( int i = 0; i < codecs.length; i++ ) {
+				values[i] = read( codecs[i], in );
+			}
+			return values;
+		}
+	}
+}
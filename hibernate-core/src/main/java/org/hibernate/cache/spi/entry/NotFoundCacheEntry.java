@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+
+/**
+ * The value cached in an entity region for an identifier which matches no row, for the entities listed in
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_NOT_FOUND_ENTITIES}.  It is put as is, without going through the
+ * {@link CacheEntryStructure} of the entity.
+ */
+public final class NotFoundCacheEntry implements Serializable {
+	/**
+	 * Access to the singleton instance.
+	 */
+	public static final NotFoundCacheEntry INSTANCE = new NotFoundCacheEntry();
+
+	private NotFoundCacheEntry() {
+	}
+
+	/**
+	 * Is the given cached value a "not found" marker?  Caches storing their values by value hand back copies of the
+	 * marker, so it has to be recognized by type.
+	 *
+	 * @param cachedValue The value read from an entity region
+	 *
+	 * @return {@code true} if the value marks a missing entity
+	 */
+	public static boolean isNotFound(Object cachedValue) {
+		return cachedValue instanceof NotFoundCacheEntry;
+	}
+
+	private Object readResolve() {
+		return INSTANCE;
+	}
+
+	@Override
+	public String toString() {
+		return "NotFoundCacheEntry";
+	}
+}
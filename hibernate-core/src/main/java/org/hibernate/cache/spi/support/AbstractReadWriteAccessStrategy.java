@@ -0,0 +1,630 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.support;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Superclass for read/write access strategies, implementing the soft-lock protocol on top of a few storage
+ * operations provided by the cache integration.
+ * <p/>
+ * Values are wrapped in {@link Item}s and soft locks are stored as {@link Lock}s.  These wrappers are never modified
+ * in place: writers read the current wrapper and swap in its successor with {@link #replaceItem} (or
+ * {@link #putItemIfAbsent}), retrying if another writer got there first.  Equality of the wrappers is based on their
+ * state, so this works as well for caches which hand out copies of the stored values.  Implementations must make
+ * {@link #replaceItem} and {@link #putItemIfAbsent} atomic with respect to each other and to {@link #putItem}.
+ * <p/>
+ * The methods match those of {@link org.hibernate.cache.spi.access.EntityRegionAccessStrategy},
+ * {@link org.hibernate.cache.spi.access.CollectionRegionAccessStrategy},
+ * {@link org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy} and
+ * {@link org.hibernate.cache.spi.access.BulkRegionAccessStrategy}, which subclasses implement as appropriate.
+ */
+public abstract class AbstractReadWriteAccessStrategy {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			AbstractReadWriteAccessStrategy.class.getName()
+	);
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextLockId = new AtomicLong();
+
+	private final Settings settings;
+	private final Comparator versionComparator;
+
+	/**
+	 * Creates a read/write access strategy.
+	 *
+	 * @param settings The settings for this persistence unit
+	 * @param versionComparator The comparator for the versions of the cached data, if versioned
+	 */
+	protected AbstractReadWriteAccessStrategy(Settings settings, Comparator versionComparator) {
+		this.settings = settings;
+		this.versionComparator = versionComparator;
+	}
+
+	/**
+	 * The settings for this persistence unit.
+	 *
+	 * @return The settings
+	 */
+	protected Settings settings() {
+		return settings;
+	}
+
+	// storage operations ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Get the wrapper mapped to the given key.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The wrapper, or {@code null} if nothing is mapped to the key
+	 */
+	protected abstract Object getItem(Object key);
+
+	/**
+	 * Get the wrappers mapped to the given keys, with as few requests to the underlying cache as possible.
+	 *
+	 * @param keys The cache keys
+	 *
+	 * @return The wrappers by key; keys without a mapping are not part of the map
+	 */
+	protected abstract Map<Object, Object> getItems(Collection<?> keys);
+
+	/**
+	 * Map the given wrapper to the given key, replacing any existing mapping.
+	 *
+	 * @param key The cache key
+	 * @param item The wrapper
+	 */
+	protected abstract void putItem(Object key, Object item);
+
+	/**
+	 * Atomically map the given wrapper to the given key, provided nothing is mapped to the key yet.
+	 *
+	 * @param key The cache key
+	 * @param item The wrapper
+	 *
+	 * @return {@code true} if the wrapper was mapped
+	 */
+	protected abstract boolean putItemIfAbsent(Object key, Object item);
+
+	/**
+	 * Atomically replace the wrapper mapped to the given key, provided the mapped one equals the expected one.
+	 *
+	 * @param key The cache key
+	 * @param expected The wrapper expected to be mapped to the key
+	 * @param item The new wrapper
+	 *
+	 * @return {@code true} if the wrapper was replaced
+	 */
+	protected abstract boolean replaceItem(Object key, Object expected, Object item);
+
+	/**
+	 * Remove the mapping for the given key, if any.
+	 *
+	 * @param key The cache key
+	 */
+	protected abstract void removeItem(Object key);
+
+	/**
+	 * Remove all mappings.
+	 */
+	protected abstract void removeAllItems();
+
+	/**
+	 * The next timestamp of the underlying region, see {@link org.hibernate.cache.spi.Region#nextTimestamp()}.
+	 *
+	 * @return The next timestamp
+	 */
+	protected abstract long nextTimestamp();
+
+	/**
+	 * The time soft locks are held for, in timestamp units, see {@link org.hibernate.cache.spi.Region#getTimeout()}.
+	 *
+	 * @return The soft lock timeout
+	 */
+	protected abstract long getLockTimeout();
+
+	// access strategy operations ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+	 * after the start of this transaction.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public final Object get(Object key, long txTimestamp) throws CacheException {
+		final Lockable item = (Lockable) getItem( key );
+		return item != null && item.isReadable( txTimestamp ) ? item.getValue() : null;
+	}
+
+	/**
+	 * Returns only the readable items, see {@link #get(Object, long)}.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public final Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		for ( Map.Entry<Object, Object> entry : getItems( keys ).entrySet() ) {
+			final Lockable item = (Lockable) entry.getValue();
+			if ( item.isReadable( txTimestamp ) ) {
+				result.put( entry.getKey(), item.getValue() );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object)
+	 */
+	public final boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+		return putFromLoad( key, value, txTimestamp, version, settings.isMinimalPutsEnabled() );
+	}
+
+	/**
+	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+	 * key.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 */
+	public final boolean putFromLoad(
+			Object key,
+			Object value,
+			long txTimestamp,
+			Object version,
+			boolean minimalPutOverride) throws CacheException {
+		while ( true ) {
+			final Lockable item = (Lockable) getItem( key );
+			if ( item != null && !item.isWriteable( txTimestamp, version, versionComparator ) ) {
+				return false;
+			}
+			if ( compareAndSet( key, item, new Item( value, version, nextTimestamp() ) ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Soft-lock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 */
+	public final SoftLock lockItem(Object key, Object version) throws CacheException {
+		while ( true ) {
+			final Lockable item = (Lockable) getItem( key );
+			final long timeout = nextTimestamp() + getLockTimeout();
+			final Lock lock = item == null
+					? new Lock( timeout, uuid, nextLockId(), version )
+					: item.lock( timeout, uuid, nextLockId() );
+			if ( compareAndSet( key, item, lock ) ) {
+				return lock;
+			}
+		}
+	}
+
+	/**
+	 * Soft-unlock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 */
+	public final void unlockItem(Object key, SoftLock lock) throws CacheException {
+		while ( true ) {
+			final Lockable item = (Lockable) getItem( key );
+			if ( item != null && item.isUnlockable( lock ) ) {
+				if ( decrementLock( key, (Lock) item ) ) {
+					return;
+				}
+			}
+			else {
+				handleLockExpiry( key, item );
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Region locks are not supported.
+	 *
+	 * @return <code>null</code>
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#lockRegion()
+	 */
+	public final SoftLock lockRegion() {
+		return null;
+	}
+
+	/**
+	 * Region locks are not supported - perform a cache clear as a precaution.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#unlockRegion(org.hibernate.cache.spi.access.SoftLock)
+	 */
+	public final void unlockRegion(SoftLock lock) throws CacheException {
+		removeAllItems();
+	}
+
+	/**
+	 * A no-op since this is an asynchronous cache access strategy.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#remove(java.lang.Object)
+	 */
+	public void remove(Object key) throws CacheException {
+	}
+
+	/**
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#removeAll()
+	 */
+	public final void removeAll() throws CacheException {
+		removeAllItems();
+	}
+
+	/**
+	 * Remove the given mapping without regard to transactional safety.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#evict(java.lang.Object)
+	 */
+	public final void evict(Object key) throws CacheException {
+		removeItem( key );
+	}
+
+	/**
+	 * Remove all mappings without regard to transactional safety.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#evictAll()
+	 */
+	public final void evictAll() throws CacheException {
+		removeAllItems();
+	}
+
+	/**
+	 * Put the value of a newly inserted item, unless something is already mapped to the key.  Meant for
+	 * {@code afterInsert}.
+	 *
+	 * @return <code>true</code> if the value was put
+	 */
+	protected final boolean putIfAbsent(Object key, Object value, Object version) throws CacheException {
+		return putItemIfAbsent( key, new Item( value, version, nextTimestamp() ) );
+	}
+
+	/**
+	 * Replace the value of an updated item.  Only succeeds if the item was locked by this transaction and exclusively
+	 * this transaction for the duration of this transaction; fails if the soft-lock expired in the meantime.  Meant
+	 * for {@code afterUpdate}.
+	 *
+	 * @return <code>true</code> if the value was put
+	 */
+	protected final boolean putIfLocked(Object key, Object value, Object version, SoftLock lock)
+			throws CacheException {
+		while ( true ) {
+			final Lockable item = (Lockable) getItem( key );
+			if ( item != null && item.isUnlockable( lock ) ) {
+				final Lock lockItem = (Lock) item;
+				if ( lockItem.wasLockedConcurrently() ) {
+					if ( decrementLock( key, lockItem ) ) {
+						return false;
+					}
+				}
+				else if ( compareAndSet( key, item, new Item( value, version, nextTimestamp() ) ) ) {
+					return true;
+				}
+			}
+			else {
+				handleLockExpiry( key, item );
+				return false;
+			}
+		}
+	}
+
+	private long nextLockId() {
+		return nextLockId.getAndIncrement();
+	}
+
+	/**
+	 * Atomically replace the item mapped to the given key, provided it is still the expected one.  A <code>null</code>
+	 * expected item means that no item may be mapped to the key.
+	 */
+	private boolean compareAndSet(Object key, Lockable expected, Lockable item) {
+		return expected == null ? putItemIfAbsent( key, item ) : replaceItem( key, expected, item );
+	}
+
+	/**
+	 * Unlock and re-put the given key, lock combination.
+	 *
+	 * @return <code>false</code> if the lock was concurrently replaced and the caller has to retry
+	 */
+	private boolean decrementLock(Object key, Lock lock) {
+		return compareAndSet( key, lock, lock.unlock( nextTimestamp() ) );
+	}
+
+	/**
+	 * Handle the timeout of a previous lock mapped to this key.
+	 */
+	private void handleLockExpiry(Object key, Lockable lock) {
+		LOG.expired( key );
+		final long ts = nextTimestamp() + getLockTimeout();
+		// create new lock that times out immediately
+		putItem( key, new Lock( ts, uuid, nextLockId(), null ).unlock( ts ) );
+	}
+
+	/**
+	 * Interface type implemented by all wrapper objects in the cache.
+	 */
+	protected static interface Lockable {
+		/**
+		 * Returns <code>true</code> if the enclosed value can be read by a transaction started at the given time.
+		 */
+		public boolean isReadable(long txTimestamp);
+
+		/**
+		 * Returns <code>true</code> if the enclosed value can be replaced with one of the given version by a
+		 * transaction started at the given time.
+		 */
+		public boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+		/**
+		 * Returns the enclosed value.
+		 */
+		public Object getValue();
+
+		/**
+		 * Returns <code>true</code> if the given lock can be unlocked using the given SoftLock instance as a handle.
+		 */
+		public boolean isUnlockable(SoftLock lock);
+
+		/**
+		 * Locks this entry, stamping it with the UUID and lockId given, with the lock timeout occuring at the specified
+		 * time.  The returned Lock object can be used to unlock the entry in the future.
+		 */
+		public Lock lock(long timeout, UUID uuid, long lockId);
+	}
+
+	/**
+	 * Wrapper type representing unlocked items.
+	 * <p/>
+	 * Each item carries an identifier unique to its creation, on which equality is based, so that an item still
+	 * compares equal to the one it was copied from when the cache hands out copies of the stored values.
+	 */
+	protected static final class Item implements Serializable, Lockable {
+		private static final long serialVersionUID = 1L;
+		private static final UUID SOURCE_UUID = UUID.randomUUID();
+		private static final AtomicLong NEXT_ITEM_ID = new AtomicLong();
+
+		private final Object value;
+		private final Object version;
+		private final long timestamp;
+		private final UUID sourceUuid;
+		private final long itemId;
+
+		/**
+		 * Creates an unlocked item wrapping the given value with a version and creation timestamp.
+		 */
+		Item(Object value, Object version, long timestamp) {
+			this.value = value;
+			this.version = version;
+			this.timestamp = timestamp;
+			this.sourceUuid = SOURCE_UUID;
+			this.itemId = NEXT_ITEM_ID.getAndIncrement();
+		}
+
+		@Override
+		public boolean isReadable(long txTimestamp) {
+			return txTimestamp > timestamp;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			return version != null && versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		@Override
+		public Object getValue() {
+			return value;
+		}
+
+		@Override
+		public boolean isUnlockable(SoftLock lock) {
+			return false;
+		}
+
+		@Override
+		public Lock lock(long timeout, UUID uuid, long lockId) {
+			return new Lock( timeout, uuid, lockId, version );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Item ) {
+				final Item other = (Item) o;
+				return itemId == other.itemId
+						&& ( sourceUuid == null ? other.sourceUuid == null : sourceUuid.equals( other.sourceUuid ) );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return ( sourceUuid != null ? sourceUuid.hashCode() : 0 ) + (int) ( itemId ^ ( itemId >>> 32 ) );
+		}
+	}
+
+	/**
+	 * Wrapper type representing locked items.
+	 * <p/>
+	 * Locks are immutable: locking and unlocking return a new instance, which is then swapped in.  Two instances are
+	 * equal only when their whole state is, whereas {@link #isUnlockable(SoftLock)} compares the lock identity only.
+	 */
+	protected static final class Lock implements Serializable, Lockable, SoftLock {
+		private static final long serialVersionUID = 2L;
+
+		private final UUID sourceUuid;
+		private final long lockId;
+		private final Object version;
+
+		private final long timeout;
+		private final boolean concurrent;
+		private final int multiplicity;
+		private final long unlockTimestamp;
+
+		/**
+		 * Creates a locked item with the given identifiers and object version.
+		 */
+		Lock(long timeout, UUID sourceUuid, long lockId, Object version) {
+			this( sourceUuid, lockId, version, timeout, false, 1, 0L );
+		}
+
+		private Lock(
+				UUID sourceUuid,
+				long lockId,
+				Object version,
+				long timeout,
+				boolean concurrent,
+				int multiplicity,
+				long unlockTimestamp) {
+			this.sourceUuid = sourceUuid;
+			this.lockId = lockId;
+			this.version = version;
+			this.timeout = timeout;
+			this.concurrent = concurrent;
+			this.multiplicity = multiplicity;
+			this.unlockTimestamp = unlockTimestamp;
+		}
+
+		@Override
+		public boolean isReadable(long txTimestamp) {
+			return false;
+		}
+
+		@Override
+		@SuppressWarnings({"SimplifiableIfStatement", "unchecked"})
+		public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			if ( txTimestamp > timeout ) {
+				// if timedout then allow write
+				return true;
+			}
+			if ( multiplicity > 0 ) {
+				// if still locked then disallow write
+				return false;
+			}
+			return version == null
+					? txTimestamp > unlockTimestamp
+					: versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		@Override
+		public Object getValue() {
+			return null;
+		}
+
+		@Override
+		public boolean isUnlockable(SoftLock lock) {
+			if ( lock instanceof Lock ) {
+				return lockId == ( (Lock) lock ).lockId && sourceUuid.equals( ( (Lock) lock ).sourceUuid );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		@SuppressWarnings("SimplifiableIfStatement")
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Lock ) {
+				final Lock other = (Lock) o;
+				return isUnlockable( other )
+						&& timeout == other.timeout
+						&& concurrent == other.concurrent
+						&& multiplicity == other.multiplicity
+						&& unlockTimestamp == other.unlockTimestamp;
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			final int hash = ( sourceUuid != null ? sourceUuid.hashCode() : 0 );
+			int temp = (int) lockId;
+			for ( int i = 1; i < Long.SIZE / Integer.SIZE; i++ ) {
+				temp ^= ( lockId >>> ( i * Integer.SIZE ) );
+			}
+			return hash + temp;
+		}
+
+		/**
+		 * Returns true if this Lock has been concurrently locked by more than one transaction.
+		 */
+		public boolean wasLockedConcurrently() {
+			return concurrent;
+		}
+
+		@Override
+		public Lock lock(long timeout, UUID uuid, long lockId) {
+			return new Lock( sourceUuid, this.lockId, version, timeout, true, multiplicity + 1, unlockTimestamp );
+		}
+
+		/**
+		 * Returns this Lock unlocked once, timestamping the unlock event if that was the last holder.
+		 */
+		public Lock unlock(long timestamp) {
+			final int remaining = multiplicity - 1;
+			return new Lock(
+					sourceUuid,
+					lockId,
+					version,
+					timeout,
+					concurrent,
+					remaining,
+					remaining == 0 ? timestamp : unlockTimestamp
+			);
+		}
+
+		@Override
+		public String toString() {
+			return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+		}
+	}
+}
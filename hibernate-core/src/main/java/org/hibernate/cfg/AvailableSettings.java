@@ -201,6 +201,19 @@ public interface AvailableSettings {
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Prefix for settings overriding {@link #STATEMENT_BATCH_SIZE} for the statements of a single entity or
+	 * collection.  The prefix is followed by the entity name or collection role, optionally followed by {@code #} and
+	 * the operation ({@code INSERT}, {@code UPDATE}, {@code DELETE}, ...) to only override the batch size of that
+	 * operation; e.g. {@code hibernate.jdbc.batch_size.com.acme.Document#UPDATE=5}.
+	 */
+	String STATEMENT_BATCH_SIZE_PREFIX = "hibernate.jdbc.batch_size.";
+	/**
+	 * Should the JDBC batch size of each statement be tuned from the observed batch execution times, starting from
+	 * its configured batch size?  Tuned batch sizes stay between a quarter and four times the configured batch size,
+	 * and are reported through {@link org.hibernate.stat.Statistics#getJdbcBatchSize}.  Default is {@code false}.
+	 */
+	String ADAPTIVE_STATEMENT_BATCH_SIZE = "hibernate.jdbc.adaptive_batch_size";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -322,6 +335,34 @@ public interface AvailableSettings {
 	 * The <tt>QueryCacheFactory</tt> implementation class.
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
+	/**
+	 * Should the update timestamps of query spaces read by the query cache be remembered until the end of the
+	 * current transaction, so that further cached queries over the same tables in the same transaction do not read
+	 * them again (disabled by default)?  Enabling it means a transaction may keep accepting query results cached
+	 * before another transaction updated those tables; invalidations made by the transaction itself are always seen.
+	 */
+	String QUERY_CACHE_MEMOIZE_TIMESTAMPS = "hibernate.cache.query_cache_memoize_timestamps";
+	/**
+	 * Should cached query results only be invalidated by the updates and deletions of the entities they hold, rather
+	 * than by any change to the tables they query (disabled by default)?  Insertions, collection changes and bulk
+	 * operations still invalidate all the results over the affected tables, and so do all changes for results which
+	 * are not made of entities only or which query tables of entities they do not hold.
+	 * <p/>
+	 * Only enable it when entity updates never make an entity enter the results of a cached query it was not part of
+	 * (e.g. when cached queries only restrict on columns which are not updated): such changes are not detected.
+	 * <p/>
+	 * The update timestamps region then also holds one entry per recently updated or deleted entity, on top of the
+	 * entries per table.  Each node removes the entries it added beyond
+	 * {@link #QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES}, oldest first; the results cached before a removed entry
+	 * was added fall back to being invalidated by any change to the tables they query.  Size the timestamps region so
+	 * it never evicts on its own, accounting for that number of entries per node.
+	 */
+	String QUERY_CACHE_INVALIDATION_BY_KEY = "hibernate.cache.query_cache_invalidation_by_key";
+	/**
+	 * The maximum number of per entity timestamps each node keeps in the update timestamps region when
+	 * {@link #QUERY_CACHE_INVALIDATION_BY_KEY invalidating cached query results by entity key} (10000 by default).
+	 */
+	String QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES = "hibernate.cache.query_cache_invalidation_by_key.max_entries";
 	/**
 	 * Enable the second-level cache (enabled by default)
 	 */
@@ -338,6 +379,92 @@ public interface AvailableSettings {
 	 * Enable use of structured second-level cache entries
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
+	/**
+	 * Store second-level cache entries of entities and collections in a compact binary form derived from the mapped
+	 * property types instead of relying on the Java serialization of their disassembled state (disabled by default).
+	 * Ignored when {@link #USE_STRUCTURED_CACHE structured entries} are enabled.
+	 */
+	String USE_BINARY_CACHE_ENTRIES = "hibernate.cache.use_binary_entries";
+	/**
+	 * Keep a local, size-bounded near cache of entity and collection entries in front of the regions built by the
+	 * configured {@link org.hibernate.cache.spi.RegionFactory} (disabled by default).  Intended for clustered caches
+	 * where every hit would otherwise pay for unmarshalling; see {@link org.hibernate.cache.internal.NearCacheRegionFactory}.
+	 * Only read-only and nonstrict-read-write data is near cached, as changes made on other nodes are not seen; in
+	 * particular transactional regions (such as Infinispan regions backed by a transactional cache) are never near
+	 * cached.  The near cache hits and misses of a region are reported by
+	 * {@link org.hibernate.stat.SecondLevelCacheStatistics#getNearCacheHitCount()} and
+	 * {@link org.hibernate.stat.SecondLevelCacheStatistics#getNearCacheMissCount()}.
+	 */
+	String USE_NEAR_CACHE = "hibernate.cache.use_near_cache";
+	/**
+	 * The maximum number of entries kept in the near cache of each region.  Default is 10000.
+	 *
+	 * @see #USE_NEAR_CACHE
+	 */
+	String NEAR_CACHE_MAX_ENTRIES = "hibernate.cache.near_cache.max_entries";
+	/**
+	 * The time, in milliseconds, a near cache entry of a mutable (nonstrict-read-write) entity or collection may be
+	 * used before the underlying region is consulted again.  Bounds the staleness caused by changes made on other nodes, which are
+	 * not seen by the near cache.  Default is 1000; entries of immutable data never expire.
+	 *
+	 * @see #USE_NEAR_CACHE
+	 */
+	String NEAR_CACHE_TIME_TO_LIVE = "hibernate.cache.near_cache.time_to_live";
+	/**
+	 * The maximum amount of memory, in bytes, the built-in off-heap {@link org.hibernate.cache.spi.RegionFactory}
+	 * (selected with {@code hibernate.cache.region.factory_class=offheap}) uses for the values of each region.
+	 * Can be overridden for a given region by appending its name to the setting, e.g.
+	 * {@code hibernate.cache.offheap.region_size.com.acme.Customer}.  Default is 64MB.
+	 */
+	String OFF_HEAP_REGION_SIZE = "hibernate.cache.offheap.region_size";
+	/**
+	 * The size, in bytes, of the blocks the off-heap region memory is divided in.  Each value uses whole blocks, so
+	 * smaller blocks waste less memory on small values at the cost of more bookkeeping.  Default is 128.
+	 *
+	 * @see #OFF_HEAP_REGION_SIZE
+	 */
+	String OFF_HEAP_BLOCK_SIZE = "hibernate.cache.offheap.block_size";
+	/**
+	 * The policy used to evict values from a full off-heap region: {@code lru} (least recently used) or {@code lfu}
+	 * (least frequently used).  Default is {@code lru}.
+	 *
+	 * @see #OFF_HEAP_REGION_SIZE
+	 */
+	String OFF_HEAP_EVICTION = "hibernate.cache.offheap.eviction";
+	/**
+	 * Comma-separated names of the entity and collection cache regions to populate when the session factory is
+	 * built, so that they are not cold after a restart (none by default).  The data of the entities and collections
+	 * cached in those regions is loaded in batches and put in the cache without overwriting entries put meanwhile.
+	 */
+	String CACHE_WARM_UP_REGIONS = "hibernate.cache.warm_up.regions";
+	/**
+	 * The number of entities loaded per batch by the second level cache warm-up.  Default is 100.
+	 *
+	 * @see #CACHE_WARM_UP_REGIONS
+	 */
+	String CACHE_WARM_UP_BATCH_SIZE = "hibernate.cache.warm_up.batch_size";
+	/**
+	 * The number of batches loaded in parallel by the second level cache warm-up.  Default is the number of
+	 * available processors.
+	 *
+	 * @see #CACHE_WARM_UP_REGIONS
+	 */
+	String CACHE_WARM_UP_THREADS = "hibernate.cache.warm_up.threads";
+	/**
+	 * The maximum number of entities of each warmed up entity hierarchy loaded by the second level cache warm-up,
+	 * bounding the number of entries it puts in each region.  Default is 10000; 0 means no limit.
+	 *
+	 * @see #CACHE_WARM_UP_REGIONS
+	 */
+	String CACHE_WARM_UP_MAX_ENTRIES = "hibernate.cache.warm_up.max_entries";
+	/**
+	 * Comma-separated names of the cached root entities for which identifiers matching no row are remembered in the
+	 * entity cache region, so that repeated look ups of missing entities do not hit the database (none by default).
+	 * Inserting an entity with that identifier through Hibernate locks its entry like an update does, so that with
+	 * the read-write and transactional strategies a look up racing with the insertion cannot cache the marker again;
+	 * with the nonstrict-read-write strategy it may, until the entry is evicted or expires.
+	 */
+	String CACHE_NOT_FOUND_ENTITIES = "hibernate.cache.not_found.entities";
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
@@ -355,6 +482,24 @@ public interface AvailableSettings {
 	 */
 	String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Access the properties using the "property" and "field" strategies through accessor classes generated by the
+	 * bytecode provider rather than through reflection (disabled by default).  Members which generated code cannot
+	 * access (such as private fields and methods) are still accessed through reflection.  Like
+	 * {@link #USE_REFLECTION_OPTIMIZER}, this is a JVM level setting read from <tt>hibernate.properties</tt> or
+	 * system properties.
+	 */
+	String USE_GENERATED_PROPERTY_ACCESSORS = "hibernate.bytecode.use_generated_property_accessors";
+
+	/**
+	 * Hydrate entities from JDBC result sets through code generated per entity persister by the bytecode provider,
+	 * rather than through the generic loop over the property types (disabled by default).  The generated code reads
+	 * the columns of basic properties by position; other properties, and entities needing sequential selects, are
+	 * hydrated the generic way.  Requires a bytecode provider implementing
+	 * {@link org.hibernate.bytecode.spi.PropertyHydratorProvider}, such as the Javassist one.
+	 */
+	String USE_GENERATED_HYDRATORS = "hibernate.bytecode.use_generated_hydrators";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -423,6 +568,32 @@ public interface AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * The number of managed entities at (or above) which flushes compute the dirtiness of entities in parallel,
+	 * using as many threads as there are processors.  Only entities whose properties are all of basic types (no
+	 * associations, collections or components) and not lazy are checked in parallel, and only in sessions without
+	 * an {@link org.hibernate.Interceptor}; the worker threads are not given access to the Session, so custom types
+	 * must not need it to dirty check.  The resulting actions are scheduled in the same order as with serial dirty
+	 * checking.  The threads are stopped when the SessionFactory is closed.
+	 * <p/>
+	 * Default is {@code 0}, which disables parallel dirty checking.
+	 */
+	String FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD = "hibernate.flush.parallel_dirty_check_threshold";
+
+	/**
+	 * Should the persistence context drop the snapshot of the loaded state of entities which track their own
+	 * dirty attributes (see {@link org.hibernate.engine.spi.SelfDirtinessTracker})?  This roughly halves the
+	 * memory held per managed entity, but {@link org.hibernate.event.spi.PostUpdateEvent#getOldState()} and
+	 * {@link org.hibernate.Interceptor#onFlushDirty} then see no previous state for these entities, and changes
+	 * the tracker does not record are not flushed.  Entities with properties of mutable types (such as dates,
+	 * arrays, serializable values or components, whose in-place changes the tracker cannot see), a natural id,
+	 * optimistic-lock=all|dirty, lazy properties or orphan removal of to-one associations always keep the
+	 * snapshot, and are dirty checked against it.
+	 * <p/>
+	 * Default is {@code false}.
+	 */
+	String DISCARD_LOADED_STATE = "hibernate.enhancer.discard_loaded_state";
+
 	/**
 	 * Default precedence of null values in {@code ORDER BY} clause.  Supported options: {@code none} (default),
 	 * {@code first}, {@code last}.
@@ -174,6 +174,7 @@ public final class Environment implements AvailableSettings {
 	private static final BytecodeProvider BYTECODE_PROVIDER_INSTANCE;
 	private static final boolean ENABLE_BINARY_STREAMS;
 	private static final boolean ENABLE_REFLECTION_OPTIMIZER;
+	private static final boolean ENABLE_GENERATED_PROPERTY_ACCESSORS;
 	private static final boolean JVM_HAS_TIMESTAMP_BUG;
 
 	private static final Properties GLOBAL_PROPERTIES;
@@ -262,6 +263,14 @@ public final class Environment implements AvailableSettings {
 			LOG.usingReflectionOptimizer();
 		}
 
+		ENABLE_GENERATED_PROPERTY_ACCESSORS = ConfigurationHelper.getBoolean(
+				USE_GENERATED_PROPERTY_ACCESSORS,
+				GLOBAL_PROPERTIES
+		);
+		if ( ENABLE_GENERATED_PROPERTY_ACCESSORS ) {
+			LOG.usingGeneratedPropertyAccessors();
+		}
+
 		BYTECODE_PROVIDER_INSTANCE = buildBytecodeProvider( GLOBAL_PROPERTIES );
 
 		long x = 123456789;
@@ -312,6 +321,18 @@ public final class Environment implements AvailableSettings {
 		return ENABLE_REFLECTION_OPTIMIZER;
 	}
 
+	/**
+	 * Should we access properties through generated accessors?
+	 *
+	 * @return True if generated property accessors should be used; false otherwise.
+	 *
+	 * @see #USE_GENERATED_PROPERTY_ACCESSORS
+	 * @see org.hibernate.bytecode.spi.OptimizedAccessorProvider
+	 */
+	public static boolean useGeneratedPropertyAccessors() {
+		return ENABLE_GENERATED_PROPERTY_ACCESSORS;
+	}
+
 	/**
 	 * Disallow instantiation
 	 */
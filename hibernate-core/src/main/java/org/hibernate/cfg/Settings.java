@@ -23,7 +23,9 @@
  */
 package org.hibernate.cfg;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
@@ -60,9 +62,18 @@ public final class Settings {
 	private boolean autoUpdateSchema;
 	private boolean autoValidateSchema;
 	private boolean queryCacheEnabled;
+	private boolean queryCacheTimestampsMemoized;
+	private boolean queryCacheInvalidationByKeyEnabled;
+	private int queryCacheInvalidationByKeyMaxEntries;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean binaryCacheEntriesEnabled;
 	private boolean secondLevelCacheEnabled;
 	private boolean autoEvictCollectionCache;
+	private Set<String> cacheWarmUpRegions = Collections.emptySet();
+	private int cacheWarmUpBatchSize;
+	private int cacheWarmUpThreads;
+	private int cacheWarmUpMaxEntries;
+	private Set<String> cacheNotFoundEntities = Collections.emptySet();
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean commentsEnabled;
@@ -76,8 +87,11 @@ public final class Settings {
 	private QueryCacheFactory queryCacheFactory;
 	private QueryTranslatorFactory queryTranslatorFactory;
 	private boolean wrapResultSetsEnabled;
+	private boolean generatedHydratorsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private int parallelDirtyCheckThreshold;
+	private boolean discardLoadedStateEnabled;
 	private EntityMode defaultEntityMode;
 	private boolean dataDefinitionImplicitCommit;
 	private boolean dataDefinitionInTransactionSupported;
@@ -190,6 +204,18 @@ public final class Settings {
 		return queryCacheEnabled;
 	}
 
+	public boolean isQueryCacheTimestampsMemoized() {
+		return queryCacheTimestampsMemoized;
+	}
+
+	public boolean isQueryCacheInvalidationByKeyEnabled() {
+		return queryCacheInvalidationByKeyEnabled;
+	}
+
+	public int getQueryCacheInvalidationByKeyMaxEntries() {
+		return queryCacheInvalidationByKeyMaxEntries;
+	}
+
 	public boolean isCommentsEnabled() {
 		return commentsEnabled;
 	}
@@ -234,6 +260,10 @@ public final class Settings {
 		return wrapResultSetsEnabled;
 	}
 
+	public boolean isGeneratedHydratorsEnabled() {
+		return generatedHydratorsEnabled;
+	}
+
 	public boolean isOrderUpdatesEnabled() {
 		return orderUpdatesEnabled;
 	}
@@ -242,10 +272,22 @@ public final class Settings {
 		return orderInsertsEnabled;
 	}
 
+	public int getParallelDirtyCheckThreshold() {
+		return parallelDirtyCheckThreshold;
+	}
+
+	public boolean isDiscardLoadedStateEnabled() {
+		return discardLoadedStateEnabled;
+	}
+
 	public boolean isStructuredCacheEntriesEnabled() {
 		return structuredCacheEntriesEnabled;
 	}
 
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
 	}
@@ -360,6 +402,18 @@ public final class Settings {
 		queryCacheEnabled = b;
 	}
 
+	void setQueryCacheTimestampsMemoized(boolean queryCacheTimestampsMemoized) {
+		this.queryCacheTimestampsMemoized = queryCacheTimestampsMemoized;
+	}
+
+	void setQueryCacheInvalidationByKeyEnabled(boolean queryCacheInvalidationByKeyEnabled) {
+		this.queryCacheInvalidationByKeyEnabled = queryCacheInvalidationByKeyEnabled;
+	}
+
+	void setQueryCacheInvalidationByKeyMaxEntries(int queryCacheInvalidationByKeyMaxEntries) {
+		this.queryCacheInvalidationByKeyMaxEntries = queryCacheInvalidationByKeyMaxEntries;
+	}
+
 	void setCommentsEnabled(boolean commentsEnabled) {
 		this.commentsEnabled = commentsEnabled;
 	}
@@ -404,6 +458,10 @@ public final class Settings {
 		this.wrapResultSetsEnabled = wrapResultSetsEnabled;
 	}
 
+	void setGeneratedHydratorsEnabled(boolean generatedHydratorsEnabled) {
+		this.generatedHydratorsEnabled = generatedHydratorsEnabled;
+	}
+
 	void setOrderUpdatesEnabled(boolean orderUpdatesEnabled) {
 		this.orderUpdatesEnabled = orderUpdatesEnabled;
 	}
@@ -412,10 +470,22 @@ public final class Settings {
 		this.orderInsertsEnabled = orderInsertsEnabled;
 	}
 
+	void setParallelDirtyCheckThreshold(int parallelDirtyCheckThreshold) {
+		this.parallelDirtyCheckThreshold = parallelDirtyCheckThreshold;
+	}
+
+	void setDiscardLoadedStateEnabled(boolean discardLoadedStateEnabled) {
+		this.discardLoadedStateEnabled = discardLoadedStateEnabled;
+	}
+
 	void setStructuredCacheEntriesEnabled(boolean structuredCacheEntriesEnabled) {
 		this.structuredCacheEntriesEnabled = structuredCacheEntriesEnabled;
 	}
 
+	void setBinaryCacheEntriesEnabled(boolean binaryCacheEntriesEnabled) {
+		this.binaryCacheEntriesEnabled = binaryCacheEntriesEnabled;
+	}
+
 	void setDefaultEntityMode(EntityMode defaultEntityMode) {
 		this.defaultEntityMode = defaultEntityMode;
 	}
@@ -529,6 +599,46 @@ public final class Settings {
 		this.autoEvictCollectionCache = autoEvictCollectionCache;
 	}
 
+	public Set<String> getCacheWarmUpRegions() {
+		return cacheWarmUpRegions;
+	}
+
+	void setCacheWarmUpRegions(Set<String> cacheWarmUpRegions) {
+		this.cacheWarmUpRegions = cacheWarmUpRegions;
+	}
+
+	public int getCacheWarmUpBatchSize() {
+		return cacheWarmUpBatchSize;
+	}
+
+	void setCacheWarmUpBatchSize(int cacheWarmUpBatchSize) {
+		this.cacheWarmUpBatchSize = cacheWarmUpBatchSize;
+	}
+
+	public int getCacheWarmUpThreads() {
+		return cacheWarmUpThreads;
+	}
+
+	void setCacheWarmUpThreads(int cacheWarmUpThreads) {
+		this.cacheWarmUpThreads = cacheWarmUpThreads;
+	}
+
+	public int getCacheWarmUpMaxEntries() {
+		return cacheWarmUpMaxEntries;
+	}
+
+	void setCacheWarmUpMaxEntries(int cacheWarmUpMaxEntries) {
+		this.cacheWarmUpMaxEntries = cacheWarmUpMaxEntries;
+	}
+
+	public Set<String> getCacheNotFoundEntities() {
+		return cacheNotFoundEntities;
+	}
+
+	void setCacheNotFoundEntities(Set<String> cacheNotFoundEntities) {
+		this.cacheNotFoundEntities = cacheNotFoundEntities;
+	}
+
 	public void setBaselineSessionEventsListenerBuilder(BaselineSessionEventsListenerBuilder baselineSessionEventsListenerBuilder) {
 		this.baselineSessionEventsListenerBuilder = baselineSessionEventsListenerBuilder;
 	}
@@ -24,8 +24,10 @@
 package org.hibernate.cfg;
 
 import java.io.Serializable;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
@@ -162,6 +164,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setWrapResultSetsEnabled(wrapResultSets);
 
+		boolean generatedHydrators = ConfigurationHelper.getBoolean( AvailableSettings.USE_GENERATED_HYDRATORS, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Generated hydrators: %s", enabledDisabled(generatedHydrators) );
+		}
+		settings.setGeneratedHydratorsEnabled( generatedHydrators );
+
 		boolean useGetGeneratedKeys = ConfigurationHelper.getBoolean(AvailableSettings.USE_GET_GENERATED_KEYS, properties, meta.supportsGetGeneratedKeys());
 		if ( debugEnabled ) {
 			LOG.debugf( "JDBC3 getGeneratedKeys(): %s", enabledDisabled(useGetGeneratedKeys) );
@@ -251,6 +259,20 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setOrderInsertsEnabled( orderInserts );
 
+		int parallelDirtyCheckThreshold = ConfigurationHelper.getInt(
+				AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, properties, 0
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Parallel dirty checking threshold: %s", parallelDirtyCheckThreshold );
+		}
+		settings.setParallelDirtyCheckThreshold( parallelDirtyCheckThreshold );
+
+		boolean discardLoadedState = ConfigurationHelper.getBoolean( AvailableSettings.DISCARD_LOADED_STATE, properties );
+		if ( debugEnabled ) {
+			LOG.debugf( "Discard loaded state of self dirtiness tracking entities: %s", enabledDisabled( discardLoadedState ) );
+		}
+		settings.setDiscardLoadedStateEnabled( discardLoadedState );
+
 		String defaultNullPrecedence = ConfigurationHelper.getString(
 				AvailableSettings.DEFAULT_NULL_ORDERING, properties, "none", "first", "last"
 		);
@@ -292,6 +314,37 @@ public class SettingsFactory implements Serializable {
 			settings.setQueryCacheFactory( createQueryCacheFactory( properties, serviceRegistry ) );
 		}
 
+		boolean memoizeQueryCacheTimestamps = ConfigurationHelper.getBoolean(
+				AvailableSettings.QUERY_CACHE_MEMOIZE_TIMESTAMPS,
+				properties,
+				false
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Query cache timestamps memoized per transaction: %s", enabledDisabled(memoizeQueryCacheTimestamps) );
+		}
+		settings.setQueryCacheTimestampsMemoized( memoizeQueryCacheTimestamps );
+
+		boolean queryCacheInvalidationByKey = ConfigurationHelper.getBoolean(
+				AvailableSettings.QUERY_CACHE_INVALIDATION_BY_KEY,
+				properties,
+				false
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Query cache invalidation by entity key: %s", enabledDisabled(queryCacheInvalidationByKey) );
+		}
+		settings.setQueryCacheInvalidationByKeyEnabled( queryCacheInvalidationByKey );
+		if ( queryCacheInvalidationByKey ) {
+			int maxEntries = ConfigurationHelper.getInt(
+					AvailableSettings.QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES,
+					properties,
+					10000
+			);
+			if ( debugEnabled ) {
+				LOG.debugf( "Query cache invalidation by entity key max entries: %s", maxEntries );
+			}
+			settings.setQueryCacheInvalidationByKeyMaxEntries( maxEntries );
+		}
+
 		settings.setRegionFactory( serviceRegistry.getService( RegionFactory.class ) );
 
 		boolean useMinimalPuts = ConfigurationHelper.getBoolean(
@@ -317,6 +370,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setStructuredCacheEntriesEnabled( useStructuredCacheEntries );
 
+		boolean useBinaryCacheEntries = ConfigurationHelper.getBoolean( AvailableSettings.USE_BINARY_CACHE_ENTRIES, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Binary second-level cache entries: %s", enabledDisabled(useBinaryCacheEntries) );
+		}
+		settings.setBinaryCacheEntriesEnabled( useBinaryCacheEntries );
+
 		boolean useDirectReferenceCacheEntries = ConfigurationHelper.getBoolean(
 				AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 				properties,
@@ -333,6 +392,43 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setAutoEvictCollectionCache( autoEvictCollectionCache );
 
+		final Set<String> cacheWarmUpRegions = new LinkedHashSet<String>();
+		final String cacheWarmUpRegionNames = ConfigurationHelper.getString( AvailableSettings.CACHE_WARM_UP_REGIONS, properties, "" );
+		for ( String regionName : StringHelper.split( ", \t\n\r\f", cacheWarmUpRegionNames ) ) {
+			cacheWarmUpRegions.add( regionName );
+		}
+		if ( !cacheWarmUpRegions.isEmpty() ) {
+			if ( debugEnabled ) {
+				LOG.debugf( "Second-level cache warm-up regions: %s", cacheWarmUpRegions );
+			}
+			settings.setCacheWarmUpRegions( cacheWarmUpRegions );
+		}
+		settings.setCacheWarmUpBatchSize(
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_WARM_UP_BATCH_SIZE, properties, 100 )
+		);
+		settings.setCacheWarmUpThreads(
+				ConfigurationHelper.getInt(
+						AvailableSettings.CACHE_WARM_UP_THREADS,
+						properties,
+						Runtime.getRuntime().availableProcessors()
+				)
+		);
+		settings.setCacheWarmUpMaxEntries(
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_WARM_UP_MAX_ENTRIES, properties, 10000 )
+		);
+
+		final Set<String> cacheNotFoundEntities = new LinkedHashSet<String>();
+		final String cacheNotFoundEntityNames = ConfigurationHelper.getString( AvailableSettings.CACHE_NOT_FOUND_ENTITIES, properties, "" );
+		for ( String entityName : StringHelper.split( ", \t\n\r\f", cacheNotFoundEntityNames ) ) {
+			cacheNotFoundEntities.add( entityName );
+		}
+		if ( !cacheNotFoundEntities.isEmpty() ) {
+			if ( debugEnabled ) {
+				LOG.debugf( "Entities cached when not found: %s", cacheNotFoundEntities );
+			}
+			settings.setCacheNotFoundEntities( cacheNotFoundEntities );
+		}
+
 		//Statistics and logging:
 
 		boolean useStatistics = ConfigurationHelper.getBoolean( AvailableSettings.GENERATE_STATISTICS, properties );
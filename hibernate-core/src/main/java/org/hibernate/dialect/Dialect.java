@@ -2595,6 +2595,48 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Does this dialect support restricting a single column against the elements of a {@link java.sql.Array}
+	 * bound to a single JDBC parameter (see {@link #getArrayParameterRestriction})?
+	 * <p/>
+	 * Used by {@link org.hibernate.loader.BatchFetchStyle#ARRAY} batch fetching to load any number of
+	 * identifiers with the same prepared statement.
+	 *
+	 * @return {@code true} if the restriction is supported; {@code false} (the default) otherwise.
+	 */
+	public boolean supportsArrayParameterRestriction() {
+		return false;
+	}
+
+	/**
+	 * Render a restriction of the given column against the elements of an array bound to a single
+	 * JDBC parameter, for example {@code "col = any(?)"}.
+	 *
+	 * @param columnName The (qualified) column name
+	 *
+	 * @return The restriction fragment
+	 *
+	 * @throws MappingException If the dialect does not {@link #supportsArrayParameterRestriction support} it
+	 */
+	public String getArrayParameterRestriction(String columnName) {
+		throw new MappingException( getClass().getName() + " does not support array parameter restrictions" );
+	}
+
+	/**
+	 * Get the element type name to pass to {@link java.sql.Connection#createArrayOf} for an array of values
+	 * of the given {@link java.sql.Types} typecode.  By default this is the {@link #getTypeName(int) type name}
+	 * stripped of any length/precision placeholders.
+	 *
+	 * @param code The {@link java.sql.Types} typecode of the array elements
+	 *
+	 * @return The element type name
+	 */
+	public String getArrayParameterElementTypeName(int code) {
+		final String typeName = getTypeName( code );
+		final int paren = typeName.indexOf( '(' );
+		return paren < 0 ? typeName : typeName.substring( 0, paren ).trim();
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
@@ -661,4 +661,17 @@ public class HSQLDialect extends Dialect {
 	public boolean supportsTupleDistinctCounts() {
 		return false;
 	}
+
+	@Override
+	public boolean supportsArrayParameterRestriction() {
+		return hsqldbVersion >= 20;
+	}
+
+	@Override
+	public String getArrayParameterRestriction(String columnName) {
+		if ( hsqldbVersion < 20 ) {
+			return super.getArrayParameterRestriction( columnName );
+		}
+		return columnName + " in ( unnest(?) )";
+	}
 }
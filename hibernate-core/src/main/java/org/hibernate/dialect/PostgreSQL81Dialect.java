@@ -506,6 +506,16 @@ public class PostgreSQL81Dialect extends Dialect {
 	public boolean supportsRowValueConstructorSyntax() {
 		return true;
 	}
+
+	@Override
+	public boolean supportsArrayParameterRestriction() {
+		return true;
+	}
+
+	@Override
+	public String getArrayParameterRestriction(String columnName) {
+		return columnName + " = any(?)";
+	}
 	
 	@Override
 	public String getForUpdateNowaitString() {
@@ -24,11 +24,19 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.SessionImplementor;
 
 /**
@@ -64,6 +72,88 @@ public final class CacheHelper {
 			SessionImplementor session,
 			CacheKey cacheKey,
 			RegionAccessStrategy cacheAccessStrategy) {
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		if ( batchFetchQueue.containsPrefetchedCacheEntry( cacheKey ) ) {
+			return (Serializable) batchFetchQueue.getPrefetchedCacheEntry( cacheKey );
+		}
 		return fromSharedCache( session, (Object) cacheKey, cacheAccessStrategy );
 	}
+
+	/**
+	 * Look up several keys in the second level cache.  If the access strategy is a {@link BulkRegionAccessStrategy}
+	 * the keys not already prefetched are asked for in a single request, otherwise they are asked for one by one.
+	 *
+	 * @param session The session
+	 * @param cacheKeys The keys to look up
+	 * @param cacheAccessStrategy The access strategy of the cache region holding the keys
+	 *
+	 * @return The cached values by key; keys without a cached value are not part of the map
+	 */
+	public static Map<Object, Object> fromSharedCache(
+			SessionImplementor session,
+			Collection<? extends CacheKey> cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		if ( cacheKeys.isEmpty() ) {
+			return result;
+		}
+
+		final BatchFetchQueue batchFetchQueue = session.getPersistenceContext().getBatchFetchQueue();
+		final List<CacheKey> lookups = new ArrayList<CacheKey>( cacheKeys.size() );
+		for ( CacheKey cacheKey : cacheKeys ) {
+			if ( batchFetchQueue.containsPrefetchedCacheEntry( cacheKey ) ) {
+				final Object cachedValue = batchFetchQueue.getPrefetchedCacheEntry( cacheKey );
+				if ( cachedValue != null ) {
+					result.put( cacheKey, cachedValue );
+				}
+			}
+			else {
+				lookups.add( cacheKey );
+			}
+		}
+		if ( lookups.isEmpty() ) {
+			return result;
+		}
+
+		if ( cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+			Map<Object, Object> cachedValues = null;
+			try {
+				session.getEventListenerManager().cacheGetStart();
+				cachedValues = ( (BulkRegionAccessStrategy) cacheAccessStrategy ).getAll( lookups, session.getTimestamp() );
+			}
+			finally {
+				session.getEventListenerManager().cacheGetEnd( cachedValues != null && !cachedValues.isEmpty() );
+			}
+			result.putAll( cachedValues );
+		}
+		else {
+			for ( CacheKey cacheKey : lookups ) {
+				final Serializable cachedValue = fromSharedCache( session, (Object) cacheKey, cacheAccessStrategy );
+				if ( cachedValue != null ) {
+					result.put( cacheKey, cachedValue );
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Look up several keys in the second level cache ahead of the loads which will need them, remembering the
+	 * outcome (including misses) in the session's {@link BatchFetchQueue} so that those loads do not go back to the
+	 * cache.  The caller is responsible for handing the returned keys to
+	 * {@link BatchFetchQueue#removePrefetchedCacheEntries} once the loads are done.
+	 *
+	 * @param session The session
+	 * @param cacheKeys The keys to look up
+	 * @param cacheAccessStrategy The access strategy of the cache region holding the keys
+	 *
+	 * @return The keys this call added to the prefetched entries
+	 */
+	public static Set<CacheKey> prefetchFromSharedCache(
+			SessionImplementor session,
+			Collection<? extends CacheKey> cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final Map<Object, Object> cachedValues = fromSharedCache( session, cacheKeys, cacheAccessStrategy );
+		return session.getPersistenceContext().getBatchFetchQueue().addPrefetchedCacheEntries( cacheKeys, cachedValues );
+	}
 }
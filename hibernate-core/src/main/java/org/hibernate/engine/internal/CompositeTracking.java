@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import org.hibernate.EntityMode;
+import org.hibernate.engine.spi.CompositeOwner;
+import org.hibernate.engine.spi.CompositeTracker;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.Type;
+
+/**
+ * Utilities for composite values which report their own changes to the owning entity through
+ * {@link CompositeTracker} / {@link CompositeOwner}.
+ */
+public final class CompositeTracking {
+	/**
+	 * Private constructor disallowing instantiation.
+	 */
+	private CompositeTracking() {
+	}
+
+	/**
+	 * Can in-place changes of values of the given type be seen by the owning entity's dirtiness tracker?  That
+	 * is the case for components whose class is a {@link CompositeTracker} and whose own mutable values are
+	 * trackable composites as well (in which case the component class must also be a {@link CompositeOwner}).
+	 *
+	 * @param type The property type
+	 *
+	 * @return {@code true} if changes of values of the type are tracked
+	 */
+	public static boolean isTrackable(Type type) {
+		if ( !( type instanceof ComponentType ) ) {
+			return false;
+		}
+		final Class componentClass = type.getReturnedClass();
+		if ( !CompositeTracker.class.isAssignableFrom( componentClass ) ) {
+			return false;
+		}
+		for ( Type subtype : ( (ComponentType) type ).getSubtypes() ) {
+			if ( subtype.isMutable() ) {
+				if ( !CompositeOwner.class.isAssignableFrom( componentClass ) || !isTrackable( subtype ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Register the owner of a composite value, and the value as owner of the composites nested in it, so that
+	 * in-place changes are reported to the owner.  Values passed to the owner's setters are registered by the
+	 * setters; values instantiated by Hibernate (on load) are not.
+	 *
+	 * @param owner The owner of the value (the entity, or the enclosing composite)
+	 * @param name The name of the attribute holding the value
+	 * @param type The attribute type
+	 * @param value The attribute value
+	 */
+	public static void registerOwner(CompositeOwner owner, String name, Type type, Object value) {
+		if ( !( type instanceof ComponentType ) || !( value instanceof CompositeTracker ) ) {
+			return;
+		}
+		( (CompositeTracker) value ).$$_hibernate_setOwner( name, owner );
+		if ( value instanceof CompositeOwner ) {
+			final ComponentType componentType = (ComponentType) type;
+			final Type[] subtypes = componentType.getSubtypes();
+			final String[] names = componentType.getPropertyNames();
+			final Object[] values = componentType.getPropertyValues( value, EntityMode.POJO );
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				registerOwner( (CompositeOwner) value, names[i], subtypes[i], values[i] );
+			}
+		}
+	}
+}
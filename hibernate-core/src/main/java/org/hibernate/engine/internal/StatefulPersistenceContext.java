@@ -46,6 +46,7 @@ import org.hibernate.LockMode;
 import org.hibernate.MappingException;
 import org.hibernate.NonUniqueObjectException;
 import org.hibernate.PersistentObjectException;
+import org.hibernate.SessionException;
 import org.hibernate.TransientObjectException;
 import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
@@ -69,6 +70,7 @@ import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -98,10 +100,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private static final boolean TRACE_ENABLED = LOG.isTraceEnabled();
 	private static final int INIT_COLL_SIZE = 8;
 
+	private static final OpenAddressingHashMap.KeyMatcher<EntityKey, Serializable, EntityPersister> ENTITY_KEY_MATCHER =
+			new OpenAddressingHashMap.KeyMatcher<EntityKey, Serializable, EntityPersister>() {
+				@Override
+				public boolean matches(EntityKey key, Serializable id, EntityPersister persister) {
+					return key.matches( id, persister );
+				}
+			};
+
 	private SessionImplementor session;
 
 	// Loaded entity instances, by EntityKey
-	private Map<EntityKey, Object> entitiesByKey;
+	private OpenAddressingHashMap<EntityKey, Object> entitiesByKey;
 
 	// Loaded entity instances, by EntityUniqueKey
 	private Map<EntityUniqueKey, Object> entitiesByUniqueKey;
@@ -149,10 +159,12 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private boolean flushing;
 
 	private boolean defaultReadOnly;
+	private boolean readOnlySession;
 	private boolean hasNonReadOnlyEntities;
 
 	private LoadContexts loadContexts;
 	private BatchFetchQueue batchFetchQueue;
+	private Map<Serializable, Long> querySpaceTimestamps;
 
 
 	/**
@@ -163,18 +175,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SessionImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitiesByKey = new OpenAddressingHashMap<EntityKey, Object>( INIT_COLL_SIZE );
 		entitiesByUniqueKey = new HashMap<EntityUniqueKey, Object>( INIT_COLL_SIZE );
 		//noinspection unchecked
 		proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>( INIT_COLL_SIZE, .75f, 1, ConcurrentReferenceHashMap.ReferenceType.STRONG, ConcurrentReferenceHashMap.ReferenceType.WEAK, null );
-		entitySnapshotsByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitySnapshotsByKey = new OpenAddressingHashMap<EntityKey, Object>( INIT_COLL_SIZE );
 
 		entityEntryContext = new EntityEntryContext();
 //		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		parentsByChild = new IdentityHashMap<Object,Object>( INIT_COLL_SIZE );
 
-		collectionsByKey = new HashMap<CollectionKey, PersistentCollection>( INIT_COLL_SIZE );
+		collectionsByKey = new OpenAddressingHashMap<CollectionKey, PersistentCollection>( INIT_COLL_SIZE );
 		arrayHolders = new IdentityHashMap<Object, PersistentCollection>( INIT_COLL_SIZE );
 
 		nullifiableEntityKeys = new HashSet<EntityKey>();
@@ -226,6 +238,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return batchFetchQueue;
 	}
 
+	@Override
+	public Map<Serializable, Long> getQuerySpaceTimestamps() {
+		if ( querySpaceTimestamps == null ) {
+			querySpaceTimestamps = new HashMap<Serializable, Long>();
+		}
+		return querySpaceTimestamps;
+	}
+
 	@Override
 	public void clear() {
 		for ( Object o : proxiesByKey.values() ) {
@@ -261,6 +281,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			loadContexts.cleanup();
 		}
 		naturalIdXrefDelegate.clear();
+		querySpaceTimestamps = null;
 	}
 
 	@Override
@@ -270,9 +291,22 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public void setDefaultReadOnly(boolean defaultReadOnly) {
+		if ( readOnlySession && !defaultReadOnly ) {
+			throw new SessionException( "Cannot make the default modifiable in a read-only session" );
+		}
 		this.defaultReadOnly = defaultReadOnly;
 	}
 
+	@Override
+	public boolean isReadOnlySession() {
+		return readOnlySession;
+	}
+
+	@Override
+	public void setReadOnlySession(boolean readOnlySession) {
+		this.readOnlySession = readOnlySession;
+	}
+
 	@Override
 	public boolean hasNonReadOnlyEntities() {
 		return hasNonReadOnlyEntities;
@@ -293,6 +327,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	@Override
 	public void afterTransactionCompletion() {
 		cleanUpInsertedKeysAfterTransaction();
+		querySpaceTimestamps = null;
 		entityEntryContext.downgradeLocks();
 //		// Downgrade locks
 //		for ( EntityEntry o : entityEntries.values() ) {
@@ -399,6 +434,27 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entitiesByKey.containsKey( key );
 	}
 
+	@Override
+	public Object getEntity(Serializable id, EntityPersister persister) {
+		if ( id == null ) {
+			return null;
+		}
+		return entitiesByKey.get( EntityKey.generateHashCode( id, persister ), ENTITY_KEY_MATCHER, id, persister );
+	}
+
+	@Override
+	public boolean containsEntity(Serializable id, EntityPersister persister) {
+		return getEntityKey( id, persister ) != null;
+	}
+
+	@Override
+	public EntityKey getEntityKey(Serializable id, EntityPersister persister) {
+		if ( id == null ) {
+			return null;
+		}
+		return entitiesByKey.getKey( EntityKey.generateHashCode( id, persister ), ENTITY_KEY_MATCHER, id, persister );
+	}
+
 	@Override
 	public Object removeEntity(EntityKey key) {
 		final Object entity = entitiesByKey.remove( key );
@@ -1335,6 +1391,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		if ( isReadOnly( object ) == readOnly ) {
 			return;
 		}
+		if ( readOnlySession && !readOnly ) {
+			throw new SessionException( "Cannot make an entity or proxy modifiable in a read-only session" );
+		}
 		if ( object instanceof HibernateProxy ) {
 			final HibernateProxy proxy = (HibernateProxy) object;
 			setProxyReadOnly( proxy, readOnly );
@@ -1410,6 +1469,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 
 		oos.writeBoolean( defaultReadOnly );
+		oos.writeBoolean( readOnlySession );
 		oos.writeBoolean( hasNonReadOnlyEntities );
 
 		oos.writeInt( entitiesByKey.size() );
@@ -1514,6 +1574,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		try {
 			rtn.defaultReadOnly = ois.readBoolean();
+			rtn.readOnlySession = ois.readBoolean();
 			// todo : we can actually just determine this from the incoming EntityEntry-s
 			rtn.hasNonReadOnlyEntities = ois.readBoolean();
 
@@ -1521,7 +1582,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = new OpenAddressingHashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1567,7 +1628,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitySnapshotsByKey entries" );
 			}
-			rtn.entitySnapshotsByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitySnapshotsByKey = new OpenAddressingHashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1578,7 +1639,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] collectionsByKey entries" );
 			}
-			rtn.collectionsByKey = new HashMap<CollectionKey,PersistentCollection>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.collectionsByKey = new OpenAddressingHashMap<CollectionKey,PersistentCollection>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.collectionsByKey.put( CollectionKey.deserialize( ois, session ), (PersistentCollection) ois.readObject() );
 			}
@@ -245,7 +245,7 @@ public final class TwoPhaseLoad {
 		}
 
 		boolean isReallyReadOnly = readOnly;
-		if ( !persister.isMutable() ) {
+		if ( !persister.isMutable() || persistenceContext.isReadOnlySession() ) {
 			isReallyReadOnly = true;
 		}
 		else {
@@ -263,6 +263,12 @@ public final class TwoPhaseLoad {
 			//mutable property values
 			persistenceContext.setEntryStatus( entityEntry, Status.READ_ONLY );
 		}
+		else if ( !persister.getEntityMetamodel().isLoadedStateRetained() ) {
+			//the entity tracks its own dirtiness, so
+			//there is no need for a snapshot either
+			entityEntry.discardLoadedState();
+			persistenceContext.setEntryStatus( entityEntry, Status.MANAGED );
+		}
 		else {
 			//take a snapshot
 			TypeHelper.deepCopy(
@@ -23,8 +23,13 @@
  */
 package org.hibernate.engine.jdbc;
 
+import java.io.Serializable;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -32,7 +37,7 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * @author Steve Ebersole
  */
-public final class ColumnNameCache {
+public final class ColumnNameCache implements Serializable {
 	private static final float LOAD_FACTOR = .75f;
 
 	private final ConcurrentHashMap<String, Integer> columnNameToIndexCache;
@@ -50,6 +55,29 @@ public final class ColumnNameCache {
 		);
 	}
 
+	/**
+	 * Constructs a ColumnNameCache with the column labels reported by the given result set metadata already
+	 * resolved, so that reading rows does not need to go back to the driver.  Names not found here (because the
+	 * driver reports labels in a different case, say) are still resolved through {@link ResultSet#findColumn}.
+	 *
+	 * @param metaData The metadata of the result set whose columns are to be cached.
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set metadata
+	 */
+	public ColumnNameCache(ResultSetMetaData metaData) throws SQLException {
+		this( metaData.getColumnCount() );
+		final int columnCount = metaData.getColumnCount();
+		final Set<String> seenLabels = new HashSet<String>();
+		for ( int i = 1; i <= columnCount; i++ ) {
+			final String label = metaData.getColumnLabel( i );
+			// findColumn is case insensitive and picks the first match, so leave any label which is ambiguous
+			// in that sense to the driver
+			if ( label != null && seenLabels.add( label.toLowerCase( Locale.ENGLISH ) ) ) {
+				columnNameToIndexCache.put( label, Integer.valueOf( i ) );
+			}
+		}
+	}
+
 	/**
 	 * Resolve the column name/alias to its index
 	 *
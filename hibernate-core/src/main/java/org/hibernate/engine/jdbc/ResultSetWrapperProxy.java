@@ -29,6 +29,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.internal.CoreMessageLogger;
@@ -51,6 +52,12 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 	private static final Class[] PROXY_INTERFACES = new Class[] { ResultSet.class };
 	private static final SqlExceptionHelper SQL_EXCEPTION_HELPER = new SqlExceptionHelper();
 
+	/**
+	 * Column-name {@link ResultSet} methods mapped to their column-index counterparts; resolving these through
+	 * reflection for every column of every row is far more expensive than the column lookup itself.
+	 */
+	private static final ConcurrentHashMap<Method, Method> COLUMN_INDEX_METHODS = new ConcurrentHashMap<Method, Method>();
+
 	private final ResultSet rs;
 	private final ColumnNameCache columnNameCache;
 
@@ -155,6 +162,15 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 	 * @throws NoSuchMethodException Should never happen, but...
 	 */
 	private Method locateCorrespondingColumnIndexMethod(Method columnNameMethod) throws NoSuchMethodException {
+		Method columnIndexMethod = COLUMN_INDEX_METHODS.get( columnNameMethod );
+		if ( columnIndexMethod == null ) {
+			columnIndexMethod = resolveCorrespondingColumnIndexMethod( columnNameMethod );
+			COLUMN_INDEX_METHODS.put( columnNameMethod, columnIndexMethod );
+		}
+		return columnIndexMethod;
+	}
+
+	private Method resolveCorrespondingColumnIndexMethod(Method columnNameMethod) throws NoSuchMethodException {
 		final Class[] actualParameterTypes = new Class[columnNameMethod.getParameterTypes().length];
 		actualParameterTypes[0] = int.class;
 		System.arraycopy(
@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+/**
+ * Tunes the JDBC batch size used for the statements of one batch key from the observed execution times of full
+ * batches.  The size is tuned by hill climbing on the average execution time per statement: it keeps moving in one
+ * direction for as long as that makes statements cheaper, and turns around once it does not.  The tuned size stays
+ * between a quarter and four times the initial size.
+ * <p/>
+ * Instances are shared by all sessions of a SessionFactory, and are thus thread-safe.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_STATEMENT_BATCH_SIZE
+ */
+public class AdaptiveBatchSize {
+	/**
+	 * The number of full batches observed before deciding on the next size.
+	 */
+	static final int SAMPLES_PER_STEP = 8;
+
+	/**
+	 * Differences in the time per statement smaller than this fraction are considered noise.
+	 */
+	private static final double TOLERANCE = 0.05d;
+
+	private final String name;
+	private final int minimumSize;
+	private final int maximumSize;
+
+	private int size;
+	private boolean growing = true;
+	private double previousNanosPerStatement = -1;
+
+	private int samples;
+	private long sampledNanos;
+	private long sampledStatements;
+
+	/**
+	 * Constructs an AdaptiveBatchSize
+	 *
+	 * @param name The name of the batch key, for statistics
+	 * @param initialSize The configured batch size, which tuning starts from
+	 */
+	public AdaptiveBatchSize(String name, int initialSize) {
+		this.name = name;
+		this.minimumSize = Math.max( 2, initialSize / 4 );
+		this.maximumSize = Math.max( minimumSize, initialSize * 4 );
+		this.size = Math.max( minimumSize, initialSize );
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * The batch size to use for the next batch.
+	 *
+	 * @return The batch size
+	 */
+	public synchronized int getSize() {
+		return size;
+	}
+
+	/**
+	 * Record the execution of a full batch.
+	 *
+	 * @param batchSize The number of statements in the batch
+	 * @param nanos The time taken to execute the batch, in nanoseconds
+	 */
+	public synchronized void batchExecuted(int batchSize, long nanos) {
+		if ( batchSize != size ) {
+			// executed by a session which started out with a previous size
+			return;
+		}
+		sampledNanos += nanos;
+		sampledStatements += batchSize;
+		if ( ++samples < SAMPLES_PER_STEP ) {
+			return;
+		}
+
+		final double nanosPerStatement = (double) sampledNanos / sampledStatements;
+		samples = 0;
+		sampledNanos = 0;
+		sampledStatements = 0;
+
+		if ( previousNanosPerStatement >= 0 ) {
+			if ( nanosPerStatement > previousNanosPerStatement * ( 1 + TOLERANCE ) ) {
+				// the last step made things worse
+				growing = !growing;
+			}
+			else if ( nanosPerStatement >= previousNanosPerStatement * ( 1 - TOLERANCE ) ) {
+				// no significant difference; stay put
+				previousNanosPerStatement = nanosPerStatement;
+				return;
+			}
+		}
+		previousNanosPerStatement = nanosPerStatement;
+
+		if ( growing && size == maximumSize ) {
+			growing = false;
+		}
+		else if ( !growing && size == minimumSize ) {
+			growing = true;
+		}
+		final int step = Math.max( 1, size / 4 );
+		size = growing ? Math.min( maximumSize, size + step ) : Math.max( minimumSize, size - step );
+	}
+}
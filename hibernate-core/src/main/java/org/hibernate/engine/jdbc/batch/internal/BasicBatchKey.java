@@ -48,6 +48,15 @@ public class BasicBatchKey implements BatchKey {
 		this.expectation = expectation;
 	}
 
+	/**
+	 * The string identifying the batch; the entity name or collection role followed by {@code #} and the operation.
+	 *
+	 * @return The comparison string
+	 */
+	public String getComparison() {
+		return comparison;
+	}
+
 	@Override
 	public Expectation getExpectation() {
 		return expectation;
@@ -23,7 +23,9 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
@@ -48,6 +50,9 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	);
 
 	private int size;
+	private boolean adaptive;
+	private Map<String,Integer> sizeOverrides = new HashMap<String,Integer>();
+	private final ConcurrentHashMap<String,AdaptiveBatchSize> adaptiveSizes = new ConcurrentHashMap<String,AdaptiveBatchSize>();
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -67,6 +72,17 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	@Override
 	public void configure(Map configurationValues) {
 		size = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, size );
+		adaptive = ConfigurationHelper.getBoolean( Environment.ADAPTIVE_STATEMENT_BATCH_SIZE, configurationValues, false );
+
+		final Map<String,Integer> overrides = new HashMap<String,Integer>();
+		for ( Object entry : configurationValues.entrySet() ) {
+			final Object key = ( (Map.Entry) entry ).getKey();
+			if ( key instanceof String && ( (String) key ).startsWith( Environment.STATEMENT_BATCH_SIZE_PREFIX ) ) {
+				final String name = ( (String) key ).substring( Environment.STATEMENT_BATCH_SIZE_PREFIX.length() );
+				overrides.put( name, ConfigurationHelper.getInt( (String) key, configurationValues, size ) );
+			}
+		}
+		sizeOverrides = overrides;
 	}
 
 	@SuppressWarnings("UnusedDeclaration")
@@ -76,10 +92,46 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
-		LOG.tracef( "Building batch [size=%s]", size );
-		return size > 1
-				? new BatchingBatch( key, jdbcCoordinator, size )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		final String name = key instanceof BasicBatchKey ? ( (BasicBatchKey) key ).getComparison() : null;
+		final int batchSize = resolveBatchSize( name );
+		LOG.tracef( "Building batch [size=%s]", batchSize );
+		if ( batchSize <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		if ( adaptive && name != null ) {
+			AdaptiveBatchSize adaptiveSize = adaptiveSizes.get( name );
+			if ( adaptiveSize == null ) {
+				adaptiveSize = new AdaptiveBatchSize( name, batchSize );
+				final AdaptiveBatchSize existing = adaptiveSizes.putIfAbsent( name, adaptiveSize );
+				if ( existing != null ) {
+					adaptiveSize = existing;
+				}
+			}
+			return new BatchingBatch( key, jdbcCoordinator, adaptiveSize );
+		}
+		return new BatchingBatch( key, jdbcCoordinator, batchSize );
+	}
+
+	/**
+	 * Resolve the configured batch size for the given batch key, looking for an override for the whole key
+	 * ({@code com.acme.Document#UPDATE}) and then for its entity name or collection role ({@code com.acme.Document}).
+	 *
+	 * @param name The batch key's comparison string, may be {@code null}
+	 *
+	 * @return The batch size
+	 */
+	private int resolveBatchSize(String name) {
+		if ( name == null || sizeOverrides.isEmpty() ) {
+			return size;
+		}
+		Integer override = sizeOverrides.get( name );
+		if ( override == null ) {
+			final int operationMarker = name.lastIndexOf( '#' );
+			if ( operationMarker > 0 ) {
+				override = sizeOverrides.get( name.substring( 0, operationMarker ) );
+			}
+		}
+		return override == null ? size : override;
 	}
 
 	@Override
@@ -31,6 +31,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -48,7 +49,8 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	// IMPL NOTE : Until HHH-5797 is fixed, there will only be 1 statement in a batch
 
-	private final int batchSize;
+	private final AdaptiveBatchSize adaptiveBatchSize;
+	private int batchSize;
 	private int batchPosition;
 	private boolean batchExecuted;
 	private int statementPosition;
@@ -68,9 +70,29 @@ public class BatchingBatch extends AbstractBatchImpl {
 		if ( ! key.getExpectation().canBeBatched() ) {
 			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
 		}
+		this.adaptiveBatchSize = null;
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * Constructs a BatchingBatch whose size is tuned from the observed batch execution times
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param adaptiveBatchSize The tuned batch size for the batch key
+	 */
+	public BatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			AdaptiveBatchSize adaptiveBatchSize) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.adaptiveBatchSize = adaptiveBatchSize;
+		this.batchSize = adaptiveBatchSize.getSize();
+	}
+
 	private String currentStatementSql;
 	private PreparedStatement currentStatement;
 
@@ -93,7 +115,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 		statementPosition++;
 		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
 			batchPosition++;
-			if ( batchPosition == batchSize ) {
+			if ( batchPosition >= batchSize ) {
 				notifyObserversImplicitExecution();
 				performExecution();
 				batchPosition = 0;
@@ -118,6 +140,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 	private void performExecution() {
 		LOG.debugf( "Executing batch size: %s", batchPosition );
 		try {
+			final long startTime = System.nanoTime();
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				try {
 					final PreparedStatement statement = entry.getValue();
@@ -136,6 +159,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 					throw sqlExceptionHelper().convert( e, "could not execute batch", entry.getKey() );
 				}
 			}
+			batchExecuted( System.nanoTime() - startTime );
 		}
 		catch ( RuntimeException re ) {
 			LOG.unableToExecuteBatch( re.getMessage() );
@@ -146,6 +170,26 @@ public class BatchingBatch extends AbstractBatchImpl {
 		}
 	}
 
+	private void batchExecuted(long nanos) {
+		final StatisticsImplementor statistics = transactionContext().getTransactionEnvironment().getStatisticsImplementor();
+		final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+		if ( statisticsEnabled ) {
+			statistics.jdbcBatchExecuted( batchPosition * getKey().getBatchedStatementCount() );
+		}
+		if ( adaptiveBatchSize != null && batchPosition == batchSize ) {
+			// only full batches tell anything about the batch size
+			adaptiveBatchSize.batchExecuted( batchSize, nanos );
+			final int tunedBatchSize = adaptiveBatchSize.getSize();
+			if ( tunedBatchSize != batchSize ) {
+				LOG.debugf( "Tuned batch size for [%s] : %s -> %s", adaptiveBatchSize.getName(), batchSize, tunedBatchSize );
+				batchSize = tunedBatchSize;
+				if ( statisticsEnabled ) {
+					statistics.jdbcBatchSizeTuned( adaptiveBatchSize.getName(), tunedBatchSize );
+				}
+			}
+		}
+	}
+
 	private void checkRowCounts(int[] rowCounts, PreparedStatement ps) throws SQLException, HibernateException {
 		final int numberOfRowCounts = rowCounts.length;
 		if ( numberOfRowCounts != batchPosition ) {
@@ -24,6 +24,8 @@
 package org.hibernate.engine.query.spi;
 
 import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +37,7 @@ import org.hibernate.Filter;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
@@ -81,6 +84,13 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap<String,ParameterMetadata> parameterMetadataCache;
 
+	/**
+	 * cache of column name/alias to column index resolutions, keyed by the SQL producing the result set.
+	 * <p></p>
+	 * Used when result set wrapping is enabled, see {@link #getColumnNameCache} for details.
+	 */
+	private final BoundedConcurrentHashMap<String,ColumnNameCache> columnNameCache;
+
 
 	private NativeQueryInterpreter nativeQueryInterpreterService;
 
@@ -122,6 +132,11 @@ public class QueryPlanCache implements Serializable {
 				20,
 				BoundedConcurrentHashMap.Eviction.LIRS
 		);
+		columnNameCache = new BoundedConcurrentHashMap<String, ColumnNameCache>(
+				maxQueryPlanCount,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
 
 		nativeQueryInterpreterService = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
 	}
@@ -232,6 +247,33 @@ public class QueryPlanCache implements Serializable {
 		return value;
 	}
 
+	/**
+	 * Get the column name/alias to column index resolutions for the results of the given SQL, building them from
+	 * the metadata of the given result set and caching them if not already cached.
+	 * <p/>
+	 * Keying these by SQL rather than keeping them per loader means that the columns of a given result set shape
+	 * are resolved once, even by loaders which are built per execution (criteria loaders, for example).
+	 *
+	 * @param sql The SQL which produced the result set
+	 * @param resultSet The result set
+	 *
+	 * @return The column name/alias to column index resolutions
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set metadata
+	 */
+	public ColumnNameCache getColumnNameCache(String sql, ResultSet resultSet) throws SQLException {
+		ColumnNameCache value = columnNameCache.get( sql );
+		if ( value == null ) {
+			LOG.tracev( "Unable to locate columnName -> columnIndex cache; building ({0})", sql );
+			value = new ColumnNameCache( resultSet.getMetaData() );
+			final ColumnNameCache existing = columnNameCache.putIfAbsent( sql, value );
+			if ( existing != null ) {
+				value = existing;
+			}
+		}
+		return value;
+	}
+
 	/**
 	 * clean up QueryPlanCache when SessionFactory is closed
 	 */
@@ -239,6 +281,7 @@ public class QueryPlanCache implements Serializable {
 		LOG.trace( "Cleaning QueryPlan Cache" );
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
+		columnNameCache.clear();
 	}
 
 	private static class HQLQueryPlanKey implements Serializable {
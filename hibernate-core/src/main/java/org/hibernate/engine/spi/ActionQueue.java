@@ -29,14 +29,19 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.hibernate.AssertionFailure;
@@ -47,6 +52,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
 import org.hibernate.action.internal.EntityInsertAction;
@@ -58,9 +64,11 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.type.Type;
@@ -119,9 +127,9 @@ public class ActionQueue {
 
 		unresolvedInsertions = new UnresolvedEntityInsertActions();
 
-		insertions = new ExecutableList<AbstractEntityInsertAction>( new InsertActionSorter() );
+		insertions = new ExecutableList<AbstractEntityInsertAction>( InsertActionSorter.INSTANCE );
 		deletions = new ExecutableList<EntityDeleteAction>();
-		updates = new ExecutableList<EntityUpdateAction>();
+		updates = new ExecutableList<EntityUpdateAction>( UpdateActionSorter.INSTANCE );
 
 		collectionCreations = new ExecutableList<CollectionRecreateAction>();
 		collectionRemovals = new ExecutableList<CollectionRemoveAction>();
@@ -475,8 +483,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set<Serializable> propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				if ( session.getFactory().getSettings().isQueryCacheInvalidationByKeyEnabled() ) {
+					invalidateSpacesAndEntityKeys( list );
+				}
+				else {
+					Set<Serializable> propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				}
 			}
 		}
 
@@ -511,6 +524,45 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Used instead of {@link #invalidateSpaces} when invalidating query results by entity key: entity updates and
+	 * deletions only invalidate the cached results holding the changed entities, all other actions invalidate the
+	 * spaces they affect.
+	 *
+	 * @param list The list of Executable elements which were performed
+	 */
+	private <E extends Executable & Comparable<?> & Serializable> void invalidateSpacesAndEntityKeys(ExecutableList<E> list) {
+		final Set<Serializable> spaces = new HashSet<Serializable>();
+		final Set<Serializable> keyedSpaces = new HashSet<Serializable>();
+		final Set<CacheKey> entityKeys = new HashSet<CacheKey>();
+		for ( E e : list ) {
+			if ( e instanceof EntityUpdateAction || e instanceof EntityDeleteAction ) {
+				final EntityAction action = (EntityAction) e;
+				final EntityPersister persister = action.getPersister();
+				entityKeys.add(
+						session.generateCacheKey( action.getId(), persister.getIdentifierType(), persister.getRootEntityName() )
+				);
+				Collections.addAll( keyedSpaces, e.getPropertySpaces() );
+			}
+			else {
+				Collections.addAll( spaces, e.getPropertySpaces() );
+			}
+		}
+
+		invalidateSpaces( spaces.toArray( new Serializable[spaces.size()] ) );
+		if ( !entityKeys.isEmpty() ) {
+			for ( Serializable s : keyedSpaces ) {
+				afterTransactionProcesses.addKeyedSpaceToInvalidate( (String) s );
+			}
+			afterTransactionProcesses.addEntityKeysToInvalidate( entityKeys );
+			session.getFactory().getUpdateTimestampsCache().preInvalidate(
+					keyedSpaces.toArray( new Serializable[keyedSpaces.size()] ),
+					entityKeys,
+					session
+			);
+		}
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 * 
@@ -736,6 +788,8 @@ public class ActionQueue {
 	 */
 	private static class AfterTransactionCompletionProcessQueue extends AbstractTransactionCompletionProcessQueue<AfterTransactionCompletionProcess> {
 		private Set<String> querySpacesToInvalidate = new HashSet<String>();
+		private Set<String> keyedQuerySpacesToInvalidate = new HashSet<String>();
+		private Set<CacheKey> entityKeysToInvalidate = new HashSet<CacheKey>();
 
 		private AfterTransactionCompletionProcessQueue(SessionImplementor session) {
 			super( session );
@@ -745,6 +799,14 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addKeyedSpaceToInvalidate(String space) {
+			keyedQuerySpacesToInvalidate.add( space );
+		}
+
+		public void addEntityKeysToInvalidate(Collection<CacheKey> entityKeys) {
+			entityKeysToInvalidate.addAll( entityKeys );
+		}
+
 		public void afterTransactionCompletion(boolean success) {
 			while ( !processes.isEmpty() ) {
 				try {
@@ -764,8 +826,17 @@ public class ActionQueue {
 						querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ),
 						session
 				);
+				if ( !entityKeysToInvalidate.isEmpty() ) {
+					session.getFactory().getUpdateTimestampsCache().invalidate(
+							keyedQuerySpacesToInvalidate.toArray( new String[keyedQuerySpacesToInvalidate.size()] ),
+							entityKeysToInvalidate,
+							session
+					);
+				}
 			}
 			querySpacesToInvalidate.clear();
+			keyedQuerySpacesToInvalidate.clear();
+			entityKeysToInvalidate.clear();
 		}
 	}
 
@@ -789,11 +860,18 @@ public class ActionQueue {
 	 * violating constraints). The original order is generated by cascade order, which in turn is based on the
 	 * directionality of foreign-keys. So even though we will be changing the ordering here, we need to make absolutely
 	 * certain that we do not circumvent this FK ordering to the extent of causing constraint violations.
-	 * <p>
-	 * Sorts the insert actions using more hashes.
-	 * </p>
-	 * NOTE: this class is not thread-safe.
-	 * 
+	 * <p/>
+	 * The actions are first grouped into one bucket per entity name (and so per insert statement and JDBC batch).
+	 * The buckets are then ordered topologically according to the entity references between the instances being
+	 * inserted; within a bucket the original order is kept, which already takes care of self references.  Buckets
+	 * which are part of a cycle (an {@code A} referencing a {@code B} and another {@code B} referencing an {@code A})
+	 * cannot be ordered as a whole; their actions are instead assigned to batches one by one, each action joining the
+	 * latest batch for its entity name unless one of its references was placed in a later batch.
+	 * <p/>
+	 * Every step is linear in the number of actions and their entity valued properties.  Instances are tracked by
+	 * identity, so user supplied {@code equals}/{@code hashCode} implementations are never called, and no state is
+	 * kept between invocations.
+	 *
 	 * @author Jay Erb
 	 */
 	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
@@ -802,112 +880,182 @@ public class ActionQueue {
 		 */
 		public static final InsertActionSorter INSTANCE = new InsertActionSorter();
 
-		// the mapping of entity names to their latest batch numbers.
-		private Map<String, Integer> latestBatches;
-		private Map<Object, Integer> entityBatchNumber;
-
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<Integer, List<AbstractEntityInsertAction>> actionBatches;
-
-		public InsertActionSorter() {
-		}
-
 		/**
 		 * Sort the insert actions.
 		 */
+		@Override
 		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.latestBatches = new HashMap<String, Integer>();
-			this.entityBatchNumber = new HashMap<Object, Integer>( insertions.size() + 1, 1.0f );
-			this.actionBatches = new HashMap<Integer, List<AbstractEntityInsertAction>>();
+			final int size = insertions.size();
+			if ( size < 2 ) {
+				return;
+			}
 
-			// the list of entity names that indicate the batch number
+			final Map<String, InsertBucket> buckets = new LinkedHashMap<String, InsertBucket>();
+			final Map<Object, InsertBucket> bucketByInstance = new IdentityHashMap<Object, InsertBucket>( size );
 			for ( AbstractEntityInsertAction action : insertions ) {
-				// remove the current element from insertions. It will be added back later.
-				String entityName = action.getEntityName();
+				InsertBucket bucket = buckets.get( action.getEntityName() );
+				if ( bucket == null ) {
+					bucket = new InsertBucket();
+					buckets.put( action.getEntityName(), bucket );
+				}
+				bucket.actions.add( action );
+				bucketByInstance.put( action.getInstance(), bucket );
+			}
+			if ( buckets.size() == 1 ) {
+				// inserts of a single entity are already in cascade order
+				return;
+			}
 
-				// the entity associated with the current action.
-				Object currentEntity = action.getInstance();
+			// collect the dependencies between the buckets
+			for ( InsertBucket bucket : buckets.values() ) {
+				for ( AbstractEntityInsertAction action : bucket.actions ) {
+					final Object[] state = action.getState();
+					final Type[] types = action.getPersister().getPropertyTypes();
+					for ( int i = 0; i < types.length; i++ ) {
+						if ( state[i] == null || !types[i].isEntityType() ) {
+							continue;
+						}
+						final InsertBucket dependency = bucketByInstance.get( state[i] );
+						if ( dependency != null && dependency != bucket && dependency.dependents.add( bucket ) ) {
+							bucket.dependencyCount++;
+						}
+					}
+				}
+			}
 
-				Integer batchNumber;
-				if ( latestBatches.containsKey( entityName ) ) {
-					// There is already an existing batch for this type of entity.
-					// Check to see if the latest batch is acceptable.
-					batchNumber = findBatchNumber( action, entityName );
+			// order the buckets topologically, keeping the order of first appearance between independent buckets
+			final InsertBucket[] ordered = new InsertBucket[buckets.size()];
+			int orderedCount = 0;
+			for ( InsertBucket bucket : buckets.values() ) {
+				if ( bucket.dependencyCount == 0 ) {
+					ordered[orderedCount++] = bucket;
 				}
-				else {
-					// add an entry for this type of entity.
-					// we can be assured that all referenced entities have already
-					// been processed,
-					// so specify that this entity is with the latest batch.
-					// doing the batch number before adding the name to the list is
-					// a faster way to get an accurate number.
-
-					batchNumber = actionBatches.size();
-					latestBatches.put( entityName, batchNumber );
+			}
+			for ( int i = 0; i < orderedCount; i++ ) {
+				for ( InsertBucket dependent : ordered[i].dependents ) {
+					if ( --dependent.dependencyCount == 0 ) {
+						ordered[orderedCount++] = dependent;
+					}
 				}
-				entityBatchNumber.put( currentEntity, batchNumber );
-				addToBatch( batchNumber, action );
 			}
-			insertions.clear();
 
-			// now rebuild the insertions list. There is a batch for each entry in the name list.
-			for ( int i = 0; i < actionBatches.size(); i++ ) {
-				List<AbstractEntityInsertAction> batch = actionBatches.get( i );
-				insertions.addAll( batch );
+			// buckets still having dependencies are part of (or depend on) a cycle
+			List<AbstractEntityInsertAction> unordered = null;
+			if ( orderedCount < ordered.length ) {
+				unordered = new ArrayList<AbstractEntityInsertAction>();
+				for ( AbstractEntityInsertAction action : insertions ) {
+					if ( buckets.get( action.getEntityName() ).dependencyCount > 0 ) {
+						unordered.add( action );
+					}
+				}
+			}
+
+			insertions.clear();
+			for ( int i = 0; i < orderedCount; i++ ) {
+				insertions.addAll( ordered[i].actions );
+			}
+			if ( unordered != null ) {
+				addInBatches( unordered, insertions );
 			}
 		}
 
 		/**
-		 * Finds an acceptable batch for this entity to be a member as part of the {@link InsertActionSorter}
-		 * 
-		 * @param action The action being sorted
-		 * @param entityName The name of the entity affected by the action
-		 * @return An appropriate batch number; todo document this process better
+		 * Appends the given actions, in cascade order, to {@code insertions} grouped into as few batches as the
+		 * references between the instances allow.
+		 *
+		 * @param actions The actions to group
+		 * @param insertions The list to which the grouped actions are appended
 		 */
-		private Integer findBatchNumber(AbstractEntityInsertAction action, String entityName) {
-			// loop through all the associated entities and make sure they have been
-			// processed before the latest
-			// batch associated with this entity type.
-
-			// the current batch number is the latest batch for this entity type.
-			Integer latestBatchNumberForType = latestBatches.get( entityName );
-
-			// loop through all the associations of the current entity and make sure that they are processed
-			// before the current batch number
-			Object[] propertyValues = action.getState();
-			Type[] propertyTypes = action.getPersister().getClassMetadata().getPropertyTypes();
-
-			for ( int i = 0; i < propertyValues.length; i++ ) {
-				Object value = propertyValues[i];
-				Type type = propertyTypes[i];
-				if ( type.isEntityType() && value != null ) {
-					// find the batch number associated with the current association, if any.
-					Integer associationBatchNumber = entityBatchNumber.get( value );
-					if ( associationBatchNumber != null && associationBatchNumber.compareTo( latestBatchNumberForType ) > 0 ) {
-						// create a new batch for this type. The batch number is the number of current batches.
-						latestBatchNumberForType = actionBatches.size();
-						latestBatches.put( entityName, latestBatchNumberForType );
-						// since this entity will now be processed in the latest possible batch,
-						// we can be assured that it will come after all other associations,
-						// there's not need to continue checking.
-						break;
+		private static void addInBatches(
+				List<AbstractEntityInsertAction> actions,
+				List<AbstractEntityInsertAction> insertions) {
+			final Map<String, Integer> latestBatches = new HashMap<String, Integer>();
+			final Map<Object, Integer> batchByInstance = new IdentityHashMap<Object, Integer>( actions.size() );
+			final List<List<AbstractEntityInsertAction>> batches = new ArrayList<List<AbstractEntityInsertAction>>();
+
+			for ( AbstractEntityInsertAction action : actions ) {
+				Integer batchNumber = latestBatches.get( action.getEntityName() );
+				if ( batchNumber == null || referencesLaterBatch( action, batchNumber, batchByInstance ) ) {
+					batchNumber = batches.size();
+					batches.add( new ArrayList<AbstractEntityInsertAction>() );
+					latestBatches.put( action.getEntityName(), batchNumber );
+				}
+				batchByInstance.put( action.getInstance(), batchNumber );
+				batches.get( batchNumber ).add( action );
+			}
+
+			for ( List<AbstractEntityInsertAction> batch : batches ) {
+				insertions.addAll( batch );
+			}
+		}
+
+		private static boolean referencesLaterBatch(
+				AbstractEntityInsertAction action,
+				int batchNumber,
+				Map<Object, Integer> batchByInstance) {
+			final Object[] state = action.getState();
+			final Type[] types = action.getPersister().getPropertyTypes();
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( state[i] != null && types[i].isEntityType() ) {
+					final Integer associationBatchNumber = batchByInstance.get( state[i] );
+					if ( associationBatchNumber != null && associationBatchNumber > batchNumber ) {
+						return true;
 					}
 				}
 			}
-			return latestBatchNumberForType;
+			return false;
 		}
+	}
 
-		private void addToBatch(Integer batchNumber, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchNumber );
+	/**
+	 * The insert actions for a single entity name, as used by {@link InsertActionSorter}.
+	 */
+	private static class InsertBucket {
+		private final List<AbstractEntityInsertAction> actions = new ArrayList<AbstractEntityInsertAction>();
+		private final Set<InsertBucket> dependents = new LinkedHashSet<InsertBucket>();
+		private int dependencyCount;
+	}
+
+	/**
+	 * Order the {@link #updates} queue by entity name and then by identifier, which is the natural ordering of the
+	 * actions.  Grouping by entity name first means entity names are compared once per name rather than once per
+	 * pair of actions, and only the identifiers within each group are compared.
+	 */
+	private static class UpdateActionSorter implements ExecutableList.Sorter<EntityUpdateAction> {
+		/**
+		 * Singleton access
+		 */
+		public static final UpdateActionSorter INSTANCE = new UpdateActionSorter();
 
-			if ( actions == null ) {
-				actions = new LinkedList<AbstractEntityInsertAction>();
-				actionBatches.put( batchNumber, actions );
+		private static final Comparator<EntityUpdateAction> IDENTIFIER_ORDER = new Comparator<EntityUpdateAction>() {
+			@Override
+			public int compare(EntityUpdateAction first, EntityUpdateAction second) {
+				return first.getPersister().getIdentifierType().compare( first.getId(), second.getId() );
 			}
-			actions.add( action );
-		}
+		};
 
+		@Override
+		public void sort(List<EntityUpdateAction> updates) {
+			if ( updates.size() < 2 ) {
+				return;
+			}
+
+			final Map<String, List<EntityUpdateAction>> buckets = new TreeMap<String, List<EntityUpdateAction>>();
+			for ( EntityUpdateAction action : updates ) {
+				List<EntityUpdateAction> bucket = buckets.get( action.getEntityName() );
+				if ( bucket == null ) {
+					bucket = new ArrayList<EntityUpdateAction>();
+					buckets.put( action.getEntityName(), bucket );
+				}
+				bucket.add( action );
+			}
+
+			updates.clear();
+			for ( List<EntityUpdateAction> bucket : buckets.values() ) {
+				Collections.sort( bucket, IDENTIFIER_ORDER );
+				updates.addAll( bucket );
+			}
+		}
 	}
 
 }
@@ -24,11 +24,16 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
@@ -76,6 +81,14 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * Second level cache lookups done ahead of time for loads which are about to happen, keyed by {@link CacheKey}.
+	 * Keys known not to be cached map to {@link #NOT_CACHED}.  Lazily created, see {@link #addPrefetchedCacheEntries}.
+	 */
+	private Map<CacheKey, Object> prefetchedCacheEntries;
+
+	private static final Object NOT_CACHED = new Object();
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -94,6 +107,84 @@ public class BatchFetchQueue {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		prefetchedCacheEntries = null;
+	}
+
+
+	// second level cache prefetch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Remember the outcome of a bulk second level cache lookup, so that the individual loads which follow can be
+	 * resolved without going back to the cache.
+	 *
+	 * @param cacheKeys The keys which were looked up
+	 * @param cachedValues The cached values found, by key
+	 *
+	 * @return The keys which had not been prefetched already, to be handed to {@link #removePrefetchedCacheEntries}
+	 * once the operation which prefetched them is done.  Keys prefetched by an enclosing operation are left to it.
+	 *
+	 * @see org.hibernate.engine.internal.CacheHelper#prefetchFromSharedCache
+	 */
+	public Set<CacheKey> addPrefetchedCacheEntries(
+			Collection<? extends CacheKey> cacheKeys,
+			Map<Object, Object> cachedValues) {
+		if ( prefetchedCacheEntries == null ) {
+			prefetchedCacheEntries = new HashMap<CacheKey, Object>();
+		}
+		final Set<CacheKey> added = new HashSet<CacheKey>();
+		for ( CacheKey cacheKey : cacheKeys ) {
+			final Object cachedValue = cachedValues.get( cacheKey );
+			if ( prefetchedCacheEntries.put( cacheKey, cachedValue == null ? NOT_CACHED : cachedValue ) == null ) {
+				added.add( cacheKey );
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Is the outcome of the second level cache lookup for the given key already known?
+	 *
+	 * @param cacheKey The cache key
+	 *
+	 * @return {@code true} if the key was prefetched, in which case {@link #getPrefetchedCacheEntry} gives the value
+	 */
+	public boolean containsPrefetchedCacheEntry(CacheKey cacheKey) {
+		return prefetchedCacheEntries != null && prefetchedCacheEntries.containsKey( cacheKey );
+	}
+
+	/**
+	 * Retrieve the prefetched second level cache value for the given key.
+	 *
+	 * @param cacheKey The cache key
+	 *
+	 * @return The cached value, or {@code null} if the key is not cached (or was not prefetched)
+	 */
+	public Object getPrefetchedCacheEntry(CacheKey cacheKey) {
+		if ( prefetchedCacheEntries == null ) {
+			return null;
+		}
+		final Object cachedValue = prefetchedCacheEntries.get( cacheKey );
+		return cachedValue == NOT_CACHED ? null : cachedValue;
+	}
+
+	/**
+	 * Forget prefetched second level cache values.  Prefetched values are only meant to be used by the operation
+	 * which prefetched them, which removes exactly the keys {@link #addPrefetchedCacheEntries} reported as added so
+	 * that the entries of any enclosing operation (a query cache hit assembling entities which trigger a multi-load,
+	 * say) survive.
+	 *
+	 * @param cacheKeys The keys to forget
+	 */
+	public void removePrefetchedCacheEntries(Collection<? extends CacheKey> cacheKeys) {
+		if ( prefetchedCacheEntries == null ) {
+			return;
+		}
+		for ( CacheKey cacheKey : cacheKeys ) {
+			prefetchedCacheEntries.remove( cacheKey );
+		}
+		if ( prefetchedCacheEntries.isEmpty() ) {
+			prefetchedCacheEntries = null;
+		}
 	}
 
 
@@ -183,52 +274,80 @@ public class BatchFetchQueue {
 			final Serializable id,
 			final int batchSize,
 			final EntityMode entityMode) {
-		Serializable[] ids = new Serializable[batchSize];
-		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
-		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
+		final BatchCollector batch = new BatchCollector( id, batchSize );
 
 		// TODO: this needn't exclude subclasses...
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
-			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
+			if ( !isCacheGetEnabled( persister.hasCache() ) ) {
+				for ( EntityKey key : set ) {
+					final boolean isRequested = persister.getIdentifierType().isEqual( id, key.getIdentifier() );
+					if ( batch.offer( key.getIdentifier(), isRequested ) ) {
+						return batch.keys;
 					}
 				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
+			}
+			else {
+				// check the candidates against the second level cache one batch worth of keys at a time, so that
+				// the cache can be asked for all of them in a single request
+				final List<EntityKey> candidates = new ArrayList<EntityKey>( batchSize );
+				for ( EntityKey key : set ) {
+					candidates.add( key );
+					if ( candidates.size() == batchSize ) {
+						if ( offerUncached( candidates, persister, id, batch ) ) {
+							return batch.keys;
+						}
+						candidates.clear();
 					}
 				}
+				offerUncached( candidates, persister, id, batch );
 			}
 		}
-		return ids; //we ran out of ids to try
+		return batch.keys; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			final CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					entityKey.getEntityName()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), key, persister.getCacheAccessStrategy() ) != null;
+	private boolean offerUncached(
+			List<EntityKey> candidates,
+			EntityPersister persister,
+			Serializable id,
+			BatchCollector batch) {
+		final SessionImplementor session = context.getSession();
+		final CacheKey[] cacheKeys = new CacheKey[ candidates.size() ];
+		final List<CacheKey> lookups = new ArrayList<CacheKey>( candidates.size() );
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			final EntityKey key = candidates.get( i );
+			// the entity demanding load is part of the batch, whether cached or not
+			if ( !persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
+				cacheKeys[i] = session.generateCacheKey(
+						key.getIdentifier(),
+						persister.getIdentifierType(),
+						key.getEntityName()
+				);
+				lookups.add( cacheKeys[i] );
+			}
+		}
+
+		final Map<Object, Object> cached = CacheHelper.fromSharedCache(
+				session,
+				lookups,
+				persister.getCacheAccessStrategy()
+		);
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			if ( cacheKeys[i] != null && cached.containsKey( cacheKeys[i] ) ) {
+				continue;
+			}
+			if ( batch.offer( candidates.get( i ).getIdentifier(), cacheKeys[i] == null ) ) {
+				return true;
+			}
 		}
 		return false;
 	}
-	
+
+	private boolean isCacheGetEnabled(boolean hasCache) {
+		return hasCache && context.getSession().getCacheMode().isGetEnabled();
+	}
+
 
 	// collection batch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -271,13 +390,9 @@ public class BatchFetchQueue {
 			final CollectionPersister collectionPersister,
 			final Serializable id,
 			final int batchSize) {
-
-		Serializable[] keys = new Serializable[batchSize];
-		keys[0] = id;
-
-		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
+		final BatchCollector batch = new BatchCollector( id, batchSize );
+		final boolean checkCache = isCacheGetEnabled( collectionPersister.hasCache() );
+		final List<Serializable> candidates = checkCache ? new ArrayList<Serializable>( batchSize ) : null;
 
 		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
@@ -300,45 +415,108 @@ public class BatchFetchQueue {
 					continue;
 				}
 
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
-				}
-
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
-				);
-
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
-				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
+				if ( checkCache ) {
+					// check the candidates against the second level cache one batch worth of keys at a time
+					candidates.add( ce.getLoadedKey() );
+					if ( candidates.size() == batchSize ) {
+						if ( offerUncached( candidates, collectionPersister, id, batch ) ) {
+							return batch.keys;
+						}
+						candidates.clear();
+					}
 				}
-
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
+				else {
+					final boolean isRequested = collectionPersister.getKeyType().isEqual(
+							id,
+							ce.getLoadedKey(),
+							collectionPersister.getFactory()
+					);
+					if ( batch.offer( ce.getLoadedKey(), isRequested ) ) {
+						return batch.keys;
 					}
 				}
 			}
+			if ( checkCache ) {
+				offerUncached( candidates, collectionPersister, id, batch );
+			}
 		}
-		return keys; //we ran out of keys to try
+		return batch.keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CacheKey cacheKey = context.getSession().generateCacheKey(
-					collectionKey,
-					persister.getKeyType(),
-					persister.getRole()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), cacheKey, persister.getCacheAccessStrategy() ) != null;
+	private boolean offerUncached(
+			List<Serializable> candidates,
+			CollectionPersister persister,
+			Serializable id,
+			BatchCollector batch) {
+		final SessionImplementor session = context.getSession();
+		final CacheKey[] cacheKeys = new CacheKey[ candidates.size() ];
+		final List<CacheKey> lookups = new ArrayList<CacheKey>( candidates.size() );
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			final Serializable collectionKey = candidates.get( i );
+			// the collection demanding initialization is part of the batch, whether cached or not
+			if ( !persister.getKeyType().isEqual( id, collectionKey, persister.getFactory() ) ) {
+				cacheKeys[i] = session.generateCacheKey( collectionKey, persister.getKeyType(), persister.getRole() );
+				lookups.add( cacheKeys[i] );
+			}
+		}
+
+		final Map<Object, Object> cached = CacheHelper.fromSharedCache(
+				session,
+				lookups,
+				persister.getCacheAccessStrategy()
+		);
+		for ( int i = 0; i < cacheKeys.length; i++ ) {
+			if ( cacheKeys[i] != null && cached.containsKey( cacheKeys[i] ) ) {
+				continue;
+			}
+			if ( batch.offer( candidates.get( i ), cacheKeys[i] == null ) ) {
+				return true;
+			}
 		}
 		return false;
 	}
+
+	/**
+	 * Fills a batch of keys, using a slightly complex algorithm that tries to grab keys registered immediately after
+	 * the requested key: keys are added in order, wrapping around to the start of the batch when it is full, until
+	 * the key following the requested one would be overwritten.
+	 */
+	private static class BatchCollector {
+		private final Serializable[] keys;
+		private int i = 1;
+		private int end = -1;
+		private boolean checkForEnd;
+
+		private BatchCollector(Serializable requestedKey, int batchSize) {
+			keys = new Serializable[batchSize];
+			//first element of array is reserved for the actual instance we are loading!
+			keys[0] = requestedKey;
+		}
+
+		/**
+		 * @param key The next candidate key
+		 * @param isRequested Whether the candidate is the requested key
+		 *
+		 * @return {@code true} if the batch is complete
+		 */
+		private boolean offer(Serializable key, boolean isRequested) {
+			if ( checkForEnd && i == end ) {
+				//the first key found after the given key
+				return true;
+			}
+			if ( isRequested ) {
+				end = i;
+			}
+			else {
+				keys[i++] = key;
+			}
+			if ( i == keys.length ) {
+				i = 1; //end of array, start filling again from start
+				if ( end != -1 ) {
+					checkForEnd = true;
+				}
+			}
+			return false;
+		}
+	}
 }
@@ -211,12 +211,14 @@ public final class CollectionEntry implements Serializable {
 	}
 
 	public void postInitialize(PersistentCollection collection) throws HibernateException {
-		snapshot = getLoadedPersister().isMutable() ?
+		final SessionImplementor session = ( (AbstractPersistentCollection) collection ).getSession();
+		// a read-only session never flushes, so there is nothing to compare a snapshot against
+		snapshot = getLoadedPersister().isMutable() && !session.getPersistenceContext().isReadOnlySession() ?
 				collection.getSnapshot( getLoadedPersister() ) :
 				null;
 		collection.setSnapshot(loadedKey, role, snapshot);
 		if (getLoadedPersister().getBatchSize() > 1) {
-			((AbstractPersistentCollection) collection).getSession().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection(this); 
+			session.getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection(this); 
 		}
 	}
 
@@ -75,8 +75,9 @@ public final class EntityEntry implements Serializable {
 	 * 4 - existsInDatabase
 	 * 5 - isBeingReplicated
 	 * 6 - loadedWithLazyPropertiesUnfetched; NOTE: this is not updated when properties are fetched lazily!
+	 * 7 - loadedStateDiscarded
 	 *
-	 * 0000 0000 | 0000 0000 | 0654 3333 | 2222 1111
+	 * 0000 0000 | 0000 0000 | 6547 3333 | 2222 1111
 	 * </pre>
 	 * Use {@link #setCompressedValue(org.hibernate.engine.spi.EntityEntry.EnumState, Enum)},
 	 * {@link #getCompressedValue(org.hibernate.engine.spi.EntityEntry.EnumState, Class)} etc
@@ -157,6 +158,7 @@ public final class EntityEntry implements Serializable {
 			final boolean existsInDatabase,
 			final boolean isBeingReplicated,
 			final boolean loadedWithLazyPropertiesUnfetched,
+			final boolean loadedStateDiscarded,
 			final PersistenceContext persistenceContext) {
 		this.persister = ( factory == null ? null : factory.getEntityPersister( entityName ) );
 		this.id = id;
@@ -169,6 +171,7 @@ public final class EntityEntry implements Serializable {
 		setCompressedValue( BooleanState.EXISTS_IN_DATABASE, existsInDatabase );
 		setCompressedValue( BooleanState.IS_BEING_REPLICATED, isBeingReplicated );
 		setCompressedValue( BooleanState.LOADED_WITH_LAZY_PROPERTIES_UNFETCHED, loadedWithLazyPropertiesUnfetched );
+		setCompressedValue( BooleanState.LOADED_STATE_DISCARDED, loadedStateDiscarded );
 		this.rowId = null; // this is equivalent to the old behavior...
 		this.persistenceContext = persistenceContext;
 	}
@@ -211,6 +214,27 @@ public final class EntityEntry implements Serializable {
 		return loadedState;
 	}
 
+	/**
+	 * Drop the snapshot of the loaded state of an entity which tracks its own dirty attributes, see
+	 * {@link org.hibernate.tuple.entity.EntityMetamodel#isLoadedStateRetained()}.  Later updates do not
+	 * take a new snapshot either.
+	 */
+	public void discardLoadedState() {
+		loadedState = null;
+		setCompressedValue( BooleanState.LOADED_STATE_DISCARDED, true );
+	}
+
+	/**
+	 * Was the loaded state deliberately discarded?  If so, a {@code null} {@link #getLoadedState() loaded state}
+	 * does not mean that the entity came in from {@code update()}, and the entity is the only source of truth
+	 * about its dirtiness.
+	 *
+	 * @return {@code true} if {@link #discardLoadedState()} was called
+	 */
+	public boolean isLoadedStateDiscarded() {
+		return getCompressedValue( BooleanState.LOADED_STATE_DISCARDED );
+	}
+
 	private static final Object[] DEFAULT_DELETED_STATE = null;
 
 	public Object[] getDeletedState() {
@@ -282,7 +306,9 @@ public final class EntityEntry implements Serializable {
 	 * @param nextVersion The new version.
 	 */
 	public void postUpdate(Object entity, Object[] updatedState, Object nextVersion) {
-		this.loadedState = updatedState;
+		if ( !isLoadedStateDiscarded() ) {
+			this.loadedState = updatedState;
+		}
 		setLockMode( LockMode.WRITE );
 
 		if ( getPersister().isVersioned() ) {
@@ -367,8 +393,13 @@ public final class EntityEntry implements Serializable {
 	@SuppressWarnings( {"SimplifiableIfStatement"})
 	private boolean isUnequivocallyNonDirty(Object entity) {
 
-		if(entity instanceof SelfDirtinessTracker)
-			return ((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes();
+		if ( entity instanceof SelfDirtinessTracker ) {
+			// only trust the tracker alone when there is no snapshot by design; otherwise the snapshot comparison
+			// is what finds in-place changes the tracker cannot see (mutable values such as dates or arrays), and
+			// changes made before an entity was reassociated through update()
+			return isLoadedStateDiscarded()
+					&& !( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
 
 		final CustomEntityDirtinessStrategy customEntityDirtinessStrategy =
 				persistenceContext.getSession().getFactory().getCustomEntityDirtinessStrategy();
@@ -409,7 +440,9 @@ public final class EntityEntry implements Serializable {
 
 	public void forceLocked(Object entity, Object nextVersion) {
 		version = nextVersion;
-		loadedState[ persister.getVersionProperty() ] = version;
+		if ( loadedState != null ) {
+			loadedState[ persister.getVersionProperty() ] = version;
+		}
 		// TODO:  use LockMode.PESSIMISTIC_FORCE_INCREMENT
 		//noinspection deprecation
 		setLockMode( LockMode.FORCE );
@@ -438,11 +471,14 @@ public final class EntityEntry implements Serializable {
 				throw new IllegalStateException( "Cannot make an immutable entity modifiable." );
 			}
 			setStatus( Status.MANAGED );
-			loadedState = getPersister().getPropertyValues( entity );
+			final Object[] currentState = getPersister().getPropertyValues( entity );
+			if ( !isLoadedStateDiscarded() ) {
+				loadedState = currentState;
+			}
 			persistenceContext.getNaturalIdHelper().manageLocalNaturalIdCrossReference(
 					persister,
 					id,
-					loadedState,
+					currentState,
 					null,
 					CachedNaturalIdValueSource.LOAD
 			);
@@ -482,6 +518,7 @@ public final class EntityEntry implements Serializable {
 		oos.writeBoolean( isExistsInDatabase() );
 		oos.writeBoolean( isBeingReplicated() );
 		oos.writeBoolean( isLoadedWithLazyPropertiesUnfetched() );
+		oos.writeBoolean( isLoadedStateDiscarded() );
 	}
 
 	/**
@@ -516,6 +553,7 @@ public final class EntityEntry implements Serializable {
 				ois.readBoolean(),
 				ois.readBoolean(),
 				ois.readBoolean(),
+				ois.readBoolean(),
 				persistenceContext
 		);
 	}
@@ -675,6 +713,7 @@ public final class EntityEntry implements Serializable {
 	 */
 	private enum BooleanState {
 
+		LOADED_STATE_DISCARDED(12),
 		EXISTS_IN_DATABASE(13),
 		IS_BEING_REPLICATED(14),
 		LOADED_WITH_LAZY_PROPERTIES_UNFETCHED(15);
@@ -68,12 +68,21 @@ public final class EntityKey implements Serializable {
 			throw new AssertionFailure( "null identifier" );
 		}
 		this.identifier = id;
-		this.hashCode = generateHashCode();
+		this.hashCode = generateHashCode( id, persister );
 	}
 
-	private int generateHashCode() {
+	/**
+	 * Calculates the hash code an EntityKey for the given identifier and persister would have, without
+	 * having to instantiate the key.
+	 *
+	 * @param id The entity id
+	 * @param persister The entity persister
+	 *
+	 * @return The hash code
+	 */
+	public static int generateHashCode(Serializable id, EntityPersister persister) {
 		int result = 17;
-		result = 37 * result + persister.getIdentifierType().getHashCode( identifier, persister.getFactory() );
+		result = 37 * result + persister.getIdentifierType().getHashCode( id, persister.getFactory() );
 		return result;
 	}
 
@@ -99,21 +108,33 @@ public final class EntityKey implements Serializable {
 		}
 
 		final EntityKey otherKey = (EntityKey) other;
-		return samePersistentType( otherKey )
-				&& sameIdentifier( otherKey );
+		return matches( otherKey.identifier, otherKey.persister );
+
+	}
 
+	/**
+	 * Is this key equal to the key that would be generated for the given identifier and persister?
+	 *
+	 * @param id The entity id
+	 * @param persister The entity persister
+	 *
+	 * @return {@code true} if the keys would be equal
+	 */
+	public boolean matches(Serializable id, EntityPersister persister) {
+		return samePersistentType( persister )
+				&& sameIdentifier( id );
 	}
 
-	private boolean sameIdentifier(final EntityKey otherKey) {
-		return persister.getIdentifierType().isEqual( otherKey.identifier, this.identifier, persister.getFactory() );
+	private boolean sameIdentifier(final Serializable otherIdentifier) {
+		return persister.getIdentifierType().isEqual( otherIdentifier, this.identifier, persister.getFactory() );
 	}
 
-	private boolean samePersistentType(final EntityKey otherKey) {
-		if ( otherKey.persister == persister ) {
+	private boolean samePersistentType(final EntityPersister otherPersister) {
+		if ( otherPersister == persister ) {
 			return true;
 		}
 		else {
-			return EqualsHelper.equals( otherKey.persister.getRootEntityName(), persister.getRootEntityName() );
+			return EqualsHelper.equals( otherPersister.getRootEntityName(), persister.getRootEntityName() );
 		}
 	}
 
@@ -101,6 +101,16 @@ public interface PersistenceContext {
 	 * @return The batch fetch queue in effect for this persistence context
 	 */
 	public BatchFetchQueue getBatchFetchQueue();
+
+	/**
+	 * Get the update timestamps of query spaces remembered until the end of the current transaction, instantiating
+	 * the map if necessary.
+	 *
+	 * @return The memoized update timestamps, keyed by query space
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_MEMOIZE_TIMESTAMPS
+	 */
+	public Map<Serializable, Long> getQuerySpaceTimestamps();
 	
 	/**
 	 * Clear the state of the persistence context
@@ -189,6 +199,41 @@ public interface PersistenceContext {
 	 */
 	public boolean containsEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance associated with the given identifier and persister.  Functionally equivalent
+	 * to {@code getEntity( session.generateEntityKey( id, persister ) )}, but does not need to instantiate
+	 * an {@link EntityKey}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	public Object getEntity(Serializable id, EntityPersister persister);
+
+	/**
+	 * Is there an entity with the given identifier and persister in the persistence context?  Functionally
+	 * equivalent to {@code containsEntity( session.generateEntityKey( id, persister ) )}, but does not need to
+	 * instantiate an {@link EntityKey}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return {@code true} indicates an entity was found; otherwise {@code false}
+	 */
+	public boolean containsEntity(Serializable id, EntityPersister persister);
+
+	/**
+	 * Get the {@link EntityKey} under which an entity with the given identifier and persister is associated with
+	 * the persistence context, allowing callers to reuse that key rather than generating an equal one.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The key of the matching entity, or {@code null} if there is no such entity
+	 */
+	public EntityKey getEntityKey(Serializable id, EntityPersister persister);
+
 	/**
 	 * Remove an entity.  Also clears up all other state associated with the entity aside from the {@link EntityEntry}
 	 *
@@ -660,6 +705,28 @@ public interface PersistenceContext {
 	 */
 	public void setDefaultReadOnly(boolean readOnly);
 
+	/**
+	 * Does this persistence context belong to a read-only session?
+	 * <p/>
+	 * Everything loaded into a read-only session is read-only, regardless of
+	 * any query or entity level setting, and no snapshots of entity or
+	 * collection state are kept.
+	 *
+	 * @return {@code true} if this persistence context belongs to a read-only session
+	 *
+	 * @see org.hibernate.SessionBuilder#readOnly(boolean)
+	 */
+	public boolean isReadOnlySession();
+
+	/**
+	 * Mark this persistence context as belonging to a read-only session.
+	 *
+	 * @param readOnlySession {@code true} if this persistence context belongs to a read-only session
+	 *
+	 * @see org.hibernate.SessionBuilder#readOnly(boolean)
+	 */
+	public void setReadOnlySession(boolean readOnlySession);
+
 	/**
 	 * Is the entity or proxy read-only?
 	 * <p/>
@@ -39,6 +39,7 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Query;
 import org.hibernate.ReplicationMode;
@@ -701,6 +702,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.byId( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return session.byMultipleIds( entityName );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return session.byMultipleIds( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return session.byNaturalId( entityName );
@@ -67,6 +67,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger( CoreMessageLogger.class, AbstractFlushingEventListener.class.getName() );
 
+	private transient volatile ParallelDirtyChecker parallelDirtyChecker;
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Pre-flushing section
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -218,17 +220,22 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
 		final int count = entityEntries.length;
 
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
+		if ( getParallelDirtyChecker().isApplicable( source, count ) ) {
+			flushEntitiesWithParallelDirtyCheck( source, entityEntries, flushListeners );
+		}
+		else {
+			for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
 
-			// Update the status of the object and if necessary, schedule an update
+				// Update the status of the object and if necessary, schedule an update
 
-			EntityEntry entry = me.getValue();
-			Status status = entry.getStatus();
+				EntityEntry entry = me.getValue();
+				Status status = entry.getStatus();
 
-			if ( status != Status.LOADING && status != Status.GONE ) {
-				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
-				for ( FlushEntityEventListener listener : flushListeners ) {
-					listener.onFlushEntity( entityEvent );
+				if ( status != Status.LOADING && status != Status.GONE ) {
+					final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+					for ( FlushEntityEventListener listener : flushListeners ) {
+						listener.onFlushEntity( entityEvent );
+					}
 				}
 			}
 		}
@@ -238,6 +245,51 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		return count;
 	}
 
+	private ParallelDirtyChecker getParallelDirtyChecker() {
+		ParallelDirtyChecker result = parallelDirtyChecker;
+		if ( result == null ) {
+			synchronized ( this ) {
+				result = parallelDirtyChecker;
+				if ( result == null ) {
+					parallelDirtyChecker = result = new ParallelDirtyChecker();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Same as the serial loop of {@link #flushEntities}, except that the dirty checks of the entities are
+	 * computed up front in parallel.  The listeners are still notified one entity at a time, in the same
+	 * order, so the resulting actions are scheduled exactly as they would be otherwise.
+	 */
+	private void flushEntitiesWithParallelDirtyCheck(
+			EventSource source,
+			Map.Entry<Object,EntityEntry>[] entityEntries,
+			Iterable<FlushEntityEventListener> flushListeners) {
+		final FlushEntityEvent[] entityEvents = new FlushEntityEvent[ entityEntries.length ];
+		for ( int i = 0; i < entityEntries.length; i++ ) {
+			final EntityEntry entry = entityEntries[i].getValue();
+			final Status status = entry.getStatus();
+			if ( status != Status.LOADING && status != Status.GONE ) {
+				entityEvents[i] = new FlushEntityEvent( source, entityEntries[i].getKey(), entry );
+			}
+		}
+
+		getParallelDirtyChecker().precompute( entityEvents, source );
+
+		for ( int i = 0; i < entityEvents.length; i++ ) {
+			final FlushEntityEvent entityEvent = entityEvents[i];
+			// re-check the status, as it might have changed while flushing the preceding entities
+			final Status status = entityEntries[i].getValue().getStatus();
+			if ( entityEvent != null && status != Status.LOADING && status != Status.GONE ) {
+				for ( FlushEntityEventListener listener : flushListeners ) {
+					listener.onFlushEntity( entityEvent );
+				}
+			}
+		}
+	}
+
 	/**
 	 * process any unreferenced collections and then inspect all known collections,
 	 * scheduling creates/removes/updates
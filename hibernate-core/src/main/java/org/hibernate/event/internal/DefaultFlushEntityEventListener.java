@@ -149,7 +149,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		final boolean mightBeDirty = entry.requiresDirtyCheck( entity );
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		final Object[] values = getValues( event, entity, entry, mightBeDirty, session );
 
 		event.setPropertyValues( values );
 
@@ -175,7 +175,12 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
+	private Object[] getValues(
+			FlushEntityEvent event,
+			Object entity,
+			EntityEntry entry,
+			boolean mightBeDirty,
+			SessionImplementor session) {
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
 		final EntityPersister persister = entry.getPersister();
@@ -191,8 +196,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		else {
 			checkId( entity, persister, entry.getId(), session );
 
-			// grab its current state
-			values = persister.getPropertyValues( entity );
+			// grab its current state (unless that was already done by a parallel dirty check)
+			values = event.isDirtyCheckPrecomputed()
+					? event.getPrecomputedPropertyValues()
+					: persister.getPropertyValues( entity );
 
 			checkNaturalId( persister, entry, values, loadedState, session );
 		}
@@ -500,8 +507,15 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		if ( dirtyProperties == null ) {
 			if ( entity instanceof SelfDirtinessTracker ) {
-				if ( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() ) {
-					dirtyProperties = persister.resolveAttributeIndexes( ( (SelfDirtinessTracker) entity ).$$_hibernate_getDirtyAttributes() );
+				// with a snapshot, compare against it (below) like for any other entity, as the tracker does not
+				// see in-place changes of mutable values; without one (by design) the tracker is the only source
+				// of truth. Either way, the tracker knows nothing about references to transient entities
+				// nullified on delete
+				if ( entry.isLoadedStateDiscarded() && entry.getStatus() != Status.DELETED ) {
+					final SelfDirtinessTracker tracker = (SelfDirtinessTracker) entity;
+					dirtyProperties = tracker.$$_hibernate_hasDirtyAttributes()
+							? persister.resolveAttributeIndexes( tracker.$$_hibernate_getDirtyAttributes() )
+							: ArrayHelper.EMPTY_INT_ARRAY;
 				}
 			}
 			else {
@@ -542,13 +556,21 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				// object loaded by update()
 				cannotDirtyCheck = loadedState == null;
 				if ( !cannotDirtyCheck ) {
-					// dirty check against the usual snapshot of the entity
-					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					if ( event.isDirtyCheckPrecomputed() && values == event.getPrecomputedPropertyValues() ) {
+						// the parallel dirty check already compared exactly these values to the snapshot
+						dirtyProperties = event.getPrecomputedDirtyProperties();
+					}
+					else {
+						// dirty check against the usual snapshot of the entity
+						dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					}
 				}
-				else if ( entry.getStatus() == Status.DELETED && !event.getEntityEntry().isModifiableEntity() ) {
+				else if ( entry.getStatus() == Status.DELETED
+						&& ( !event.getEntityEntry().isModifiableEntity() || entry.isLoadedStateDiscarded() ) ) {
 					// A non-modifiable (e.g., read-only or immutable) entity needs to be have
 					// references to transient entities set to null before being deleted. No other
-					// fields should be updated.
+					// fields should be updated. The same goes for an entity whose loaded state was
+					// discarded, as there is no point in updating it otherwise before the delete.
 					if ( values != entry.getDeletedState() ) {
 						throw new IllegalStateException(
 								"Entity has status Status.DELETED but values != entry.getDeletedState"
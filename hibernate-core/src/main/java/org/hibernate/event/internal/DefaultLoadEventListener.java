@@ -34,6 +34,7 @@ import org.hibernate.WrongClassException;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.NotFoundCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.engine.internal.CacheHelper;
@@ -72,6 +73,7 @@ import org.hibernate.type.TypeHelper;
 public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener implements LoadEventListener {
 	public static final Object REMOVED_ENTITY_MARKER = new Object();
 	public static final Object INCONSISTENT_RTN_CLASS_MARKER = new Object();
+	public static final Object CACHED_NOT_FOUND_MARKER = new Object();
 	public static final LockMode DEFAULT_LOCK_MODE = LockMode.NONE;
 
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( DefaultLoadEventListener.class );
@@ -137,7 +139,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			);
 		}
 
-		final EntityKey keyToLoad = source.generateEntityKey( event.getEntityId(), persister );
+		final EntityKey keyToLoad = resolveEntityKey( event, persister, source );
 
 		try {
 			if ( loadType.isNakedEntityReturned() ) {
@@ -159,6 +161,34 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			LOG.unableToLoadCommand( e );
 			throw e;
 		}
+		finally {
+			event.setResolvedEntity( null, null, null );
+		}
+	}
+
+	/**
+	 * Looks the entity up in the persistence context once, by identifier and persister, and records the outcome on
+	 * the event so that {@link #loadFromSessionCache} need not repeat the look up.  The key of a matching managed
+	 * entity (the common case for repeated loads and association resolution) is reused; a new key is only generated
+	 * when there is none.
+	 * <p/>
+	 * The managed key is only reused if it was generated for the same persister, as the key's entity name is used
+	 * to verify the type of the entity found in the session cache.
+	 */
+	private EntityKey resolveEntityKey(LoadEvent event, EntityPersister persister, SessionImplementor source) {
+		final PersistenceContext persistenceContext = source.getPersistenceContext();
+		final Object managedEntity = persistenceContext.getEntity( event.getEntityId(), persister );
+		final EntityEntry managedEntry = managedEntity == null ? null : persistenceContext.getEntry( managedEntity );
+
+		final EntityKey keyToLoad;
+		if ( managedEntry != null && managedEntry.getPersister() == persister ) {
+			keyToLoad = managedEntry.getEntityKey();
+		}
+		else {
+			keyToLoad = source.generateEntityKey( event.getEntityId(), persister );
+		}
+		event.setResolvedEntity( keyToLoad, managedEntity, managedEntry );
+		return keyToLoad;
 	}
 
 	private void loadByDerivedIdentitySimplePkValue(
@@ -332,12 +362,16 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			final EntityKey keyToLoad,
 			final LoadEventListener.LoadType options,
 			final PersistenceContext persistenceContext) {
-		Object existing = persistenceContext.getEntity( keyToLoad );
+		final Object existing = keyToLoad == event.getResolvedEntityKey()
+				? event.getManagedEntity()
+				: persistenceContext.getEntity( keyToLoad );
 		if ( existing != null ) {
 			// return existing object or initialized proxy (unless deleted)
 			LOG.trace( "Entity found in session cache" );
 			if ( options.isCheckDeleted() ) {
-				EntityEntry entry = persistenceContext.getEntry( existing );
+				EntityEntry entry = existing == event.getManagedEntity()
+						? event.getManagedEntityEntry()
+						: persistenceContext.getEntry( existing );
 				Status status = entry.getStatus();
 				if ( status == Status.DELETED || status == Status.GONE ) {
 					return null;
@@ -450,6 +484,15 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		}
 
 		entity = loadFromSecondLevelCache( event, persister, options );
+		if ( entity == CACHED_NOT_FOUND_MARKER ) {
+			if ( traceEnabled ) {
+				LOG.tracev(
+						"Object known not to exist from second-level cache: {0}",
+						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
+				);
+			}
+			return null;
+		}
 		if ( entity != null ) {
 			if ( traceEnabled ) {
 				LOG.tracev(
@@ -465,7 +508,14 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			// taken before reading, so that the access strategy rejects the marker if the entity was inserted meanwhile
+			final long notFoundTimestamp = isNotFoundCacheable( event, persister )
+					? persister.getCacheAccessStrategy().getRegion().nextTimestamp()
+					: -1;
 			entity = loadFromDatasource( event, persister, keyToLoad, options );
+			if ( entity == null && notFoundTimestamp != -1 ) {
+				cacheNotFound( event, persister, notFoundTimestamp );
+			}
 		}
 
 		if ( entity != null && persister.hasNaturalIdentifier() ) {
@@ -514,6 +564,62 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		return entity;
 	}
 
+	/**
+	 * Should it be remembered in the second-level cache that no row matches the requested identifier, if so?  Only
+	 * for the entities listed in {@link org.hibernate.cfg.AvailableSettings#CACHE_NOT_FOUND_ENTITIES}; look ups of a
+	 * subclass may miss rows of another subclass of the hierarchy, so only look ups of the root entity are remembered.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 *
+	 * @return {@code true} if a miss should be cached
+	 */
+	private boolean isNotFoundCacheable(LoadEvent event, EntityPersister persister) {
+		final SessionImplementor source = event.getSession();
+		return persister.hasCache()
+				&& source.getCacheMode().isPutEnabled()
+				&& persister.getEntityName().equals( persister.getRootEntityName() )
+				&& source.getFactory().getSettings().getCacheNotFoundEntities().contains( persister.getEntityName() );
+	}
+
+	/**
+	 * Remembers in the second-level cache that no row matches the requested identifier.  The marker goes through
+	 * {@code putFromLoad} like any entity read from the database, so that soft locks and the timestamps of the
+	 * insertions which released them reject it.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity which was not found
+	 * @param txTimestamp The region timestamp taken before reading the database
+	 */
+	private void cacheNotFound(LoadEvent event, EntityPersister persister, long txTimestamp) {
+		final SessionImplementor source = event.getSession();
+		final SessionFactoryImplementor factory = source.getFactory();
+		final CacheKey ck = source.generateCacheKey(
+				event.getEntityId(),
+				persister.getIdentifierType(),
+				persister.getRootEntityName()
+		);
+		boolean put;
+		try {
+			source.getEventListenerManager().cachePutStart();
+			put = persister.getCacheAccessStrategy().putFromLoad(
+					ck,
+					NotFoundCacheEntry.INSTANCE,
+					txTimestamp,
+					null
+			);
+		}
+		finally {
+			source.getEventListenerManager().cachePutEnd();
+		}
+
+		if ( put && factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().secondLevelCachePut(
+					persister.getCacheAccessStrategy().getRegion().getName()
+			);
+		}
+	}
+
 	/**
 	 * Attempts to locate the entity in the session-level cache.
 	 * <p/>
@@ -538,12 +644,22 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			final EntityKey keyToLoad,
 			final LoadEventListener.LoadType options) throws HibernateException {
 
-		SessionImplementor session = event.getSession();
-		Object old = session.getEntityUsingInterceptor( keyToLoad );
+		final Object old;
+		if ( keyToLoad == event.getResolvedEntityKey() ) {
+			// the persistence context was already looked up by onLoad()
+			old = event.getManagedEntity() != null
+					? event.getManagedEntity()
+					: getEntityFromInterceptor( event, keyToLoad );
+		}
+		else {
+			old = event.getSession().getEntityUsingInterceptor( keyToLoad );
+		}
 
 		if ( old != null ) {
 			// this object was already loaded
-			EntityEntry oldEntry = session.getPersistenceContext().getEntry( old );
+			final EntityEntry oldEntry = old == event.getManagedEntity()
+					? event.getManagedEntityEntry()
+					: event.getSession().getPersistenceContext().getEntry( old );
 			if ( options.isCheckDeleted() ) {
 				Status status = oldEntry.getStatus();
 				if ( status == Status.DELETED || status == Status.GONE ) {
@@ -564,6 +680,19 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		return old;
 	}
 
+	/**
+	 * The part of {@link SessionImplementor#getEntityUsingInterceptor} which applies when the entity is known not to be
+	 * associated with the persistence context.
+	 */
+	private Object getEntityFromInterceptor(LoadEvent event, EntityKey keyToLoad) {
+		final EventSource session = event.getSession();
+		final Object entity = session.getInterceptor().getEntity( keyToLoad.getEntityName(), keyToLoad.getIdentifier() );
+		if ( entity != null ) {
+			session.lock( entity, LockMode.NONE );
+		}
+		return entity;
+	}
+
 	/**
 	 * Attempts to load the entity from the second-level cache.
 	 *
@@ -571,7 +700,8 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 	 * @param persister The persister for the entity being requested for load
 	 * @param options The load options.
 	 *
-	 * @return The entity from the second-level cache, or null.
+	 * @return The entity from the second-level cache, {@link #CACHED_NOT_FOUND_MARKER} if the cache knows the entity
+	 * does not exist, or null.
 	 */
 	protected Object loadFromSecondLevelCache(
 			final LoadEvent event,
@@ -613,6 +743,9 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			// nothing was found in cache
 			return null;
 		}
+		if ( NotFoundCacheEntry.isNotFound( ce ) ) {
+			return CACHED_NOT_FOUND_MARKER;
+		}
 
 		CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( ce, factory );
 		Object entity = convertCacheEntryToEntity( entry, event.getEntityId(), persister, event );
@@ -707,7 +840,8 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			values = ( (StandardCacheEntryImpl) entry ).assemble(
 					entity, entityId, subclassPersister, session.getInterceptor(), session
 			);
-			if ( ( (StandardCacheEntryImpl) entry ).isDeepCopyNeeded() ) {
+			if ( ( (StandardCacheEntryImpl) entry ).isDeepCopyNeeded()
+					&& subclassPersister.getEntityMetamodel().isLoadedStateRetained() ) {
 				TypeHelper.deepCopy(
 						values,
 						types,
@@ -730,7 +864,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			}
 		}
 
-		persistenceContext.addEntry(
+		final EntityEntry entityEntry = persistenceContext.addEntry(
 				entity,
 				( isReadOnly ? Status.READ_ONLY : Status.MANAGED ),
 				values,
@@ -743,6 +877,9 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				false,
 				entry.areLazyPropertiesUnfetched()
 		);
+		if ( !isReadOnly && !subclassPersister.getEntityMetamodel().isLoadedStateRetained() ) {
+			entityEntry.discardLoadedState();
+		}
 		subclassPersister.afterInitialize( entity, entry.areLazyPropertiesUnfetched(), session );
 		persistenceContext.initializeNonLazyCollections();
 
@@ -800,13 +937,15 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				session.getInterceptor(),
 				session
 		); // intializes result by side-effect
-		TypeHelper.deepCopy(
-				values,
-				types,
-				subclassPersister.getPropertyUpdateability(),
-				values,
-				session
-		);
+		if ( subclassPersister.getEntityMetamodel().isLoadedStateRetained() ) {
+			TypeHelper.deepCopy(
+					values,
+					types,
+					subclassPersister.getPropertyUpdateability(),
+					values,
+					session
+			);
+		}
 
 		Object version = Versioning.getVersion( values, subclassPersister );
 		LOG.tracev( "Cached Version: {0}", version );
@@ -824,7 +963,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		else {
 			isReadOnly = true;
 		}
-		persistenceContext.addEntry(
+		final EntityEntry entityEntry = persistenceContext.addEntry(
 				result,
 				( isReadOnly ? Status.READ_ONLY : Status.MANAGED ),
 				values,
@@ -837,6 +976,9 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				false,
 				entry.areLazyPropertiesUnfetched()
 		);
+		if ( !isReadOnly && !subclassPersister.getEntityMetamodel().isLoadedStateRetained() ) {
+			entityEntry.discardLoadedState();
+		}
 		subclassPersister.afterInitialize( result, entry.areLazyPropertiesUnfetched(), session );
 		persistenceContext.initializeNonLazyCollections();
 		// upgrade the lock if necessary:
@@ -0,0 +1,266 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.Type;
+
+/**
+ * Computes the current state and the dirty properties of managed entities on multiple threads ahead of the
+ * (serial) flush-entity events, when the number of entities to flush reaches
+ * {@link org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD}.
+ * <p/>
+ * Only work that does not touch the Session is done in parallel: reading the property values and comparing
+ * them to the loaded state.  The Session is not thread-safe, so it is not passed to the worker threads at all
+ * ({@link EntityPersister#findDirty} is called with a {@code null} session).  To make that safe, only entities
+ * whose persister has nothing but {@link BasicType basic} properties (so no associations, collections or
+ * components) and no lazy (instrumented) properties are considered, and only when no
+ * {@link org.hibernate.Interceptor} is in effect.  Should a dirty check fail anyway, the entity is left to the
+ * serial dirty check.
+ * Everything else (interceptor and {@link org.hibernate.CustomEntityDirtinessStrategy} callbacks, action
+ * scheduling, collection processing) still happens in the flush-entity listeners, in the usual order; the
+ * results computed here are merely handed to them via
+ * {@link FlushEntityEvent#setPrecomputedDirtyCheck}.
+ */
+final class ParallelDirtyChecker {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ParallelDirtyChecker.class );
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final int threadCount = Runtime.getRuntime().availableProcessors();
+	private final ConcurrentHashMap<EntityPersister, Boolean> eligibilityByPersister =
+			new ConcurrentHashMap<EntityPersister, Boolean>();
+	private volatile ExecutorService executor;
+
+	/**
+	 * Is parallel dirty checking worthwhile (and safe) for a flush of the given number of entities?
+	 *
+	 * @param session The session being flushed
+	 * @param entityCount The number of entities associated with the persistence context
+	 *
+	 * @return {@code true} if {@link #precompute} should be called
+	 */
+	boolean isApplicable(SessionImplementor session, int entityCount) {
+		final int threshold = session.getFactory().getSettings().getParallelDirtyCheckThreshold();
+		return threshold > 0
+				&& entityCount >= threshold
+				&& threadCount > 1
+				&& session.getInterceptor() == EmptyInterceptor.INSTANCE;
+	}
+
+	/**
+	 * Dirty check the eligible entities of the given events in parallel, attaching the results to the events.
+	 *
+	 * @param events The flush-entity events about to be fired (elements may be {@code null})
+	 * @param session The session being flushed (only used to locate the session factory)
+	 */
+	void precompute(FlushEntityEvent[] events, SessionImplementor session) {
+		final List<FlushEntityEvent> eligible = new ArrayList<FlushEntityEvent>( events.length );
+		for ( FlushEntityEvent event : events ) {
+			if ( event != null && isEligible( event ) ) {
+				eligible.add( event );
+			}
+		}
+		if ( eligible.isEmpty() ) {
+			return;
+		}
+
+		final int chunkCount = Math.min( eligible.size(), threadCount * CHUNKS_PER_THREAD );
+		final int chunkSize = ( eligible.size() + chunkCount - 1 ) / chunkCount;
+		final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>( chunkCount );
+		for ( int start = 0; start < eligible.size(); start += chunkSize ) {
+			tasks.add( new DirtyCheckTask( eligible.subList( start, Math.min( start + chunkSize, eligible.size() ) ) ) );
+		}
+
+		LOG.debugf( "Dirty checking %s entities in %s parallel tasks", eligible.size(), tasks.size() );
+		try {
+			for ( Future<Void> future : getExecutor( session.getFactory() ).invokeAll( tasks ) ) {
+				future.get();
+			}
+		}
+		catch (RejectedExecutionException e) {
+			// the session factory is being closed; the serial dirty check takes care of everything
+			LOG.debug( "Parallel dirty checking rejected; deferring to serial dirty check" );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted during parallel dirty checking", e );
+		}
+		catch (ExecutionException e) {
+			// the tasks guard against failures of individual entities, so this is unexpected
+			throw new HibernateException( "Error during parallel dirty checking", e.getCause() );
+		}
+	}
+
+	private boolean isEligible(FlushEntityEvent event) {
+		final EntityEntry entry = event.getEntityEntry();
+		return entry.getStatus() == Status.MANAGED
+				&& entry.getLoadedState() != null
+				&& entry.isModifiableEntity()
+				&& !( event.getEntity() instanceof SelfDirtinessTracker )
+				&& isEligible( entry.getPersister() );
+	}
+
+	private boolean isEligible(EntityPersister persister) {
+		Boolean eligible = eligibilityByPersister.get( persister );
+		if ( eligible == null ) {
+			eligible = !persister.getInstrumentationMetadata().isInstrumented()
+					&& areAllBasic( persister.getPropertyTypes() );
+			eligibilityByPersister.put( persister, eligible );
+		}
+		return eligible;
+	}
+
+	/**
+	 * Basic types do not need the session to dirty check (unlike, for instance, components, which need it to
+	 * determine the column spans of their properties).
+	 */
+	private static boolean areAllBasic(Type[] types) {
+		for ( Type type : types ) {
+			if ( !( type instanceof BasicType ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The pool is shut down when the session factory it was created for is closed (the listeners, and so this
+	 * checker, normally belong to a single session factory; otherwise a new pool is started on demand).
+	 */
+	private ExecutorService getExecutor(SessionFactoryImplementor factory) {
+		ExecutorService result = executor;
+		if ( result == null ) {
+			synchronized ( this ) {
+				result = executor;
+				if ( result == null ) {
+					final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+							threadCount,
+							threadCount,
+							60L,
+							TimeUnit.SECONDS,
+							new LinkedBlockingQueue<Runnable>(),
+							new DaemonThreadFactory()
+					);
+					// let the threads die when flushes of large persistence contexts are rare
+					pool.allowCoreThreadTimeOut( true );
+					factory.addObserver( new ExecutorShutdown( pool ) );
+					executor = result = pool;
+				}
+			}
+		}
+		return result;
+	}
+
+	private class ExecutorShutdown implements SessionFactoryObserver {
+		private final ExecutorService pool;
+
+		private ExecutorShutdown(ExecutorService pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public void sessionFactoryCreated(SessionFactory factory) {
+		}
+
+		@Override
+		public void sessionFactoryClosed(SessionFactory factory) {
+			synchronized ( ParallelDirtyChecker.this ) {
+				if ( executor == pool ) {
+					executor = null;
+				}
+			}
+			pool.shutdown();
+		}
+	}
+
+	private static class DirtyCheckTask implements Callable<Void> {
+		private final List<FlushEntityEvent> events;
+
+		private DirtyCheckTask(List<FlushEntityEvent> events) {
+			this.events = events;
+		}
+
+		@Override
+		public Void call() {
+			for ( FlushEntityEvent event : events ) {
+				final EntityEntry entry = event.getEntityEntry();
+				final EntityPersister persister = entry.getPersister();
+				try {
+					final Object[] values = persister.getPropertyValues( event.getEntity() );
+					final int[] dirtyProperties = persister.findDirty(
+							values,
+							entry.getLoadedState(),
+							event.getEntity(),
+							null
+					);
+					event.setPrecomputedDirtyCheck( values, dirtyProperties );
+				}
+				catch (RuntimeException e) {
+					// leave it to the serial dirty check, which will report the problem in the usual way
+					LOG.tracef( e, "Parallel dirty check failed for %s; deferring to serial dirty check", entry );
+				}
+			}
+			return null;
+		}
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-dirty-check-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
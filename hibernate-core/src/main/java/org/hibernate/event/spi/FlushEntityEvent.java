@@ -37,6 +37,9 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
 	private EntityEntry entityEntry;
+	private boolean dirtyCheckPrecomputed;
+	private Object[] precomputedPropertyValues;
+	private int[] precomputedDirtyProperties;
 	
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
 		super(source);
@@ -89,4 +92,26 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+
+	/**
+	 * Supply the result of a dirty check against the loaded state performed ahead of this event (see
+	 * {@link org.hibernate.cfg.AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD}).
+	 *
+	 * @param propertyValues The current property values of the entity
+	 * @param dirtyProperties The indexes of the properties found dirty, or {@code null} if none are
+	 */
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, int[] dirtyProperties) {
+		this.precomputedPropertyValues = propertyValues;
+		this.precomputedDirtyProperties = dirtyProperties;
+		this.dirtyCheckPrecomputed = true;
+	}
+	public boolean isDirtyCheckPrecomputed() {
+		return dirtyCheckPrecomputed;
+	}
+	public Object[] getPrecomputedPropertyValues() {
+		return precomputedPropertyValues;
+	}
+	public int[] getPrecomputedDirtyProperties() {
+		return precomputedDirtyProperties;
+	}
 }
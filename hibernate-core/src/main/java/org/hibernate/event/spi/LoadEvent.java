@@ -28,6 +28,8 @@ import java.io.Serializable;
 import org.hibernate.AssertionFailure;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
 
 /**
  *  Defines an event class for the loading of an entity.
@@ -63,6 +65,10 @@ public class LoadEvent extends AbstractEvent {
 	private boolean isAssociationFetch;
 	private Object result;
 
+	private EntityKey resolvedEntityKey;
+	private Object managedEntity;
+	private EntityEntry managedEntityEntry;
+
 	public LoadEvent(Serializable entityId, Object instanceToLoad, EventSource source) {
 		this( entityId, null, instanceToLoad, DEFAULT_LOCK_OPTIONS, false, source );
 	}
@@ -197,4 +203,35 @@ public class LoadEvent extends AbstractEvent {
 	public void setResult(Object result) {
 		this.result = result;
 	}
+
+	/**
+	 * Records the outcome of looking up the entity to load in the persistence context, so that the look up need not
+	 * be repeated for the remainder of the load.
+	 *
+	 * @param resolvedEntityKey The key the entity is being loaded by
+	 * @param managedEntity The entity associated with the persistence context under that key, or {@code null}
+	 * @param managedEntityEntry The entry of the associated entity, or {@code null}
+	 */
+	public void setResolvedEntity(EntityKey resolvedEntityKey, Object managedEntity, EntityEntry managedEntityEntry) {
+		this.resolvedEntityKey = resolvedEntityKey;
+		this.managedEntity = managedEntity;
+		this.managedEntityEntry = managedEntityEntry;
+	}
+
+	/**
+	 * The key the persistence context was looked up by, see {@link #setResolvedEntity}.
+	 *
+	 * @return The key, or {@code null} if no look up has been recorded
+	 */
+	public EntityKey getResolvedEntityKey() {
+		return resolvedEntityKey;
+	}
+
+	public Object getManagedEntity() {
+		return managedEntity;
+	}
+
+	public EntityEntry getManagedEntityEntry() {
+		return managedEntityEntry;
+	}
 }
@@ -48,8 +48,10 @@ import org.hibernate.NonUniqueResultException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.Query;
 import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
 import org.hibernate.Session;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.HibernateIterator;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.engine.spi.QueryParameters;
@@ -85,6 +87,11 @@ public abstract class AbstractQueryImpl implements Query {
 	private static final Object UNSET_PARAMETER = new MarkerObject("<unset parameter>");
 	private static final Object UNSET_TYPE = new MarkerObject("<unset type>");
 
+	/**
+	 * The fetch size used by {@link #stream()} if neither the query nor the configuration specifies one.
+	 */
+	private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
 	private final String queryString;
 	protected final SessionImplementor session;
 	protected final ParameterMetadata parameterMetadata;
@@ -966,6 +973,26 @@ public abstract class AbstractQueryImpl implements Query {
 		return uniqueElement( list() );
 	}
 
+	@Override
+	public HibernateIterator stream() throws HibernateException {
+		final Boolean readOnlyOrig = readOnly;
+		final Integer fetchSizeOrig = selection.getFetchSize();
+		if ( readOnlyOrig == null ) {
+			// no snapshots for entities we are going to evict anyway
+			readOnly = Boolean.TRUE;
+		}
+		if ( fetchSizeOrig == null && session.getFactory().getSettings().getJdbcFetchSize() == null ) {
+			selection.setFetchSize( DEFAULT_STREAM_FETCH_SIZE );
+		}
+		try {
+			return new StreamingResultsIterator( scroll( ScrollMode.FORWARD_ONLY ), session );
+		}
+		finally {
+			readOnly = readOnlyOrig;
+			selection.setFetchSize( fetchSizeOrig );
+		}
+	}
+
 	static Object uniqueElement(List list) throws NonUniqueResultException {
 		int size = list.size();
 		if (size==0) return null;
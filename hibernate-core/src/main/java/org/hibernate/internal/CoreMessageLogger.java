@@ -1680,4 +1680,16 @@ public interface CoreMessageLogger extends BasicLogger {
 	@LogMessage(level = DEBUG)
 	@Message(value = "Creating pooled optimizer (lo) with [incrementSize=%s; returnClass=%s]", id = 467)
 	void creatingPooledLoOptimizer(int incrementSize, String name);
+
+	@LogMessage(level = INFO)
+	@Message(value = "JDBC batches executed: %s", id = 468)
+	void jdbcBatchesExecuted(long jdbcBatchCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Statements executed in JDBC batches: %s", id = 469)
+	void jdbcBatchStatementsExecuted(long jdbcBatchStatementCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Using bytecode generated property accessors", id = 470)
+	void usingGeneratedPropertyAccessors();
 }
@@ -67,6 +67,7 @@ import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
 import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.internal.SecondLevelCacheWarmUp;
 import org.hibernate.cache.spi.CollectionRegion;
 import org.hibernate.cache.spi.EntityRegion;
 import org.hibernate.cache.spi.NaturalIdRegion;
@@ -583,6 +584,9 @@ public final class SessionFactoryImpl
 		this.currentTenantIdentifierResolver = determineCurrentTenantIdentifierResolver( cfg.getCurrentTenantIdentifierResolver() );
 		this.transactionEnvironment = new TransactionEnvironmentImpl( this );
 		this.observer.sessionFactoryCreated( this );
+
+		// needs the factory to be fully usable, since it loads the data through sessions
+		new SecondLevelCacheWarmUp( this ).run();
 	}
 
 	private Map<String, ProcedureCallMemento> toProcedureCallMementos(
@@ -1237,6 +1241,7 @@ public final class SessionFactoryImpl
 		private boolean autoClose;
 		private boolean autoJoinTransactions = true;
 		private boolean flushBeforeCompletion;
+		private boolean readOnly;
 		private String tenantIdentifier;
 		private List<SessionEventListener> listeners;
 
@@ -1281,6 +1286,7 @@ public final class SessionFactoryImpl
 					flushBeforeCompletion,
 					autoClose,
 					connectionReleaseMode,
+					readOnly,
 					tenantIdentifier
 			);
 
@@ -1339,6 +1345,12 @@ public final class SessionFactoryImpl
 			return this;
 		}
 
+		@Override
+		public SessionBuilder readOnly(boolean readOnly) {
+			this.readOnly = readOnly;
+			return this;
+		}
+
 		@Override
 		public SessionBuilder tenantIdentifier(String tenantIdentifier) {
 			this.tenantIdentifier = tenantIdentifier;
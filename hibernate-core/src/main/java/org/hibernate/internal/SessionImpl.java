@@ -34,6 +34,7 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -59,6 +60,7 @@ import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.ObjectNotFoundException;
@@ -79,8 +81,10 @@ import org.hibernate.TransientObjectException;
 import org.hibernate.TypeHelper;
 import org.hibernate.UnknownProfileException;
 import org.hibernate.UnresolvableObjectException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.criterion.NaturalIdentifier;
+import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreator;
@@ -146,7 +150,9 @@ import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.loader.criteria.CriteriaLoader;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
@@ -225,6 +231,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	 * @param flushBeforeCompletionEnabled Should we auto flush before completion of transaction
 	 * @param autoCloseSessionEnabled Should we auto close after completion of transaction
 	 * @param connectionReleaseMode The mode by which we should release JDBC connections.
+	 * @param readOnly Should the session be read-only (see {@link org.hibernate.SessionBuilder#readOnly})
 	 * @param tenantIdentifier The tenant identifier to use.  May be null
 	 */
 	SessionImpl(
@@ -239,6 +246,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			final boolean flushBeforeCompletionEnabled,
 			final boolean autoCloseSessionEnabled,
 			final ConnectionReleaseMode connectionReleaseMode,
+			final boolean readOnly,
 			final String tenantIdentifier) {
 		super( factory, tenantIdentifier );
 		this.timestamp = timestamp;
@@ -246,6 +254,12 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		this.interceptor = interceptor == null ? EmptyInterceptor.INSTANCE : interceptor;
 		this.actionQueue = new ActionQueue( this );
 		this.persistenceContext = new StatefulPersistenceContext( this );
+		if ( readOnly ) {
+			persistenceContext.setDefaultReadOnly( true );
+			persistenceContext.setReadOnlySession( true );
+			// nothing will ever be dirty, so there is nothing to flush at transaction completion either
+			this.flushMode = FlushMode.MANUAL;
+		}
 
 		this.autoCloseSessionEnabled = autoCloseSessionEnabled;
 		this.flushBeforeCompletionEnabled = flushBeforeCompletionEnabled;
@@ -421,6 +435,10 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			LOG.trace( "Skipping auto-flush due to session closed" );
 			return;
 		}
+		if ( persistenceContext.isReadOnlySession() ) {
+			LOG.trace( "Skipping auto-flush of read-only session" );
+			return;
+		}
 		LOG.trace( "Automatically flushing session" );
 		flush();
 	}
@@ -647,6 +665,12 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private void errorIfReadOnlySession() {
+		if ( persistenceContext.isReadOnlySession() ) {
+			throw new SessionException( "Session is read-only" );
+		}
+	}
+
 	private void checkNoUnresolvedActionsBeforeOperation() {
 		if ( persistenceContext.getCascadeLevel() == 0 && actionQueue.hasUnresolvedEntityInsertActions() ) {
 			throw new IllegalStateException( "There are delayed insert actions before operation as cascade level 0." );
@@ -678,6 +702,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void fireSaveOrUpdate(SaveOrUpdateEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( SaveOrUpdateEventListener listener : listeners( EventType.SAVE_UPDATE ) ) {
@@ -709,6 +734,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private Serializable fireSave(SaveOrUpdateEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( SaveOrUpdateEventListener listener : listeners( EventType.SAVE ) ) {
@@ -733,6 +759,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void fireUpdate(SaveOrUpdateEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( SaveOrUpdateEventListener listener : listeners( EventType.UPDATE ) ) {
@@ -805,6 +832,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void firePersist(PersistEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( PersistEventListener listener : listeners( EventType.PERSIST ) ) {
@@ -842,6 +870,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void firePersistOnFlush(PersistEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( PersistEventListener listener : listeners( EventType.PERSIST_ONFLUSH ) ) {
@@ -870,6 +899,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private Object fireMerge(MergeEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		checkNoUnresolvedActionsBeforeOperation();
 		for ( MergeEventListener listener : listeners( EventType.MERGE ) ) {
@@ -951,6 +981,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void fireDelete(DeleteEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		for ( DeleteEventListener listener : listeners( EventType.DELETE ) ) {
 			listener.onDelete( event );
@@ -960,6 +991,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void fireDelete(DeleteEvent event, Set transientEntities) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		for ( DeleteEventListener listener : listeners( EventType.DELETE ) ) {
 			listener.onDelete( event, transientEntities );
@@ -1079,6 +1111,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( entityName );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return new MultiIdentifierLoadAccessImpl( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -1184,6 +1226,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	private void fireReplicate(ReplicateEvent event) {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		for ( ReplicateEventListener listener : listeners( EventType.REPLICATE ) ) {
 			listener.onReplicate( event );
@@ -1222,6 +1265,10 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			// do not auto-flush while outside a transaction
 			return false;
 		}
+		if ( persistenceContext.isReadOnlySession() ) {
+			// nothing can be dirty
+			return false;
+		}
 		AutoFlushEvent event = new AutoFlushEvent( querySpaces, this );
 		for ( AutoFlushEventListener listener : listeners( EventType.AUTO_FLUSH ) ) {
 			listener.onAutoFlush( event );
@@ -1249,6 +1296,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 	@Override
 	public void flush() throws HibernateException {
 		errorIfClosed();
+		errorIfReadOnlySession();
 		checkTransactionSynchStatus();
 		if ( persistenceContext.getCascadeLevel() > 0 ) {
 			throw new HibernateException("Flush during cascade is dangerous");
@@ -2440,6 +2488,11 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			return (SharedSessionBuilder) super.flushBeforeCompletion( flushBeforeCompletion );
 		}
 
+		@Override
+		public SharedSessionBuilder readOnly(boolean readOnly) {
+			return (SharedSessionBuilder) super.readOnly( readOnly );
+		}
+
 		@Override
 		public SharedSessionBuilder eventListeners(SessionEventListener... listeners) {
 			super.eventListeners( listeners );
@@ -2597,6 +2650,154 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess {
+		// bounds the statements of unbatched entities, whose identifiers are otherwise all bound to a single one
+		private static final int DEFAULT_BATCH_SIZE = 100;
+
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private int batchSize = -1;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		private MultiIdentifierLoadAccessImpl(String entityName) {
+			this( locateEntityPersister( entityName ) );
+		}
+
+		private MultiIdentifierLoadAccessImpl(Class entityClass) {
+			this( entityClass.getName() );
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl withBatchSize(int batchSize) {
+			if ( batchSize < 1 ) {
+				throw new IllegalArgumentException( "Batch size must be positive: " + batchSize );
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public final List multiLoad(Serializable... ids) {
+			final PersistenceContext persistenceContext = getPersistenceContext();
+			final LockOptions lockOptions = this.lockOptions == null ? LockOptions.NONE : this.lockOptions;
+
+			// the ids not associated with the session, in input order and without duplicates
+			final Map<EntityKey, Serializable> unresolved = new LinkedHashMap<EntityKey, Serializable>();
+			for ( Serializable id : ids ) {
+				final EntityKey entityKey = generateEntityKey( id, entityPersister );
+				if ( persistenceContext.getEntity( entityKey ) == null ) {
+					unresolved.put( entityKey, id );
+				}
+			}
+
+			Set<CacheKey> prefetched = null;
+			try {
+				if ( !unresolved.isEmpty() && entityPersister.hasCache() && getCacheMode().isGetEnabled()
+						&& lockOptions.getLockMode().lessThan( LockMode.READ ) ) {
+					prefetched = resolveFromSharedCache( unresolved );
+				}
+
+				// the ids loaded from the database but not found there
+				Set<EntityKey> notFound = Collections.emptySet();
+				if ( !unresolved.isEmpty() && entityPersister instanceof OuterJoinLoadable ) {
+					DynamicBatchingEntityLoaderBuilder.multiLoad(
+							(OuterJoinLoadable) entityPersister,
+							unresolved.values().toArray( new Serializable[unresolved.size()] ),
+							batchSize > 0 ? batchSize : defaultBatchSize( unresolved.size() ),
+							lockOptions,
+							SessionImpl.this
+					);
+					notFound = new HashSet<EntityKey>();
+					for ( EntityKey entityKey : unresolved.keySet() ) {
+						if ( persistenceContext.getEntity( entityKey ) == null ) {
+							notFound.add( entityKey );
+						}
+					}
+				}
+
+				// everything else is now either associated with the session or prefetched from the second level
+				// cache, and a regular load resolves it without going to the database
+				final IdentifierLoadAccessImpl identifierLoadAccess = new IdentifierLoadAccessImpl( entityPersister );
+				if ( this.lockOptions != null ) {
+					identifierLoadAccess.with( this.lockOptions );
+				}
+				final List result = new ArrayList( ids.length );
+				for ( Serializable id : ids ) {
+					if ( notFound.contains( generateEntityKey( id, entityPersister ) ) ) {
+						result.add( null );
+					}
+					else {
+						result.add( identifierLoadAccess.load( id ) );
+					}
+				}
+				return result;
+			}
+			finally {
+				if ( prefetched != null ) {
+					persistenceContext.getBatchFetchQueue().removePrefetchedCacheEntries( prefetched );
+				}
+			}
+		}
+
+		@Override
+		public final List multiLoad(List<? extends Serializable> ids) {
+			return multiLoad( ids.toArray( new Serializable[ids.size()] ) );
+		}
+
+		/**
+		 * Looks up the unresolved ids in the second level cache with a single (bulk) request, keeps the outcome in the
+		 * batch fetch queue for the loads to come, and drops the cached ids from the unresolved ones.
+		 *
+		 * @return The keys added to the prefetched entries of the batch fetch queue
+		 */
+		private Set<CacheKey> resolveFromSharedCache(Map<EntityKey, Serializable> unresolved) {
+			final Map<CacheKey, EntityKey> cacheKeys = new LinkedHashMap<CacheKey, EntityKey>();
+			for ( Map.Entry<EntityKey, Serializable> entry : unresolved.entrySet() ) {
+				final CacheKey cacheKey = generateCacheKey(
+						entry.getValue(),
+						entityPersister.getIdentifierType(),
+						entityPersister.getRootEntityName()
+				);
+				cacheKeys.put( cacheKey, entry.getKey() );
+			}
+
+			final Map<Object, Object> cachedValues = CacheHelper.fromSharedCache(
+					SessionImpl.this,
+					cacheKeys.keySet(),
+					entityPersister.getCacheAccessStrategy()
+			);
+			final Set<CacheKey> prefetched = getPersistenceContext().getBatchFetchQueue()
+					.addPrefetchedCacheEntries( cacheKeys.keySet(), cachedValues );
+			for ( Object cacheKey : cachedValues.keySet() ) {
+				unresolved.remove( cacheKeys.get( cacheKey ) );
+			}
+			return prefetched;
+		}
+
+		private int defaultBatchSize(int numberOfIds) {
+			int batchSize = entityPersister instanceof AbstractEntityPersister
+					? ( (AbstractEntityPersister) entityPersister ).getBatchSize()
+					: -1;
+			if ( batchSize <= 1 ) {
+				batchSize = DEFAULT_BATCH_SIZE;
+			}
+			final int limit = getFactory().getDialect().getInExpressionCountLimit();
+			if ( limit > 0 ) {
+				batchSize = Math.min( limit, batchSize );
+			}
+			return Math.min( batchSize, numberOfIds );
+		}
+	}
+
 	private EntityPersister locateEntityPersister(String entityName) {
 		final EntityPersister entityPersister = factory.getEntityPersister( entityName );
 		if ( entityPersister == null ) {
@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.NoSuchElementException;
+
+import org.hibernate.JDBCException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.HibernateIterator;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The iterator returned by {@link org.hibernate.Query#stream()}: iterates forward-only {@link ScrollableResults},
+ * evicting the read-only entities of a row from the session once the iterator moves past that row so the
+ * persistence context does not grow with the number of rows processed.
+ */
+public final class StreamingResultsIterator implements HibernateIterator {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			StreamingResultsIterator.class.getName()
+	);
+
+	private final ScrollableResults results;
+	private final Session session;
+
+	private Object[] currentRow;
+	private Boolean hasNext;
+	private boolean closed;
+	private long evictions;
+
+	public StreamingResultsIterator(ScrollableResults results, SessionImplementor session) {
+		this.results = results;
+		// stateless sessions do not keep loaded entities, so there is nothing to evict
+		this.session = session instanceof Session ? (Session) session : null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( hasNext == null ) {
+			evictCurrentRow();
+			hasNext = !closed && results.next();
+			if ( !hasNext ) {
+				close();
+			}
+		}
+		return hasNext;
+	}
+
+	@Override
+	public Object next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException( "No more results" );
+		}
+		hasNext = null;
+		currentRow = results.get();
+		return currentRow.length == 1 ? currentRow[0] : currentRow;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException( "Streamed query results cannot be removed" );
+	}
+
+	@Override
+	public void close() throws JDBCException {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		hasNext = Boolean.FALSE;
+		try {
+			evictCurrentRow();
+		}
+		finally {
+			results.close();
+		}
+		LOG.debugf( "Closed streamed results; evicted %s entities", evictions );
+	}
+
+	private void evictCurrentRow() {
+		if ( currentRow == null ) {
+			return;
+		}
+		if ( session != null && session.isOpen() ) {
+			for ( Object value : currentRow ) {
+				if ( value != null && session.contains( value ) && session.isReadOnly( value ) ) {
+					session.evict( value );
+					evictions++;
+				}
+			}
+		}
+		currentRow = null;
+	}
+}
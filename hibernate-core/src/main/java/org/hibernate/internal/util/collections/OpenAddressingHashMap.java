@@ -0,0 +1,617 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} implementation based on open addressing with linear probing.  Keys and values are stored
+ * in alternating slots of a single array, so unlike {@link java.util.HashMap} no entry object is allocated
+ * per mapping; for maps holding hundreds of thousands of mappings (like the key-indexed maps of a
+ * persistence context) this roughly halves the memory overhead of the map itself and improves locality of
+ * lookups.
+ * <p/>
+ * Removal uses backward-shift deletion, so the table never contains tombstones and lookups stay short no
+ * matter how many removals happened.
+ * <p/>
+ * Null keys are not supported; null values are.  Iterators are fail-fast and support removal.  Like
+ * {@link java.util.HashMap}, this class is not thread-safe.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class OpenAddressingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final int MINIMUM_CAPACITY = 8;
+	private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+	/**
+	 * Keys at even indexes, the associated values at the following odd index.
+	 */
+	private Object[] table;
+	private int size;
+	private int resizeThreshold;
+	private int modCount;
+
+	private transient Set<K> keySet;
+	private transient Collection<V> values;
+	private transient Set<Map.Entry<K,V>> entrySet;
+
+	/**
+	 * Constructs an empty map with the default initial capacity.
+	 */
+	public OpenAddressingHashMap() {
+		this( MINIMUM_CAPACITY );
+	}
+
+	/**
+	 * Constructs an empty map sized to hold the given number of mappings without resizing.
+	 *
+	 * @param expectedSize The number of mappings expected to be held
+	 */
+	public OpenAddressingHashMap(int expectedSize) {
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	private static int capacityFor(int expectedSize) {
+		// keep the load factor at or below 2/3
+		final int minimumCapacity = expectedSize + ( expectedSize >> 1 ) + 1;
+		int capacity = MINIMUM_CAPACITY;
+		while ( capacity < minimumCapacity && capacity < MAXIMUM_CAPACITY ) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		table = new Object[ capacity << 1 ];
+		resizeThreshold = capacity < MAXIMUM_CAPACITY ? ( capacity * 2 ) / 3 : MAXIMUM_CAPACITY - 1;
+	}
+
+	/**
+	 * Spread the hash so that keys with poor {@link Object#hashCode()} distribution (e.g. sequential
+	 * identifiers) do not form long clusters.
+	 *
+	 * @param hash The raw hash code
+	 *
+	 * @return The spread hash code
+	 */
+	static int spread(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	private static int slotFor(int hash, int capacity) {
+		return spread( hash ) & ( capacity - 1 );
+	}
+
+	private static boolean matches(Object candidate, Object key) {
+		return candidate == key || candidate.equals( key );
+	}
+
+	private int capacity() {
+		return table.length >> 1;
+	}
+
+	/**
+	 * Locate the slot holding the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The slot index, or -1 if the key is not contained
+	 */
+	private int slotOf(Object key) {
+		if ( key == null ) {
+			return -1;
+		}
+		final Object[] tab = table;
+		final int mask = capacity() - 1;
+		int slot = slotFor( key.hashCode(), mask + 1 );
+		while ( true ) {
+			final Object candidate = tab[slot << 1];
+			if ( candidate == null ) {
+				return -1;
+			}
+			if ( matches( candidate, key ) ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	/**
+	 * Locate the slot holding the key matching the given components (see {@link KeyMatcher}).
+	 *
+	 * @return The slot index, or -1 if no matching key is contained
+	 */
+	private <A,B> int slotOf(int hashCode, KeyMatcher<? super K,A,B> matcher, A first, B second) {
+		final Object[] tab = table;
+		final int mask = capacity() - 1;
+		int slot = slotFor( hashCode, mask + 1 );
+		while ( true ) {
+			final Object candidate = tab[slot << 1];
+			if ( candidate == null ) {
+				return -1;
+			}
+			//noinspection unchecked
+			if ( matcher.matches( (K) candidate, first, second ) ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slotOf( key ) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		final Object[] tab = table;
+		for ( int i = 0; i < tab.length; i += 2 ) {
+			if ( tab[i] != null ) {
+				final Object candidate = tab[i + 1];
+				if ( candidate == value || ( value != null && value.equals( candidate ) ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int slot = slotOf( key );
+		return slot < 0 ? null : (V) table[( slot << 1 ) + 1];
+	}
+
+	/**
+	 * Get the value mapped to the key described by the given components, without having to instantiate a key.
+	 *
+	 * @param hashCode The hash code the described key would report from {@link Object#hashCode()}
+	 * @param matcher Decides whether a contained key matches the components
+	 * @param first The first key component
+	 * @param second The second key component
+	 *
+	 * @return The mapped value, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public <A,B> V get(int hashCode, KeyMatcher<? super K,A,B> matcher, A first, B second) {
+		final int slot = slotOf( hashCode, matcher, first, second );
+		return slot < 0 ? null : (V) table[( slot << 1 ) + 1];
+	}
+
+	/**
+	 * Get the contained key described by the given components, without having to instantiate a key.
+	 *
+	 * @param hashCode The hash code the described key would report from {@link Object#hashCode()}
+	 * @param matcher Decides whether a contained key matches the components
+	 * @param first The first key component
+	 * @param second The second key component
+	 *
+	 * @return The contained key instance, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public <A,B> K getKey(int hashCode, KeyMatcher<? super K,A,B> matcher, A first, B second) {
+		final int slot = slotOf( hashCode, matcher, first, second );
+		return slot < 0 ? null : (K) table[slot << 1];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new IllegalArgumentException( "Null keys are not supported" );
+		}
+		final Object[] tab = table;
+		final int mask = capacity() - 1;
+		int slot = slotFor( key.hashCode(), mask + 1 );
+		while ( true ) {
+			final int index = slot << 1;
+			final Object candidate = tab[index];
+			if ( candidate == null ) {
+				tab[index] = key;
+				tab[index + 1] = value;
+				modCount++;
+				if ( ++size > resizeThreshold ) {
+					resize( capacity() << 1 );
+				}
+				return null;
+			}
+			if ( matches( candidate, key ) ) {
+				final V old = (V) tab[index + 1];
+				tab[index + 1] = value;
+				return old;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	private void resize(int newCapacity) {
+		if ( newCapacity > MAXIMUM_CAPACITY ) {
+			if ( size >= MAXIMUM_CAPACITY ) {
+				throw new IllegalStateException( "Capacity exhausted" );
+			}
+			resizeThreshold = MAXIMUM_CAPACITY - 1;
+			return;
+		}
+		final Object[] oldTable = table;
+		allocate( newCapacity );
+		final Object[] tab = table;
+		final int mask = newCapacity - 1;
+		for ( int i = 0; i < oldTable.length; i += 2 ) {
+			final Object key = oldTable[i];
+			if ( key != null ) {
+				int slot = slotFor( key.hashCode(), newCapacity );
+				while ( tab[slot << 1] != null ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				tab[slot << 1] = key;
+				tab[( slot << 1 ) + 1] = oldTable[i + 1];
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		final int slot = slotOf( key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V old = (V) table[( slot << 1 ) + 1];
+		removeSlot( slot );
+		return old;
+	}
+
+	/**
+	 * Empties the given slot and shifts back any following entries of the same probe sequence so that
+	 * lookups never encounter a gap before reaching their key.
+	 *
+	 * @param slot The slot to clear
+	 */
+	private void removeSlot(int slot) {
+		final Object[] tab = table;
+		final int mask = capacity() - 1;
+		int hole = slot;
+		int next = ( hole + 1 ) & mask;
+		while ( true ) {
+			final Object key = tab[next << 1];
+			if ( key == null ) {
+				break;
+			}
+			final int home = slotFor( key.hashCode(), mask + 1 );
+			// the entry at "next" may move into the hole only if its home slot is not cyclically within (hole, next]
+			final boolean movable = hole <= next
+					? ( home <= hole || home > next )
+					: ( home <= hole && home > next );
+			if ( movable ) {
+				tab[hole << 1] = key;
+				tab[( hole << 1 ) + 1] = tab[( next << 1 ) + 1];
+				hole = next;
+			}
+			next = ( next + 1 ) & mask;
+		}
+		tab[hole << 1] = null;
+		tab[( hole << 1 ) + 1] = null;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * Would removing the entry in the given slot possibly shift entries from the start of the table to its
+	 * end (because the following probe sequence wraps around)?
+	 */
+	private boolean clusterWrapsAfter(int slot) {
+		final Object[] tab = table;
+		final int capacity = capacity();
+		for ( int i = slot + 1; i < capacity; i++ ) {
+			if ( tab[i << 1] == null ) {
+				return false;
+			}
+		}
+		return tab[0] != null;
+	}
+
+	@Override
+	public void clear() {
+		if ( size > 0 ) {
+			Arrays.fill( table, null );
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySet == null ) {
+			keySet = new KeySet();
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( values == null ) {
+			values = new Values();
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Map.Entry<K,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Matches a contained key against the components of a key which the caller does not want to instantiate
+	 * just for the sake of a lookup.  Implementations must be consistent with the keys' {@code equals()}.
+	 *
+	 * @param <K> The key type
+	 * @param <A> The type of the first key component
+	 * @param <B> The type of the second key component
+	 */
+	public static interface KeyMatcher<K,A,B> {
+		/**
+		 * Does the given key match the given components?
+		 *
+		 * @param key The contained key
+		 * @param first The first key component
+		 * @param second The second key component
+		 *
+		 * @return {@code true} if the key is equal to the key described by the components
+		 */
+		public boolean matches(K key, A first, B second);
+	}
+
+	/**
+	 * Base iterator over the occupied slots.  Removal through the iterator normally works directly on the
+	 * live table; when a removal could shift not-yet-visited entries from the start of the table behind the
+	 * cursor (or already-visited ones ahead of it), iteration continues over a snapshot of the table instead.
+	 */
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		private Object[] traversed = table;
+		private int nextSlot = -1;
+		private int currentSlot = -1;
+		private int expectedModCount = modCount;
+
+		SlotIterator() {
+			advance( 0 );
+		}
+
+		private void advance(int from) {
+			final Object[] tab = traversed;
+			final int capacity = tab.length >> 1;
+			int slot = from;
+			while ( slot < capacity && tab[slot << 1] == null ) {
+				slot++;
+			}
+			nextSlot = slot < capacity ? slot : -1;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextSlot >= 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		final K nextKey() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( nextSlot < 0 ) {
+				throw new NoSuchElementException();
+			}
+			currentSlot = nextSlot;
+			advance( currentSlot + 1 );
+			return (K) traversed[currentSlot << 1];
+		}
+
+		@SuppressWarnings("unchecked")
+		final V currentValue() {
+			if ( traversed == table ) {
+				return (V) traversed[( currentSlot << 1 ) + 1];
+			}
+			return get( traversed[currentSlot << 1] );
+		}
+
+		@Override
+		public void remove() {
+			if ( currentSlot < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( traversed == table ) {
+				if ( clusterWrapsAfter( currentSlot ) ) {
+					traversed = table.clone();
+					OpenAddressingHashMap.this.remove( traversed[currentSlot << 1] );
+				}
+				else {
+					removeSlot( currentSlot );
+					// an entry may have been shifted into the slot we just emptied
+					advance( currentSlot );
+				}
+			}
+			else {
+				OpenAddressingHashMap.this.remove( traversed[currentSlot << 1] );
+			}
+			currentSlot = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class KeyIterator extends SlotIterator<K> {
+		@Override
+		public K next() {
+			return nextKey();
+		}
+	}
+
+	private final class ValueIterator extends SlotIterator<V> {
+		@Override
+		public V next() {
+			nextKey();
+			return currentValue();
+		}
+	}
+
+	private final class EntryIterator extends SlotIterator<Map.Entry<K,V>> {
+		@Override
+		public Map.Entry<K,V> next() {
+			final K key = nextKey();
+			return new MapEntry( key, currentValue() );
+		}
+	}
+
+	private final class MapEntry extends SimpleEntry<K,V> {
+		private MapEntry(K key, V value) {
+			super( key, value );
+		}
+
+		@Override
+		public V setValue(V value) {
+			put( getKey(), value );
+			return super.setValue( value );
+		}
+	}
+
+	private final class KeySet extends AbstractSet<K> {
+		@Override
+		public Iterator<K> iterator() {
+			return new KeyIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey( o );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			final int slot = slotOf( o );
+			if ( slot < 0 ) {
+				return false;
+			}
+			removeSlot( slot );
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private final class Values extends AbstractCollection<V> {
+		@Override
+		public Iterator<V> iterator() {
+			return new ValueIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsValue( o );
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+		@Override
+		public Iterator<Map.Entry<K,V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry entry = (Map.Entry) o;
+			final int slot = slotOf( entry.getKey() );
+			if ( slot < 0 ) {
+				return false;
+			}
+			final Object value = table[( slot << 1 ) + 1];
+			return value == entry.getValue() || ( value != null && value.equals( entry.getValue() ) );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if ( !contains( o ) ) {
+				return false;
+			}
+			OpenAddressingHashMap.this.remove( ( (Map.Entry) o ).getKey() );
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.io.Serializable;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Support for {@link BatchFetchStyle#ARRAY} batch fetching: the keys to fetch are bound as a single
+ * {@link java.sql.Array} parameter, restricted through {@link Dialect#getArrayParameterRestriction}.
+ * <p/>
+ * The batch of keys is passed to the loader as a single positional parameter value (see {@link #batch}) so that
+ * the positional parameters still line up with the JDBC parameters of the SQL, even after filter parameters
+ * have been expanded into it.  Loaders then bind their positional parameters through
+ * {@link #bindPositionalParameters}, and release the bound arrays through {@link #freeArrays} once the statement
+ * has been executed.
+ */
+public final class ArrayBatchFetchSupport {
+	private static final Logger LOG = CoreLogging.logger( ArrayBatchFetchSupport.class );
+
+	private ArrayBatchFetchSupport() {
+	}
+
+	/**
+	 * Can keys of the given type, mapped to the given columns, be batch fetched using an array parameter?
+	 *
+	 * @param keyType The key (identifier or collection key) type
+	 * @param keyColumnNames The key columns
+	 * @param factory The SessionFactory
+	 *
+	 * @return {@code true} if the dialect supports array parameter restrictions and the key is a single
+	 * column of a type whose values can be passed to {@link java.sql.Connection#createArrayOf} as-is
+	 */
+	public static boolean isApplicable(Type keyType, String[] keyColumnNames, SessionFactoryImplementor factory) {
+		return factory.getDialect().supportsArrayParameterRestriction()
+				&& keyColumnNames.length == 1
+				&& ( keyType instanceof LongType
+						|| keyType instanceof IntegerType
+						|| keyType instanceof ShortType
+						|| keyType instanceof StringType );
+	}
+
+	/**
+	 * Builds the restriction of the key column against the array parameter.
+	 *
+	 * @param alias The table alias
+	 * @param columnNames The key column (must be exactly one)
+	 * @param dialect The dialect
+	 *
+	 * @return The restriction fragment
+	 */
+	public static StringBuilder buildRestrictionFragment(String alias, String[] columnNames, Dialect dialect) {
+		return new StringBuilder( dialect.getArrayParameterRestriction( StringHelper.qualify( alias, columnNames[0] ) ) );
+	}
+
+	/**
+	 * Wraps the keys to fetch into the single positional parameter value understood by
+	 * {@link #bindPositionalParameters}.
+	 *
+	 * @param keys The keys to fetch
+	 *
+	 * @return The parameter value
+	 */
+	public static Object batch(Serializable[] keys) {
+		return new Batch( keys );
+	}
+
+	/**
+	 * Binds the (filtered) positional parameters, binding any {@link #batch} value as an array of the element
+	 * type of its parameter type and any other value as usual.
+	 *
+	 * @param statement The JDBC prepared statement
+	 * @param queryParameters The parameters to bind
+	 * @param startIndex The position from which to start binding parameter values
+	 * @param session The originating session
+	 *
+	 * @return The number of JDBC bind positions bound
+	 *
+	 * @throws SQLException Indicates problems creating or binding the array
+	 */
+	public static int bindPositionalParameters(
+			PreparedStatement statement,
+			QueryParameters queryParameters,
+			int startIndex,
+			SessionImplementor session) throws SQLException {
+		final SessionFactoryImplementor factory = session.getFactory();
+		final Object[] values = queryParameters.getFilteredPositionalParameterValues();
+		final Type[] types = queryParameters.getFilteredPositionalParameterTypes();
+		int span = 0;
+		for ( int i = 0; i < values.length; i++ ) {
+			if ( values[i] instanceof Batch ) {
+				final String elementTypeName = factory.getDialect().getArrayParameterElementTypeName(
+						types[i].sqlTypes( factory )[0]
+				);
+				final Batch batch = (Batch) values[i];
+				batch.array = statement.getConnection().createArrayOf( elementTypeName, batch.keys );
+				statement.setArray( startIndex + span, batch.array );
+				span++;
+			}
+			else {
+				types[i].nullSafeSet( statement, values[i], startIndex + span, session );
+				span += types[i].getColumnSpan( factory );
+			}
+		}
+		return span;
+	}
+
+	/**
+	 * Frees the arrays bound by {@link #bindPositionalParameters}; to be called once the statement has been executed.
+	 *
+	 * @param queryParameters The parameters the statement was bound with
+	 */
+	public static void freeArrays(QueryParameters queryParameters) {
+		final Object[] values = queryParameters.getPositionalParameterValues();
+		if ( values == null ) {
+			return;
+		}
+		for ( Object value : values ) {
+			if ( value instanceof Batch ) {
+				( (Batch) value ).free();
+			}
+		}
+	}
+
+	private static final class Batch implements Serializable {
+		private final Serializable[] keys;
+		private transient Array array;
+
+		private Batch(Serializable[] keys) {
+			this.keys = keys;
+		}
+
+		private void free() {
+			if ( array == null ) {
+				return;
+			}
+			try {
+				array.free();
+			}
+			catch (SQLException e) {
+				LOG.debugf( "Unable to free the JDBC array of batch fetched keys : %s", e.getMessage() );
+			}
+			finally {
+				array = null;
+			}
+		}
+	}
+}
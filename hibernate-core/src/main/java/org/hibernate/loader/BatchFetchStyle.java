@@ -55,7 +55,14 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Binds all available ids (up to the batch-size defined on the entity/collection) as a single JDBC
+	 * {@link java.sql.Array} parameter, so that a single prepared statement serves every batch size.  Requires
+	 * {@link org.hibernate.dialect.Dialect#supportsArrayParameterRestriction() dialect support} and a single-column
+	 * numeric or string key; otherwise falls back to {@link #DYNAMIC}.
+	 */
+	ARRAY;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * The positions of the columns read by position from one JDBC result set.
+ * <p/>
+ * Column positions only hold for the result set they were resolved against, while loaders are shared by all
+ * sessions.  An instance is therefore created for each result set and passed along with it while its rows are
+ * processed.  Positions are resolved on first use, and the values of types which cannot be extracted by position
+ * are still read by name.
+ */
+public final class ColumnPositions {
+	private static final int UNRESOLVED = 0;
+	private static final int BY_NAME = -1;
+
+	private int[] resultColumnPositions;
+	private Map<Object, Map<Loadable, int[]>> propertyColumnPositions;
+
+	/**
+	 * Get the positions of the result columns of a loader, which the loader then reads through
+	 * {@link #resolve(int[], int, Type, String[], ResultSet)}.
+	 *
+	 * @param span The number of result columns
+	 *
+	 * @return The positions of the result columns
+	 */
+	public int[] getResultColumnPositions(int span) {
+		if ( resultColumnPositions == null ) {
+			resultColumnPositions = new int[span];
+		}
+		return resultColumnPositions;
+	}
+
+	/**
+	 * Get the positions of the property columns of an entity in the result set, to be passed to
+	 * {@link org.hibernate.persister.entity.AbstractEntityPersister}'s positional {@code hydrate}.
+	 *
+	 * @param entityAliases The column aliases of the entity, which tell apart the entities of the result set
+	 * @param persister The persister of the concrete entity being hydrated
+	 *
+	 * @return The positions of the property columns
+	 */
+	public int[] getPropertyColumnPositions(Object entityAliases, Loadable persister) {
+		if ( propertyColumnPositions == null ) {
+			propertyColumnPositions = new IdentityHashMap<Object, Map<Loadable, int[]>>();
+		}
+		Map<Loadable, int[]> positionsByPersister = propertyColumnPositions.get( entityAliases );
+		if ( positionsByPersister == null ) {
+			positionsByPersister = new IdentityHashMap<Loadable, int[]>();
+			propertyColumnPositions.put( entityAliases, positionsByPersister );
+		}
+		int[] positions = positionsByPersister.get( persister );
+		if ( positions == null ) {
+			positions = new int[ persister.getPropertyNames().length ];
+			positionsByPersister.put( persister, positions );
+		}
+		return positions;
+	}
+
+	/**
+	 * Resolve the position of a value in the result set, if its type can be extracted by position.
+	 *
+	 * @param positions The positions of the values read alongside this one, or {@code null} to read by name
+	 * @param index The index of the value among {@code positions}
+	 * @param type The type of the value
+	 * @param columns The names of the columns of the value
+	 * @param rs The result set
+	 *
+	 * @return The position to pass to the positional {@link AbstractStandardBasicType} {@code nullSafeGet}, or a
+	 * negative number if the value has to be read by name
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set
+	 */
+	public static int resolve(int[] positions, int index, Type type, String[] columns, ResultSet rs)
+			throws SQLException {
+		if ( positions == null ) {
+			return BY_NAME;
+		}
+		int position = positions[index];
+		if ( position == UNRESOLVED ) {
+			position = type instanceof AbstractStandardBasicType && columns.length == 1
+					? rs.findColumn( columns[0] )
+					: BY_NAME;
+			positions[index] = position;
+		}
+		return position;
+	}
+}
@@ -54,6 +54,7 @@ import org.hibernate.cache.spi.FilterKey;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.NotFoundCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
@@ -84,6 +85,7 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
@@ -702,6 +704,7 @@ public abstract class Loader {
 				hydratedObjects,
 				keys,
 				returnProxies,
+				null,
 				null
 		);
 	}
@@ -715,7 +718,8 @@ public abstract class Loader {
 			final List hydratedObjects,
 			final EntityKey[] keys,
 			boolean returnProxies,
-			ResultTransformer forcedResultTransformer) throws SQLException, HibernateException {
+			ResultTransformer forcedResultTransformer,
+			ColumnPositions columnPositions) throws SQLException, HibernateException {
 		final Loadable[] persisters = getEntityPersisters();
 		final int entitySpan = persisters.length;
 		extractKeysFromResultSet( persisters, queryParameters, resultSet, session, keys, lockModesArray, hydratedObjects );
@@ -731,6 +735,7 @@ public abstract class Loader {
 				optionalObjectKey,
 				lockModesArray,
 				hydratedObjects,
+				columnPositions,
 				session
 		);
 
@@ -752,8 +757,11 @@ public abstract class Loader {
 		applyPostLoadLocks( row, lockModesArray, session );
 
 		return forcedResultTransformer == null
-				? getResultColumnOrRow( row, queryParameters.getResultTransformer(), resultSet, session )
-				: forcedResultTransformer.transformTuple( getResultRow( row, resultSet, session ), getResultRowAliases() )
+				? getResultColumnOrRow( row, queryParameters.getResultTransformer(), resultSet, columnPositions, session )
+				: forcedResultTransformer.transformTuple(
+						getResultRow( row, resultSet, columnPositions, session ),
+						getResultRowAliases()
+				)
 		;
 	}
 
@@ -830,6 +838,7 @@ public abstract class Loader {
 									getOptionalObjectKey( queryParameters, session ),
 									queryParameters.getOptionalObject(),
 									hydratedObjects,
+									null,
 									session
 							);
 						}
@@ -944,6 +953,7 @@ public abstract class Loader {
 
 		handleEmptyCollections( queryParameters.getCollectionKeys(), rs, session );
 		EntityKey[] keys = new EntityKey[entitySpan]; //we can reuse it for each row
+		final ColumnPositions columnPositions = new ColumnPositions();
 		LOG.trace( "Processing result set" );
 		int count;
 
@@ -959,7 +969,8 @@ public abstract class Loader {
 					hydratedObjects,
 					keys,
 					returnProxies,
-					forcedResultTransformer
+					forcedResultTransformer,
+					columnPositions
 			);
 			results.add( result );
 			if ( createSubselects ) {
@@ -1204,6 +1215,24 @@ public abstract class Loader {
 		return row;
 	}
 
+	/**
+	 * Get the actual object that is returned in the user-visible result list,
+	 * reading the result columns by position where the given positions allow it.
+	 * This implementation ignores the positions and delegates to
+	 * {@link #getResultColumnOrRow(Object[], ResultTransformer, ResultSet, SessionImplementor)}.
+	 *
+	 * @param columnPositions The column positions of the result set being processed,
+	 * or {@code null} if the result columns are to be read by name
+	 */
+	protected Object getResultColumnOrRow(
+			Object[] row,
+			ResultTransformer transformer,
+			ResultSet rs,
+			ColumnPositions columnPositions,
+			SessionImplementor session) throws SQLException, HibernateException {
+		return getResultColumnOrRow( row, transformer, rs, session );
+	}
+
 	protected boolean[] includeInResultRow() {
 		return null;
 	}
@@ -1215,6 +1244,22 @@ public abstract class Loader {
 		return row;
 	}
 
+	/**
+	 * Get the result row, reading the result columns by position where the given
+	 * positions allow it.  This implementation ignores the positions and delegates to
+	 * {@link #getResultRow(Object[], ResultSet, SessionImplementor)}.
+	 *
+	 * @param columnPositions The column positions of the result set being processed,
+	 * or {@code null} if the result columns are to be read by name
+	 */
+	protected Object[] getResultRow(
+			Object[] row,
+			ResultSet rs,
+			ColumnPositions columnPositions,
+			SessionImplementor session) throws SQLException, HibernateException {
+		return getResultRow( row, rs, session );
+	}
+
 	/**
 	 * For missing objects associated by one-to-one with another object in the
 	 * result set, register the fact that the the object is missing with the
@@ -1477,6 +1522,7 @@ public abstract class Loader {
 			final EntityKey optionalObjectKey,
 			final LockMode[] lockModes,
 			final List hydratedObjects,
+			final ColumnPositions columnPositions,
 			final SessionImplementor session)
 	throws HibernateException, SQLException {
 
@@ -1522,6 +1568,7 @@ public abstract class Loader {
 							optionalObjectKey,
 							optionalObject,
 							hydratedObjects,
+							columnPositions,
 							session
 						);
 				}
@@ -1582,6 +1629,7 @@ public abstract class Loader {
 			final EntityKey optionalObjectKey,
 			final Object optionalObject,
 			final List hydratedObjects,
+			final ColumnPositions columnPositions,
 			final SessionImplementor session)
 	throws HibernateException, SQLException {
 		final String instanceClass = getInstanceClass(
@@ -1603,7 +1651,7 @@ public abstract class Loader {
 					),
 					persister.getCacheAccessStrategy()
 			);
-			if ( cachedEntry != null ) {
+			if ( cachedEntry != null && !NotFoundCacheEntry.isNotFound( cachedEntry ) ) {
 				CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( cachedEntry, factory );
 				return ( (ReferenceCacheEntryImpl) entry ).getReference();
 			}
@@ -1634,6 +1682,7 @@ public abstract class Loader {
 				rowIdAlias,
 				acquiredLockMode,
 				persister,
+				columnPositions,
 				session
 			);
 
@@ -1663,6 +1712,7 @@ public abstract class Loader {
 			final String rowIdAlias,
 			final LockMode lockMode,
 			final Loadable rootPersister,
+			final ColumnPositions columnPositions,
 			final SessionImplementor session)
 	throws SQLException, HibernateException {
 
@@ -1693,15 +1743,30 @@ public abstract class Loader {
 				getEntityAliases()[i].getSuffixedPropertyAliases() :
 				getEntityAliases()[i].getSuffixedPropertyAliases(persister);
 
-		final Object[] values = persister.hydrate(
-				rs,
-				id,
-				object,
-				rootPersister,
-				cols,
-				eagerPropertyFetch,
-				session
+		final Object[] values;
+		if ( columnPositions != null && persister instanceof AbstractEntityPersister ) {
+			values = ( (AbstractEntityPersister) persister ).hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					columnPositions.getPropertyColumnPositions( getEntityAliases()[i], persister ),
+					eagerPropertyFetch,
+					session
+			);
+		}
+		else {
+			values = persister.hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					eagerPropertyFetch,
+					session
 			);
+		}
 
 		final Object rowId = persister.hasRowId() ? rs.getObject(rowIdAlias) : null;
 
@@ -2092,7 +2157,7 @@ public abstract class Loader {
 				LOG.debugf( "Wrapping result set [%s]", rs );
 				return session.getFactory()
 						.getJdbcServices()
-						.getResultSetWrapper().wrap( rs, retreiveColumnNameToIndexCache( rs ) );
+						.getResultSetWrapper().wrap( rs, retreiveColumnNameToIndexCache( rs, session ) );
 			}
 			catch(SQLException e) {
 				LOG.unableToWrapResultSet( e );
@@ -2104,13 +2169,16 @@ public abstract class Loader {
 		}
 	}
 
-	private ColumnNameCache retreiveColumnNameToIndexCache(final ResultSet rs) throws SQLException {
+	private ColumnNameCache retreiveColumnNameToIndexCache(final ResultSet rs, final SessionImplementor session)
+			throws SQLException {
 		final ColumnNameCache cache = columnNameCache;
 		if ( cache == null ) {
 			//there is no need for a synchronized second check, as in worst case
-			//we'll have allocated an unnecessary ColumnNameCache
-			LOG.trace( "Building columnName -> columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			//we'll have looked up the shared ColumnNameCache twice
+			final String sql = getSQLString();
+			columnNameCache = sql == null
+					? new ColumnNameCache( rs.getMetaData() )
+					: session.getFactory().getQueryPlanCache().getColumnNameCache( sql, rs );
 			return columnNameCache;
 		}
 		else {
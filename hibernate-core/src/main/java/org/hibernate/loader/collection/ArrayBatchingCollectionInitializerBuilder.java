@@ -0,0 +1,242 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.collection;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayBatchFetchSupport;
+import org.hibernate.loader.JoinWalker;
+import org.hibernate.loader.Loader;
+import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.collection.QueryableCollection;
+import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
+
+/**
+ * A BatchingCollectionInitializerBuilder that builds CollectionInitializer instances binding the collection keys
+ * waiting to be fetched as a single array parameter, so that one prepared statement serves every batch size.
+ * Falls back to {@link DynamicBatchingCollectionInitializerBuilder} for collections whose keys cannot be bound
+ * that way.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+ */
+public class ArrayBatchingCollectionInitializerBuilder extends BatchingCollectionInitializerBuilder {
+	public static final ArrayBatchingCollectionInitializerBuilder INSTANCE = new ArrayBatchingCollectionInitializerBuilder();
+
+	@Override
+	protected CollectionInitializer createRealBatchingCollectionInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		if ( !isApplicable( persister, factory ) ) {
+			return DynamicBatchingCollectionInitializerBuilder.INSTANCE.createRealBatchingCollectionInitializer(
+					persister,
+					maxBatchSize,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+	}
+
+	@Override
+	protected CollectionInitializer createRealBatchingOneToManyInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		if ( !isApplicable( persister, factory ) ) {
+			return DynamicBatchingCollectionInitializerBuilder.INSTANCE.createRealBatchingOneToManyInitializer(
+					persister,
+					maxBatchSize,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+	}
+
+	private static boolean isApplicable(QueryableCollection persister, SessionFactoryImplementor factory) {
+		return ArrayBatchFetchSupport.isApplicable( persister.getKeyType(), persister.getKeyColumnNames(), factory );
+	}
+
+	public static class ArrayBatchingCollectionInitializer extends BatchingCollectionInitializer {
+		private final int maxBatchSize;
+		private final Loader singleKeyLoader;
+		private final ArrayBatchingCollectionLoader batchLoader;
+
+		public ArrayBatchingCollectionInitializer(
+				QueryableCollection collectionPersister,
+				int maxBatchSize,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			super( collectionPersister );
+			this.maxBatchSize = maxBatchSize;
+
+			if ( collectionPersister.isOneToMany() ) {
+				this.singleKeyLoader = new OneToManyLoader( collectionPersister, 1, factory, influencers );
+			}
+			else {
+				this.singleKeyLoader = new BasicCollectionLoader( collectionPersister, 1, factory, influencers );
+			}
+
+			this.batchLoader = new ArrayBatchingCollectionLoader( collectionPersister, factory, influencers );
+		}
+
+		@Override
+		public void initialize(Serializable id, SessionImplementor session) throws HibernateException {
+			final Serializable[] batch = session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getCollectionBatch( collectionPersister(), id, maxBatchSize );
+			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			if ( numberOfIds <= 1 ) {
+				singleKeyLoader.loadCollection( session, id, collectionPersister().getKeyType() );
+				return;
+			}
+
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
+
+			batchLoader.doBatchedCollectionLoad( session, idsToLoad, collectionPersister().getKeyType() );
+		}
+	}
+
+	private static class ArrayBatchingCollectionLoader extends CollectionLoader {
+		public ArrayBatchingCollectionLoader(
+				QueryableCollection collectionPersister,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			super( collectionPersister, factory, influencers );
+
+			JoinWalker walker = buildJoinWalker( collectionPersister, factory, influencers );
+			initFromWalker( walker );
+			postInstantiate();
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Array batch-fetching SQL for collection [%s] : %s",
+						collectionPersister.getRole(),
+						getSQLString()
+				);
+			}
+		}
+
+		private JoinWalker buildJoinWalker(
+				QueryableCollection collectionPersister,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+
+			if ( collectionPersister.isOneToMany() ) {
+				return new OneToManyJoinWalker( collectionPersister, -1, null, factory, influencers ) {
+					@Override
+					protected StringBuilder whereString(String alias, String[] columnNames, String subselect, int batchSize) {
+						if ( subselect != null ) {
+							return super.whereString( alias, columnNames, subselect, batchSize );
+						}
+
+						return ArrayBatchFetchSupport.buildRestrictionFragment( alias, columnNames, getFactory().getDialect() );
+					}
+				};
+			}
+			else {
+				return new BasicCollectionJoinWalker( collectionPersister, -1, null, factory, influencers ) {
+					@Override
+					protected StringBuilder whereString(String alias, String[] columnNames, String subselect, int batchSize) {
+						if ( subselect != null ) {
+							return super.whereString( alias, columnNames, subselect, batchSize );
+						}
+
+						return ArrayBatchFetchSupport.buildRestrictionFragment( alias, columnNames, getFactory().getDialect() );
+					}
+				};
+			}
+		}
+
+		public final void doBatchedCollectionLoad(
+				final SessionImplementor session,
+				final Serializable[] ids,
+				final Type type) throws HibernateException {
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"Batch loading collection: %s",
+						MessageHelper.collectionInfoString( collectionPersister(), ids, getFactory() )
+				);
+			}
+
+			final QueryParameters queryParameters = new QueryParameters(
+					new Type[] { type },
+					new Object[] { ArrayBatchFetchSupport.batch( ids ) },
+					ids
+			);
+			try {
+				doQueryAndInitializeNonLazyCollections( session, queryParameters, true );
+			}
+			catch ( SQLException e ) {
+				throw getFactory().getSQLExceptionHelper().convert(
+						e,
+						"could not initialize a collection batch: " +
+								MessageHelper.collectionInfoString( collectionPersister(), ids, getFactory() ),
+						getSQLString()
+				);
+			}
+
+			LOG.debug( "Done batch load" );
+		}
+
+		@Override
+		protected int bindPositionalParameters(
+				PreparedStatement statement,
+				QueryParameters queryParameters,
+				int startIndex,
+				SessionImplementor session) throws SQLException {
+			return ArrayBatchFetchSupport.bindPositionalParameters( statement, queryParameters, startIndex, session );
+		}
+
+		@Override
+		protected SqlStatementWrapper executeQueryStatement(
+				String sqlStatement,
+				QueryParameters queryParameters,
+				boolean scroll,
+				List<AfterLoadAction> afterLoadActions,
+				SessionImplementor session) throws SQLException {
+			try {
+				return super.executeQueryStatement( sqlStatement, queryParameters, scroll, afterLoadActions, session );
+			}
+			finally {
+				ArrayBatchFetchSupport.freeArrays( queryParameters );
+			}
+		}
+	}
+}
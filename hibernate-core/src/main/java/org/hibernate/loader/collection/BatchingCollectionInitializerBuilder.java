@@ -43,6 +43,9 @@ public abstract class BatchingCollectionInitializerBuilder {
 			case DYNAMIC: {
 				return DynamicBatchingCollectionInitializerBuilder.INSTANCE;
 			}
+			case ARRAY: {
+				return ArrayBatchingCollectionInitializerBuilder.INSTANCE;
+			}
 			default: {
 				return org.hibernate.loader.collection.plan.LegacyBatchingCollectionInitializerBuilder.INSTANCE;
 				//return LegacyBatchingCollectionInitializerBuilder.INSTANCE;
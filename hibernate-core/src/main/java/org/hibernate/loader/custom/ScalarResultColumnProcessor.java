@@ -29,6 +29,7 @@ import java.util.List;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.Type;
 
 /**
@@ -68,6 +69,10 @@ public class ScalarResultColumnProcessor implements ResultColumnProcessor {
 	@Override
 	public Object extract(Object[] data, ResultSet resultSet, SessionImplementor session)
 			throws SQLException, HibernateException {
+		if ( position > 0 && type instanceof AbstractStandardBasicType ) {
+			// the position is known once discovery has been performed
+			return ( (AbstractStandardBasicType) type ).nullSafeGet( resultSet, position, alias, session );
+		}
 		return type.nullSafeGet( resultSet, alias, session, null );
 	}
 }
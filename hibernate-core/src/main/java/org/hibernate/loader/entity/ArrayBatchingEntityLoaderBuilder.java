@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayBatchFetchSupport;
+import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.type.Type;
+
+/**
+ * A BatchingEntityLoaderBuilder that builds UniqueEntityLoader instances binding the entity ids waiting to be
+ * fetched as a single array parameter, so that one prepared statement serves every batch size.  Falls back to
+ * {@link DynamicBatchingEntityLoaderBuilder} for entities whose ids cannot be bound that way.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+ */
+public class ArrayBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuilder {
+	public static final ArrayBatchingEntityLoaderBuilder INSTANCE = new ArrayBatchingEntityLoaderBuilder();
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		if ( !isApplicable( persister, factory ) ) {
+			return DynamicBatchingEntityLoaderBuilder.INSTANCE.buildBatchingLoader(
+					persister,
+					batchSize,
+					lockMode,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingEntityLoader( persister, batchSize, lockMode, factory, influencers );
+	}
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		if ( !isApplicable( persister, factory ) ) {
+			return DynamicBatchingEntityLoaderBuilder.INSTANCE.buildBatchingLoader(
+					persister,
+					batchSize,
+					lockOptions,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayBatchingEntityLoader( persister, batchSize, lockOptions.getLockMode(), factory, influencers );
+	}
+
+	private static boolean isApplicable(OuterJoinLoadable persister, SessionFactoryImplementor factory) {
+		return ArrayBatchFetchSupport.isApplicable(
+				persister.getIdentifierType(),
+				persister.getIdentifierColumnNames(),
+				factory
+		);
+	}
+
+	public static class ArrayBatchingEntityLoader extends BatchingEntityLoader {
+		private final int maxBatchSize;
+		private final UniqueEntityLoader singleKeyLoader;
+		private final ArrayEntityLoader arrayLoader;
+
+		public ArrayBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				LockMode lockMode,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister );
+			this.maxBatchSize = maxBatchSize;
+			this.singleKeyLoader = new EntityLoader( persister, 1, lockMode, factory, loadQueryInfluencers );
+			this.arrayLoader = new ArrayEntityLoader( persister, lockMode, factory, loadQueryInfluencers );
+		}
+
+		@Override
+		public Object load(
+				Serializable id,
+				Object optionalObject,
+				SessionImplementor session,
+				LockOptions lockOptions) {
+			final Serializable[] batch = session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getEntityBatch( persister(), id, maxBatchSize, persister().getEntityMode() );
+
+			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			if ( numberOfIds <= 1 ) {
+				return singleKeyLoader.load( id, optionalObject, session );
+			}
+
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
+			return doBatchLoad( id, arrayLoader, session, idsToLoad, optionalObject, lockOptions );
+		}
+
+		@Override
+		protected QueryParameters buildQueryParameters(
+				Serializable id,
+				Serializable[] ids,
+				Object optionalObject,
+				LockOptions lockOptions) {
+			QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes( new Type[] { persister().getIdentifierType() } );
+			qp.setPositionalParameterValues( new Object[] { ArrayBatchFetchSupport.batch( ids ) } );
+			qp.setOptionalObject( optionalObject );
+			qp.setOptionalEntityName( persister().getEntityName() );
+			qp.setOptionalId( id );
+			qp.setLockOptions( lockOptions );
+			return qp;
+		}
+	}
+
+	private static class ArrayEntityLoader extends EntityLoader {
+		public ArrayEntityLoader(
+				OuterJoinLoadable persister,
+				LockMode lockMode,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister, -1, lockMode, factory, loadQueryInfluencers );
+
+			EntityJoinWalker walker = new EntityJoinWalker(
+					persister,
+					persister.getIdentifierColumnNames(),
+					-1,
+					lockMode,
+					factory,
+					loadQueryInfluencers
+			) {
+				@Override
+				protected StringBuilder whereString(String alias, String[] columnNames, int batchSize) {
+					return ArrayBatchFetchSupport.buildRestrictionFragment( alias, columnNames, getFactory().getDialect() );
+				}
+			};
+
+			initFromWalker( walker );
+			postInstantiate();
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf( "Array batch-fetching SQL for entity [%s] [%s] : %s", entityName, lockMode, getSQLString() );
+			}
+		}
+
+		@Override
+		protected boolean isSingleRowLoader() {
+			return false;
+		}
+
+		@Override
+		protected int bindPositionalParameters(
+				PreparedStatement statement,
+				QueryParameters queryParameters,
+				int startIndex,
+				SessionImplementor session) throws SQLException {
+			return ArrayBatchFetchSupport.bindPositionalParameters( statement, queryParameters, startIndex, session );
+		}
+
+		@Override
+		protected SqlStatementWrapper executeQueryStatement(
+				String sqlStatement,
+				QueryParameters queryParameters,
+				boolean scroll,
+				List<AfterLoadAction> afterLoadActions,
+				SessionImplementor session) throws SQLException {
+			try {
+				return super.executeQueryStatement( sqlStatement, queryParameters, scroll, afterLoadActions, session );
+			}
+			finally {
+				ArrayBatchFetchSupport.freeArrays( queryParameters );
+			}
+		}
+	}
+}
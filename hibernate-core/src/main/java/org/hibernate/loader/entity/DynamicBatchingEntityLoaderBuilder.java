@@ -28,6 +28,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hibernate.LockMode;
@@ -44,6 +45,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -78,6 +80,53 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		return new DynamicBatchingEntityLoader( persister, batchSize, lockOptions, factory, influencers );
 	}
 
+	/**
+	 * Loads the entities with the given ids, building the batch-fetch SQL for the actual number of ids of each batch
+	 * of at most <tt>batchSize</tt> ids.  The loaded entities are associated with the session.
+	 *
+	 * @param persister The persister of the entities to load
+	 * @param ids The ids of the entities to load
+	 * @param batchSize The maximum number of ids loaded by a single statement
+	 * @param lockOptions The lock options
+	 * @param session The session from which the request originated
+	 *
+	 * @return The loaded entities; ids of entities that do not exist have no counterpart
+	 */
+	public static List multiLoad(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionImplementor session) {
+		final DynamicEntityLoader loader = new DynamicEntityLoader(
+				persister,
+				batchSize,
+				lockOptions,
+				session.getFactory(),
+				session.getLoadQueryInfluencers()
+		);
+
+		final List results = new ArrayList( ids.length );
+		for ( int start = 0; start < ids.length; start += batchSize ) {
+			final Serializable[] idsToLoad = new Serializable[ Math.min( batchSize, ids.length - start ) ];
+			System.arraycopy( ids, start, idsToLoad, 0, idsToLoad.length );
+
+			if ( log.isDebugEnabled() ) {
+				log.debugf( "Multi-loading entities: %s", MessageHelper.infoString( persister, idsToLoad, session.getFactory() ) );
+			}
+
+			final Type[] types = new Type[idsToLoad.length];
+			Arrays.fill( types, persister.getIdentifierType() );
+			final QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes( types );
+			qp.setPositionalParameterValues( idsToLoad );
+			qp.setLockOptions( lockOptions );
+
+			results.addAll( loader.doEntityBatchFetch( session, qp, idsToLoad ) );
+		}
+		return results;
+	}
+
 	public static class DynamicBatchingEntityLoader extends BatchingEntityLoader {
 		private final int maxBatchSize;
 		private final UniqueEntityLoader singleKeyLoader;
@@ -53,6 +53,7 @@ import org.hibernate.hql.internal.ast.tree.SelectClause;
 import org.hibernate.internal.IteratorImpl;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.BasicLoader;
+import org.hibernate.loader.ColumnPositions;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.param.ParameterSpecification;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -61,6 +62,7 @@ import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.transform.ResultTransformer;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 
@@ -427,8 +429,18 @@ public class QueryLoader extends BasicLoader {
 	@Override
 	protected Object getResultColumnOrRow(Object[] row, ResultTransformer transformer, ResultSet rs, SessionImplementor session)
 			throws SQLException, HibernateException {
+		return getResultColumnOrRow( row, transformer, rs, null, session );
+	}
 
-		Object[] resultRow = getResultRow( row, rs, session );
+	@Override
+	protected Object getResultColumnOrRow(
+			Object[] row,
+			ResultTransformer transformer,
+			ResultSet rs,
+			ColumnPositions columnPositions,
+			SessionImplementor session) throws SQLException, HibernateException {
+
+		Object[] resultRow = getResultRow( row, rs, columnPositions, session );
 		boolean hasTransform = hasSelectNew() || transformer!=null;
 		return ( ! hasTransform && resultRow.length == 1 ?
 				resultRow[ 0 ] :
@@ -439,13 +451,34 @@ public class QueryLoader extends BasicLoader {
 	@Override
 	protected Object[] getResultRow(Object[] row, ResultSet rs, SessionImplementor session)
 			throws SQLException, HibernateException {
+		return getResultRow( row, rs, null, session );
+	}
+
+	@Override
+	protected Object[] getResultRow(
+			Object[] row,
+			ResultSet rs,
+			ColumnPositions columnPositions,
+			SessionImplementor session) throws SQLException, HibernateException {
 		Object[] resultRow;
 		if ( hasScalars ) {
 			String[][] scalarColumns = scalarColumnNames;
 			int queryCols = queryReturnTypes.length;
+			int[] scalarPositions = columnPositions == null ? null : columnPositions.getResultColumnPositions( queryCols );
 			resultRow = new Object[queryCols];
 			for ( int i = 0; i < queryCols; i++ ) {
-				resultRow[i] = queryReturnTypes[i].nullSafeGet( rs, scalarColumns[i], session, null );
+				final int position = ColumnPositions.resolve( scalarPositions, i, queryReturnTypes[i], scalarColumns[i], rs );
+				if ( position > 0 ) {
+					resultRow[i] = ( (AbstractStandardBasicType) queryReturnTypes[i] ).nullSafeGet(
+							rs,
+							position,
+							scalarColumns[i][0],
+							session
+					);
+				}
+				else {
+					resultRow[i] = queryReturnTypes[i].nullSafeGet( rs, scalarColumns[i], session, null );
+				}
 			}
 		}
 		else {
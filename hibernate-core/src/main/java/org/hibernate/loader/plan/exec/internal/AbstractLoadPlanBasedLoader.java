@@ -493,7 +493,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 				}
 				return session.getFactory()
 						.getJdbcServices()
-						.getResultSetWrapper().wrap( rs, retreiveColumnNameToIndexCache( rs ) );
+						.getResultSetWrapper().wrap( rs, retreiveColumnNameToIndexCache( rs, session ) );
 			}
 			catch(SQLException e) {
 				log.unableToWrapResultSet( e );
@@ -505,10 +505,13 @@ public abstract class AbstractLoadPlanBasedLoader {
 		}
 	}
 
-	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
+	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs, SessionImplementor session)
+			throws SQLException {
 		if ( columnNameCache == null ) {
-			log.trace( "Building columnName->columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			columnNameCache = session.getFactory().getQueryPlanCache().getColumnNameCache(
+					getStaticLoadQuery().getSqlStatement(),
+					rs
+			);
 		}
 
 		return columnNameCache;
@@ -42,6 +42,7 @@ import org.hibernate.loader.plan.exec.process.spi.ResultSetProcessingContext;
 import org.hibernate.loader.plan.exec.spi.EntityReferenceAliases;
 import org.hibernate.loader.plan.spi.EntityFetch;
 import org.hibernate.loader.plan.spi.EntityReference;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
@@ -283,7 +284,7 @@ public class EntityReferenceInitializerImpl implements EntityReferenceInitialize
 
 	private void loadFromResultSet(
 			ResultSet resultSet,
-			ResultSetProcessingContext context,
+			ResultSetProcessingContextImpl context,
 			Object entityInstance,
 			String concreteEntityTypeName,
 			EntityKey entityKey,
@@ -319,19 +320,37 @@ public class EntityReferenceInitializerImpl implements EntityReferenceInitialize
 		final EntityPersister rootEntityPersister = context.getSession().getFactory().getEntityPersister(
 				concreteEntityPersister.getRootEntityName()
 		);
+		final String[][] suffixedPropertyColumns = concreteEntityPersister == rootEntityPersister
+				? entityReferenceAliases.getColumnAliases().getSuffixedPropertyAliases()
+				: entityReferenceAliases.getColumnAliases().getSuffixedPropertyAliases( concreteEntityPersister );
 		final Object[] values;
 		try {
-			values = concreteEntityPersister.hydrate(
-					resultSet,
-					id,
-					entityInstance,
-					(Loadable) entityReference.getEntityPersister(),
-					concreteEntityPersister == rootEntityPersister
-							? entityReferenceAliases.getColumnAliases().getSuffixedPropertyAliases()
-							: entityReferenceAliases.getColumnAliases().getSuffixedPropertyAliases( concreteEntityPersister ),
-					context.getLoadPlan().areLazyAttributesForceFetched(),
-					context.getSession()
-			);
+			if ( concreteEntityPersister instanceof AbstractEntityPersister ) {
+				values = ( (AbstractEntityPersister) concreteEntityPersister ).hydrate(
+						resultSet,
+						id,
+						entityInstance,
+						(Loadable) entityReference.getEntityPersister(),
+						suffixedPropertyColumns,
+						context.getColumnPositions().getPropertyColumnPositions(
+								entityReferenceAliases,
+								concreteEntityPersister
+						),
+						context.getLoadPlan().areLazyAttributesForceFetched(),
+						context.getSession()
+				);
+			}
+			else {
+				values = concreteEntityPersister.hydrate(
+						resultSet,
+						id,
+						entityInstance,
+						(Loadable) entityReference.getEntityPersister(),
+						suffixedPropertyColumns,
+						context.getLoadPlan().areLazyAttributesForceFetched(),
+						context.getSession()
+				);
+			}
 
 			context.getProcessingState( entityReference ).registerHydratedState( values );
 		}
@@ -37,6 +37,7 @@ import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
+import org.hibernate.loader.ColumnPositions;
 import org.hibernate.loader.plan.exec.process.spi.ResultSetProcessingContext;
 import org.hibernate.loader.plan.exec.query.spi.NamedParameterContext;
 import org.hibernate.loader.plan.spi.EntityFetch;
@@ -65,6 +66,7 @@ public class ResultSetProcessingContextImpl implements ResultSetProcessingContex
 	private final QueryParameters queryParameters;
 	private final NamedParameterContext namedParameterContext;
 	private final boolean hadSubselectFetches;
+	private final ColumnPositions columnPositions = new ColumnPositions();
 
 	private List<HydratedEntityRegistration> currentRowHydratedEntityRegistrationList;
 
@@ -148,6 +150,15 @@ public class ResultSetProcessingContextImpl implements ResultSetProcessingContex
 		return resultSet;
 	}
 
+	/**
+	 * Get the positions of the columns read by position from the result set being processed.
+	 *
+	 * @return The column positions
+	 */
+	public ColumnPositions getColumnPositions() {
+		return columnPositions;
+	}
+
 	@Override
 	public LockMode resolveLockMode(EntityReference entityReference) {
 		if ( queryParameters.getLockOptions() != null && queryParameters.getLockOptions()
@@ -41,6 +41,7 @@ import org.hibernate.QueryException;
 import org.hibernate.TransientObjectException;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCollectionCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.StructuredCollectionCacheEntry;
 import org.hibernate.cache.spi.entry.StructuredMapCacheEntry;
@@ -258,6 +259,9 @@ public abstract class AbstractCollectionPersister
 					? StructuredMapCacheEntry.INSTANCE
 					: StructuredCollectionCacheEntry.INSTANCE;
 		}
+		else if ( factory.getSettings().isBinaryCacheEntriesEnabled() ) {
+			cacheEntryStructure = new BinaryCollectionCacheEntry( this, collection.isMap() );
+		}
 		else {
 			cacheEntryStructure = UnstructuredCacheEntry.INSTANCE;
 		}
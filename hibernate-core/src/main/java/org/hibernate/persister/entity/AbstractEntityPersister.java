@@ -52,16 +52,22 @@ import org.hibernate.StaleObjectStateException;
 import org.hibernate.StaleStateException;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
+import org.hibernate.bytecode.spi.PropertyHydrator;
+import org.hibernate.bytecode.spi.PropertyHydratorProvider;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.NotFoundCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
+import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.CacheHelper;
@@ -95,6 +101,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.ColumnPositions;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
@@ -127,6 +134,7 @@ import org.hibernate.tuple.NonIdentifierAttribute;
 import org.hibernate.tuple.ValueGeneration;
 import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.tuple.entity.EntityTuplizer;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
@@ -191,6 +199,7 @@ public abstract class AbstractEntityPersister
 	private final boolean[][] propertyColumnInsertable;
 	private final boolean[] propertyUniqueness;
 	private final boolean[] propertySelectable;
+	private PropertyHydrator propertyHydrator;
 	
 	private final List<Integer> lobProperties = new ArrayList<Integer>();
 
@@ -799,9 +808,13 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
-		return factory.getSettings().isStructuredCacheEntriesEnabled()
-				? new StructuredCacheEntryHelper( this )
-				: new StandardCacheEntryHelper( this );
+		if ( factory.getSettings().isStructuredCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this, new StructuredCacheEntry( this ) );
+		}
+		if ( factory.getSettings().isBinaryCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this, new BinaryCacheEntry( this ) );
+		}
+		return new StandardCacheEntryHelper( this );
 	}
 
 	public boolean canUseReferenceCacheEntries() {
@@ -894,7 +907,7 @@ public abstract class AbstractEntityPersister
 		if ( session.getCacheMode().isGetEnabled() && hasCache() ) {
 			final CacheKey cacheKey = session.generateCacheKey( id, getIdentifierType(), getEntityName() );
 			final Object ce = CacheHelper.fromSharedCache( session, cacheKey, getCacheAccessStrategy() );
-			if ( ce != null ) {
+			if ( ce != null && !NotFoundCacheEntry.isNotFound( ce ) ) {
 				final CacheEntry cacheEntry = (CacheEntry) getCacheEntryStructure().destructure(ce, factory);
 				if ( !cacheEntry.areLazyPropertiesUnfetched() ) {
 					//note early exit here:
@@ -1035,6 +1048,16 @@ public abstract class AbstractEntityPersister
 		return batchSize > 1;
 	}
 
+	/**
+	 * The number of instances of this entity loaded by a single batch load, either as mapped or as defaulted by
+	 * {@link org.hibernate.cfg.AvailableSettings#DEFAULT_BATCH_FETCH_SIZE}.
+	 *
+	 * @return The batch size; batch loading is disabled unless greater than 1
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
 	public String[] getIdentifierColumnNames() {
 		return rootTableKeyColumnNames;
 	}
@@ -1813,13 +1836,26 @@ public abstract class AbstractEntityPersister
 
 	@Override
 	public int[] resolveAttributeIndexes(Set<String> properties) {
-		Iterator<String> iter = properties.iterator();
-		int[] fields = new int[properties.size()];
+		// changes to composites are tracked by path (e.g. "address.city" or "address.country.name"),
+		// which all dirty the root attribute; the indexes are returned in ascending order, like findDirty()
+		final boolean[] dirty = new boolean[ entityMetamodel.getPropertySpan() ];
+		int count = 0;
+		for ( String property : properties ) {
+			final int dot = property.indexOf( '.' );
+			final Integer index = entityMetamodel.getPropertyIndexOrNull(
+					dot < 0 ? property : property.substring( 0, dot )
+			);
+			if ( index != null && !dirty[index] ) {
+				dirty[index] = true;
+				count++;
+			}
+		}
+		final int[] fields = new int[count];
 		int counter = 0;
-		while(iter.hasNext()) {
-			Integer index = entityMetamodel.getPropertyIndexOrNull( iter.next() );
-			if ( index != null )
-				fields[counter++] = index;
+		for ( int i = 0; counter < count; i++ ) {
+			if ( dirty[i] ) {
+				fields[counter++] = i;
+			}
 		}
 		return fields;
 	}
@@ -2486,6 +2522,26 @@ public abstract class AbstractEntityPersister
 			final String[][] suffixedPropertyColumns,
 			final boolean allProperties,
 			final SessionImplementor session) throws SQLException, HibernateException {
+		return hydrate( rs, id, object, rootLoadable, suffixedPropertyColumns, null, allProperties, session );
+	}
+
+	/**
+	 * Unmarshall the fields of a persistent instance from a result set, reading
+	 * the columns of basic properties by position.
+	 *
+	 * @param propertyColumnPositions The positions of the property columns in the
+	 * result set, resolved on first use and kept by the caller for the remaining
+	 * rows (see {@link ColumnPositions}); {@code null} reads every column by name
+	 */
+	public Object[] hydrate(
+			final ResultSet rs,
+			final Serializable id,
+			final Object object,
+			final Loadable rootLoadable,
+			final String[][] suffixedPropertyColumns,
+			final int[] propertyColumnPositions,
+			final boolean allProperties,
+			final SessionImplementor session) throws SQLException, HibernateException {
 
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Hydrating entity: {0}", MessageHelper.infoString( this, id, getFactory() ) );
@@ -2494,6 +2550,17 @@ public abstract class AbstractEntityPersister
 		final AbstractEntityPersister rootPersister = (AbstractEntityPersister) rootLoadable;
 
 		final boolean hasDeferred = rootPersister.hasSequentialSelect();
+		if ( propertyHydrator != null && !hasDeferred ) {
+			return propertyHydrator.hydrate(
+					rs,
+					suffixedPropertyColumns,
+					propertyColumnPositions,
+					allProperties,
+					session,
+					object
+			);
+		}
+
 		PreparedStatement sequentialSelect = null;
 		ResultSet sequentialResultSet = null;
 		boolean sequentialSelectEmpty = false;
@@ -2553,10 +2620,15 @@ public abstract class AbstractEntityPersister
 					if ( propertyIsDeferred && sequentialSelectEmpty ) {
 						values[i] = null;
 					}
+					else if ( propertyIsDeferred ) {
+						values[i] = types[i].hydrate( sequentialResultSet, propertyColumnAliases[i], session, object );
+					}
 					else {
-						final ResultSet propertyResultSet = propertyIsDeferred ? sequentialResultSet : rs;
-						final String[] cols = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
-						values[i] = types[i].hydrate( propertyResultSet, cols, session, object );
+						final String[] cols = suffixedPropertyColumns[i];
+						final int position = ColumnPositions.resolve( propertyColumnPositions, i, types[i], cols, rs );
+						values[i] = position > 0
+								? ( (AbstractStandardBasicType) types[i] ).nullSafeGet( rs, position, cols[0], session )
+								: types[i].hydrate( rs, cols, session, object );
 					}
 				}
 				else {
@@ -3604,6 +3676,17 @@ public abstract class AbstractEntityPersister
 	public final void postInstantiate() throws MappingException {
 		doLateInit();
 
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		if ( getFactory().getSettings().isGeneratedHydratorsEnabled()
+				&& bytecodeProvider instanceof PropertyHydratorProvider ) {
+			propertyHydrator = ( (PropertyHydratorProvider) bytecodeProvider ).getPropertyHydrator(
+					getEntityName(),
+					getPropertyTypes(),
+					propertySelectable,
+					getPropertyLaziness()
+			);
+		}
+
 		createLoaders();
 		createUniqueKeyLoaders();
 		createQueryLoader();
@@ -4863,11 +4946,11 @@ public abstract class AbstractEntityPersister
 
 	private static class StructuredCacheEntryHelper implements CacheEntryHelper {
 		private final EntityPersister persister;
-		private final StructuredCacheEntry structure;
+		private final CacheEntryStructure structure;
 
-		private StructuredCacheEntryHelper(EntityPersister persister) {
+		private StructuredCacheEntryHelper(EntityPersister persister, CacheEntryStructure structure) {
 			this.persister = persister;
-			this.structure = new StructuredCacheEntry( persister );
+			this.structure = structure;
 		}
 
 		@Override
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.property;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.PropertyNotFoundException;
+import org.hibernate.bytecode.spi.BytecodeProvider;
+import org.hibernate.bytecode.spi.OptimizedAccessorProvider;
+import org.hibernate.cfg.Environment;
+
+/**
+ * Wraps the "property" or "field" accessor, replacing the reflective getters and setters it builds with ones
+ * generated by the {@link BytecodeProvider}, which access the member directly.  Members the generated code cannot
+ * access (private ones, for instance) are still accessed through reflection, and so are all members when the provider
+ * is not an {@link OptimizedAccessorProvider}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_GENERATED_PROPERTY_ACCESSORS
+ */
+public class OptimizedPropertyAccessor implements PropertyAccessor {
+	private final PropertyAccessor delegate;
+
+	/**
+	 * Constructs an OptimizedPropertyAccessor
+	 *
+	 * @param delegate The reflective accessor
+	 */
+	public OptimizedPropertyAccessor(PropertyAccessor delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Getter getGetter(Class theClass, String propertyName) throws PropertyNotFoundException {
+		final Getter getter = delegate.getGetter( theClass, propertyName );
+		final OptimizedAccessorProvider provider = getOptimizedAccessorProvider();
+		if ( provider == null ) {
+			return getter;
+		}
+		final Getter optimizedGetter = provider.getOptimizedGetter(
+				theClass,
+				propertyName,
+				getter
+		);
+		return optimizedGetter == null ? getter : optimizedGetter;
+	}
+
+	@Override
+	public Setter getSetter(Class theClass, String propertyName) throws PropertyNotFoundException {
+		final Setter setter = delegate.getSetter( theClass, propertyName );
+		final OptimizedAccessorProvider provider = getOptimizedAccessorProvider();
+		if ( provider == null ) {
+			return setter;
+		}
+		final Member member = setter.getMethod() != null
+				? setter.getMethod()
+				// a field setter does not expose its field, but the getter of the same property does
+				: delegate.getGetter( theClass, propertyName ).getMember();
+		final Setter optimizedSetter = provider.getOptimizedSetter(
+				theClass,
+				propertyName,
+				member,
+				setter
+		);
+		return optimizedSetter == null ? setter : optimizedSetter;
+	}
+
+	private static OptimizedAccessorProvider getOptimizedAccessorProvider() {
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		return bytecodeProvider instanceof OptimizedAccessorProvider
+				? (OptimizedAccessorProvider) bytecodeProvider
+				: null;
+	}
+}
@@ -27,6 +27,7 @@ import java.util.Map;
 
 import org.hibernate.EntityMode;
 import org.hibernate.MappingException;
+import org.hibernate.cfg.Environment;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.Property;
@@ -44,6 +45,10 @@ public final class PropertyAccessorFactory {
 	private static final PropertyAccessor MAP_ACCESSOR = new MapAccessor();
 	private static final PropertyAccessor NOOP_ACCESSOR = new NoopAccessor();
 	private static final PropertyAccessor EMBEDDED_PROPERTY_ACCESSOR = new EmbeddedPropertyAccessor();
+	private static final PropertyAccessor OPTIMIZED_BASIC_PROPERTY_ACCESSOR =
+			new OptimizedPropertyAccessor( BASIC_PROPERTY_ACCESSOR );
+	private static final PropertyAccessor OPTIMIZED_DIRECT_PROPERTY_ACCESSOR =
+			new OptimizedPropertyAccessor( DIRECT_PROPERTY_ACCESSOR );
 
 	//TODO: ideally we need the construction of PropertyAccessor to take the following:
 	//      1) EntityMode
@@ -89,10 +94,10 @@ public final class PropertyAccessorFactory {
 	 */
 	private static PropertyAccessor getPojoPropertyAccessor(String pojoAccessorStrategy) {
 		if ( StringHelper.isEmpty( pojoAccessorStrategy ) || "property".equals( pojoAccessorStrategy ) ) {
-			return BASIC_PROPERTY_ACCESSOR;
+			return Environment.useGeneratedPropertyAccessors() ? OPTIMIZED_BASIC_PROPERTY_ACCESSOR : BASIC_PROPERTY_ACCESSOR;
 		}
 		else if ( "field".equals( pojoAccessorStrategy ) ) {
-			return DIRECT_PROPERTY_ACCESSOR;
+			return Environment.useGeneratedPropertyAccessors() ? OPTIMIZED_DIRECT_PROPERTY_ACCESSOR : DIRECT_PROPERTY_ACCESSOR;
 		}
 		else if ( "embedded".equals( pojoAccessorStrategy ) ) {
 			return EMBEDDED_PROPERTY_ACCESSOR;
@@ -130,6 +135,11 @@ public final class PropertyAccessorFactory {
 	// todo : this eventually needs to be removed
 	public static PropertyAccessor getPropertyAccessor(Class optionalClass, String type) throws MappingException {
 		if ( type==null ) type = optionalClass==null || optionalClass==Map.class ? "map" : "property";
+		if ( Environment.useGeneratedPropertyAccessors() ) {
+			// this is the mapping driven path (Property#getGetter/getSetter), where the accessors are built once
+			if ( "property".equals( type ) ) return OPTIMIZED_BASIC_PROPERTY_ACCESSOR;
+			if ( "field".equals( type ) ) return OPTIMIZED_DIRECT_PROPERTY_ACCESSOR;
+		}
 		return getPropertyAccessor(type);
 	}
 
@@ -46,4 +46,28 @@ public interface SecondLevelCacheStatistics extends Serializable {
 	long getSizeInMemory();
 
 	Map getEntries();
+
+	/**
+	 * The number of lookups answered by the local near cache of the region (see
+	 * {@link org.hibernate.cfg.AvailableSettings#USE_NEAR_CACHE}); always 0 when the region has no near cache, which
+	 * includes regions only accessed read-write or transactionally.
+	 *
+	 * @return The near cache hit count
+	 */
+	long getNearCacheHitCount();
+
+	/**
+	 * The number of lookups the local near cache of the region could not answer; always 0 when the region has no
+	 * near cache, which includes regions only accessed read-write or transactionally.
+	 *
+	 * @return The near cache miss count
+	 */
+	long getNearCacheMissCount();
+
+	/**
+	 * The number of entries put in the region by the warm-up run when the session factory was built.
+	 *
+	 * @return The warm-up put count
+	 */
+	long getWarmUpPutCount();
 }
@@ -131,6 +131,13 @@ public interface Statistics {
      * Get the global number of cacheable queries put in cache
      */
 	public long getQueryCachePutCount();
+	/**
+	 * Get the global number of cached queries retrieved from cache which would have been stale had they been
+	 * invalidated by query space rather than by entity key (see
+	 * {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_INVALIDATION_BY_KEY}).  These hits are part of
+	 * {@link #getQueryCacheHitCount()}, so invalidating by query space would have left that many fewer hits.
+	 */
+	public long getQueryCacheKeyInvalidationHitCount();
 	/**
 	 * Get the global number of naturalId queries executed against the database
 	 */
@@ -189,6 +196,15 @@ public interface Statistics {
 	 * Global number of cacheable entities/collections put in the cache
 	 */
 	public long getSecondLevelCachePutCount();
+	/**
+	 * Global number of entities/collections put in the cache by the warm-up run when the session factory was built
+	 * (see {@link org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP_REGIONS}); grows while the warm-up is running.
+	 */
+	public long getSecondLevelCacheWarmUpPutCount();
+	/**
+	 * The time, in milliseconds, taken by the second level cache warm-up, or 0 if it did not run (yet)
+	 */
+	public long getSecondLevelCacheWarmUpTime();
 	/**
 	 * Global number of sessions closed
 	 */
@@ -267,6 +283,26 @@ public interface Statistics {
 	 * The number of prepared statements that were released
 	 */
 	public long getCloseStatementCount();
+	/**
+	 * The number of JDBC batches that were executed
+	 */
+	public long getJdbcBatchCount();
+	/**
+	 * The number of statements that were executed as part of JDBC batches
+	 */
+	public long getJdbcBatchStatementCount();
+	/**
+	 * The JDBC batch size currently used for the statements of the given batch key, when batch sizes are tuned
+	 * from the observed batch execution times.
+	 *
+	 * @param batchKey The entity name or collection role followed by {@code #} and the operation, for example
+	 * {@code com.acme.Order#INSERT}
+	 *
+	 * @return The tuned batch size, or {@code -1} if the batch size for the given batch key has not been tuned
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_STATEMENT_BATCH_SIZE
+	 */
+	public int getJdbcBatchSize(String batchKey);
 	/**
 	 * The number of <tt>StaleObjectStateException</tt>s 
 	 * that occurred
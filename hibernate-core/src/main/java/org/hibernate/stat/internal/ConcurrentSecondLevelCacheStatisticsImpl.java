@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.hibernate.cache.internal.NearCacheRegion;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.stat.SecondLevelCacheStatistics;
@@ -42,6 +43,7 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	private AtomicLong hitCount = new AtomicLong();
 	private AtomicLong missCount = new AtomicLong();
 	private AtomicLong putCount = new AtomicLong();
+	private AtomicLong warmUpPutCount = new AtomicLong();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
 		super( region.getName() );
@@ -82,17 +84,34 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 		return map;
 	}
 
+	public long getNearCacheHitCount() {
+		return region instanceof NearCacheRegion ? ( (NearCacheRegion) region ).getNearCacheHitCount() : 0;
+	}
+
+	public long getNearCacheMissCount() {
+		return region instanceof NearCacheRegion ? ( (NearCacheRegion) region ).getNearCacheMissCount() : 0;
+	}
+
+	public long getWarmUpPutCount() {
+		return warmUpPutCount.get();
+	}
+
 	public String toString() {
 		StringBuilder buf = new StringBuilder()
 				.append("SecondLevelCacheStatistics")
 				.append("[hitCount=").append(this.hitCount)
 				.append(",missCount=").append(this.missCount)
-				.append(",putCount=").append(this.putCount);
+				.append(",putCount=").append(this.putCount)
+				.append(",warmUpPutCount=").append(this.warmUpPutCount);
 		//not sure if this would ever be null but wanted to be careful
 		if (region != null) {
 			buf.append(",elementCountInMemory=").append(this.getElementCountInMemory())
 					.append(",elementCountOnDisk=").append(this.getElementCountOnDisk())
 					.append(",sizeInMemory=").append(this.getSizeInMemory());
+			if (region instanceof NearCacheRegion) {
+				buf.append(",nearCacheHitCount=").append(this.getNearCacheHitCount())
+						.append(",nearCacheMissCount=").append(this.getNearCacheMissCount());
+			}
 		}
 		buf.append(']');
 		return buf.toString();
@@ -109,4 +128,8 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	void incrementPutCount() {
 		putCount.getAndIncrement();
 	}
+
+	void incrementWarmUpPutCount() {
+		warmUpPutCount.getAndIncrement();
+	}
 }
@@ -62,6 +62,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	private AtomicLong prepareStatementCount = new AtomicLong();
 	private AtomicLong closeStatementCount = new AtomicLong();
+	private AtomicLong jdbcBatchCount = new AtomicLong();
+	private AtomicLong jdbcBatchStatementCount = new AtomicLong();
 
 	private AtomicLong entityLoadCount = new AtomicLong();
 	private AtomicLong entityUpdateCount = new AtomicLong();
@@ -77,6 +79,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	private AtomicLong secondLevelCacheHitCount = new AtomicLong();
 	private AtomicLong secondLevelCacheMissCount = new AtomicLong();
 	private AtomicLong secondLevelCachePutCount = new AtomicLong();
+	private AtomicLong secondLevelCacheWarmUpPutCount = new AtomicLong();
+	private volatile long secondLevelCacheWarmUpTime;
 	
 	private AtomicLong naturalIdCacheHitCount = new AtomicLong();
 	private AtomicLong naturalIdCacheMissCount = new AtomicLong();
@@ -91,6 +95,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	private AtomicLong queryCacheHitCount = new AtomicLong();
 	private AtomicLong queryCacheMissCount = new AtomicLong();
 	private AtomicLong queryCachePutCount = new AtomicLong();
+	private AtomicLong queryCacheKeyInvalidationHitCount = new AtomicLong();
 
 	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
 	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
@@ -121,6 +126,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * entity statistics per query string (HQL or SQL)
 	 */
 	private final ConcurrentMap queryStatistics = new ConcurrentHashMap();
+	/**
+	 * tuned JDBC batch sizes per batch key
+	 */
+	private final ConcurrentMap<String,Integer> jdbcBatchSizes = new ConcurrentHashMap<String,Integer>();
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
@@ -139,6 +148,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		secondLevelCacheHitCount.set( 0 );
 		secondLevelCacheMissCount.set( 0 );
 		secondLevelCachePutCount.set( 0 );
+		secondLevelCacheWarmUpPutCount.set( 0 );
+		secondLevelCacheWarmUpTime = 0;
 		
 		naturalIdCacheHitCount.set( 0 );
 		naturalIdCacheMissCount.set( 0 );
@@ -154,6 +165,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 		prepareStatementCount.set( 0 );
 		closeStatementCount.set( 0 );
+		jdbcBatchCount.set( 0 );
+		jdbcBatchStatementCount.set( 0 );
 
 		entityDeleteCount.set( 0 );
 		entityInsertCount.set( 0 );
@@ -173,6 +186,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		queryExecutionMaxTimeQueryString = null;
 		queryCacheMissCount.set( 0 );
 		queryCachePutCount.set( 0 );
+		queryCacheKeyInvalidationHitCount.set( 0 );
 
 		updateTimestampsCacheMissCount.set( 0 );
 		updateTimestampsCacheHitCount.set( 0 );
@@ -188,6 +202,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		collectionStatistics.clear();
 		queryStatistics.clear();
 		naturalIdCacheStatistics.clear();
+		jdbcBatchSizes.clear();
 
 		startTime = System.currentTimeMillis();
 	}
@@ -371,6 +386,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		secondLevelCacheMissCount.getAndIncrement();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
+
+	@Override
+	public void secondLevelCacheWarmUpPut(String regionName) {
+		secondLevelCacheWarmUpPutCount.getAndIncrement();
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementWarmUpPutCount();
+	}
+
+	@Override
+	public void secondLevelCacheWarmUpCompleted(long time) {
+		secondLevelCacheWarmUpTime = time;
+	}
 	
 	@Override
 	public void naturalIdCachePut(String regionName) {
@@ -462,6 +488,11 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		slcs.incrementPutCount();
 	}
 
+	@Override
+	public void queryCacheKeyInvalidationHit() {
+		queryCacheKeyInvalidationHitCount.getAndIncrement();
+	}
+
 	@Override
 	public void updateTimestampsCacheHit() {
 		updateTimestampsCacheHitCount.getAndIncrement();
@@ -555,6 +586,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return queryCachePutCount.get();
 	}
 	@Override
+	public long getQueryCacheKeyInvalidationHitCount() {
+		return queryCacheKeyInvalidationHitCount.get();
+	}
+	@Override
 	public long getUpdateTimestampsCacheHitCount() {
 		return updateTimestampsCacheHitCount.get();
 	}
@@ -607,6 +642,16 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return secondLevelCachePutCount.get();
 	}
 
+	@Override
+	public long getSecondLevelCacheWarmUpPutCount() {
+		return secondLevelCacheWarmUpPutCount.get();
+	}
+
+	@Override
+	public long getSecondLevelCacheWarmUpTime() {
+		return secondLevelCacheWarmUpTime;
+	}
+
 	@Override
 	public long getNaturalIdQueryExecutionCount() {
 		return naturalIdQueryExecutionCount.get();
@@ -718,6 +763,8 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		LOG.connectionsObtained( connectCount.get() );
 		LOG.statementsPrepared( prepareStatementCount.get() );
 		LOG.statementsClosed( closeStatementCount.get() );
+		LOG.jdbcBatchesExecuted( jdbcBatchCount.get() );
+		LOG.jdbcBatchStatementsExecuted( jdbcBatchStatementCount.get() );
 		LOG.secondLevelCachePuts( secondLevelCachePutCount.get() );
 		LOG.secondLevelCacheHits( secondLevelCacheHitCount.get() );
 		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.get() );
@@ -849,6 +896,28 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return prepareStatementCount.get();
 	}
 	@Override
+	public void jdbcBatchExecuted(int statementCount) {
+		jdbcBatchCount.getAndIncrement();
+		jdbcBatchStatementCount.addAndGet( statementCount );
+	}
+	@Override
+	public void jdbcBatchSizeTuned(String batchKey, int batchSize) {
+		jdbcBatchSizes.put( batchKey, batchSize );
+	}
+	@Override
+	public long getJdbcBatchCount() {
+		return jdbcBatchCount.get();
+	}
+	@Override
+	public long getJdbcBatchStatementCount() {
+		return jdbcBatchStatementCount.get();
+	}
+	@Override
+	public int getJdbcBatchSize(String batchKey) {
+		final Integer batchSize = jdbcBatchSizes.get( batchKey );
+		return batchSize == null ? -1 : batchSize;
+	}
+	@Override
 	public void optimisticFailure(String entityName) {
 		optimisticFailureCount.getAndIncrement();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
@@ -872,9 +941,13 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",connections obtained=" ).append( connectCount )
 				.append( ",statements prepared=" ).append( prepareStatementCount )
 				.append( ",statements closed=" ).append( closeStatementCount )
+				.append( ",JDBC batches executed=" ).append( jdbcBatchCount )
+				.append( ",JDBC batch statements executed=" ).append( jdbcBatchStatementCount )
 				.append( ",second level cache puts=" ).append( secondLevelCachePutCount )
 				.append( ",second level cache hits=" ).append( secondLevelCacheHitCount )
 				.append( ",second level cache misses=" ).append( secondLevelCacheMissCount )
+				.append( ",second level cache warm-up puts=" ).append( secondLevelCacheWarmUpPutCount )
+				.append( ",second level cache warm-up time=" ).append( secondLevelCacheWarmUpTime )
 				.append( ",entities loaded=" ).append( entityLoadCount )
 				.append( ",entities updated=" ).append( entityUpdateCount )
 				.append( ",entities inserted=" ).append( entityInsertCount )
@@ -894,6 +967,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",query cache puts=" ).append( queryCachePutCount )
 				.append( ",query cache hits=" ).append( queryCacheHitCount )
 				.append( ",query cache misses=" ).append( queryCacheMissCount )
+				.append( ",query cache hits by key invalidation=" ).append( queryCacheKeyInvalidationHitCount )
 				.append(",update timestamps cache puts=").append(updateTimestampsCachePutCount)
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
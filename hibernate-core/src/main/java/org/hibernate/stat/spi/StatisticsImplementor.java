@@ -63,6 +63,21 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void closeStatement();
 
+	/**
+	 * Callback about a JDBC batch being executed.
+	 *
+	 * @param statementCount The number of statements executed as part of the batch
+	 */
+	public void jdbcBatchExecuted(int statementCount);
+
+	/**
+	 * Callback about the JDBC batch size used for the statements of a batch key being tuned.
+	 *
+	 * @param batchKey The batch key, the entity name or collection role followed by {@code #} and the operation
+	 * @param batchSize The tuned batch size
+	 */
+	public void jdbcBatchSizeTuned(String batchKey, int batchSize);
+
 	/**
 	 * Callback about a transaction completing.
 	 *
@@ -171,6 +186,20 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 * @param regionName The name of the cache region
 	 */
 	public void secondLevelCacheMiss(String regionName);
+
+	/**
+	 * Callback indicating a put into second level cache by the warm-up run.
+	 *
+	 * @param regionName The name of the cache region
+	 */
+	public void secondLevelCacheWarmUpPut(String regionName);
+
+	/**
+	 * Callback indicating the second level cache warm-up run completed.
+	 *
+	 * @param time The time, in milliseconds, taken by the warm-up
+	 */
+	public void secondLevelCacheWarmUpCompleted(long time);
 	
 	/**
 	 * Callback indicating a put into natural id cache.
@@ -225,6 +254,12 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void queryCacheMiss(String hql, String regionName);
 
+	/**
+	 * Callback indicating cached query results were found up-to-date by entity key although some of their query
+	 * spaces were changed since they were cached.
+	 */
+	public void queryCacheKeyInvalidationHit();
+
 	/**
 	 * Callback indicating execution of a sql/hql query
 	 *
@@ -40,8 +40,11 @@ import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.cfg.Environment;
 import org.hibernate.cfg.NotYetImplementedException;
 import org.hibernate.engine.OptimisticLockStyle;
+import org.hibernate.engine.internal.CompositeTracking;
 import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.CascadeStyles;
+import org.hibernate.engine.spi.CompositeOwner;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.ValueInclusion;
 import org.hibernate.internal.CoreMessageLogger;
@@ -118,6 +121,8 @@ public class EntityMetamodel implements Serializable {
 	private final boolean hasMutableProperties;
 	private final boolean hasLazyProperties;
 	private final boolean hasNonIdentifierPropertyNamedId;
+	private final boolean selfDirtinessTracking;
+	private final boolean loadedStateRetained;
 
 	private final int[] naturalIdPropertyNumbers;
 	private final boolean hasImmutableNaturalId;
@@ -200,10 +205,12 @@ public class EntityMetamodel implements Serializable {
 		boolean foundCascade = false;
 		boolean foundCollection = false;
 		boolean foundMutable = false;
+		boolean foundUntrackedMutable = false;
 		boolean foundNonIdentifierPropertyNamedId = false;
 		boolean foundInsertGeneratedValue = false;
 		boolean foundUpdateGeneratedValue = false;
 		boolean foundUpdateableNaturalIdProperty = false;
+		boolean foundToOneOrphanRemoval = false;
 
 		while ( iter.hasNext() ) {
 			Property prop = ( Property ) iter.next();
@@ -302,8 +309,15 @@ public class EntityMetamodel implements Serializable {
 				foundCollection = true;
 			}
 
+			if ( propertyTypes[i].isEntityType() && cascadeStyles[i].hasOrphanDelete() ) {
+				foundToOneOrphanRemoval = true;
+			}
+
 			if ( propertyTypes[i].isMutable() && propertyCheckability[i] ) {
 				foundMutable = true;
+				if ( !isCompositeTracked( persistentClass, propertyTypes[i] ) ) {
+					foundUntrackedMutable = true;
+				}
 			}
 
 			mapPropertyToIndex(prop, i);
@@ -376,6 +390,20 @@ public class EntityMetamodel implements Serializable {
 		hasCollections = foundCollection;
 		hasMutableProperties = foundMutable;
 
+		selfDirtinessTracking = persistentClass.hasPojoRepresentation()
+				&& SelfDirtinessTracker.class.isAssignableFrom( persistentClass.getMappedClass() );
+		// the loaded state is only needed by the flush if the entity cannot tell what changed itself, which it
+		// cannot for in-place changes of mutable values (dates, arrays, ...) other than components reporting
+		// their changes to the entity; beyond that it backs natural-id checks, optimistic-lock=all|dirty, lazy
+		// properties and to-one orphan removal
+		loadedStateRetained = !selfDirtinessTracking
+				|| !sessionFactory.getSettings().isDiscardLoadedStateEnabled()
+				|| foundUntrackedMutable
+				|| naturalIdPropertyNumbers != null
+				|| isAllOrDirty
+				|| hasLazyProperties
+				|| foundToOneOrphanRemoval;
+
 		iter = persistentClass.getSubclassIterator();
 		while ( iter.hasNext() ) {
 			subclassEntityNames.add( ( (PersistentClass) iter.next() ).getEntityName() );
@@ -874,6 +902,12 @@ public class EntityMetamodel implements Serializable {
 		return subclassEntityNames;
 	}
 
+	private static boolean isCompositeTracked(PersistentClass persistentClass, Type type) {
+		return persistentClass.hasPojoRepresentation()
+				&& CompositeOwner.class.isAssignableFrom( persistentClass.getMappedClass() )
+				&& CompositeTracking.isTrackable( type );
+	}
+
 	private boolean indicatesCollection(Type type) {
 		if ( type.isCollectionType() ) {
 			return true;
@@ -958,6 +992,26 @@ public class EntityMetamodel implements Serializable {
 		return hasLazyProperties;
 	}
 
+	/**
+	 * Do instances of the entity track their own dirty attributes (see
+	 * {@link org.hibernate.engine.spi.SelfDirtinessTracker})?
+	 *
+	 * @return {@code true} if the mapped class implements {@code SelfDirtinessTracker}
+	 */
+	public boolean isSelfDirtinessTracking() {
+		return selfDirtinessTracking;
+	}
+
+	/**
+	 * Should the persistence context keep a snapshot of the loaded state of managed instances?
+	 *
+	 * @return {@code false} only for self dirtiness tracking entities which do not otherwise need the snapshot,
+	 * when {@link org.hibernate.cfg.AvailableSettings#DISCARD_LOADED_STATE} is enabled
+	 */
+	public boolean isLoadedStateRetained() {
+		return loadedStateRetained;
+	}
+
 	public boolean hasCascades() {
 		return hasCascades;
 	}
@@ -39,6 +39,9 @@ import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.cfg.Environment;
 import org.hibernate.classic.Lifecycle;
+import org.hibernate.engine.internal.CompositeTracking;
+import org.hibernate.engine.spi.CompositeOwner;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
@@ -54,6 +57,7 @@ import org.hibernate.proxy.ProxyFactory;
 import org.hibernate.tuple.Instantiator;
 import org.hibernate.tuple.PojoInstantiator;
 import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
 
 /**
  * An {@link EntityTuplizer} specific to the pojo entity mode.
@@ -291,11 +295,28 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 			//TODO: if we support multiple fetch groups, we would need
 			//      to clone the set of lazy properties!
 			FieldInterceptionHelper.injectFieldInterceptor( entity, getEntityName(), lazyProps, session );
+		}
 
-            //also clear the fields that are marked as dirty in the dirtyness tracker
-            if(entity instanceof org.hibernate.engine.spi.SelfDirtinessTracker) {
-                ((org.hibernate.engine.spi.SelfDirtinessTracker) entity).$$_hibernate_clearDirtyAttributes();
-            }
+		//also clear the fields that were marked as dirty while the loaded state was set
+		if ( entity instanceof SelfDirtinessTracker ) {
+			( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+			if ( !getEntityMetamodel().isLoadedStateRetained() ) {
+				// without a snapshot, in-place changes of the loaded components are only seen through them
+				registerCompositeOwner( entity );
+			}
+		}
+	}
+
+	private void registerCompositeOwner(Object entity) {
+		if ( !( entity instanceof CompositeOwner ) ) {
+			return;
+		}
+		final Type[] types = getEntityMetamodel().getPropertyTypes();
+		final String[] names = getEntityMetamodel().getPropertyNames();
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( types[i].isComponentType() ) {
+				CompositeTracking.registerOwner( (CompositeOwner) entity, names[i], types[i], getPropertyValue( entity, i ) );
+			}
 		}
 	}
 
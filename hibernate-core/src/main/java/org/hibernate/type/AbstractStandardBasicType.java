@@ -44,6 +44,7 @@ import org.hibernate.engine.jdbc.Size;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 import org.hibernate.type.descriptor.java.MutabilityPlan;
+import org.hibernate.type.descriptor.sql.BasicExtractor;
 import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
 
 import org.dom4j.Node;
@@ -267,6 +268,36 @@ public abstract class AbstractStandardBasicType<T>
 		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
 	}
 
+	/**
+	 * Get a column value from a result set by position.  Many JDBC drivers extract by position considerably faster
+	 * than by name, so loaders use this whenever the position of the column is known.
+	 *
+	 * @param rs The result set from which to extract the value.
+	 * @param position The (1-based) position of the column to extract.
+	 * @param name The name of the column at that position, used by extractors which can only extract by name.
+	 * @param session The session from which the request originates
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates problem making the JDBC call(s).
+	 */
+	public final T nullSafeGet(ResultSet rs, int position, String name, final SessionImplementor session)
+			throws SQLException {
+		final WrapperOptions options = getOptions(session);
+		return nullSafeGet( rs, position, name, options );
+	}
+
+	protected final T nullSafeGet(ResultSet rs, int position, String name, WrapperOptions options)
+			throws SQLException {
+		return BasicExtractor.extract(
+				remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ),
+				rs,
+				position,
+				name,
+				options
+		);
+	}
+
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
 		return nullSafeGet( rs, name, session );
 	}
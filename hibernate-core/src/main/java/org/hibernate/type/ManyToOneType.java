@@ -201,11 +201,9 @@ public class ManyToOneType extends EntityType {
 		//cannot batch fetch by unique key (property-ref associations)
 		if ( uniqueKeyPropertyName == null && id != null ) {
 			final EntityPersister persister = getAssociatedEntityPersister( session.getFactory() );
-			if ( persister.isBatchLoadable() ) {
+			if ( persister.isBatchLoadable() && !session.getPersistenceContext().containsEntity( id, persister ) ) {
 				final EntityKey entityKey = session.generateEntityKey( id, persister );
-				if ( !session.getPersistenceContext().containsEntity( entityKey ) ) {
-					session.getPersistenceContext().getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
-				}
+				session.getPersistenceContext().getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
 			}
 		}
 	}
@@ -115,6 +115,11 @@ public class AttributeConverterSqlTypeDescriptorAdapter implements SqlTypeDescri
 				return doConversion( realExtractor.extract( rs, name, options ) );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int position, String name, WrapperOptions options) throws SQLException {
+				return doConversion( BasicExtractor.extract( realExtractor, rs, position, name, options ) );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return doConversion( realExtractor.extract( statement, index, options ) );
@@ -102,6 +102,96 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 */
 	protected abstract J doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
 
+	/**
+	 * Extract value from result set by column position, which many drivers handle considerably faster than
+	 * extraction by name.  This is deliberately not part of the {@link ValueExtractor} contract; use
+	 * {@link #extract(ValueExtractor, ResultSet, int, String, WrapperOptions)} when the extractor might be a custom
+	 * one.
+	 *
+	 * @param rs The result set
+	 * @param position The (1-based) position of the column in the result set
+	 * @param name The name of the column at that position, for extractors which can only extract by name
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	public J extract(ResultSet rs, int position, String name, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, position, name, options );
+		final boolean traceEnabled = log.isTraceEnabled();
+		if ( value == null || rs.wasNull() ) {
+			if ( traceEnabled ) {
+				log.tracef(
+						"extracted value ([%s] : [%s]) - [null]",
+						position,
+						JdbcTypeNameMapper.getTypeName( getSqlDescriptor().getSqlType() )
+				);
+			}
+			return null;
+		}
+		else {
+			if ( traceEnabled ) {
+				log.tracef(
+						"extracted value ([%s] : [%s]) - [%s]",
+						position,
+						JdbcTypeNameMapper.getTypeName( getSqlDescriptor().getSqlType() ),
+						getJavaDescriptor().extractLoggableRepresentation( value )
+				);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Perform the extraction by column position.
+	 * <p/>
+	 * Called from {@link #extract}.  Null checking of the value (as well as consulting {@link ResultSet#wasNull}) is
+	 * done there.
+	 * <p/>
+	 * The standard descriptors all override this to read the column directly; the default delegates to
+	 * {@link #doExtract(ResultSet, String, WrapperOptions)} with the column name so that existing extractors keep
+	 * working.
+	 *
+	 * @param rs The result set
+	 * @param position The (1-based) position of the column in the result set
+	 * @param name The name of the column at that position
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	protected J doExtract(ResultSet rs, int position, String name, WrapperOptions options) throws SQLException {
+		return doExtract( rs, name, options );
+	}
+
+	/**
+	 * Extract a value by column position using the given extractor, falling back to extraction by the column name
+	 * for extractors which are not {@link BasicExtractor}s.
+	 *
+	 * @param extractor The extractor to use
+	 * @param rs The result set
+	 * @param position The (1-based) position of the column in the result set
+	 * @param name The name of the column at that position
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	public static <X> X extract(
+			ValueExtractor<X> extractor,
+			ResultSet rs,
+			int position,
+			String name,
+			WrapperOptions options) throws SQLException {
+		if ( extractor instanceof BasicExtractor ) {
+			return ( (BasicExtractor<X>) extractor ).extract( rs, position, name, options );
+		}
+		return extractor.extract( rs, name, options );
+	}
+
 	@Override
 	public J extract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 		final J value = doExtract( statement, index, options );
@@ -74,6 +74,11 @@ public class BigIntTypeDescriptor implements SqlTypeDescriptor {
 				return javaTypeDescriptor.wrap( rs.getLong( name ), options );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int position, String name, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getLong( position ), options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( statement.getLong( index ), options );
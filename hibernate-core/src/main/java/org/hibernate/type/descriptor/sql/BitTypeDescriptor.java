@@ -76,6 +76,11 @@ public class BitTypeDescriptor implements SqlTypeDescriptor {
 				return javaTypeDescriptor.wrap( rs.getBoolean( name ), options );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int position, String name, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getBoolean( position ), options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( statement.getBoolean( index ), options );
@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AdaptiveBatchSize}
+ */
+public class AdaptiveBatchSizeTest extends BaseUnitTestCase {
+	@Test
+	public void testGrowsWhileStatementsGetCheaper() {
+		final AdaptiveBatchSize adaptiveSize = new AdaptiveBatchSize( "com.acme.Document#INSERT", 20 );
+		assertEquals( 20, adaptiveSize.getSize() );
+
+		// a fixed cost per batch makes bigger batches cheaper per statement
+		executeBatches( adaptiveSize, 100000L, 1000L );
+		assertEquals( 25, adaptiveSize.getSize() );
+		executeBatches( adaptiveSize, 100000L, 1000L );
+		assertEquals( 31, adaptiveSize.getSize() );
+		for ( int i = 0; i < 20; i++ ) {
+			executeBatches( adaptiveSize, 100000L, 1000L );
+		}
+		// bounded by four times the configured size
+		assertTrue( adaptiveSize.getSize() <= 80 );
+	}
+
+	@Test
+	public void testTurnsAroundWhenStatementsGetMoreExpensive() {
+		final AdaptiveBatchSize adaptiveSize = new AdaptiveBatchSize( "com.acme.Document#UPDATE", 20 );
+
+		executeBatches( adaptiveSize, 0L, 1000L );
+		assertEquals( 25, adaptiveSize.getSize() );
+		// the time per statement grows with the batch size
+		executeBatches( adaptiveSize, 0L, 2000L );
+		assertEquals( 19, adaptiveSize.getSize() );
+		for ( int i = 0; i < 20; i++ ) {
+			executeBatches( adaptiveSize, 0L, 100L * adaptiveSize.getSize() );
+		}
+		// bounded by a quarter of the configured size
+		assertTrue( adaptiveSize.getSize() >= 5 );
+	}
+
+	@Test
+	public void testIgnoresBatchesOfStaleSizes() {
+		final AdaptiveBatchSize adaptiveSize = new AdaptiveBatchSize( "com.acme.Document#DELETE", 20 );
+		for ( int i = 0; i < AdaptiveBatchSize.SAMPLES_PER_STEP * 2; i++ ) {
+			adaptiveSize.batchExecuted( 10, 1000L );
+		}
+		assertEquals( 20, adaptiveSize.getSize() );
+	}
+
+	private void executeBatches(AdaptiveBatchSize adaptiveSize, long nanosPerBatch, long nanosPerStatement) {
+		final int batchSize = adaptiveSize.getSize();
+		for ( int i = 0; i < AdaptiveBatchSize.SAMPLES_PER_STEP; i++ ) {
+			adaptiveSize.batchExecuted( batchSize, nanosPerBatch + nanosPerStatement * batchSize );
+		}
+	}
+}
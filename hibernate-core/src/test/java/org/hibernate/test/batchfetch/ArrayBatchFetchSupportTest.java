@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.io.Serializable;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.ArrayBatchFetchSupport;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the SQL and parameter binding of {@link ArrayBatchFetchSupport} independently of the database under test,
+ * which {@link ArrayBatchFetchTest} needs to support array parameters.
+ */
+public class ArrayBatchFetchSupportTest extends BaseUnitTestCase {
+	private final ArrayParameterDialect dialect = new ArrayParameterDialect();
+
+	@Test
+	public void testRestrictionFragment() {
+		assertEquals(
+				"item0_.id = any(?)",
+				ArrayBatchFetchSupport.buildRestrictionFragment( "item0_", new String[] { "id" }, dialect ).toString()
+		);
+	}
+
+	@Test
+	public void testApplicability() {
+		final SessionFactoryImplementor factory = mock( SessionFactoryImplementor.class );
+		when( factory.getDialect() ).thenReturn( dialect );
+
+		assertTrue( ArrayBatchFetchSupport.isApplicable( LongType.INSTANCE, new String[] { "id" }, factory ) );
+		assertFalse( ArrayBatchFetchSupport.isApplicable( LongType.INSTANCE, new String[] { "id1", "id2" }, factory ) );
+
+		when( factory.getDialect() ).thenReturn( new H2Dialect() );
+		assertFalse( ArrayBatchFetchSupport.isApplicable( LongType.INSTANCE, new String[] { "id" }, factory ) );
+	}
+
+	@Test
+	public void testBindingAndFreeingTheArray() throws SQLException {
+		final SessionFactoryImplementor factory = mock( SessionFactoryImplementor.class );
+		when( factory.getDialect() ).thenReturn( dialect );
+		final SessionImplementor session = mock( SessionImplementor.class );
+		when( session.getFactory() ).thenReturn( factory );
+
+		final Serializable[] keys = new Serializable[] { 1L, 2L, 3L };
+		final Array array = mock( Array.class );
+		final Connection connection = mock( Connection.class );
+		when( connection.createArrayOf( "bigint", keys ) ).thenReturn( array );
+		final PreparedStatement statement = mock( PreparedStatement.class );
+		when( statement.getConnection() ).thenReturn( connection );
+
+		// a filter parameter following the batch
+		final QueryParameters queryParameters = new QueryParameters(
+				new Type[] { LongType.INSTANCE, StringType.INSTANCE },
+				new Object[] { ArrayBatchFetchSupport.batch( keys ), "filtered" }
+		);
+		queryParameters.processFilters( "select", Collections.emptyMap(), factory );
+
+		assertEquals( 2, ArrayBatchFetchSupport.bindPositionalParameters( statement, queryParameters, 1, session ) );
+		verify( statement ).setArray( 1, array );
+		verify( statement ).setString( 2, "filtered" );
+		verify( array, never() ).free();
+
+		ArrayBatchFetchSupport.freeArrays( queryParameters );
+		verify( array ).free();
+
+		// freeing again is a no-op
+		ArrayBatchFetchSupport.freeArrays( queryParameters );
+		verify( array ).free();
+	}
+
+	private static class ArrayParameterDialect extends H2Dialect {
+		@Override
+		public boolean supportsArrayParameterRestriction() {
+			return true;
+		}
+
+		@Override
+		public String getArrayParameterRestriction(String columnName) {
+			return columnName + " = any(?)";
+		}
+	}
+}
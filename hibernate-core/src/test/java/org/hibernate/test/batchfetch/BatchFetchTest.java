@@ -183,7 +183,8 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.LEGACY ) {
 			expectedFetchCount = 3; // (32 + 10 + 4)
 		}
-		else if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.DYNAMIC ) {
+		else if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.DYNAMIC
+				|| sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.ARRAY ) {
 			expectedFetchCount = 2;  // (32 + 14) : because we limited batch-size to 32
 		}
 		else {
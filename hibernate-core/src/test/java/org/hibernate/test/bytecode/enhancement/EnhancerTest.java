@@ -285,6 +285,62 @@ public class EnhancerTest extends BaseUnitTestCase {
         }
 	}
 
+	@Test
+	public void testDirtyTrackingWithoutInterceptor() throws Exception {
+		// entities are dirty checked through their tracker whether or not a (lazy loading) interceptor is installed
+		Enhancer enhancer = new Enhancer( enhancementContext );
+		ClassLoader cl = new ClassLoader() { };
+		Class addressClass = enhance( enhancer, Address.class, true, cl );
+		Class countryClass = enhance( enhancer, Country.class, true, cl );
+		Class entityClass = enhance( enhancer, SimpleEntity.class, false, cl );
+		Object entityInstance = entityClass.newInstance();
+		assertNull( entityClass.getMethod( EnhancerConstants.INTERCEPTOR_GETTER_NAME ).invoke( entityInstance ) );
+
+		entityClass.getMethod( "setSomeNumber", long.class ).invoke( entityInstance, 1L );
+		assertEquals( 1L, entityClass.getMethod( "getSomeNumber" ).invoke( entityInstance ) );
+		Set tracked = (Set) entityClass.getMethod( EnhancerConstants.TRACKER_GET_NAME ).invoke( entityInstance );
+		assertEquals( 1, tracked.size() );
+		assertEquals( "someNumber", tracked.iterator().next() );
+
+		entityClass.getMethod( EnhancerConstants.TRACKER_CLEAR_NAME ).invoke( entityInstance );
+		entityClass.getMethod( "setSomeNumber", long.class ).invoke( entityInstance, 1L );
+		assertFalse( (Boolean) entityClass.getMethod( EnhancerConstants.TRACKER_HAS_CHANGED_NAME ).invoke( entityInstance ) );
+
+		// the collection dirty check
+		List<String> strings = new ArrayList<String>();
+		strings.add( "FooBar" );
+		entityClass.getMethod( "setSomeStrings", List.class ).invoke( entityInstance, strings );
+		entityClass.getMethod( EnhancerConstants.TRACKER_CLEAR_NAME ).invoke( entityInstance );
+		assertFalse( (Boolean) entityClass.getMethod( EnhancerConstants.TRACKER_HAS_CHANGED_NAME ).invoke( entityInstance ) );
+		strings.add( "JADA!" );
+		assertTrue( (Boolean) entityClass.getMethod( EnhancerConstants.TRACKER_HAS_CHANGED_NAME ).invoke( entityInstance ) );
+		tracked = (Set) entityClass.getMethod( EnhancerConstants.TRACKER_GET_NAME ).invoke( entityInstance );
+		assertEquals( 1, tracked.size() );
+		assertEquals( "someStrings", tracked.iterator().next() );
+		entityClass.getMethod( EnhancerConstants.TRACKER_CLEAR_NAME ).invoke( entityInstance );
+
+		// changes within composites, tracked by path
+		Object address = addressClass.newInstance();
+		Object country = countryClass.newInstance();
+		addressClass.getMethod( "setCountry", countryClass ).invoke( address, country );
+		entityClass.getMethod( "setAddress", addressClass ).invoke( entityInstance, address );
+		entityClass.getMethod( EnhancerConstants.TRACKER_CLEAR_NAME ).invoke( entityInstance );
+		addressClass.getMethod( "setCity", String.class ).invoke( address, "Arendal" );
+		countryClass.getMethod( "setName", String.class ).invoke( country, "Norway" );
+		tracked = (Set) entityClass.getMethod( EnhancerConstants.TRACKER_GET_NAME ).invoke( entityInstance );
+		assertEquals( new HashSet<String>( Arrays.asList( "address.city", "address.country.name" ) ), tracked );
+	}
+
+	private Class enhance(Enhancer enhancer, Class classToEnhance, boolean composite, ClassLoader cl) throws Exception {
+		CtClass ctClass = generateCtClassForAnEntity( classToEnhance );
+		byte[] enhanced = composite
+				? enhancer.enhanceComposite( classToEnhance.getName(), ctClass.toBytecode() )
+				: enhancer.enhance( classToEnhance.getName(), ctClass.toBytecode() );
+		ClassPool cp = new ClassPool( false );
+		cp.appendClassPath( new LoaderClassPath( cl ) );
+		return cp.makeClass( new ByteArrayInputStream( enhanced ) ).toClass( cl, getClass().getProtectionDomain() );
+	}
+
 	private CtClass generateCtClassForAnEntity(Class entityClassToEnhance) throws Exception {
 		ClassPool cp = new ClassPool( false );
 		return cp.makeClass(
@@ -0,0 +1,250 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.bytecode.internal.javassist.GeneratedPropertyHydrator;
+import org.hibernate.bytecode.spi.PropertyHydrator;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.BackrefPropertyAccessor;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the hydrators generated when {@link AvailableSettings#USE_GENERATED_HYDRATORS} is enabled.
+ */
+public class GeneratedHydratorTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { WideEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_GENERATED_HYDRATORS, "true" );
+	}
+
+	@Test
+	public void testHydratorGeneration() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( WideEntity.class.getName() );
+		final int span = persister.getPropertyTypes().length;
+		final boolean[] selectable = new boolean[span];
+		Arrays.fill( selectable, true );
+		final PropertyHydrator hydrator = new BytecodeProviderImpl().getPropertyHydrator(
+				persister.getEntityName(),
+				persister.getPropertyTypes(),
+				selectable,
+				persister.getPropertyLaziness()
+		);
+		assertTrue( hydrator instanceof GeneratedPropertyHydrator );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testHydration() {
+		final Date date = new Date( 1000L * 60 * 60 * 24 * 365 * 40 );
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			s.persist( new WideEntity( i, date ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		// several rows, so that the positions resolved on the first one are reused
+		final List<WideEntity> entities = s.createQuery( "from WideEntity order by id" ).list();
+		assertEquals( 3, entities.size() );
+		for ( int i = 0; i < 3; i++ ) {
+			new WideEntity( i, date ).assertEquivalent( entities.get( i ) );
+		}
+		s.clear();
+		final WideEntity entity = (WideEntity) s.get( WideEntity.class, 1 );
+		new WideEntity( 1, date ).assertEquivalent( entity );
+		s.createQuery( "delete WideEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testHydrationOfManyProperties() {
+		// more properties than the generated methods hold, and without positions kept by the caller
+		final int span = 250;
+		final Type[] types = new Type[span];
+		final String[][] columns = new String[span][];
+		final StringBuilder sql = new StringBuilder( "select " );
+		for ( int i = 0; i < span; i++ ) {
+			types[i] = i % 2 == 0 ? StringType.INSTANCE : IntegerType.INSTANCE;
+			columns[i] = new String[] { "c" + i };
+			if ( i > 0 ) {
+				sql.append( ", " );
+			}
+			sql.append( i % 2 == 0 ? "'v" + i + "'" : String.valueOf( i ) ).append( " as c" ).append( i );
+		}
+		final boolean[] selectable = new boolean[span];
+		Arrays.fill( selectable, true );
+		selectable[span - 1] = false;
+		final PropertyHydrator hydrator = new BytecodeProviderImpl().getPropertyHydrator(
+				"many",
+				types,
+				selectable,
+				new boolean[span]
+		);
+
+		final Session s = openSession();
+		s.beginTransaction();
+		s.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							final ResultSet rs = statement.executeQuery( sql.toString() );
+							assertTrue( rs.next() );
+							final Object[] values = hydrator.hydrate( rs, columns, null, false, (SessionImplementor) s, null );
+							for ( int i = 0; i < span - 1; i++ ) {
+								assertEquals( i % 2 == 0 ? "v" + i : Integer.valueOf( i ), values[i] );
+							}
+							assertEquals( BackrefPropertyAccessor.UNKNOWN, values[span - 1] );
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "WideEntity")
+	public static class WideEntity {
+		@Id
+		private Integer id;
+		private String string1;
+		private String string2;
+		private String string3;
+		private Integer integer1;
+		private Integer integer2;
+		private int int1;
+		private Long long1;
+		private long primitiveLong;
+		private BigDecimal decimal1;
+		private Double double1;
+		private Boolean boolean1;
+		private boolean boolean2;
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date timestamp1;
+		@Temporal(TemporalType.DATE)
+		private Date date1;
+		@Embedded
+		private Range range;
+
+		public WideEntity() {
+		}
+
+		public WideEntity(int id, Date date) {
+			this.id = id;
+			this.string1 = "s1-" + id;
+			this.string2 = "s2-" + id;
+			this.string3 = null;
+			this.integer1 = id;
+			this.integer2 = null;
+			this.int1 = id * 3;
+			this.long1 = id * 10L;
+			this.primitiveLong = id * 100L;
+			this.decimal1 = new BigDecimal( "12.50" );
+			this.double1 = id / 4d;
+			this.boolean1 = id % 2 == 0;
+			this.boolean2 = id % 3 == 0;
+			this.timestamp1 = date;
+			this.date1 = null;
+			this.range = new Range( id, id + 5 );
+		}
+
+		void assertEquivalent(WideEntity other) {
+			assertEquals( id, other.id );
+			assertEquals( string1, other.string1 );
+			assertEquals( string2, other.string2 );
+			assertNull( other.string3 );
+			assertEquals( integer1, other.integer1 );
+			assertNull( other.integer2 );
+			assertEquals( int1, other.int1 );
+			assertEquals( long1, other.long1 );
+			assertEquals( primitiveLong, other.primitiveLong );
+			assertEquals( 0, decimal1.compareTo( other.decimal1 ) );
+			assertEquals( double1, other.double1 );
+			assertEquals( boolean1, other.boolean1 );
+			assertEquals( boolean2, other.boolean2 );
+			assertEquals( timestamp1.getTime(), other.timestamp1.getTime() );
+			assertNull( other.date1 );
+			assertEquals( range.low, other.range.low );
+			assertEquals( range.high, other.range.high );
+		}
+	}
+
+	@Embeddable
+	public static class Range {
+		private int low;
+		private int high;
+
+		public Range() {
+		}
+
+		public Range(int low, int high) {
+			this.low = low;
+			this.high = high;
+		}
+	}
+}
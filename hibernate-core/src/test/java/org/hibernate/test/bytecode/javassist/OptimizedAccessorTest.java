@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import org.junit.Test;
+
+import org.hibernate.PropertyAccessException;
+import org.hibernate.bytecode.internal.javassist.OptimizedGetter;
+import org.hibernate.bytecode.internal.javassist.OptimizedSetter;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.DirectPropertyAccessor;
+import org.hibernate.property.Getter;
+import org.hibernate.property.OptimizedPropertyAccessor;
+import org.hibernate.property.PropertyAccessor;
+import org.hibernate.property.Setter;
+import org.hibernate.test.bytecode.Bean;
+import org.hibernate.test.bytecode.BeanReflectionHelper;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the getters and setters generated for {@link OptimizedPropertyAccessor}.
+ */
+public class OptimizedAccessorTest extends BaseUnitTestCase {
+	private static final String[] BEAN_PROPERTIES = {
+			"someString", "someLong", "someInteger", "someDate", "somelong", "someint", "someObject"
+	};
+
+	@Test
+	public void testPropertyAccess() {
+		final PropertyAccessor accessor = new OptimizedPropertyAccessor( new BasicPropertyAccessor() );
+		final Bean bean = new Bean();
+		for ( int i = 0; i < BEAN_PROPERTIES.length; i++ ) {
+			final Getter getter = accessor.getGetter( Bean.class, BEAN_PROPERTIES[i] );
+			final Setter setter = accessor.getSetter( Bean.class, BEAN_PROPERTIES[i] );
+			assertTrue( getter instanceof OptimizedGetter );
+			assertTrue( setter instanceof OptimizedSetter );
+			setter.set( bean, BeanReflectionHelper.TEST_VALUES[i], null );
+			assertEquals( BeanReflectionHelper.TEST_VALUES[i], getter.get( bean ) );
+		}
+	}
+
+	@Test
+	public void testFieldAccess() {
+		final PropertyAccessor accessor = new OptimizedPropertyAccessor( new DirectPropertyAccessor() );
+		final FieldBean bean = new FieldBean();
+
+		final Getter nameGetter = accessor.getGetter( FieldBean.class, "name" );
+		final Setter nameSetter = accessor.getSetter( FieldBean.class, "name" );
+		assertTrue( nameGetter instanceof OptimizedGetter );
+		assertTrue( nameSetter instanceof OptimizedSetter );
+		nameSetter.set( bean, "steve", null );
+		assertEquals( "steve", bean.name );
+		assertEquals( "steve", nameGetter.get( bean ) );
+
+		final Getter countGetter = accessor.getGetter( FieldBean.class, "count" );
+		final Setter countSetter = accessor.getSetter( FieldBean.class, "count" );
+		assertTrue( countGetter instanceof OptimizedGetter );
+		assertTrue( countSetter instanceof OptimizedSetter );
+		countSetter.set( bean, 42L, null );
+		assertEquals( 42L, bean.count );
+		assertEquals( 42L, countGetter.get( bean ) );
+
+		// private members are left to reflection
+		final Getter secretGetter = accessor.getGetter( FieldBean.class, "secret" );
+		final Setter secretSetter = accessor.getSetter( FieldBean.class, "secret" );
+		assertFalse( secretGetter instanceof OptimizedGetter );
+		assertFalse( secretSetter instanceof OptimizedSetter );
+		secretSetter.set( bean, "hidden", null );
+		assertEquals( "hidden", secretGetter.get( bean ) );
+	}
+
+	@Test
+	public void testGeneratedClassesAreShared() {
+		// mappings ask for the accessors of a property many times, which must not define a class each time
+		final PropertyAccessor accessor = new OptimizedPropertyAccessor( new BasicPropertyAccessor() );
+		final Getter getter = accessor.getGetter( Bean.class, "someString" );
+		final Setter setter = accessor.getSetter( Bean.class, "someString" );
+		assertSame( getter.getClass(), accessor.getGetter( Bean.class, "someString" ).getClass() );
+		assertSame( setter.getClass(), accessor.getSetter( Bean.class, "someString" ).getClass() );
+		assertNotSame( getter.getClass(), accessor.getGetter( Bean.class, "someLong" ).getClass() );
+
+		final PropertyAccessor fieldAccessor = new OptimizedPropertyAccessor( new DirectPropertyAccessor() );
+		assertSame(
+				fieldAccessor.getGetter( FieldBean.class, "name" ).getClass(),
+				fieldAccessor.getGetter( FieldBean.class, "name" ).getClass()
+		);
+	}
+
+	@Test
+	public void testNullPrimitiveIsReportedAsBefore() {
+		final PropertyAccessor accessor = new OptimizedPropertyAccessor( new BasicPropertyAccessor() );
+		final Setter setter = accessor.getSetter( Bean.class, "somelong" );
+		assertTrue( setter instanceof OptimizedSetter );
+		try {
+			setter.set( new Bean(), null, null );
+			fail( "expecting PropertyAccessException" );
+		}
+		catch (PropertyAccessException expected) {
+			assertEquals( "somelong", expected.getPropertyName() );
+		}
+	}
+
+	@Test
+	public void testSerialization() {
+		final PropertyAccessor accessor = new OptimizedPropertyAccessor( new DirectPropertyAccessor() );
+		final Getter getter = accessor.getGetter( FieldBean.class, "name" );
+		final Setter setter = accessor.getSetter( FieldBean.class, "name" );
+		assertTrue( getter instanceof OptimizedGetter );
+
+		final Getter deserializedGetter = (Getter) SerializationHelper.clone( getter );
+		final Setter deserializedSetter = (Setter) SerializationHelper.clone( setter );
+		final FieldBean bean = new FieldBean();
+		deserializedSetter.set( bean, "gavin", null );
+		assertEquals( "gavin", deserializedGetter.get( bean ) );
+	}
+
+	public static class FieldBean {
+		String name;
+		long count;
+		private String secret;
+	}
+}
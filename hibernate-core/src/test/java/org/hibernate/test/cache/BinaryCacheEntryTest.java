@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the binary format of second level cache entries.
+ */
+public class BinaryCacheEntryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableTypedItem.class, User.class, Company.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.USE_BINARY_CACHE_ENTRIES, "true" );
+	}
+
+	@Test
+	public void testEntityEntry() {
+		final Timestamp created = new Timestamp( 1420070400123L );
+		created.setNanos( 123456789 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableTypedItem item = new CacheableTypedItem( 1L, "item" );
+		item.setQuantity( 42 );
+		item.setPrice( new BigDecimal( "12.50" ) );
+		item.setAvailable( true );
+		item.setCreated( created );
+		item.setStatus( CacheableTypedItem.Status.RETIRED );
+		item.setData( new byte[] { 1, 2, 3 } );
+		s.save( item );
+		s.save( new CacheableTypedItem( 2L, null ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final Map entries = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "typedItem" ).getEntries();
+		assertEquals( 2, entries.size() );
+		assertTrue( entries.get( 1L ) instanceof byte[] );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		final CacheableTypedItem cached = (CacheableTypedItem) s.get( CacheableTypedItem.class, 1L );
+		assertEquals( "item", cached.getName() );
+		assertEquals( 0, cached.getVersion() );
+		assertEquals( 42, cached.getQuantity() );
+		assertEquals( new BigDecimal( "12.50" ), cached.getPrice() );
+		assertTrue( cached.isAvailable() );
+		assertEquals( created, cached.getCreated() );
+		assertEquals( CacheableTypedItem.Status.RETIRED, cached.getStatus() );
+		assertArrayEquals( new byte[] { 1, 2, 3 }, cached.getData() );
+		final CacheableTypedItem empty = (CacheableTypedItem) s.get( CacheableTypedItem.class, 2L );
+		assertNull( empty.getName() );
+		assertNull( empty.getPrice() );
+		assertNull( empty.getStatus() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getEntityLoadCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableTypedItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCollectionEntry() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Company company = new Company( 1 );
+		s.save( company );
+		s.save( new User( 1, company ) );
+		s.save( new User( 2, company ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// initializing the collection puts it into the cache
+		s = openSession();
+		s.beginTransaction();
+		Hibernate.initialize( ( (Company) s.get( Company.class, 1 ) ).getUsers() );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 2, ( (Company) s.get( Company.class, 1 ) ).getUsers().size() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getCollectionLoadCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete User" ).executeUpdate();
+		s.createQuery( "delete Company" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.BatchFetchQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the entities referenced by cached query results are looked up in the second level cache with a
+ * single bulk request.
+ */
+public class BulkCacheLookupTest extends BaseCoreFunctionalTestCase {
+	private static final int ITEM_COUNT = 10;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testCachedQueryResultsResolvedWithBulkLookup() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ITEM_COUNT; i++ ) {
+			s.save( new CacheableItem( "item-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// populate the query cache
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( ITEM_COUNT, s.createQuery( "from CacheableItem" ).setCacheable( true ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final CacheGetCounter counter = new CacheGetCounter();
+		s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		final List items = s.createQuery( "from CacheableItem" ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( ITEM_COUNT, items.size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( ITEM_COUNT, statistics.getSecondLevelCacheHitCount() );
+		// one lookup each for the update timestamps, the query results and all the items
+		assertEquals( 3, counter.getCacheGets() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNestedPrefetchKeepsEnclosingEntries() {
+		final Session s = openSession();
+		final SessionImplementor session = (SessionImplementor) s;
+		final EntityPersister persister = sessionFactory().getEntityPersister( CacheableItem.class.getName() );
+		final CacheKey first = session.generateCacheKey( 1L, persister.getIdentifierType(), persister.getRootEntityName() );
+		final CacheKey second = session.generateCacheKey( 2L, persister.getIdentifierType(), persister.getRootEntityName() );
+		final CacheKey third = session.generateCacheKey( 3L, persister.getIdentifierType(), persister.getRootEntityName() );
+		final BatchFetchQueue queue = session.getPersistenceContext().getBatchFetchQueue();
+
+		final Set<CacheKey> outer = queue.addPrefetchedCacheEntries(
+				Arrays.asList( first, second ),
+				Collections.<Object, Object>singletonMap( first, "first" )
+		);
+		assertEquals( 2, outer.size() );
+
+		// an operation running while the outer one's entries are in use, prefetching an overlapping set of keys
+		final Set<CacheKey> inner = queue.addPrefetchedCacheEntries(
+				Arrays.asList( second, third ),
+				Collections.<Object, Object>emptyMap()
+		);
+		assertEquals( Collections.singleton( third ), inner );
+		queue.removePrefetchedCacheEntries( inner );
+
+		assertTrue( queue.containsPrefetchedCacheEntry( first ) );
+		assertEquals( "first", queue.getPrefetchedCacheEntry( first ) );
+		assertTrue( queue.containsPrefetchedCacheEntry( second ) );
+		assertFalse( queue.containsPrefetchedCacheEntry( third ) );
+
+		queue.removePrefetchedCacheEntries( outer );
+		assertFalse( queue.containsPrefetchedCacheEntry( first ) );
+		assertFalse( queue.containsPrefetchedCacheEntry( second ) );
+		s.close();
+	}
+}
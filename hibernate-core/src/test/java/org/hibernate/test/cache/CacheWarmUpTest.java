@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the warm-up of the second level cache regions when the session factory is built.
+ */
+public class CacheWarmUpTest extends BaseCoreFunctionalTestCase {
+	private static final String COLLECTION_REGION = Company.class.getName() + ".users";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class, Company.class, User.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_WARM_UP_REGIONS, "item, " + COLLECTION_REGION );
+		// several batches, the last one shorter, loaded by several threads
+		cfg.setProperty( AvailableSettings.CACHE_WARM_UP_BATCH_SIZE, "2" );
+		cfg.setProperty( AvailableSettings.CACHE_WARM_UP_THREADS, "2" );
+	}
+
+	@Test
+	public void testWarmUp() {
+		createData();
+
+		// a second session factory on the same database finds the data when it is built
+		final SessionFactoryImplementor warmFactory = buildWarmFactory();
+		try {
+			final Statistics statistics = warmFactory.getStatistics();
+			final SecondLevelCacheStatistics itemStatistics = statistics.getSecondLevelCacheStatistics( "item" );
+			final SecondLevelCacheStatistics usersStatistics = statistics.getSecondLevelCacheStatistics( COLLECTION_REGION );
+			assertEquals( 6, statistics.getSecondLevelCacheWarmUpPutCount() );
+			assertEquals( 5, itemStatistics.getWarmUpPutCount() );
+			assertEquals( 5, itemStatistics.getElementCountInMemory() );
+			assertEquals( 1, usersStatistics.getWarmUpPutCount() );
+
+			final Session s = warmFactory.openSession();
+			s.beginTransaction();
+			for ( Object item : s.createQuery( "select i.id from CacheableItem i" ).list() ) {
+				s.get( CacheableItem.class, (Long) item );
+			}
+			assertEquals( 2, ( (Company) s.get( Company.class, 1 ) ).getUsers().size() );
+			s.getTransaction().commit();
+			s.close();
+			assertEquals( 5, itemStatistics.getHitCount() );
+			assertEquals( 0, itemStatistics.getMissCount() );
+			assertEquals( 1, usersStatistics.getHitCount() );
+		}
+		finally {
+			warmFactory.close();
+		}
+
+		deleteData();
+	}
+
+	@Test
+	public void testWarmUpMaxEntries() {
+		createData();
+
+		configuration().setProperty( AvailableSettings.CACHE_WARM_UP_MAX_ENTRIES, "3" );
+		final SessionFactoryImplementor warmFactory;
+		try {
+			warmFactory = buildWarmFactory();
+		}
+		finally {
+			configuration().getProperties().remove( AvailableSettings.CACHE_WARM_UP_MAX_ENTRIES );
+		}
+		try {
+			final SecondLevelCacheStatistics itemStatistics = warmFactory.getStatistics()
+					.getSecondLevelCacheStatistics( "item" );
+			assertEquals( 3, itemStatistics.getWarmUpPutCount() );
+			assertEquals( 3, itemStatistics.getElementCountInMemory() );
+		}
+		finally {
+			warmFactory.close();
+		}
+
+		deleteData();
+	}
+
+	private void createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			s.save( new CacheableItem( "item " + i ) );
+		}
+		final Company company = new Company( 1 );
+		s.save( company );
+		s.save( new User( 1, company ) );
+		s.save( new User( 2, company ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private SessionFactoryImplementor buildWarmFactory() {
+		final Object schemaAction = configuration().getProperties().remove( Environment.HBM2DDL_AUTO );
+		try {
+			return (SessionFactoryImplementor) configuration().buildSessionFactory( serviceRegistry() );
+		}
+		finally {
+			configuration().getProperties().put( Environment.HBM2DDL_AUTO, schemaAction );
+		}
+	}
+
+	private void deleteData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete User" ).executeUpdate();
+		s.createQuery( "delete Company" ).executeUpdate();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
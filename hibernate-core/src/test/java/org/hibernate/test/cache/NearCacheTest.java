@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the local near cache kept in front of the second level cache regions.
+ */
+public class NearCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class, NonstrictItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( AvailableSettings.USE_NEAR_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.NEAR_CACHE_TIME_TO_LIVE, "60000" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testNearCacheHitAndInvalidation() {
+		Session s = openSession();
+		s.beginTransaction();
+		final NonstrictItem item = new NonstrictItem();
+		item.setName( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( "nonstrict-item" );
+
+		// the first read loads from the database, the second one reads the actual region and the third one is
+		// answered by the near cache
+		for ( int i = 0; i < 3; i++ ) {
+			s = openSession();
+			s.beginTransaction();
+			assertEquals( "data", ( (NonstrictItem) s.get( NonstrictItem.class, item.getId() ) ).getName() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 1, statistics.getNearCacheHitCount() );
+		assertEquals( 2, statistics.getNearCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		( (NonstrictItem) s.get( NonstrictItem.class, item.getId() ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, statistics.getNearCacheHitCount() );
+
+		// the update invalidated the near cache entry
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "updated", ( (NonstrictItem) s.get( NonstrictItem.class, item.getId() ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, statistics.getNearCacheHitCount() );
+		assertEquals( 3, statistics.getNearCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( NonstrictItem.class, item.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReadWriteDataIsNotNearCached() {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		for ( int i = 0; i < 3; i++ ) {
+			s = openSession();
+			s.beginTransaction();
+			assertEquals( "data", ( (CacheableItem) s.get( CacheableItem.class, item.getId() ) ).getName() );
+			s.getTransaction().commit();
+			s.close();
+		}
+
+		// changes made on other nodes are not seen by the near cache, so read-write access bypasses it
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" );
+		assertEquals( 0, statistics.getNearCacheHitCount() );
+		assertEquals( 0, statistics.getNearCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( CacheableItem.class, item.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "NonstrictItem")
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "nonstrict-item")
+	public static class NonstrictItem {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String name;
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
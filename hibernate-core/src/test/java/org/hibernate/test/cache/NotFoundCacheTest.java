@@ -0,0 +1,199 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import org.junit.Test;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.NotFoundCacheEntry;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests caching identifiers matching no entity, see {@link Environment#CACHE_NOT_FOUND_ENTITIES}.
+ */
+public class NotFoundCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class, ReadOnlyCacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty(
+				Environment.CACHE_NOT_FOUND_ENTITIES,
+				CacheableItem.class.getName() + "," + ReadOnlyCacheableItem.class.getName()
+		);
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testRepeatedMissesServedFromCache() {
+		final Long id = createItem( "item" );
+		final Long missingId = id + 100;
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		assertNull( get( missingId ) );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 1, statistics.getSecondLevelCachePutCount() );
+
+		assertNull( get( missingId ) );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testInsertEvictsNotFoundEntry() {
+		final Long id = createItem( "first" );
+		final Long nextId = id + 1;
+		assertNull( get( nextId ) );
+
+		assertEquals( nextId, createItem( "second" ) );
+		final CacheableItem item = get( nextId );
+		assertNotNull( item );
+		assertEquals( "second", item.getName() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testNotFoundEntryRacingInsertRejected() {
+		final Long id = createItem( "first" );
+		final Long nextId = id + 1;
+		final EntityPersister persister = sessionFactory().getEntityPersister( CacheableItem.class.getName() );
+		final EntityRegionAccessStrategy accessStrategy = persister.getCacheAccessStrategy();
+
+		// a look up reading the database before the insertion commits, and caching its miss afterwards; the
+		// insertion does not cache the entity, so only its lock is left to reject the marker
+		final long lookUpTimestamp = accessStrategy.getRegion().nextTimestamp();
+		Session s = openSession();
+		s.setCacheMode( CacheMode.IGNORE );
+		s.beginTransaction();
+		s.save( new CacheableItem( "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		final CacheKey ck = ( (SessionImplementor) s ).generateCacheKey(
+				nextId,
+				persister.getIdentifierType(),
+				persister.getRootEntityName()
+		);
+		s.close();
+		assertFalse( accessStrategy.putFromLoad( ck, NotFoundCacheEntry.INSTANCE, lookUpTimestamp, null ) );
+
+		final CacheableItem item = get( nextId );
+		assertNotNull( item );
+		assertEquals( "second", item.getName() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testInsertEvictsNotFoundEntryOfReadOnlyEntity() {
+		Session s = openSession();
+		s.beginTransaction();
+		final ReadOnlyCacheableItem first = new ReadOnlyCacheableItem( "first" );
+		s.save( first );
+		s.getTransaction().commit();
+		s.close();
+		final Long nextId = first.getId() + 1;
+
+		s = openSession();
+		s.beginTransaction();
+		assertNull( s.get( ReadOnlyCacheableItem.class, nextId ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// read-only strategies hand out no lock for the not-found entry, and cannot update it
+		s = openSession();
+		s.beginTransaction();
+		final ReadOnlyCacheableItem second = new ReadOnlyCacheableItem( "second" );
+		s.save( second );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( nextId, second.getId() );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		final ReadOnlyCacheableItem item = (ReadOnlyCacheableItem) s.get( ReadOnlyCacheableItem.class, nextId );
+		assertNotNull( item );
+		assertEquals( "second", item.getName() );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete ReadOnlyCacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Long createItem(String name) {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( name );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+		return item.getId();
+	}
+
+	private CacheableItem get(Long id) {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = (CacheableItem) s.get( CacheableItem.class, id );
+		s.getTransaction().commit();
+		s.close();
+		return item;
+	}
+
+	private void deleteItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
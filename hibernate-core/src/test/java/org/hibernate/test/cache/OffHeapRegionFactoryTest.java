@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cache.offheap.internal.OffHeapRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the built-in off-heap second level cache.
+ */
+public class OffHeapRegionFactoryTest extends BaseCoreFunctionalTestCase {
+	private static final int REGION_SIZE = 16 * 1024;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_FACTORY, OffHeapRegionFactory.SHORT_NAME );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.OFF_HEAP_REGION_SIZE + ".item", String.valueOf( REGION_SIZE ) );
+		cfg.setProperty( AvailableSettings.OFF_HEAP_BLOCK_SIZE, "64" );
+	}
+
+	@Test
+	public void testEntityAndQueryCaching() {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics( "item" );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "data", ( (CacheableItem) s.get( CacheableItem.class, item.getId() ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, regionStatistics.getHitCount() );
+		assertTrue( regionStatistics.getSizeInMemory() > 0 );
+
+		s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, item.getId() ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "updated", ( (CacheableItem) s.get( CacheableItem.class, item.getId() ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 3, regionStatistics.getHitCount() );
+
+		for ( int i = 0; i < 2; i++ ) {
+			s = openSession();
+			s.beginTransaction();
+			final List list = s.createQuery( "from CacheableItem" ).setCacheable( true ).list();
+			assertEquals( 1, list.size() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( CacheableItem.class, item.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEviction() {
+		final int count = 500;
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			s.save( new CacheableItem( "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics regionStatistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( "item" );
+		assertTrue( regionStatistics.getElementCountInMemory() > 0 );
+		assertTrue( regionStatistics.getElementCountInMemory() < count );
+		assertTrue( regionStatistics.getSizeInMemory() <= REGION_SIZE );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
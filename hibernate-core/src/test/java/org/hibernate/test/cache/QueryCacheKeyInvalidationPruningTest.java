@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the pruning of the per entity timestamps kept when invalidating cached query results by entity key, see
+ * {@link Environment#QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES}.
+ */
+public class QueryCacheKeyInvalidationPruningTest extends BaseCoreFunctionalTestCase {
+	private static final String ENTITY_QUERY = "from CacheableItem i where i.name in ('a', 'b') order by i.name";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.QUERY_CACHE_INVALIDATION_BY_KEY, "true" );
+		cfg.setProperty( Environment.QUERY_CACHE_INVALIDATION_BY_KEY_MAX_ENTRIES, "1" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testPrunedEntityTimestampsFallBackToSpaceInvalidation() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "a" ) );
+		s.save( new CacheableItem( "b" ) );
+		final CacheableItem c = new CacheableItem( "c" );
+		s.save( c );
+		final CacheableItem d = new CacheableItem( "d" );
+		s.save( d );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		statistics.clear();
+
+		rename( c.getId(), "c2" );
+		assertNotNull( getTimestamp( c.getId() ) );
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		// the timestamp of c is pruned, the results cached before it can no longer be checked by entity key
+		rename( d.getId(), "d2" );
+		assertNull( getTimestamp( c.getId() ) );
+		assertNotNull( getTimestamp( d.getId() ) );
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		// the results cached since are checked by entity key again
+		rename( c.getId(), "c3" );
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Object getTimestamp(Long id) {
+		final EntityPersister persister = sessionFactory().getEntityPersister( CacheableItem.class.getName() );
+		final Session s = openSession();
+		try {
+			final CacheKey key = ( (SessionImplementor) s ).generateCacheKey(
+					id,
+					persister.getIdentifierType(),
+					persister.getRootEntityName()
+			);
+			return sessionFactory().getUpdateTimestampsCache().getRegion().get( key );
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	private void rename(Long id, String name) {
+		Session s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, id ) ).setName( name );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List list(String query) {
+		Session s = openSession();
+		s.beginTransaction();
+		final List results = s.createQuery( query ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+		return results;
+	}
+}
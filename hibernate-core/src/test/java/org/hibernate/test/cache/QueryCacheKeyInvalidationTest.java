@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests invalidating cached query results by entity key, see {@link Environment#QUERY_CACHE_INVALIDATION_BY_KEY}.
+ */
+public class QueryCacheKeyInvalidationTest extends BaseCoreFunctionalTestCase {
+	private static final String ENTITY_QUERY = "from CacheableItem i where i.name in ('a', 'b') order by i.name";
+	private static final String SCALAR_QUERY = "select i.name from CacheableItem i where i.name in ('a', 'b')";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.QUERY_CACHE_INVALIDATION_BY_KEY, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testChangesToOtherEntitiesKeepResults() {
+		final Long cId = createData();
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		statistics.clear();
+
+		rename( cId, "c2" );
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 0, statistics.getQueryCacheMissCount() );
+		assertEquals( 1, statistics.getQueryCacheKeyInvalidationHitCount() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( CacheableItem.class, cId ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, statistics.getQueryCacheKeyInvalidationHitCount() );
+
+		deleteData();
+	}
+
+	@Test
+	public void testChangesToHeldEntitiesInvalidateResults() {
+		createData();
+		final Statistics statistics = sessionFactory().getStatistics();
+		final List items = list( ENTITY_QUERY );
+		assertEquals( 2, items.size() );
+		statistics.clear();
+
+		rename( ( (CacheableItem) items.get( 0 ) ).getId(), "x" );
+		List results = list( ENTITY_QUERY );
+		assertEquals( 1, results.size() );
+		assertEquals( "b", ( (CacheableItem) results.get( 0 ) ).getName() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		// insertions still invalidate all the results over the table
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "a" ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, list( ENTITY_QUERY ).size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, statistics.getQueryCacheMissCount() );
+		assertEquals( 0, statistics.getQueryCacheKeyInvalidationHitCount() );
+
+		deleteData();
+	}
+
+	@Test
+	public void testScalarResultsInvalidatedBySpace() {
+		final Long cId = createData();
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertEquals( 2, list( SCALAR_QUERY ).size() );
+		statistics.clear();
+
+		rename( cId, "c2" );
+		assertEquals( 2, list( SCALAR_QUERY ).size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		deleteData();
+	}
+
+	private Long createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "a" ) );
+		s.save( new CacheableItem( "b" ) );
+		final CacheableItem c = new CacheableItem( "c" );
+		s.save( c );
+		s.getTransaction().commit();
+		s.close();
+		return c.getId();
+	}
+
+	private void rename(Long id, String name) {
+		Session s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, id ) ).setName( name );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List list(String query) {
+		Session s = openSession();
+		s.beginTransaction();
+		final List results = s.createQuery( query ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+		return results;
+	}
+
+	private void deleteData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import org.junit.Test;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the update timestamps of the query spaces of a cached query are read with a single bulk request, and
+ * remembered until the end of the transaction when {@link Environment#QUERY_CACHE_MEMOIZE_TIMESTAMPS} is enabled.
+ */
+public class QuerySpaceTimestampsTest extends BaseCoreFunctionalTestCase {
+	private static final String QUERY = "select u.id from User u join u.company c";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Company.class, User.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.QUERY_CACHE_MEMOIZE_TIMESTAMPS, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testTimestampsReadWithBulkLookup() {
+		createData();
+		populateQueryCache();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final CacheGetCounter counter = new CacheGetCounter();
+		Session s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		assertEquals( 2, cachedQuery( s ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, statistics.getUpdateTimestampsCacheHitCount() );
+		// one lookup for the query results and one for the timestamps of both tables
+		assertEquals( 2, counter.getCacheGets() );
+
+		deleteData();
+	}
+
+	@Test
+	public void testTimestampsMemoizedWithinTransaction() {
+		createData();
+		populateQueryCache();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final CacheGetCounter counter = new CacheGetCounter();
+		Session s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		assertEquals( 2, cachedQuery( s ).list().size() );
+		assertEquals( 2, counter.getCacheGets() );
+		assertEquals( 2, cachedQuery( s ).list().size() );
+		// only the query results are looked up again
+		assertEquals( 3, counter.getCacheGets() );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+
+		// the changes made by the transaction itself are always seen
+		s.save( new User( 3, (Company) s.load( Company.class, 1 ) ) );
+		s.flush();
+		assertEquals( 3, cachedQuery( s ).list().size() );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// a new transaction reads the timestamps again
+		counter.reset();
+		s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		assertEquals( 3, cachedQuery( s ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, counter.getCacheGets() );
+
+		deleteData();
+	}
+
+	private void createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Company company = new Company( 1 );
+		s.save( company );
+		s.save( new User( 1, company ) );
+		s.save( new User( 2, company ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete User" ).executeUpdate();
+		s.createQuery( "delete Company" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void populateQueryCache() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals( 2, cachedQuery( s ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Query cachedQuery(Session s) {
+		return s.createQuery( QUERY ).setCacheable( true );
+	}
+}
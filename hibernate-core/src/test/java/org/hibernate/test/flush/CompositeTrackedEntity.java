@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+
+import org.hibernate.engine.spi.CompositeOwner;
+import org.hibernate.engine.spi.CompositeTracker;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * An entity tracking its own dirty attributes the way enhanced entities do, with composites reporting their
+ * in-place changes (nested ones included) to their owner, so that its tracker sees every change.
+ */
+@Entity
+public class CompositeTrackedEntity implements SelfDirtinessTracker, CompositeOwner {
+	@Id
+	private Long id;
+	@Embedded
+	private Location location;
+
+	@Transient
+	private final Set<String> dirtyAttributes = new HashSet<String>();
+
+	public CompositeTrackedEntity() {
+	}
+
+	public CompositeTrackedEntity(Long id, String street) {
+		this.id = id;
+		setLocation( new Location( street, new Coordinates( 0, 0 ) ) );
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Location getLocation() {
+		return location;
+	}
+
+	public void setLocation(Location location) {
+		if ( this.location != null ) {
+			this.location.$$_hibernate_clearOwner( "location" );
+		}
+		if ( location != null ) {
+			location.$$_hibernate_setOwner( "location", this );
+		}
+		dirtyAttributes.add( "location" );
+		this.location = location;
+	}
+
+	@Override
+	public void $$_hibernate_trackChange(String attributeName) {
+		dirtyAttributes.add( attributeName );
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return !dirtyAttributes.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		return dirtyAttributes;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		dirtyAttributes.clear();
+	}
+
+	/**
+	 * Reports changes to the single owner it supports, by path, the way enhanced composites do.
+	 */
+	public abstract static class TrackedComposite implements CompositeTracker {
+		@Transient
+		private String ownerName;
+		@Transient
+		private CompositeOwner owner;
+
+		protected void trackChange(String attributeName) {
+			if ( owner != null ) {
+				owner.$$_hibernate_trackChange( ownerName + "." + attributeName );
+			}
+		}
+
+		@Override
+		public void $$_hibernate_setOwner(String name, CompositeOwner owner) {
+			this.ownerName = name;
+			this.owner = owner;
+		}
+
+		@Override
+		public void $$_hibernate_clearOwner(String name) {
+			if ( name.equals( ownerName ) ) {
+				this.ownerName = null;
+				this.owner = null;
+			}
+		}
+	}
+
+	@Embeddable
+	public static class Location extends TrackedComposite implements CompositeOwner {
+		private String street;
+		@Embedded
+		private Coordinates coordinates;
+
+		public Location() {
+		}
+
+		public Location(String street, Coordinates coordinates) {
+			this.street = street;
+			this.coordinates = coordinates;
+			coordinates.$$_hibernate_setOwner( "coordinates", this );
+		}
+
+		public String getStreet() {
+			return street;
+		}
+
+		public void setStreet(String street) {
+			this.street = street;
+			trackChange( "street" );
+		}
+
+		public Coordinates getCoordinates() {
+			return coordinates;
+		}
+
+		@Override
+		public void $$_hibernate_trackChange(String attributeName) {
+			trackChange( attributeName );
+		}
+	}
+
+	@Embeddable
+	public static class Coordinates extends TrackedComposite {
+		private int latitude;
+		private int longitude;
+
+		public Coordinates() {
+		}
+
+		public Coordinates(int latitude, int longitude) {
+			this.latitude = latitude;
+			this.longitude = longitude;
+		}
+
+		public int getLatitude() {
+			return latitude;
+		}
+
+		public void setLatitude(int latitude) {
+			this.latitude = latitude;
+			trackChange( "latitude" );
+		}
+	}
+}
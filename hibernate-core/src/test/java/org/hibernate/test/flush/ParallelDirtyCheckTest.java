@@ -0,0 +1,246 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Type;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.compare.EqualsHelper;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.hibernate.type.StringType;
+import org.hibernate.usertype.UserType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Verifies that flushing with {@link AvailableSettings#FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD} enabled detects
+ * exactly the modified entities.
+ */
+public class ParallelDirtyCheckTest extends BaseCoreFunctionalTestCase {
+	private static final int ENTITY_COUNT = 100;
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.FLUSH_PARALLEL_DIRTY_CHECK_THRESHOLD, "10" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { UnrelatedEntity.class, RecordingEntity.class };
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParallelDirtyCheck() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final UnrelatedEntity entity = new UnrelatedEntity();
+			entity.setName( "entity-" + i );
+			s.persist( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<UnrelatedEntity> entities = s.createQuery( "from UnrelatedEntity order by id" ).list();
+		assertEquals( ENTITY_COUNT, entities.size() );
+		for ( int i = 0; i < ENTITY_COUNT; i += 10 ) {
+			entities.get( i ).setName( "modified-" + i );
+		}
+		s.flush();
+		assertEquals( ENTITY_COUNT / 10, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		// nothing left to flush
+		s.flush();
+		assertEquals( ENTITY_COUNT / 10, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entities = s.createQuery( "from UnrelatedEntity order by id" ).list();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			assertEquals( ( i % 10 == 0 ? "modified-" : "entity-" ) + i, entities.get( i ).getName() );
+		}
+		s.createQuery( "delete UnrelatedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testDirtyCheckRunsOnWorkerThreads() {
+		assumeTrue( Runtime.getRuntime().availableProcessors() > 1 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final RecordingEntity entity = new RecordingEntity();
+			entity.setName( "entity-" + i );
+			s.persist( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		ThreadRecordingType.THREAD_NAMES.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<RecordingEntity> entities = s.createQuery( "from RecordingEntity" ).list();
+		assertEquals( ENTITY_COUNT, entities.size() );
+		entities.get( 0 ).setName( "modified" );
+		s.flush();
+
+		final Set<String> threadNames = new HashSet<String>( ThreadRecordingType.THREAD_NAMES );
+		assertTrue( "no dirty check happened on a worker thread: " + threadNames, containsWorkerThread( threadNames ) );
+
+		s.createQuery( "delete RecordingEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static boolean containsWorkerThread(Set<String> threadNames) {
+		for ( String threadName : threadNames ) {
+			if ( threadName.startsWith( "hibernate-dirty-check-" ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Entity(name = "RecordingEntity")
+	public static class RecordingEntity {
+		private Long id;
+		private String name;
+
+		@Id
+		@GeneratedValue
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		@Type(type = "org.hibernate.test.flush.ParallelDirtyCheckTest$ThreadRecordingType")
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * A string type recording the names of the threads its values are compared on.
+	 */
+	public static class ThreadRecordingType implements UserType {
+		static final Set<String> THREAD_NAMES = Collections.synchronizedSet( new HashSet<String>() );
+
+		@Override
+		public int[] sqlTypes() {
+			return new int[] { Types.VARCHAR };
+		}
+
+		@Override
+		public Class returnedClass() {
+			return String.class;
+		}
+
+		@Override
+		public boolean equals(Object x, Object y) {
+			THREAD_NAMES.add( Thread.currentThread().getName() );
+			return EqualsHelper.equals( x, y );
+		}
+
+		@Override
+		public int hashCode(Object x) {
+			return x.hashCode();
+		}
+
+		@Override
+		public Object nullSafeGet(ResultSet rs, String[] names, SessionImplementor session, Object owner)
+				throws SQLException {
+			return StringType.INSTANCE.nullSafeGet( rs, names[0], session );
+		}
+
+		@Override
+		public void nullSafeSet(PreparedStatement st, Object value, int index, SessionImplementor session)
+				throws SQLException {
+			StringType.INSTANCE.nullSafeSet( st, value, index, session );
+		}
+
+		@Override
+		public Object deepCopy(Object value) {
+			return value;
+		}
+
+		@Override
+		public boolean isMutable() {
+			return false;
+		}
+
+		@Override
+		public Serializable disassemble(Object value) {
+			return (Serializable) value;
+		}
+
+		@Override
+		public Object assemble(Serializable cached, Object owner) {
+			return cached;
+		}
+
+		@Override
+		public Object replace(Object original, Object target, Object owner) {
+			return original;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that {@link AvailableSettings#DISCARD_LOADED_STATE} drops the loaded state of entities whose
+ * {@link org.hibernate.engine.spi.SelfDirtinessTracker} sees all their changes, and that the flush then relies on
+ * the tracker alone to find dirty entities.
+ */
+public class SelfDirtinessTrackerFlushTest extends BaseCoreFunctionalTestCase {
+	private static final int ENTITY_COUNT = 20;
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.DISCARD_LOADED_STATE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { TrackedEntity.class, SimpleTrackedEntity.class, CompositeTrackedEntity.class };
+	}
+
+	@Test
+	public void testCompositePathsResolveToTheirAttribute() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( TrackedEntity.class.getName() );
+		final int nameIndex = persister.getEntityMetamodel().getPropertyIndex( "name" );
+		final int dimensionsIndex = persister.getEntityMetamodel().getPropertyIndex( "dimensions" );
+		final int[] dirty = persister.resolveAttributeIndexes(
+				new HashSet<String>( Arrays.asList( "dimensions.width", "dimensions.height", "name", "unknown" ) )
+		);
+		assertArrayEquals(
+				new int[] { Math.min( nameIndex, dimensionsIndex ), Math.max( nameIndex, dimensionsIndex ) },
+				dirty
+		);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testOnlyTrackedChangesAreFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < ENTITY_COUNT; i++ ) {
+			s.persist( new SimpleTrackedEntity( i, "entity-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<SimpleTrackedEntity> entities = s.createQuery( "from SimpleTrackedEntity order by id" ).list();
+		assertEquals( ENTITY_COUNT, entities.size() );
+		for ( SimpleTrackedEntity entity : entities ) {
+			final EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( entity );
+			assertTrue( entry.isLoadedStateDiscarded() );
+			assertNull( entry.getLoadedState() );
+		}
+		entities.get( 0 ).setName( "modified-0" );
+		entities.get( 1 ).setNameUntracked( "untracked-1" );
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		assertNull( ( (SessionImplementor) s ).getPersistenceContext().getEntry( entities.get( 0 ) ).getLoadedState() );
+
+		// nothing left to flush
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entities = s.createQuery( "from SimpleTrackedEntity order by id" ).list();
+		assertEquals( "modified-0", entities.get( 0 ).getName() );
+		assertEquals( "entity-1", entities.get( 1 ).getName() );
+		for ( SimpleTrackedEntity entity : entities ) {
+			s.delete( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMutableValuesKeepTheSnapshot() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < 3; i++ ) {
+			s.persist( new TrackedEntity( i, "entity-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<TrackedEntity> entities = s.createQuery( "from TrackedEntity order by id" ).list();
+		for ( TrackedEntity entity : entities ) {
+			final EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( entity );
+			assertFalse( entry.isLoadedStateDiscarded() );
+			assertNotNull( entry.getLoadedState() );
+		}
+		// changes the tracker does not see are found by comparing with the snapshot
+		entities.get( 0 ).getSince().setTime( 1000L );
+		entities.get( 1 ).setNameUntracked( "untracked-1" );
+		entities.get( 2 ).setWidth( 10 );
+		s.flush();
+		assertEquals( 3, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entities = s.createQuery( "from TrackedEntity order by id" ).list();
+		assertEquals( 1000L, entities.get( 0 ).getSince().getTime() );
+		assertEquals( "untracked-1", entities.get( 1 ).getName() );
+		assertEquals( 10, entities.get( 2 ).getWidth() );
+		for ( TrackedEntity entity : entities ) {
+			s.delete( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTrackedCompositesDiscardTheSnapshot() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < 3; i++ ) {
+			s.persist( new CompositeTrackedEntity( i, "street-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<CompositeTrackedEntity> entities = s.createQuery( "from CompositeTrackedEntity order by id" ).list();
+		for ( CompositeTrackedEntity entity : entities ) {
+			final EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( entity );
+			assertTrue( entry.isLoadedStateDiscarded() );
+			assertNull( entry.getLoadedState() );
+		}
+		// the loaded composites report their in-place changes, nested ones included
+		entities.get( 0 ).getLocation().setStreet( "modified-0" );
+		entities.get( 1 ).getLocation().getCoordinates().setLatitude( 10 );
+		s.flush();
+		assertEquals( 2, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		// nothing left to flush
+		s.flush();
+		assertEquals( 2, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entities = s.createQuery( "from CompositeTrackedEntity order by id" ).list();
+		assertEquals( "modified-0", entities.get( 0 ).getLocation().getStreet() );
+		assertEquals( 10, entities.get( 1 ).getLocation().getCoordinates().getLatitude() );
+		assertEquals( "street-2", entities.get( 2 ).getLocation().getStreet() );
+		for ( CompositeTrackedEntity entity : entities ) {
+			s.delete( entity );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
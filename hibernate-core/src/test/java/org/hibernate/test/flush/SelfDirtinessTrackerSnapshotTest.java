@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that, by default, entities tracking their own dirty attributes are still dirty checked against their
+ * loaded state, so that changes their {@link org.hibernate.engine.spi.SelfDirtinessTracker} does not see are
+ * flushed too.
+ */
+public class SelfDirtinessTrackerSnapshotTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { TrackedEntity.class, SimpleTrackedEntity.class };
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testInPlaceDateChangeIsFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new TrackedEntity( 1L, "entity" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		TrackedEntity entity = (TrackedEntity) s.get( TrackedEntity.class, 1L );
+		entity.getSince().setTime( 1000L );
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		// nothing left to flush
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entity = (TrackedEntity) s.get( TrackedEntity.class, 1L );
+		assertEquals( 1000L, entity.getSince().getTime() );
+		s.delete( entity );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testUntrackedChangeIsFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new SimpleTrackedEntity( 1L, "entity" ) );
+		s.persist( new SimpleTrackedEntity( 2L, "entity" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List<SimpleTrackedEntity> entities = s.createQuery( "from SimpleTrackedEntity order by id" ).list();
+		entities.get( 0 ).setName( "tracked" );
+		entities.get( 1 ).setNameUntracked( "untracked" );
+		s.flush();
+		assertEquals( 2, sessionFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		entities = s.createQuery( "from SimpleTrackedEntity order by id" ).list();
+		assertEquals( "tracked", entities.get( 0 ).getName() );
+		assertEquals( "untracked", entities.get( 1 ).getName() );
+		s.createQuery( "delete SimpleTrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
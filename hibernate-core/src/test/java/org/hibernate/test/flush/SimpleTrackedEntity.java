@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * An entity tracking its own dirty attributes the way enhanced entities do, with immutable values only, so that
+ * its tracker sees every change (made through its setters).
+ */
+@Entity
+public class SimpleTrackedEntity implements SelfDirtinessTracker {
+	@Id
+	private Long id;
+	private String name;
+
+	@Transient
+	private final Set<String> dirtyAttributes = new HashSet<String>();
+
+	public SimpleTrackedEntity() {
+	}
+
+	public SimpleTrackedEntity(Long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		if ( this.name == null ? name != null : !this.name.equals( name ) ) {
+			dirtyAttributes.add( "name" );
+		}
+		this.name = name;
+	}
+
+	/**
+	 * Changes the name without telling the tracker, which the flush is expected not to notice when the loaded
+	 * state is discarded.
+	 */
+	void setNameUntracked(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return !dirtyAttributes.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		return dirtyAttributes;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		dirtyAttributes.clear();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Transient;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * An entity tracking its own dirty attributes the way enhanced entities do, including changes within its
+ * composite which are tracked by path.  Like with enhanced entities, in-place changes of its mutable
+ * {@link #getSince() date} are not tracked.
+ */
+@Entity
+public class TrackedEntity implements SelfDirtinessTracker {
+	@Id
+	private Long id;
+	private String name;
+	@Embedded
+	private Dimensions dimensions = new Dimensions();
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date since;
+
+	@Transient
+	private final Set<String> dirtyAttributes = new HashSet<String>();
+
+	public TrackedEntity() {
+	}
+
+	public TrackedEntity(Long id, String name) {
+		this.id = id;
+		this.name = name;
+		this.since = new Date( 0L );
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		if ( this.name == null ? name != null : !this.name.equals( name ) ) {
+			dirtyAttributes.add( "name" );
+		}
+		this.name = name;
+	}
+
+	/**
+	 * Changes the name without telling the tracker, which the flush is expected not to notice.
+	 */
+	void setNameUntracked(String name) {
+		this.name = name;
+	}
+
+	public int getWidth() {
+		return dimensions.width;
+	}
+
+	public void setWidth(int width) {
+		if ( dimensions.width != width ) {
+			dirtyAttributes.add( "dimensions.width" );
+		}
+		dimensions.width = width;
+	}
+
+	public Date getSince() {
+		return since;
+	}
+
+	public void setSince(Date since) {
+		if ( this.since == null ? since != null : !this.since.equals( since ) ) {
+			dirtyAttributes.add( "since" );
+		}
+		this.since = since;
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return !dirtyAttributes.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		return dirtyAttributes;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		dirtyAttributes.clear();
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private int width;
+		private int height;
+	}
+}
@@ -25,6 +25,7 @@ package org.hibernate.test.insertordering;
 
 import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 
@@ -88,6 +89,36 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	@Test
+	public void testReferencedEntityFirstSeenLater() {
+		Session s = openSession();
+		s.beginTransaction();
+		Date now = new Date();
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			// a membership without references is queued before the user referenced by the next membership
+			s.save( new Membership( null, null, now ) );
+			User user = new User( "user-" + i );
+			s.save( user );
+			s.save( new Membership( user, null, now ) );
+		}
+		StatsBatch.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		// all users first, then all memberships
+		assertEquals( 2, StatsBatch.batchSizes.size() );
+		assertEquals( iterations, ( (Counter) StatsBatch.batchSizes.get( 0 ) ).count );
+		assertEquals( iterations * 2, ( (Counter) StatsBatch.batchSizes.get( 1 ) ).count );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Membership" ).executeUpdate();
+		s.createQuery( "delete User" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
 	public static class Counter {
 		public int count = 0;
 	}
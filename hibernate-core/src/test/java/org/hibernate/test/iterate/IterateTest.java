@@ -32,6 +32,8 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
 import static org.junit.Assert.assertEquals;
@@ -118,5 +120,42 @@ public class IterateTest extends BaseCoreFunctionalTestCase {
 		s.close();
 		assertEquals( sessionFactory().getStatistics().getEntityFetchCount(), 0 );
 	}
-}
 
+	@Test
+	public void testStream() throws Exception {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		for ( int i = 0; i < 20; i++ ) {
+			s.persist( "Item", new Item( "item" + ( 100 + i ) ) );
+		}
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		Iterator iter = s.createQuery( "from Item order by name" ).stream();
+		int count = 0;
+		while ( iter.hasNext() ) {
+			Item item = (Item) iter.next();
+			assertEquals( "item" + ( 100 + count ), item.getName() );
+			assertTrue( s.contains( item ) );
+			assertTrue( s.isReadOnly( item ) );
+			// only the current row is managed
+			assertEquals( 1, persistenceContext.getNumberOfManagedEntities() );
+			count++;
+		}
+		assertEquals( 20, count );
+		assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+
+		iter = s.createQuery( "select i.name, i from Item i order by i.name" ).stream();
+		Object[] row = (Object[]) iter.next();
+		assertEquals( "item100", row[0] );
+		Hibernate.close( iter );
+		assertFalse( s.contains( row[1] ) );
+
+		s.createQuery( "delete Item" ).executeUpdate();
+		t.commit();
+		s.close();
+	}
+}
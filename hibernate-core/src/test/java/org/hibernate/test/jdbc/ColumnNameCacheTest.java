@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests column name/alias resolution through {@link ColumnNameCache} built from result set metadata.
+ */
+public class ColumnNameCacheTest extends BaseUnitTestCase {
+	private static final String[] LABELS = new String[] { "id1_0_", "NAME2_0_", "name2_0_" };
+
+	@Test
+	public void testLabelsAreResolvedFromMetadata() throws SQLException {
+		final FindColumnCounter counter = new FindColumnCounter();
+		final ColumnNameCache cache = new ColumnNameCache( metaData() );
+		final ResultSet rs = resultSet( counter );
+
+		assertEquals( 1, cache.getIndexForColumnName( "id1_0_", rs ).intValue() );
+		assertEquals( 2, cache.getIndexForColumnName( "NAME2_0_", rs ).intValue() );
+		assertEquals( 0, counter.count );
+	}
+
+	@Test
+	public void testUnknownOrAmbiguousLabelsFallBackToResultSet() throws SQLException {
+		final FindColumnCounter counter = new FindColumnCounter();
+		final ColumnNameCache cache = new ColumnNameCache( metaData() );
+		final ResultSet rs = resultSet( counter );
+
+		// findColumn is case insensitive, so the driver would resolve this to the first column
+		assertEquals( 2, cache.getIndexForColumnName( "name2_0_", rs ).intValue() );
+		assertEquals( 1, cache.getIndexForColumnName( "ID1_0_", rs ).intValue() );
+		assertEquals( 2, counter.count );
+
+		cache.getIndexForColumnName( "ID1_0_", rs );
+		assertEquals( 2, counter.count );
+	}
+
+	private static ResultSetMetaData metaData() {
+		return (ResultSetMetaData) Proxy.newProxyInstance(
+				ColumnNameCacheTest.class.getClassLoader(),
+				new Class[] { ResultSetMetaData.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( "getColumnCount".equals( method.getName() ) ) {
+							return LABELS.length;
+						}
+						if ( "getColumnLabel".equals( method.getName() ) ) {
+							return LABELS[ (Integer) args[0] - 1 ];
+						}
+						throw new UnsupportedOperationException( "Unexpected call ResultSetMetaData." + method.getName() );
+					}
+				}
+		);
+	}
+
+	private static ResultSet resultSet(final FindColumnCounter counter) {
+		return (ResultSet) Proxy.newProxyInstance(
+				ColumnNameCacheTest.class.getClassLoader(),
+				new Class[] { ResultSet.class },
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ( "findColumn".equals( method.getName() ) ) {
+							counter.count++;
+							for ( int i = 0; i < LABELS.length; i++ ) {
+								if ( LABELS[i].equalsIgnoreCase( (String) args[0] ) ) {
+									return i + 1;
+								}
+							}
+							throw new SQLException( "Unknown column " + args[0] );
+						}
+						throw new UnsupportedOperationException( "Unexpected call ResultSet." + method.getName() );
+					}
+				}
+		);
+	}
+
+	private static class FindColumnCounter {
+		private int count;
+	}
+}
@@ -30,8 +30,11 @@ import static org.junit.Assert.assertTrue;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.Session;
+import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
 import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
@@ -205,4 +208,31 @@ public class BatchingTest extends BaseCoreFunctionalTestCase implements BatchKey
 		session.close();
 	}
 
+	@Test
+	public void testBatchSizeOverrides() throws Exception {
+		Session session = openSession();
+		final JdbcCoordinator jdbcCoordinator = ( (SessionImplementor) session ).getTransactionCoordinator()
+				.getJdbcCoordinator();
+
+		final BatchBuilderImpl batchBuilder = new BatchBuilderImpl( -1 );
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( Environment.STATEMENT_BATCH_SIZE_PREFIX + "com.acme.Document", "10" );
+		settings.put( Environment.STATEMENT_BATCH_SIZE_PREFIX + "com.acme.Document#UPDATE", "1" );
+		batchBuilder.configure( settings );
+
+		Batch batch = batchBuilder.buildBatch( new BasicBatchKey( "com.acme.Document#INSERT", Expectations.BASIC ), jdbcCoordinator );
+		assertTrue( "unexpected Batch impl", BatchingBatch.class.isInstance( batch ) );
+		batch.release();
+
+		batch = batchBuilder.buildBatch( new BasicBatchKey( "com.acme.Document#UPDATE", Expectations.BASIC ), jdbcCoordinator );
+		assertTrue( "unexpected Batch impl", NonBatchingBatch.class.isInstance( batch ) );
+		batch.release();
+
+		batch = batchBuilder.buildBatch( new BasicBatchKey( "com.acme.Other#INSERT", Expectations.BASIC ), jdbcCoordinator );
+		assertTrue( "unexpected Batch impl", NonBatchingBatch.class.isInstance( batch ) );
+		batch.release();
+
+		session.close();
+	}
+
 }
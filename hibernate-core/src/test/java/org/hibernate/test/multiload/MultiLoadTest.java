@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.multiload;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+import org.hibernate.test.cache.CacheGetCounter;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@link org.hibernate.Session#byMultipleIds}.
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	private static final int ENTITY_COUNT = 5;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= ENTITY_COUNT; i++ ) {
+			s.save( new SimpleEntity( i, "entity-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testResultsFollowInputOrder() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.setCacheMode( CacheMode.IGNORE );
+		s.beginTransaction();
+		final List entities = s.byMultipleIds( SimpleEntity.class ).multiLoad( 3, 42, 1, 3 );
+		assertEquals( 4, entities.size() );
+		assertEquals( 3, ( (SimpleEntity) entities.get( 0 ) ).getId().intValue() );
+		assertNull( entities.get( 1 ) );
+		assertEquals( 1, ( (SimpleEntity) entities.get( 2 ) ).getId().intValue() );
+		assertSame( entities.get( 0 ), entities.get( 3 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testBatchSize() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.setCacheMode( CacheMode.IGNORE );
+		s.beginTransaction();
+		final List entities = s.byMultipleIds( SimpleEntity.class )
+				.withBatchSize( 2 )
+				.multiLoad( Arrays.asList( 1, 2, 3, 4, 5 ) );
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			assertEquals( i + 1, ( (SimpleEntity) entities.get( i ) ).getId().intValue() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testResolvedFromSessionThenCacheThenDatabase() {
+		sessionFactory().getCache().evictEntity( SimpleEntity.class, 5 );
+		final Statistics statistics = sessionFactory().getStatistics();
+		final CacheGetCounter counter = new CacheGetCounter();
+
+		Session s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		final SimpleEntity managed = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+		final SimpleEntity deleted = (SimpleEntity) s.get( SimpleEntity.class, 2 );
+		s.delete( deleted );
+
+		statistics.clear();
+		counter.reset();
+		final List entities = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3, 4, 5 );
+		assertSame( managed, entities.get( 0 ) );
+		assertNull( entities.get( 1 ) );
+		assertEquals( 3, ( (SimpleEntity) entities.get( 2 ) ).getId().intValue() );
+		assertEquals( 4, ( (SimpleEntity) entities.get( 3 ) ).getId().intValue() );
+		assertEquals( 5, ( (SimpleEntity) entities.get( 4 ) ).getId().intValue() );
+
+		// 3 and 4 come from the second level cache with a single lookup, 5 from the database
+		assertEquals( 1, counter.getCacheGets() );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.readonly;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionException;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for sessions opened via {@link org.hibernate.SessionBuilder#readOnly(boolean)}.
+ */
+public class ReadOnlySessionBuilderTest extends AbstractReadOnlyTest {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "readonly/VersionedNode.hbm.xml" };
+	}
+
+	@Test
+	public void testEverythingLoadedIsReadOnly() {
+		createData();
+
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		assertTrue( s.isDefaultReadOnly() );
+		List list = s.createQuery( "from VersionedNode n order by n.id" ).setReadOnly( false ).list();
+		assertEquals( 2, list.size() );
+		PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		for ( Object node : list ) {
+			assertTrue( s.isReadOnly( node ) );
+			assertNull( persistenceContext.getEntry( node ).getLoadedState() );
+		}
+		VersionedNode parent = (VersionedNode) list.get( 0 );
+		Hibernate.initialize( parent.getChildren() );
+		assertEquals( 1, parent.getChildren().size() );
+		assertNull( persistenceContext.getCollectionEntry( (PersistentCollection) parent.getChildren() ).getSnapshot() );
+
+		parent.setName( "changed" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "parent", ( (VersionedNode) s.get( VersionedNode.class, "parent" ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupData();
+	}
+
+	@Test
+	public void testWritesAreRejected() {
+		createData();
+
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.beginTransaction();
+		VersionedNode parent = (VersionedNode) s.get( VersionedNode.class, "parent" );
+		try {
+			s.setReadOnly( parent, false );
+			fail( "should have failed making an entity modifiable" );
+		}
+		catch (SessionException expected) {
+		}
+		try {
+			s.setDefaultReadOnly( false );
+			fail( "should have failed making the default modifiable" );
+		}
+		catch (SessionException expected) {
+		}
+		try {
+			s.delete( parent );
+			fail( "should have failed deleting an entity" );
+		}
+		catch (SessionException expected) {
+		}
+		try {
+			s.persist( new VersionedNode( "other", "other" ) );
+			fail( "should have failed persisting an entity" );
+		}
+		catch (SessionException expected) {
+		}
+		try {
+			s.flush();
+			fail( "should have failed flushing" );
+		}
+		catch (SessionException expected) {
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupData();
+	}
+
+	private void createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		VersionedNode parent = new VersionedNode( "parent", "parent" );
+		parent.addChild( new VersionedNode( "child", "child" ) );
+		s.persist( parent );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanupData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "update VersionedNode set parent = null" ).executeUpdate();
+		s.createQuery( "delete from VersionedNode" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
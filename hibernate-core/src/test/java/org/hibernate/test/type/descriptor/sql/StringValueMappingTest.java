@@ -22,6 +22,7 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.test.type.descriptor.sql;
+import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -36,6 +37,7 @@ import org.hibernate.type.descriptor.ValueBinder;
 import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.StringTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BasicExtractor;
 import org.hibernate.type.descriptor.sql.ClobTypeDescriptor;
 import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
 import org.hibernate.type.descriptor.sql.VarcharTypeDescriptor;
@@ -68,6 +70,7 @@ public class StringValueMappingTest extends BaseUnitTestCase {
 
 	public static final String COLUMN_NAME = "n/a";
 	public static final int BIND_POSITION = -1;
+	public static final int COLUMN_POSITION = 1;
 
 	@Test
 	public void testNormalVarcharHandling() throws SQLException {
@@ -99,6 +102,20 @@ public class StringValueMappingTest extends BaseUnitTestCase {
 		binder.bind( ps, fixture, BIND_POSITION, wrapperOptions );
 	}
 
+	@Test
+	public void testPositionalVarcharHandling() throws SQLException {
+		final BasicExtractor<String> extractor =
+				(BasicExtractor<String>) varcharSqlDescriptor.getExtractor( stringJavaDescriptor );
+
+		final String fixture = "string value";
+
+		ResultSet resultSet = ResultSetProxy.generateProxy( fixture );
+		assertEquals( fixture, extractor.extract( resultSet, COLUMN_POSITION, COLUMN_NAME, wrapperOptions ) );
+
+		resultSet = ResultSetProxy.generateProxy( (String) null );
+		assertNull( extractor.extract( resultSet, COLUMN_POSITION, COLUMN_NAME, wrapperOptions ) );
+	}
+
 	@Test
 	public void testNormalClobHandling() throws SQLException {
 		final ValueExtractor<String> extractor = clobSqlDescriptor.getExtractor( stringJavaDescriptor );
@@ -130,4 +147,42 @@ public class StringValueMappingTest extends BaseUnitTestCase {
 		PreparedStatement ps = PreparedStatementProxy.generateProxy( clob );
 		binder.bind( ps, fixture, BIND_POSITION, wrapperOptions );
 	}
+
+	@Test
+	public void testPositionalClobHandling() throws SQLException {
+		final BasicExtractor<String> extractor =
+				(BasicExtractor<String>) clobSqlDescriptor.getExtractor( stringJavaDescriptor );
+
+		final String fixture = "clob string";
+
+		ResultSet resultSet = ResultSetProxy.generateProxy( new StringClobImpl( fixture ) );
+		assertEquals( fixture, extractor.extract( resultSet, COLUMN_POSITION, COLUMN_NAME, wrapperOptions ) );
+	}
+
+	@Test
+	public void testPositionalHandlingByNameOnlyExtractor() throws SQLException {
+		// an extractor which does not read by position is given the column name, without consulting the metadata
+		final BasicExtractor<String> extractor = new BasicExtractor<String>( stringJavaDescriptor, varcharSqlDescriptor ) {
+			@Override
+			protected String doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
+				assertEquals( COLUMN_NAME, name );
+				return rs.getString( name );
+			}
+
+			@Override
+			protected String doExtract(CallableStatement statement, int index, WrapperOptions options) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			protected String doExtract(CallableStatement statement, String name, WrapperOptions options) {
+				throw new UnsupportedOperationException();
+			}
+		};
+
+		final String fixture = "string value";
+
+		final ResultSet resultSet = ResultSetProxy.generateProxy( fixture );
+		assertEquals( fixture, extractor.extract( resultSet, COLUMN_POSITION, COLUMN_NAME, wrapperOptions ) );
+	}
 }
@@ -0,0 +1,160 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies {@link OpenAddressingHashMap} against {@link HashMap} as reference implementation.
+ */
+public class OpenAddressingHashMapTest extends BaseUnitTestCase {
+
+	/**
+	 * A key with a deliberately poor hash code, producing long probe sequences (and wrap-arounds).
+	 */
+	private static final class CollidingKey {
+		private final int value;
+
+		private CollidingKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value % 7;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CollidingKey && ( (CollidingKey) o ).value == value;
+		}
+	}
+
+	@Test
+	public void testBasicOperations() {
+		final Map<String, String> map = new OpenAddressingHashMap<String, String>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( "a", "1" ) );
+		assertEquals( "1", map.put( "a", "2" ) );
+		assertNull( map.put( "b", null ) );
+		assertEquals( 2, map.size() );
+		assertTrue( map.containsKey( "b" ) );
+		assertTrue( map.containsValue( null ) );
+		assertEquals( "2", map.get( "a" ) );
+		assertEquals( "2", map.remove( "a" ) );
+		assertFalse( map.containsKey( "a" ) );
+		assertNull( map.get( null ) );
+		map.clear();
+		assertTrue( map.isEmpty() );
+	}
+
+	@Test
+	public void testLookupByKeyComponents() {
+		final OpenAddressingHashMap.KeyMatcher<CollidingKey, Integer, Object> matcher =
+				new OpenAddressingHashMap.KeyMatcher<CollidingKey, Integer, Object>() {
+					@Override
+					public boolean matches(CollidingKey key, Integer value, Object ignored) {
+						return key.value == value;
+					}
+				};
+		final OpenAddressingHashMap<CollidingKey, String> map = new OpenAddressingHashMap<CollidingKey, String>();
+		final CollidingKey key = new CollidingKey( 15 );
+		for ( int i = 0; i < 30; i++ ) {
+			map.put( i == 15 ? key : new CollidingKey( i ), "value-" + i );
+		}
+		assertEquals( "value-15", map.get( 15 % 7, matcher, 15, null ) );
+		assertTrue( key == map.getKey( 15 % 7, matcher, 15, null ) );
+		assertNull( map.get( 40 % 7, matcher, 40, null ) );
+		assertNull( map.getKey( 40 % 7, matcher, 40, null ) );
+	}
+
+	@Test
+	public void testRandomOperationsAgainstHashMap() {
+		final Random random = new Random( 42 );
+		for ( int round = 0; round < 500; round++ ) {
+			final Map<Object, Integer> expected = new HashMap<Object, Integer>();
+			final Map<Object, Integer> actual = new OpenAddressingHashMap<Object, Integer>();
+			final int range = random.nextInt( 300 ) + 1;
+			for ( int i = 0; i < range * 3; i++ ) {
+				final int k = random.nextInt( range );
+				final Object key = round % 2 == 0 ? new CollidingKey( k ) : Integer.valueOf( k );
+				if ( random.nextInt( 3 ) == 0 ) {
+					assertEquals( expected.remove( key ), actual.remove( key ) );
+				}
+				else {
+					final Integer value = random.nextInt();
+					assertEquals( expected.put( key, value ), actual.put( key, value ) );
+				}
+				assertEquals( expected.size(), actual.size() );
+			}
+			assertEquals( expected, actual );
+			assertEquals( actual, expected );
+		}
+	}
+
+	@Test
+	public void testIteratorRemoval() {
+		final Random random = new Random( 7 );
+		for ( int round = 0; round < 500; round++ ) {
+			final Map<Object, Integer> expected = new HashMap<Object, Integer>();
+			final Map<Object, Integer> actual = new OpenAddressingHashMap<Object, Integer>();
+			final int count = random.nextInt( 200 );
+			for ( int i = 0; i < count; i++ ) {
+				final CollidingKey key = new CollidingKey( random.nextInt( 1000 ) );
+				expected.put( key, i );
+				actual.put( key, i );
+			}
+
+			final int initialSize = actual.size();
+			final Set<Object> visited = new HashSet<Object>();
+			final Iterator<Map.Entry<Object, Integer>> itr = actual.entrySet().iterator();
+			while ( itr.hasNext() ) {
+				final Map.Entry<Object, Integer> entry = itr.next();
+				assertTrue( "entry visited twice", visited.add( entry.getKey() ) );
+				assertEquals( expected.get( entry.getKey() ), entry.getValue() );
+				if ( random.nextBoolean() ) {
+					itr.remove();
+					expected.remove( entry.getKey() );
+				}
+			}
+			assertEquals( "not all entries visited", initialSize, visited.size() );
+			assertEquals( expected, actual );
+		}
+	}
+}
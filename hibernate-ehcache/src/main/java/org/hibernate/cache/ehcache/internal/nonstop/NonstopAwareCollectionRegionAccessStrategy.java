@@ -23,10 +23,16 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +43,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy {
+public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 	private final CollectionRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -90,6 +96,27 @@ public class NonstopAwareCollectionRegionAccessStrategy implements CollectionReg
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).getAll( keys, txTimestamp );
+			}
+			final Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Object key : keys ) {
+				final Object value = actualStrategy.get( key, txTimestamp );
+				if ( value != null ) {
+					result.put( key, value );
+				}
+			}
+			return result;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptyMap();
+		}
+	}
+
 	@Override
 	public SoftLock lockItem(Object key, Object version) throws CacheException {
 		try {
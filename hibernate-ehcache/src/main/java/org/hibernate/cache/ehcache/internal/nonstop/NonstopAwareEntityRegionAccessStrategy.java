@@ -23,10 +23,16 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +43,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy {
+public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 	private final EntityRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -113,6 +119,27 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).getAll( keys, txTimestamp );
+			}
+			final Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Object key : keys ) {
+				final Object value = actualStrategy.get( key, txTimestamp );
+				if ( value != null ) {
+					result.put( key, value );
+				}
+			}
+			return result;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptyMap();
+		}
+	}
+
 	@Override
 	public boolean insert(Object key, Object value, Object version) throws CacheException {
 		try {
@@ -23,6 +23,9 @@
  */
 package org.hibernate.cache.ehcache.internal.regions;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import net.sf.ehcache.Ehcache;
@@ -33,7 +36,7 @@ import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.EhCacheMessageLogger;
 import org.hibernate.cache.ehcache.internal.nonstop.HibernateNonstopCacheExceptionHandler;
 import org.hibernate.cache.ehcache.internal.strategy.EhcacheAccessStrategyFactory;
-import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.cache.spi.BulkGeneralDataRegion;
 
 import org.jboss.logging.Logger;
 
@@ -48,7 +51,7 @@ import org.jboss.logging.Logger;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-abstract class EhcacheGeneralDataRegion extends EhcacheDataRegion implements GeneralDataRegion {
+abstract class EhcacheGeneralDataRegion extends EhcacheDataRegion implements BulkGeneralDataRegion {
 	private static final EhCacheMessageLogger LOG = Logger.getMessageLogger(
 			EhCacheMessageLogger.class,
 			EhcacheGeneralDataRegion.class.getName()
@@ -98,6 +101,29 @@ abstract class EhcacheGeneralDataRegion extends EhcacheDataRegion implements Gen
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		try {
+			LOG.debugf( "keys: %s", keys );
+			for ( Map.Entry<Object, Element> entry : getCache().getAll( keys ).entrySet() ) {
+				if ( entry.getValue() != null ) {
+					result.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, Object value) throws CacheException {
 		LOG.debugf( "key: %s value: %s", key, value );
@@ -23,13 +23,13 @@
  */
 package org.hibernate.cache.ehcache.internal.regions;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
-import net.sf.ehcache.concurrent.CacheLockProvider;
-import net.sf.ehcache.concurrent.LockType;
-import net.sf.ehcache.concurrent.StripedReadWriteLockSync;
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
@@ -43,6 +43,11 @@ import org.hibernate.cfg.Settings;
  * An Ehcache specific TransactionalDataRegion.
  * <p/>
  * This is the common superclass entity and collection regions.
+ * <p/>
+ * The read/write access strategies take no lock of their own: they rely on {@link #putIfAbsent} and {@link #replace}
+ * being atomic, which {@link Ehcache#putIfAbsent(Element)} and {@link Ehcache#replace(Element, Element)} guarantee
+ * for the caches Ehcache creates, clustered or not.  Decorated caches must keep delegating both operations to the
+ * underlying cache, or otherwise keep them atomic.
  *
  * @author Chris Dennis
  * @author Greg Luck
@@ -51,8 +56,6 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements TransactionalDataRegion {
-	private static final int LOCAL_LOCK_PROVIDER_CONCURRENCY = 128;
-
 	private final Settings settings;
 
 	/**
@@ -60,8 +63,6 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	 */
 	protected final CacheDataDescription metadata;
 
-	private final CacheLockProvider lockProvider;
-
 	/**
 	 * Construct an transactional Hibernate cache region around the given Ehcache instance.
 	 */
@@ -71,14 +72,6 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		super( accessStrategyFactory, cache, properties );
 		this.settings = settings;
 		this.metadata = metadata;
-
-		final Object context = cache.getInternalContext();
-		if ( context instanceof CacheLockProvider ) {
-			this.lockProvider = (CacheLockProvider) context;
-		}
-		else {
-			this.lockProvider = new StripedReadWriteLockSync( LOCAL_LOCK_PROVIDER_CONCURRENCY );
-		}
 	}
 
 	/**
@@ -130,23 +123,20 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	}
 
 	/**
-	 * Map the given value to the given key, replacing any existing mapping for this key
+	 * Get the values mapped to the given keys, with a single request to the underlying cache.
 	 *
-	 * @param key The cache key
-	 * @param value The data to cache
+	 * @param keys The keys of the data items
 	 *
-	 * @throws CacheException Indicates a problem accessing the cache
+	 * @return The cached data by key; keys without cached data are not part of the map
 	 */
-	public final void put(Object key, Object value) throws CacheException {
+	public final Map<Object, Object> getAll(Collection<?> keys) {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
 		try {
-			final Element element = new Element( key, value );
-			getCache().put( element );
-		}
-		catch (IllegalArgumentException e) {
-			throw new CacheException( e );
-		}
-		catch (IllegalStateException e) {
-			throw new CacheException( e );
+			for ( Map.Entry<Object, Element> entry : getCache().getAll( keys ).entrySet() ) {
+				if ( entry.getValue() != null ) {
+					result.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
 		}
 		catch (net.sf.ehcache.CacheException e) {
 			if ( e instanceof NonStopCacheException ) {
@@ -157,20 +147,23 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 				throw new CacheException( e );
 			}
 		}
+		return result;
 	}
 
 	/**
-	 * Remove the mapping for this key (if any exists).
+	 * Map the given value to the given key, replacing any existing mapping for this key
 	 *
 	 * @param key The cache key
+	 * @param value The data to cache
 	 *
 	 * @throws CacheException Indicates a problem accessing the cache
 	 */
-	public final void remove(Object key) throws CacheException {
+	public final void put(Object key, Object value) throws CacheException {
 		try {
-			getCache().remove( key );
+			final Element element = new Element( key, value );
+			getCache().put( element );
 		}
-		catch (ClassCastException e) {
+		catch (IllegalArgumentException e) {
 			throw new CacheException( e );
 		}
 		catch (IllegalStateException e) {
@@ -188,13 +181,24 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	}
 
 	/**
-	 * Remove all mapping from this cache region.
+	 * Map the given value to the given key, but only if no value is mapped to this key yet.
+	 * <p/>
+	 * Like {@link #put}, a nonstop timeout is passed to the nonstop exception handler; if that handler does not
+	 * rethrow, the write is skipped and reported as done so that callers retrying on failure do not spin.
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @return {@code true} if the value was mapped; {@code false} if another value is mapped to this key
 	 *
 	 * @throws CacheException Indicates a problem accessing the cache
 	 */
-	public final void clear() throws CacheException {
+	public final boolean putIfAbsent(Object key, Object value) throws CacheException {
 		try {
-			getCache().removeAll();
+			return getCache().putIfAbsent( new Element( key, value ) ) == null;
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
 		}
 		catch (IllegalStateException e) {
 			throw new CacheException( e );
@@ -203,6 +207,7 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 			if ( e instanceof NonStopCacheException ) {
 				HibernateNonstopCacheExceptionHandler.getInstance()
 						.handleNonstopCacheException( (NonStopCacheException) e );
+				return true;
 			}
 			else {
 				throw new CacheException( e );
@@ -211,42 +216,34 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	}
 
 	/**
-	 * Attempts to write lock the mapping for the given key.
+	 * Atomically replace the value mapped to the given key, but only if the currently mapped value equals the
+	 * expected one.
+	 * <p/>
+	 * Nonstop timeouts are handled as for {@link #putIfAbsent}.
 	 *
 	 * @param key The cache key
+	 * @param expectedValue The value expected to be mapped to this key
+	 * @param value The data to cache
+	 *
+	 * @return {@code true} if the value was replaced; {@code false} if the mapping changed in the meantime
 	 *
 	 * @throws CacheException Indicates a problem accessing the cache
 	 */
-	public final void writeLock(Object key) throws CacheException {
+	public final boolean replace(Object key, Object expectedValue, Object value) throws CacheException {
 		try {
-			lockProvider.getSyncForKey( key ).lock( LockType.WRITE );
+			return getCache().replace( new Element( key, expectedValue ), new Element( key, value ) );
 		}
-		catch (net.sf.ehcache.CacheException e) {
-			if ( e instanceof NonStopCacheException ) {
-				HibernateNonstopCacheExceptionHandler.getInstance()
-						.handleNonstopCacheException( (NonStopCacheException) e );
-			}
-			else {
-				throw new CacheException( e );
-			}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
 		}
-	}
-
-	/**
-	 * Attempts to write unlock the mapping for the given key.
-	 *
-	 * @param key The cache key
-	 *
- 	 * @throws CacheException Indicates a problem accessing the cache
-	 */
-	public final void writeUnlock(Object key) throws CacheException {
-		try {
-			lockProvider.getSyncForKey( key ).unlock( LockType.WRITE );
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
 		}
 		catch (net.sf.ehcache.CacheException e) {
 			if ( e instanceof NonStopCacheException ) {
 				HibernateNonstopCacheExceptionHandler.getInstance()
 						.handleNonstopCacheException( (NonStopCacheException) e );
+				return true;
 			}
 			else {
 				throw new CacheException( e );
@@ -255,15 +252,21 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	}
 
 	/**
-	 * Attempts to read lock the mapping for the given key.
+	 * Remove the mapping for this key (if any exists).
 	 *
 	 * @param key The cache key
 	 *
 	 * @throws CacheException Indicates a problem accessing the cache
 	 */
-	public final void readLock(Object key) throws CacheException {
+	public final void remove(Object key) throws CacheException {
 		try {
-			lockProvider.getSyncForKey( key ).lock( LockType.WRITE );
+			getCache().remove( key );
+		}
+		catch (ClassCastException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
 		}
 		catch (net.sf.ehcache.CacheException e) {
 			if ( e instanceof NonStopCacheException ) {
@@ -277,15 +280,16 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 	}
 
 	/**
-	 * Attempts to read unlock the mapping for the given key.
-	 *
-	 * @param key The cache key
+	 * Remove all mapping from this cache region.
 	 *
 	 * @throws CacheException Indicates a problem accessing the cache
 	 */
-	public final void readUnlock(Object key) throws CacheException {
+	public final void clear() throws CacheException {
 		try {
-			lockProvider.getSyncForKey( key ).unlock( LockType.WRITE );
+			getCache().removeAll();
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
 		}
 		catch (net.sf.ehcache.CacheException e) {
 			if ( e instanceof NonStopCacheException ) {
@@ -297,16 +301,4 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 			}
 		}
 	}
-
-	/**
-	 * Returns <code>true</code> if the locks used by the locking methods of this region are the independent of the cache.
-	 * <p/>
-	 * Independent locks are not locked by the cache when the cache is accessed directly.  This means that for an independent lock
-	 * lock holds taken through a region method will not block direct access to the cache via other means.
-	 *
-	 * @return true/false.  See discussion above.
-	 */
-	public final boolean locksAreIndependentOfCache() {
-		return lockProvider instanceof StripedReadWriteLockSync;
-	}
 }
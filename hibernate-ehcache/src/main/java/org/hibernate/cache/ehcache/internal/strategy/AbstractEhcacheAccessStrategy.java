@@ -23,6 +23,9 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
 import org.hibernate.cache.spi.access.SoftLock;
@@ -65,6 +68,15 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
 		return settings;
 	}
 
+	/**
+	 * Looks up all the given keys with a single request to the underlying cache.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return region.getAll( keys );
+	}
+
 	/**
 	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
 	 * hierarchy.
@@ -26,6 +26,7 @@ package org.hibernate.cache.ehcache.internal.strategy;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
@@ -38,7 +39,7 @@ import org.hibernate.cfg.Settings;
  */
 public class ReadWriteEhcacheEntityRegionAccessStrategy
 		extends AbstractReadWriteEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	/**
 	 * Create a read/write access strategy accessing the given entity region.
@@ -72,20 +73,7 @@ public class ReadWriteEhcacheEntityRegionAccessStrategy
 	 */
 	@Override
 	public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
-		region().writeLock( key );
-		try {
-			final Lockable item = (Lockable) region().get( key );
-			if ( item == null ) {
-				region().put( key, new Item( value, version, region().nextTimestamp() ) );
-				return true;
-			}
-			else {
-				return false;
-			}
-		}
-		finally {
-			region().writeUnlock( key );
-		}
+		return putIfAbsent( key, value, version );
 	}
 
 	/**
@@ -110,28 +98,6 @@ public class ReadWriteEhcacheEntityRegionAccessStrategy
 	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
 			throws CacheException {
 		//what should we do with previousVersion here?
-		region().writeLock( key );
-		try {
-			final Lockable item = (Lockable) region().get( key );
-
-			if ( item != null && item.isUnlockable( lock ) ) {
-				final Lock lockItem = (Lock) item;
-				if ( lockItem.wasLockedConcurrently() ) {
-					decrementLock( key, lockItem );
-					return false;
-				}
-				else {
-					region().put( key, new Item( value, currentVersion, region().nextTimestamp() ) );
-					return true;
-				}
-			}
-			else {
-				handleLockExpiry( key, item );
-				return false;
-			}
-		}
-		finally {
-			region().writeUnlock( key );
-		}
+		return putIfLocked( key, value, currentVersion, lock );
 	}
 }
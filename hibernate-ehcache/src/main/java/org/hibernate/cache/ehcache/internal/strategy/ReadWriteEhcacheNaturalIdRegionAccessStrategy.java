@@ -72,20 +72,7 @@ public class ReadWriteEhcacheNaturalIdRegionAccessStrategy
 	 */
 	@Override
 	public boolean afterInsert(Object key, Object value) throws CacheException {
-		region().writeLock( key );
-		try {
-			final Lockable item = (Lockable) region().get( key );
-			if ( item == null ) {
-				region().put( key, new Item( value, null, region().nextTimestamp() ) );
-				return true;
-			}
-			else {
-				return false;
-			}
-		}
-		finally {
-			region().writeUnlock( key );
-		}
+		return putIfAbsent( key, value, null );
 	}
 
 	/**
@@ -108,28 +95,6 @@ public class ReadWriteEhcacheNaturalIdRegionAccessStrategy
 	@Override
 	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
 		//what should we do with previousVersion here?
-		region().writeLock( key );
-		try {
-			final Lockable item = (Lockable) region().get( key );
-
-			if ( item != null && item.isUnlockable( lock ) ) {
-				final Lock lockItem = (Lock) item;
-				if ( lockItem.wasLockedConcurrently() ) {
-					decrementLock( key, lockItem );
-					return false;
-				}
-				else {
-					region().put( key, new Item( value, null, region().nextTimestamp() ) );
-					return true;
-				}
-			}
-			else {
-				handleLockExpiry( key, item );
-				return false;
-			}
-		}
-		finally {
-			region().writeUnlock( key );
-		}
+		return putIfLocked( key, value, null, lock );
 	}
 }
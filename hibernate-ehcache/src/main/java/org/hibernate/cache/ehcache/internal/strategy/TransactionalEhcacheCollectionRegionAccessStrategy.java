@@ -23,12 +23,17 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheCollectionRegion;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
@@ -42,7 +47,7 @@ import org.hibernate.cfg.Settings;
  */
 public class TransactionalEhcacheCollectionRegionAccessStrategy
 		extends AbstractEhcacheAccessStrategy<EhcacheCollectionRegion>
-		implements CollectionRegionAccessStrategy {
+		implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	private final Ehcache ehcache;
 
@@ -72,6 +77,22 @@ public class TransactionalEhcacheCollectionRegionAccessStrategy
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			final Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Map.Entry<Object, Element> entry : ehcache.getAll( keys ).entrySet() ) {
+				if ( entry.getValue() != null ) {
+					result.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+			return result;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			throw new CacheException( e );
+		}
+	}
+
 	@Override
 	public CollectionRegion getRegion() {
 		return region();
@@ -23,12 +23,17 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
@@ -41,7 +46,7 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class TransactionalEhcacheEntityRegionAccessStrategy extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	private final Ehcache ehcache;
 
@@ -81,6 +86,22 @@ public class TransactionalEhcacheEntityRegionAccessStrategy extends AbstractEhca
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			final Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Map.Entry<Object, Element> entry : ehcache.getAll( keys ).entrySet() ) {
+				if ( entry.getValue() != null ) {
+					result.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+			return result;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			throw new CacheException( e );
+		}
+	}
+
 	@Override
 	public EntityRegion getRegion() {
 		return region();
@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+
+import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.access.SoftLock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The read/write access strategies take no lock of their own and rely on the region's {@code putIfAbsent} and
+ * {@code replace} being atomic.  Checks that they are, and that no soft lock taken concurrently is ever lost.
+ */
+public class ReadWriteAccessStrategyConcurrencyTest {
+	private static final int NUM_THREADS = 8;
+	private static final int NUM_KEYS = 100;
+	private static final int OPERATIONS_PER_THREAD = 20000;
+
+	private CacheManager cacheManager;
+	private EhcacheEntityRegion region;
+	private ReadWriteEhcacheEntityRegionAccessStrategy accessStrategy;
+
+	@Before
+	public void setUp() {
+		cacheManager = new CacheManager( new Configuration().name( "read-write-concurrency" ) );
+		final Cache cache = new Cache( new CacheConfiguration( "concurrency", 0 ) );
+		cacheManager.addCache( cache );
+		region = new EhcacheEntityRegion(
+				new EhcacheAccessStrategyFactoryImpl( false, false ),
+				cache,
+				null,
+				new CacheDataDescriptionImpl( true, false, null ),
+				new Properties()
+		);
+		accessStrategy = new ReadWriteEhcacheEntityRegionAccessStrategy( region, null );
+	}
+
+	@After
+	public void tearDown() {
+		cacheManager.shutdown();
+	}
+
+	@Test
+	public void testCompareAndSetIsAtomic() throws Exception {
+		runConcurrently(
+				new Operation() {
+					@Override
+					public void run(Random random) {
+						final Integer key = random.nextInt( NUM_KEYS );
+						while ( true ) {
+							final Integer current = (Integer) region.get( key );
+							final boolean set = current == null
+									? region.putIfAbsent( key, 1 )
+									: region.replace( key, current, current + 1 );
+							if ( set ) {
+								return;
+							}
+						}
+					}
+				}
+		);
+
+		int total = 0;
+		for ( int i = 0; i < NUM_KEYS; i++ ) {
+			final Integer count = (Integer) region.get( i );
+			total += count == null ? 0 : count;
+		}
+		assertEquals( NUM_THREADS * OPERATIONS_PER_THREAD, total );
+	}
+
+	@Test
+	public void testNoSoftLockLost() throws Exception {
+		runConcurrently(
+				new Operation() {
+					@Override
+					public void run(Random random) {
+						final Integer key = random.nextInt( NUM_KEYS );
+						final int op = random.nextInt( 10 );
+						if ( op < 7 ) {
+							accessStrategy.get( key, region.nextTimestamp() );
+						}
+						else if ( op < 9 ) {
+							accessStrategy.putFromLoad( key, "loaded", region.nextTimestamp(), null, false );
+						}
+						else {
+							final SoftLock lock = accessStrategy.lockItem( key, null );
+							if ( random.nextBoolean() ) {
+								accessStrategy.afterUpdate( key, "updated", null, null, lock );
+							}
+							else {
+								accessStrategy.unlockItem( key, lock );
+							}
+						}
+					}
+				}
+		);
+
+		for ( int i = 0; i < NUM_KEYS; i++ ) {
+			// a lost soft lock leaves the entry locked after one more lock/unlock cycle, which then rejects loads
+			final SoftLock lock = accessStrategy.lockItem( i, null );
+			accessStrategy.unlockItem( i, lock );
+			assertTrue(
+					"Soft lock lost for key " + i,
+					accessStrategy.putFromLoad( i, "check", region.nextTimestamp(), null, false )
+			);
+		}
+	}
+
+	private void runConcurrently(final Operation operation) throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier( NUM_THREADS );
+		final ExecutorService executor = Executors.newFixedThreadPool( NUM_THREADS );
+		try {
+			final List<Future<Void>> futures = new ArrayList<Future<Void>>( NUM_THREADS );
+			for ( int i = 0; i < NUM_THREADS; i++ ) {
+				final Random random = new Random( i );
+				futures.add(
+						executor.submit(
+								new Callable<Void>() {
+									@Override
+									public Void call() throws Exception {
+										barrier.await();
+										for ( int j = 0; j < OPERATIONS_PER_THREAD; j++ ) {
+											operation.run( random );
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Void> future : futures ) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private interface Operation {
+		void run(Random random);
+	}
+}
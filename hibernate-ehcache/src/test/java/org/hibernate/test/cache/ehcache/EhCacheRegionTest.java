@@ -22,7 +22,7 @@ public class EhCacheRegionTest extends EhCacheTest {
 		final Map map;
 		if ( entry.getClass()
 				.getName()
-				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractReadWriteEhcacheAccessStrategy$Item" ) ) {
+				.equals( "org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy$Item" ) ) {
 			map = ItemValueExtractor.getValue( entry );
 		}
 		else {
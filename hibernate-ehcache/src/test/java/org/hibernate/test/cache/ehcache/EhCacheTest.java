@@ -188,7 +188,7 @@ public abstract class EhCacheTest extends BaseCoreFunctionalTestCase {
 //		} else
 		if ( entry.getClass()
 				.getName()
-				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractReadWriteEhcacheAccessStrategy$Lock" ) ) {
+				.equals( "org.hibernate.cache.spi.support.AbstractReadWriteAccessStrategy$Lock" ) ) {
 			//FIXME don't know what to test here
 		}
 		else {
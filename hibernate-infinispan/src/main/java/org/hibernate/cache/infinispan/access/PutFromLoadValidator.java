@@ -23,15 +23,13 @@
  */
 package org.hibernate.cache.infinispan.access;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import javax.transaction.SystemException;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
@@ -79,6 +77,12 @@ import org.infinispan.manager.EmbeddedCacheManager;
  * {@link #acquirePutFromLoadLock(Object)} without a preceding {@link #registerPendingPut(Object)}
  * call.
  * </p>
+ * <p/>
+ * <p>
+ * None of the calls made on the read path block. The pending puts of each key are kept in an immutable state that is
+ * replaced by compare-and-set, and the putFromLoad "lock" is a count of puts in progress kept in that same state. Only
+ * the invalidations wait, for the puts that acquired the lock before them to be released.
+ * </p>
  *
  * @author Brian Stansberry
  * @version $Revision: $
@@ -103,22 +107,17 @@ public class PutFromLoadValidator {
 	 * Registry of expected, future, isPutValid calls. If a key+owner is registered in this map, it
 	 * is not a "naked put" and is allowed to proceed.
 	 */
-	private final ConcurrentMap<Object, PendingPutMap> pendingPuts;
+	private final ConcurrentMap<Object, PendingPutRecord> pendingPuts;
 
-	private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
-	/**
-	 * List of recent removals. Used to ensure we don't leak memory via the recentRemovals map
-	 */
-	private final List<RecentRemoval> removalsQueue = new LinkedList<RecentRemoval>();
 	/**
-	 * The time when the first element in removalsQueue will expire. No reason to do housekeeping on
-	 * the queue before this time.
+	 * Time (in ms) of the end of the naked put invalidation period of each recently removed key.
 	 */
-	private volatile long earliestRemovalTimestamp;
+	private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
 	/**
-	 * Lock controlling access to removalsQueue
+	 * The time after which the next invalidation sweeps expired entries from recentRemovals, so that the map does
+	 * not become a memory leak. Sweeping at most once per invalidation period keeps entries for at most two periods.
 	 */
-	private final Lock removalsLock = new ReentrantLock();
+	private final AtomicLong nextRemovalsCleanup = new AtomicLong();
 
 	/**
 	 * The time of the last call to regionRemoved(), plus NAKED_PUT_INVALIDATION_PERIOD. All naked
@@ -188,67 +187,33 @@ public class PutFromLoadValidator {
 	 *         can proceed; <code>false</code> if the data should not be cached
 	 */
 	public boolean acquirePutFromLoadLock(Object key) {
-		boolean valid = false;
-		boolean locked = false;
-		final long now = System.currentTimeMillis();
+		final PendingPutRecord pending = pendingPuts.get( key );
+		if ( pending != null && !pending.isRetired() ) {
+			return pending.acquire( getOwnerForPut() );
+		}
 
-		try {
-			final PendingPutMap pending = pendingPuts.get( key );
-			if ( pending != null ) {
-				locked = pending.acquireLock( 100, TimeUnit.MILLISECONDS );
-				if ( locked ) {
-					try {
-						final PendingPut toCancel = pending.remove( getOwnerForPut() );
-						if ( toCancel != null ) {
-							valid = !toCancel.completed;
-							toCancel.completed = true;
-						}
-					}
-					finally {
-						if ( !valid ) {
-							pending.releaseLock();
-							locked = false;
-						}
-					}
-				}
-			}
-			else {
-				// Key wasn't in pendingPuts, so either this is a "naked put"
-				// or regionRemoved has been called. Check if we can proceed
-				if ( now > invalidationTimestamp ) {
-					final Long removedTime = recentRemovals.get( key );
-					if ( removedTime == null || now > removedTime ) {
-						// It's legal to proceed. But we have to record this key
-						// in pendingPuts so releasePutFromLoadLock can find it.
-						// To do this we basically simulate a normal "register
-						// then acquire lock" pattern
-						registerPendingPut( key );
-						locked = acquirePutFromLoadLock( key );
-						valid = locked;
-					}
-				}
-			}
+		// Key wasn't in pendingPuts, so either this is a "naked put"
+		// or regionRemoved has been called. Check if we can proceed
+		if ( !isNakedPutAllowed( key ) ) {
+			return false;
 		}
-		catch (Throwable t) {
-			if ( locked ) {
-				final PendingPutMap toRelease = pendingPuts.get( key );
-				if ( toRelease != null ) {
-					toRelease.releaseLock();
-				}
-			}
 
-			if ( t instanceof RuntimeException ) {
-				throw (RuntimeException) t;
-			}
-			else if ( t instanceof Error ) {
-				throw (Error) t;
-			}
-			else {
-				throw new RuntimeException( t );
-			}
+		// It's legal to proceed. But we have to record this key
+		// in pendingPuts so releasePutFromLoadLock can find it.
+		// To do this we basically simulate a normal "register
+		// then acquire lock" pattern
+		registerPendingPut( key );
+		if ( !acquirePutFromLoadLock( key ) ) {
+			return false;
 		}
 
-		return valid;
+		// An invalidation which started after the check above may have looked for pending puts before we registered
+		// ours. Invalidations publish the removal before looking, so checking again catches them.
+		if ( !isNakedPutAllowed( key ) ) {
+			releasePutFromLoadLock( key );
+			return false;
+		}
+		return true;
 	}
 
 	/**
@@ -258,12 +223,9 @@ public class PutFromLoadValidator {
 	 * @param key the key
 	 */
 	public void releasePutFromLoadLock(Object key) {
-		final PendingPutMap pending = pendingPuts.get( key );
-		if ( pending != null ) {
-			if ( pending.size() == 0 ) {
-				pendingPuts.remove( key, pending );
-			}
-			pending.releaseLock();
+		final PendingPutRecord pending = pendingPuts.get( key );
+		if ( pending != null && pending.release() ) {
+			pendingPuts.remove( key, pending );
 		}
 	}
 
@@ -282,55 +244,29 @@ public class PutFromLoadValidator {
 	public boolean invalidateKey(Object key) {
 		boolean success = true;
 
+		// Record when this occurred to invalidate later naked puts. This has to be published before the pending puts
+		// are invalidated and removed: a naked put finding neither would otherwise be allowed in between.
+		final long now = System.currentTimeMillis();
+		recentRemovals.put( key, now + nakedPutInvalidationPeriod );
+
 		// Invalidate any pending puts
-		final PendingPutMap pending = pendingPuts.get( key );
+		final PendingPutRecord pending = pendingPuts.get( key );
 		if ( pending != null ) {
-			// This lock should be available very quickly, but we'll be
-			// very patient waiting for it as callers should treat not
-			// acquiring it as an exception condition
-			if ( pending.acquireLock( 60, TimeUnit.SECONDS ) ) {
-				try {
-					pending.invalidate();
-				}
-				finally {
-					pending.releaseLock();
-				}
-			}
-			else {
-				success = false;
+			// Puts in progress should complete very quickly, but we'll be
+			// very patient waiting for them as callers should treat not
+			// seeing them complete as an exception condition
+			success = pending.invalidate( 60, TimeUnit.SECONDS );
+			if ( pending.retireIfEmpty() ) {
+				pendingPuts.remove( key, pending );
 			}
 		}
 
-		// Record when this occurred to invalidate later naked puts
-		final RecentRemoval removal = new RecentRemoval( key, this.nakedPutInvalidationPeriod );
-		recentRemovals.put( key, removal.timestamp );
-
 		// Don't let recentRemovals map become a memory leak
-		RecentRemoval toClean = null;
-		final boolean attemptClean = removal.timestamp > earliestRemovalTimestamp;
-		removalsLock.lock();
-		try {
-			removalsQueue.add( removal );
-
-			if ( attemptClean ) {
-				if ( removalsQueue.size() > 1 ) {
-					// we have at least one as we just added it
-					toClean = removalsQueue.remove( 0 );
-				}
-				earliestRemovalTimestamp = removalsQueue.get( 0 ).timestamp;
-			}
-		}
-		finally {
-			removalsLock.unlock();
-		}
-
-		if ( toClean != null ) {
-			Long cleaned = recentRemovals.get( toClean.key );
-			if ( cleaned != null && cleaned.equals( toClean.timestamp ) ) {
-				cleaned = recentRemovals.remove( toClean.key );
-				if ( cleaned != null && !cleaned.equals( toClean.timestamp ) ) {
-					// Oops; removed the wrong timestamp; restore it
-					recentRemovals.putIfAbsent( toClean.key, cleaned );
+		final long cleanup = nextRemovalsCleanup.get();
+		if ( now > cleanup && nextRemovalsCleanup.compareAndSet( cleanup, now + nakedPutInvalidationPeriod ) ) {
+			for ( Map.Entry<Object, Long> removal : recentRemovals.entrySet() ) {
+				if ( now > removal.getValue() ) {
+					recentRemovals.remove( removal.getKey(), removal.getValue() );
 				}
 			}
 		}
@@ -350,45 +286,27 @@ public class PutFromLoadValidator {
 	 */
 	public boolean invalidateRegion() {
 
-		boolean ok = false;
+		boolean ok = true;
 		invalidationTimestamp = System.currentTimeMillis() + this.nakedPutInvalidationPeriod;
 
 		try {
 
-			// Acquire the lock for each entry to ensure any ongoing
-			// work associated with it is completed before we return
-			for ( PendingPutMap entry : pendingPuts.values() ) {
-				if ( entry.acquireLock( 60, TimeUnit.SECONDS ) ) {
-					try {
-						entry.invalidate();
-					}
-					finally {
-						entry.releaseLock();
-					}
-				}
-				else {
+			// Wait for the puts in progress on each entry to ensure any
+			// ongoing work associated with it is completed before we return
+			for ( Map.Entry<Object, PendingPutRecord> entry : pendingPuts.entrySet() ) {
+				if ( !entry.getValue().invalidate( 60, TimeUnit.SECONDS ) ) {
 					ok = false;
 				}
+				if ( entry.getValue().retireIfEmpty() ) {
+					pendingPuts.remove( entry.getKey(), entry.getValue() );
+				}
 			}
 
-			removalsLock.lock();
-			try {
-				recentRemovals.clear();
-				removalsQueue.clear();
-
-				ok = true;
-
-			}
-			finally {
-				removalsLock.unlock();
-			}
+			recentRemovals.clear();
 		}
 		catch (Exception e) {
 			ok = false;
 		}
-		finally {
-			earliestRemovalTimestamp = invalidationTimestamp;
-		}
 
 		return ok;
 	}
@@ -405,35 +323,22 @@ public class PutFromLoadValidator {
 	 * @param key key that will be used for subsequent cache put
 	 */
 	public void registerPendingPut(Object key) {
-		final PendingPut pendingPut = new PendingPut( getOwnerForPut() );
-		final PendingPutMap pendingForKey = new PendingPutMap( pendingPut );
+		final Object owner = getOwnerForPut();
 
 		for (; ; ) {
-			final PendingPutMap existing = pendingPuts.putIfAbsent( key, pendingForKey );
-			if ( existing != null ) {
-				if ( existing.acquireLock( 10, TimeUnit.SECONDS ) ) {
-
-					try {
-						existing.put( pendingPut );
-						final PendingPutMap doublecheck = pendingPuts.putIfAbsent( key, existing );
-						if ( doublecheck == null || doublecheck == existing ) {
-							break;
-						}
-						// else we hit a race and need to loop to try again
-					}
-					finally {
-						existing.releaseLock();
-					}
-				}
-				else {
-					// Can't get the lock; when we come back we'll be a "naked put"
+			PendingPutRecord existing = pendingPuts.get( key );
+			if ( existing == null ) {
+				existing = pendingPuts.putIfAbsent( key, new PendingPutRecord( owner ) );
+				if ( existing == null ) {
+					// normal case
 					break;
 				}
 			}
-			else {
-				// normal case
+			if ( existing.register( owner ) ) {
 				break;
 			}
+			// we hit a record that is being removed; help remove it and loop to try again
+			pendingPuts.remove( key, existing );
 		}
 	}
 
@@ -443,17 +348,20 @@ public class PutFromLoadValidator {
 	 * Only for use by unit tests; may be removed at any time
 	 */
 	protected int getRemovalQueueLength() {
-		removalsLock.lock();
-		try {
-			return removalsQueue.size();
-		}
-		finally {
-			removalsLock.unlock();
-		}
+		return recentRemovals.size();
 	}
 
 	// ---------------------------------------------------------------- Private
 
+	private boolean isNakedPutAllowed(Object key) {
+		final long now = System.currentTimeMillis();
+		if ( now <= invalidationTimestamp ) {
+			return false;
+		}
+		final Long removedTime = recentRemovals.get( key );
+		return removedTime == null || now > removedTime;
+	}
+
 	private Object getOwnerForPut() {
 		Transaction tx = null;
 		try {
@@ -469,106 +377,164 @@ public class PutFromLoadValidator {
 	}
 
 	/**
-	 * Lazy-initialization map for PendingPut. Optimized for the expected usual case where only a
-	 * single put is pending for a given key.
+	 * The pending puts registered for a key, and the number of puts in progress for it.
 	 * <p/>
-	 * This class is NOT THREAD SAFE. All operations on it must be performed with the lock held.
+	 * The state is immutable and every change replaces it by compare-and-set, so that registering and acquiring never
+	 * wait on one another. A record whose last pending put went away is retired before it is removed from the
+	 * pendingPuts map; a retired record accepts no further registrations, so none can be lost with the removal.
 	 */
-	private static class PendingPutMap {
-		private PendingPut singlePendingPut;
-		private Map<Object, PendingPut> fullMap;
-		private final Lock lock = new ReentrantLock();
+	private static class PendingPutRecord {
+		private final AtomicReference<PendingPutState> state;
 
-		PendingPutMap(PendingPut singleItem) {
-			this.singlePendingPut = singleItem;
+		PendingPutRecord(Object owner) {
+			this.state = new AtomicReference<PendingPutState>( PendingPutState.EMPTY.register( owner ) );
 		}
 
-		public void put(PendingPut pendingPut) {
-			if ( singlePendingPut == null ) {
-				if ( fullMap == null ) {
-					// initial put
-					singlePendingPut = pendingPut;
+		boolean isRetired() {
+			return state.get() == PendingPutState.RETIRED;
+		}
+
+		/**
+		 * @return <code>false</code> if this record was retired and the owner has to register with a new one
+		 */
+		boolean register(Object owner) {
+			for (; ; ) {
+				final PendingPutState current = state.get();
+				if ( current == PendingPutState.RETIRED ) {
+					return false;
 				}
-				else {
-					fullMap.put( pendingPut.owner, pendingPut );
+				if ( state.compareAndSet( current, current.register( owner ) ) ) {
+					return true;
 				}
 			}
-			else {
-				// 2nd put; need a map
-				fullMap = new HashMap<Object, PendingPut>( 4 );
-				fullMap.put( singlePendingPut.owner, singlePendingPut );
-				singlePendingPut = null;
-				fullMap.put( pendingPut.owner, pendingPut );
-			}
 		}
 
-		public PendingPut remove(Object ownerForPut) {
-			PendingPut removed = null;
-			if ( fullMap == null ) {
-				if ( singlePendingPut != null
-						&& singlePendingPut.owner.equals( ownerForPut ) ) {
-					removed = singlePendingPut;
-					singlePendingPut = null;
+		boolean acquire(Object owner) {
+			for (; ; ) {
+				final PendingPutState current = state.get();
+				final PendingPutState acquired = current.acquire( owner );
+				if ( acquired == null ) {
+					return false;
+				}
+				if ( state.compareAndSet( current, acquired ) ) {
+					return true;
 				}
 			}
-			else {
-				removed = fullMap.remove( ownerForPut );
+		}
+
+		/**
+		 * @return <code>true</code> if this record got retired and should be removed from the pendingPuts map
+		 */
+		boolean release() {
+			for (; ; ) {
+				final PendingPutState current = state.get();
+				if ( current.inProgress == 0 ) {
+					return false;
+				}
+				final PendingPutState released = current.release();
+				if ( state.compareAndSet( current, released ) ) {
+					return released.isEmpty() && state.compareAndSet( released, PendingPutState.RETIRED );
+				}
 			}
-			return removed;
 		}
 
-		public int size() {
-			return fullMap == null ? (singlePendingPut == null ? 0 : 1)
-					: fullMap.size();
+		/**
+		 * @return <code>true</code> if this record had no pending put nor put in progress left and got retired
+		 */
+		boolean retireIfEmpty() {
+			final PendingPutState current = state.get();
+			return current.isEmpty() && current != PendingPutState.RETIRED
+					&& state.compareAndSet( current, PendingPutState.RETIRED );
 		}
 
-		public boolean acquireLock(long time, TimeUnit unit) {
-			try {
-				return lock.tryLock( time, unit );
+		/**
+		 * Drops all pending puts, then waits for the puts in progress to be released.
+		 *
+		 * @return <code>false</code> if the puts in progress did not complete within the given time
+		 */
+		boolean invalidate(long time, TimeUnit unit) {
+			for (; ; ) {
+				final PendingPutState current = state.get();
+				if ( current.owners.length == 0 || state.compareAndSet( current, current.invalidate() ) ) {
+					break;
+				}
 			}
-			catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				return false;
+
+			final long deadline = System.nanoTime() + unit.toNanos( time );
+			while ( state.get().inProgress > 0 ) {
+				if ( System.nanoTime() - deadline > 0 ) {
+					return false;
+				}
+				LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+				if ( Thread.interrupted() ) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
 			}
+			return true;
 		}
+	}
 
-		public void releaseLock() {
-			lock.unlock();
+	/**
+	 * Immutable snapshot of a {@link PendingPutRecord}. Optimized for the expected usual case where only a
+	 * single put is pending for a given key.
+	 */
+	private static final class PendingPutState {
+		private static final Object[] NO_OWNERS = new Object[0];
+		static final PendingPutState EMPTY = new PendingPutState( NO_OWNERS, 0 );
+		static final PendingPutState RETIRED = new PendingPutState( NO_OWNERS, 0 );
+
+		private final Object[] owners;
+		private final int inProgress;
+
+		private PendingPutState(Object[] owners, int inProgress) {
+			this.owners = owners;
+			this.inProgress = inProgress;
 		}
 
-		public void invalidate() {
-			if ( singlePendingPut != null ) {
-				singlePendingPut.completed = true;
-				// Nullify to avoid leaking completed pending puts
-				singlePendingPut = null;
-			}
-			else if ( fullMap != null ) {
-				for ( PendingPut pp : fullMap.values() ) {
-					pp.completed = true;
-				}
-				// Nullify to avoid leaking completed pending puts
-				fullMap = null;
+		boolean isEmpty() {
+			return owners.length == 0 && inProgress == 0;
+		}
+
+		PendingPutState register(Object owner) {
+			if ( indexOf( owner ) >= 0 ) {
+				return this;
 			}
+			final Object[] registered = new Object[owners.length + 1];
+			System.arraycopy( owners, 0, registered, 0, owners.length );
+			registered[owners.length] = owner;
+			return new PendingPutState( registered, inProgress );
 		}
-	}
 
-	private static class PendingPut {
-		private final Object owner;
-		private volatile boolean completed;
+		/**
+		 * @return <code>null</code> if the owner has no pending put
+		 */
+		PendingPutState acquire(Object owner) {
+			final int index = indexOf( owner );
+			if ( index < 0 ) {
+				return null;
+			}
+			final Object[] remaining = new Object[owners.length - 1];
+			System.arraycopy( owners, 0, remaining, 0, index );
+			System.arraycopy( owners, index + 1, remaining, index, remaining.length - index );
+			return new PendingPutState( remaining, inProgress + 1 );
+		}
 
-		private PendingPut(Object owner) {
-			this.owner = owner;
+		PendingPutState release() {
+			return new PendingPutState( owners, inProgress - 1 );
 		}
-	}
 
-	private static class RecentRemoval {
-		private final Object key;
-		private final Long timestamp;
+		PendingPutState invalidate() {
+			return new PendingPutState( NO_OWNERS, inProgress );
+		}
 
-		private RecentRemoval(Object key, long nakedPutInvalidationPeriod) {
-			this.key = key;
-			timestamp = System.currentTimeMillis() + nakedPutInvalidationPeriod;
+		private int indexOf(Object owner) {
+			for ( int i = 0; i < owners.length; i++ ) {
+				if ( owners[i].equals( owner ) ) {
+					return i;
+				}
+			}
+			return -1;
 		}
 	}
-
 }
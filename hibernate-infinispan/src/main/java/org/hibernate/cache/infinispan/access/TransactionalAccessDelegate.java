@@ -23,6 +23,10 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
 import org.hibernate.cache.infinispan.util.Caches;
@@ -84,6 +88,35 @@ public class TransactionalAccessDelegate {
 		return val;
 	}
 
+   /**
+    * Attempt to retrieve several objects from the cache, checking the region validity once for all of them.
+    * <p/>
+    * Infinispan 7.1 has no multi-key read, so the keys are read one by one; in the invalidation and replication
+    * cache modes used for entities and collections these reads are local to the node.
+    *
+    * @param keys The keys of the items to be retrieved
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @return the cached objects by key; keys not cached are not part of the map
+    * @throws CacheException if the cache retrieval failed
+    */
+	@SuppressWarnings("UnusedParameters")
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		if ( !region.checkValid() ) {
+			return result;
+		}
+		for ( Object key : keys ) {
+			final Object val = cache.get( key );
+			if ( val == null ) {
+				putValidator.registerPendingPut( key );
+			}
+			else {
+				result.put( key, val );
+			}
+		}
+		return result;
+	}
+
    /**
     * Attempt to cache an object, after loading from the database.
     *
@@ -30,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.transaction.TransactionManager;
@@ -517,6 +518,60 @@ public class PutFromLoadValidatorUnitTestCase {
       });
    }
 
+   @Test
+   public void testNakedPutRacingKeyInvalidation() throws Exception {
+      withCacheManager(new CacheManagerCallable(
+            TestCacheManagerFactory.createCacheManager(false)) {
+         @Override
+         public void call() {
+            final PutFromLoadValidator testee = new PutFromLoadValidator(
+                  cm, null, PutFromLoadValidator.NAKED_PUT_INVALIDATION_PERIOD);
+            final AtomicReference<Object> currentKey = new AtomicReference<Object>();
+            final AtomicReference<Object> heldKey = new AtomicReference<Object>();
+            final AtomicBoolean done = new AtomicBoolean();
+
+            // keeps trying naked puts on the key being invalidated, holding the lock for a moment when acquired
+            Callable<Void> pferCallable = new Callable<Void>() {
+               public Void call() throws Exception {
+                  while (!done.get()) {
+                     final Object key = currentKey.get();
+                     if (key != null && testee.acquirePutFromLoadLock(key)) {
+                        heldKey.set(key);
+                        Thread.yield();
+                        heldKey.set(null);
+                        testee.releasePutFromLoadLock(key);
+                     }
+                  }
+                  return null;
+               }
+            };
+
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+            Future<Void> pferFuture = executorService.submit(pferCallable);
+            try {
+               for (int i = 0; i < 10000; i++) {
+                  final Object key = "KEY" + i;
+                  currentKey.set(key);
+                  Thread.yield();
+                  assertTrue(testee.invalidateKey(key));
+                  // the invalidation waits for the puts which acquired the lock before it, and no put may acquire it
+                  // afterwards, so none can still hold it
+                  assertFalse("Naked put still in progress after invalidating " + key, key.equals(heldKey.get()));
+                  assertFalse(testee.acquirePutFromLoadLock(key));
+               }
+               done.set(true);
+               pferFuture.get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+               throw new RuntimeException(e);
+            }
+            finally {
+               done.set(true);
+               executorService.shutdownNow();
+            }
+         }
+      });
+   }
+
    private static class TestValidator extends PutFromLoadValidator {
 
       protected TestValidator(EmbeddedCacheManager cm,
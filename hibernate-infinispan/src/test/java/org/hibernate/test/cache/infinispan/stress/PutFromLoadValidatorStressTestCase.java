@@ -0,0 +1,171 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.infinispan.stress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cache.infinispan.access.PutFromLoadValidator;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A stress test for {@link PutFromLoadValidator} on its own, without a session factory around it.
+ * <p/>
+ * Loader threads follow the register / read database / acquire / put / release protocol against a simulated
+ * database and cache, while writer threads update the database, invalidate the key and remove it from the cache.
+ * The operations/ms reached with each number of threads are logged, so that runs on different versions of the
+ * validator can be compared. Once all threads are done, every cached value has to match the database; a validator
+ * that lets a stale put through after an invalidation breaks that.
+ * <p/>
+ * The time spent on each thread count defaults to 1s and can be changed with the {@code time} system property
+ * (in milliseconds).
+ */
+public class PutFromLoadValidatorStressTestCase {
+
+   static final Log log = LogFactory.getLog(PutFromLoadValidatorStressTestCase.class);
+   static final long RUNNING_TIME_MILLIS = Long.getLong("time", 1000);
+   static final int NUM_KEYS = 100;
+   static final int WRITE_PERCENTAGE = 10;
+
+   EmbeddedCacheManager cm;
+   PutFromLoadValidator validator;
+   final ConcurrentMap<Integer, AtomicLong> database = new ConcurrentHashMap<Integer, AtomicLong>();
+   final ConcurrentMap<Integer, Long> cache = new ConcurrentHashMap<Integer, Long>();
+
+   @Before
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager(false);
+      validator = new PutFromLoadValidator(cm, null, PutFromLoadValidator.NAKED_PUT_INVALIDATION_PERIOD);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         database.put(i, new AtomicLong());
+      }
+   }
+
+   @After
+   public void tearDown() {
+      TestingUtil.killCacheManagers(cm);
+   }
+
+   @Test
+   public void testThroughputAndConsistency() throws Exception {
+      final int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+      for (int threads = 1; threads <= maxThreads; threads *= 2) {
+         final long ops = run(threads);
+         log.infof("[validator stress] %d thread(s): %d operations/ms", threads, ops / RUNNING_TIME_MILLIS);
+
+         for (int i = 0; i < NUM_KEYS; i++) {
+            final Long cached = cache.get(i);
+            assertTrue("Stale value cached for key " + i,
+                  cached == null || cached == database.get(i).get());
+         }
+      }
+   }
+
+   private long run(int numThreads) throws Exception {
+      final AtomicBoolean running = new AtomicBoolean(true);
+      final CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+      final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+      try {
+         final List<Future<Long>> futures = new ArrayList<Future<Long>>(numThreads);
+         for (int i = 0; i < numThreads; i++) {
+            futures.add(executor.submit(new Worker(barrier, running, i)));
+         }
+         barrier.await(); // start all workers at once
+         Thread.sleep(RUNNING_TIME_MILLIS);
+         running.set(false);
+         barrier.await(1, TimeUnit.MINUTES); // wait for all workers to finish
+
+         long ops = 0;
+         for (Future<Long> future : futures) {
+            ops += future.get();
+         }
+         return ops;
+      }
+      finally {
+         executor.shutdownNow();
+      }
+   }
+
+   class Worker implements Callable<Long> {
+      final CyclicBarrier barrier;
+      final AtomicBoolean running;
+      final Random random;
+
+      Worker(CyclicBarrier barrier, AtomicBoolean running, int seed) {
+         this.barrier = barrier;
+         this.running = running;
+         this.random = new Random(seed);
+      }
+
+      @Override
+      public Long call() throws Exception {
+         barrier.await();
+         long ops = 0;
+         while (running.get()) {
+            final Integer key = random.nextInt(NUM_KEYS);
+            if (random.nextInt(100) < WRITE_PERCENTAGE) {
+               database.get(key).incrementAndGet();
+               assertTrue(validator.invalidateKey(key));
+               cache.remove(key);
+            }
+            else if (cache.get(key) == null) {
+               validator.registerPendingPut(key);
+               final long loaded = database.get(key).get();
+               if (validator.acquirePutFromLoadLock(key)) {
+                  try {
+                     cache.putIfAbsent(key, loaded);
+                  }
+                  finally {
+                     validator.releasePutFromLoadLock(key);
+                  }
+               }
+            }
+            ops++;
+         }
+         barrier.await();
+         return ops;
+      }
+   }
+}
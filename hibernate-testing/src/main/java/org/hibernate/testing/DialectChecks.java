@@ -175,4 +175,10 @@ abstract public class DialectChecks {
 			return dialect.supportsLockTimeouts();
 		}
 	}
+
+	public static class SupportsArrayParameterRestriction implements DialectCheck {
+		public boolean isMatch(Dialect dialect) {
+			return dialect.supportsArrayParameterRestriction();
+		}
+	}
 }
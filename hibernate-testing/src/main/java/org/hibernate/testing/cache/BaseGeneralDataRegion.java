@@ -23,8 +23,12 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.cache.spi.BulkGeneralDataRegion;
 import org.hibernate.internal.CoreMessageLogger;
 
 import org.jboss.logging.Logger;
@@ -32,7 +36,7 @@ import org.jboss.logging.Logger;
 /**
  * @author Strong Liu
  */
-class BaseGeneralDataRegion extends BaseRegion implements GeneralDataRegion {
+class BaseGeneralDataRegion extends BaseRegion implements BulkGeneralDataRegion {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class, BaseGeneralDataRegion.class.getName()
 	);
@@ -54,6 +58,19 @@ class BaseGeneralDataRegion extends BaseRegion implements GeneralDataRegion {
 		return result;
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) throws CacheException {
+		LOG.debugf( "Cache[%s] lookup : keys %s", getName(), keys );
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		for ( Object key : keys ) {
+			final Object value = key == null ? null : cache.get( key );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, Object value) throws CacheException {
 		LOG.debugf( "Caching[%s] : [%s] -> [%s]",getName(), key, value );
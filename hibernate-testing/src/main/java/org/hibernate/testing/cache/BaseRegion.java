@@ -29,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.support.Timestamper;
 
 /**
  * @author Strong Liu
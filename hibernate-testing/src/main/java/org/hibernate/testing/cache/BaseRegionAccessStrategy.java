@@ -23,8 +23,12 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.internal.CoreMessageLogger;
 
@@ -33,7 +37,7 @@ import org.jboss.logging.Logger;
 /**
  * @author Strong Liu
  */
-abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
+abstract class BaseRegionAccessStrategy implements BulkRegionAccessStrategy {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class, BaseRegionAccessStrategy.class.getName()
 	);
@@ -47,6 +51,18 @@ abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
 		return getInternalRegion().get( key );
 	}
 
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		for ( Object key : keys ) {
+			final Object value = get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		return putFromLoad( key, value, txTimestamp, version, isDefaultMinimalPutOverride() );
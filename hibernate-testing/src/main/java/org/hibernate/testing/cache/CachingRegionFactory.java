@@ -34,6 +34,7 @@ import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsRegion;
 import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.Timestamper;
 import org.hibernate.cfg.Settings;
 import org.hibernate.internal.CoreMessageLogger;
 
@@ -23,42 +23,23 @@
  */
 package org.hibernate.testing.cache;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 /**
  * Generates increasing identifiers (in a single VM only). Not valid across multiple VMs.  Identifiers are not
  * necessarily strictly increasing, but usually are.
  *
- * Core while loop implemented by Alex Snaps - EHCache project - under ASL 2.0
- *
  * @author Hibernate team
  * @author Alex Snaps
+ *
+ * @deprecated Use {@link org.hibernate.cache.spi.support.Timestamper} instead
  */
+@Deprecated
 public final class Timestamper {
-	private static final int BIN_DIGITS = 12;
-	public static final short ONE_MS = 1 << BIN_DIGITS;
-	private static final AtomicLong VALUE = new AtomicLong();
+	public static final short ONE_MS = org.hibernate.cache.spi.support.Timestamper.ONE_MS;
 
 	public static long next() {
-		while ( true ) {
-			long base = System.currentTimeMillis() << BIN_DIGITS;
-			long maxValue = base + ONE_MS - 1;
-
-			for ( long current = VALUE.get(), update = Math.max( base, current + 1 ); update < maxValue;
-				  current = VALUE.get(), update = Math.max( base, current + 1 ) ) {
-				if ( VALUE.compareAndSet( current, update ) ) {
-					return update;
-				}
-			}
-		}
+		return org.hibernate.cache.spi.support.Timestamper.next();
 	}
 
 	private Timestamper() {
 	}
 }
-
-
-
-
-
-